@@ -37,6 +37,7 @@ public class TopologyNode implements Serializable {
         UNKNOWN,
         REACHABLE,
         UNREACHABLE,
+        SUSPENDED,
         FAILURE
 
     }
@@ -315,7 +315,10 @@ public class TopologyWebSocketBehavior extends WebSocketBehavior {
                 final ResourceTO resource = ResourceRestClient.read(key);
                 return String.format("{ \"status\": \"%s\", \"target\": \"%s\"}",
                         ResourceRestClient.check(resource).getLeft()
-                        ? TopologyNode.Status.REACHABLE : TopologyNode.Status.UNREACHABLE, key);
+                        ? TopologyNode.Status.REACHABLE
+                        : resource.isSuspended()
+                        ? TopologyNode.Status.SUSPENDED
+                        : TopologyNode.Status.UNREACHABLE, key);
             } catch (Exception e) {
                 LOG.warn("Error checking connection for {}", key, e);
                 return String.format("{ \"status\": \"%s\", \"target\": \"%s\"}",
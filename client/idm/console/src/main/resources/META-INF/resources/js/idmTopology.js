@@ -84,6 +84,29 @@ var disabledEndpointStyle = {
   radius: 1
 };
 
+var suspendedConnectorStyle = {
+  lineWidth: 2,
+  strokeStyle: "rgba(255, 165, 0, 1)",
+  outlineColor: "#666",
+  outlineWidth: 1,
+  dashstyle: "4 2"
+};
+
+var suspendedConnectorHoverStyle = {
+  strokeStyle: "#FFD700"
+};
+
+var suspendedEndpointStyle = {
+  gradient: {
+    stops: [
+      [0, "rgba(255, 165, 0, 1)"], [1, "rgba(180, 180, 200, 1)"]
+    ],
+    offset: 5.5,
+    innerRadius: 1
+  },
+  radius: 1
+};
+
 var enabledConnectorStyle = {
   lineWidth: 2,
   strokeStyle: "rgba(65, 155, 30, 1)",
@@ -120,6 +143,13 @@ window.enable = function (targetName) {
   });
 }
 
+window.suspend = function (targetName) {
+  jsPlumb.ready(function () {
+    jsPlumb.select({target: targetName}).setPaintStyle(suspendedConnectorStyle).setHoverPaintStyle(suspendedConnectorHoverStyle);
+    jsPlumb.selectEndpoints({element: [targetName]}).setPaintStyle(suspendedEndpointStyle);
+  });
+}
+
 window.failure = function (targetName) {
   jsPlumb.ready(function () {
     jsPlumb.select({target: targetName}).setPaintStyle(failedConnectorStyle).setHoverPaintStyle(failedConnectorHoverStyle);
@@ -301,6 +331,9 @@ jQuery(function ($) {
       case 'UNREACHABLE':
         disable(val.target);
         break;
+      case 'SUSPENDED':
+        suspend(val.target);
+        break;
       case 'FAILURE':
         failure(val.target);
         break;
@@ -36,6 +36,6 @@ public class SyncopeRestClient extends BaseRestClient {
     }
 
     public static Response exportInternalStorageContent() {
-        return getService(SyncopeService.class).exportInternalStorageContent();
+        return getService(SyncopeService.class).exportInternalStorageContent(0);
     }
 }
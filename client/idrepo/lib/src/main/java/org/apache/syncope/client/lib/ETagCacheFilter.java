@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.client.lib;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import org.apache.syncope.common.rest.api.RESTHeaders;
+
+/**
+ * Bounded, in-memory cache of {@code GET} responses carrying an {@code ETag} header.
+ * Cached responses are always revalidated via {@code If-None-Match}: when Syncope core replies with
+ * {@code 304 Not Modified}, the cached status, headers and body are served instead.
+ */
+public class ETagCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String CACHE_KEY = ETagCacheFilter.class.getName() + ".key";
+
+    private static final String CACHE_ENTRY = ETagCacheFilter.class.getName() + ".entry";
+
+    private static class Entry {
+
+        private final String etag;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        Entry(final String etag, final Map<String, List<String>> headers, final byte[] body) {
+            this.etag = etag;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private final Map<List<String>, Entry> cache;
+
+    /**
+     * @param maxEntries maximum number of responses to keep, least recently used are evicted first
+     */
+    public ETagCacheFilter(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -8431209117524913463L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<String>, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static List<String> key(final ClientRequestContext reqCtx) {
+        // responses depend on the requesting user and domain, as well as on the requested content type
+        List<String> key = new ArrayList<>(4);
+        key.add(reqCtx.getUri().toString());
+        key.add(reqCtx.getHeaderString(HttpHeaders.ACCEPT));
+        key.add(reqCtx.getHeaderString(HttpHeaders.AUTHORIZATION));
+        key.add(reqCtx.getHeaderString(RESTHeaders.DOMAIN));
+        return key;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void filter(final ClientRequestContext reqCtx) {
+        if (!HttpMethod.GET.equals(reqCtx.getMethod())
+                || reqCtx.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                || reqCtx.getHeaders().containsKey(HttpHeaders.IF_MATCH)) {
+
+            return;
+        }
+
+        List<String> key = key(reqCtx);
+        reqCtx.setProperty(CACHE_KEY, key);
+
+        // the very entry revalidated is kept along with the request, as the cache might change meanwhile
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            reqCtx.setProperty(CACHE_ENTRY, entry);
+            reqCtx.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entry.etag);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void filter(final ClientRequestContext reqCtx, final ClientResponseContext resCtx) throws IOException {
+        List<String> key = (List<String>) reqCtx.getProperty(CACHE_KEY);
+        if (key == null) {
+            return;
+        }
+
+        if (resCtx.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            Entry entry = (Entry) reqCtx.getProperty(CACHE_ENTRY);
+            if (entry != null) {
+                entry.headers.forEach((name, values) -> {
+                    if (!resCtx.getHeaders().containsKey(name)) {
+                        resCtx.getHeaders().put(name, new ArrayList<>(values));
+                    }
+                });
+                resCtx.setStatus(Response.Status.OK.getStatusCode());
+                resCtx.setEntityStream(new ByteArrayInputStream(entry.body));
+            }
+        } else if (resCtx.getStatus() == Response.Status.OK.getStatusCode()) {
+            String etag = resCtx.getHeaderString(HttpHeaders.ETAG);
+            String cacheControl = resCtx.getHeaderString(HttpHeaders.CACHE_CONTROL);
+            if (etag == null || (cacheControl != null && cacheControl.contains("no-store"))) {
+                cache.remove(key);
+            } else {
+                byte[] body = resCtx.hasEntity() ? resCtx.getEntityStream().readAllBytes() : new byte[0];
+                resCtx.setEntityStream(new ByteArrayInputStream(body));
+
+                // body was already decoded, when compressed
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                resCtx.getHeaders().forEach((name, values) -> {
+                    if (!HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                            && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+
+                        headers.put(name, new ArrayList<>(values));
+                    }
+                });
+                cache.put(key, new Entry(etag, headers, body));
+            }
+        } else {
+            cache.remove(key);
+        }
+    }
+}
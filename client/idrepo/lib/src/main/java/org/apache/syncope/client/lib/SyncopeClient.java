@@ -26,6 +26,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -64,6 +72,32 @@ public class SyncopeClient {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    private static final AtomicInteger ASYNC_THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Maximum number of threads running asynchronous invocations when no executor is provided.
+     */
+    private static final int DEFAULT_ASYNC_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Used for asynchronous invocations when no executor is provided: up to {@link #DEFAULT_ASYNC_THREADS} threads,
+     * created on demand and released when idle; further invocations are queued.
+     */
+    private static final ThreadPoolExecutor DEFAULT_ASYNC_EXECUTOR = new ThreadPoolExecutor(
+            DEFAULT_ASYNC_THREADS, DEFAULT_ASYNC_THREADS,
+            60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(
+                        runnable, "syncope-client-async-" + ASYNC_THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        DEFAULT_ASYNC_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
     private final MediaType mediaType;
 
     private final JAXRSClientFactoryBean restClientFactory;
@@ -74,6 +108,8 @@ public class SyncopeClient {
 
     private final TLSClientParameters tlsClientParameters;
 
+    private final Executor asyncExecutor;
+
     public SyncopeClient(
             final MediaType mediaType,
             final JAXRSClientFactoryBean restClientFactory,
@@ -82,6 +118,18 @@ public class SyncopeClient {
             final boolean useCompression,
             final TLSClientParameters tlsClientParameters) {
 
+        this(mediaType, restClientFactory, exceptionMapper, handler, useCompression, tlsClientParameters, null);
+    }
+
+    public SyncopeClient(
+            final MediaType mediaType,
+            final JAXRSClientFactoryBean restClientFactory,
+            final RestClientExceptionMapper exceptionMapper,
+            final AuthenticationHandler handler,
+            final boolean useCompression,
+            final TLSClientParameters tlsClientParameters,
+            final Executor asyncExecutor) {
+
         this.mediaType = mediaType;
         this.restClientFactory = restClientFactory;
         if (this.restClientFactory.getHeaders() == null) {
@@ -89,6 +137,7 @@ public class SyncopeClient {
         }
         this.exceptionMapper = exceptionMapper;
         this.tlsClientParameters = tlsClientParameters;
+        this.asyncExecutor = asyncExecutor == null ? DEFAULT_ASYNC_EXECUTOR : asyncExecutor;
         init(handler);
         this.useCompression = useCompression;
     }
@@ -280,6 +329,28 @@ public class SyncopeClient {
         }
     }
 
+    /**
+     * Invokes the given function on a new instance of the given service class, without blocking the caller.
+     * The invocation itself is blocking and runs on a thread of the executor configured via
+     * {@link SyncopeClientFactoryBean#setAsyncExecutor(Executor)}, which stays busy until the response is received:
+     * one thread per call in progress. The default executor is bounded, hence calls exceeding its size are queued.
+     *
+     * The typical usage is:
+     * <pre>
+     * syncopeClient.async(SchemaService.class, service -&gt; service.search(query)).
+     *         thenAccept(schemas -&gt; ...);
+     * </pre>
+     *
+     * @param <T> any service class
+     * @param <R> invocation result
+     * @param serviceClass service class reference
+     * @param invocation function invoking the service instance
+     * @return stage completed with the invocation result, or exceptionally with the error raised
+     */
+    public <T, R> CompletionStage<R> async(final Class<T> serviceClass, final Function<T, R> invocation) {
+        return CompletableFuture.supplyAsync(() -> invocation.apply(getService(serviceClass)), asyncExecutor);
+    }
+
     public Pair<Map<String, Set<String>>, UserTO> self() {
         // Explicitly disable header value split because it interferes with JSON deserialization below
         UserSelfService service = getService(UserSelfService.class);
@@ -21,9 +21,11 @@ package org.apache.syncope.client.lib;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import com.fasterxml.jackson.jaxrs.xml.JacksonXMLProvider;
 import com.fasterxml.jackson.jaxrs.yaml.JacksonYAMLProvider;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import javax.ws.rs.core.MediaType;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.configuration.jsse.TLSClientParameters;
@@ -84,6 +86,10 @@ public class SyncopeClientFactoryBean {
 
     private TLSClientParameters tlsClientParameters;
 
+    private int etagCacheSize;
+
+    private Executor asyncExecutor;
+
     private JAXRSClientFactoryBean restClientFactoryBean;
 
     protected static JacksonJsonProvider defaultJsonProvider() {
@@ -120,12 +126,16 @@ public class SyncopeClientFactoryBean {
 
         defaultRestClientFactoryBean.setFeatures(List.of(new LoggingFeature()));
 
-        defaultRestClientFactoryBean.setProviders(List.of(
+        List<Object> providers = new ArrayList<>(List.of(
                 new DateParamConverterProvider(),
                 getJsonProvider(),
                 getXmlProvider(),
                 getYamlProvider(),
                 getExceptionMapper()));
+        if (etagCacheSize > 0) {
+            providers.add(new ETagCacheFilter(etagCacheSize));
+        }
+        defaultRestClientFactoryBean.setProviders(providers);
 
         return defaultRestClientFactoryBean;
     }
@@ -229,6 +239,39 @@ public class SyncopeClientFactoryBean {
         return tlsClientParameters;
     }
 
+    /**
+     * Enables the cache of {@code GET} responses carrying an {@code ETag} header, revalidated via
+     * {@code If-None-Match}; disabled by default.
+     *
+     * @param etagCacheSize maximum number of cached responses, 0 or less to disable caching
+     * @return the current instance
+     * @see ETagCacheFilter
+     */
+    public SyncopeClientFactoryBean setETagCacheSize(final int etagCacheSize) {
+        this.etagCacheSize = etagCacheSize;
+        return this;
+    }
+
+    public int getETagCacheSize() {
+        return etagCacheSize;
+    }
+
+    /**
+     * Sets the executor running invocations requested via {@link SyncopeClient#async}, each occupying one thread
+     * until completed; when not set, a shared and bounded pool of daemon threads is used.
+     *
+     * @param asyncExecutor executor for asynchronous invocations
+     * @return the current instance
+     */
+    public SyncopeClientFactoryBean setAsyncExecutor(final Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     public JAXRSClientFactoryBean getRestClientFactoryBean() {
         return Optional.ofNullable(restClientFactoryBean).orElseGet(this::defaultRestClientFactoryBean);
     }
@@ -285,6 +328,7 @@ public class SyncopeClientFactoryBean {
                 getExceptionMapper(),
                 handler,
                 useCompression,
-                tlsClientParameters);
+                tlsClientParameters,
+                asyncExecutor);
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.client.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.syncope.common.rest.api.service.SyncopeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ETagCacheFilterTest {
+
+    private static final String BODY = "{\"key\":\"value\"}";
+
+    private static final List<String> IF_NONE_MATCH = new CopyOnWriteArrayList<>();
+
+    private static HttpServer SERVER;
+
+    private static String ADDRESS;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        SERVER = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        SERVER.createContext("/", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            IF_NONE_MATCH.add(ifNoneMatch);
+
+            if (exchange.getRequestURI().getPath().endsWith("/uncacheable")) {
+                exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } else if ("\"1\"".equals(ifNoneMatch)) {
+                exchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"1\"");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                exchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"1\"");
+                exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        SERVER.start();
+
+        ADDRESS = "http://localhost:" + SERVER.getAddress().getPort();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    private static Response get(final ETagCacheFilter filter, final String path) {
+        return WebClient.create(ADDRESS, List.of(filter)).path(path).accept(MediaType.APPLICATION_JSON_TYPE).get();
+    }
+
+    @Test
+    public void revalidate() {
+        IF_NONE_MATCH.clear();
+        ETagCacheFilter filter = new ETagCacheFilter(10);
+
+        Response response = get(filter, "/schemas");
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.readEntity(String.class));
+        assertEquals(1, filter.size());
+
+        response = get(filter, "/schemas");
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        assertEquals(BODY, response.readEntity(String.class));
+
+        assertNull(IF_NONE_MATCH.get(0));
+        assertEquals("\"1\"", IF_NONE_MATCH.get(1));
+    }
+
+    @Test
+    public void bounded() {
+        ETagCacheFilter filter = new ETagCacheFilter(2);
+
+        get(filter, "/realms").close();
+        get(filter, "/resources").close();
+        get(filter, "/anyTypes").close();
+        assertEquals(2, filter.size());
+
+        get(filter, "/uncacheable").close();
+        assertEquals(2, filter.size());
+
+        filter.clear();
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    public void async() throws Exception {
+        IF_NONE_MATCH.clear();
+        SyncopeClient client = new SyncopeClientFactoryBean().setAddress(ADDRESS).setETagCacheSize(10).create();
+
+        assertEquals(BODY, client.async(SyncopeService.class, SyncopeService::batch).
+                thenApply(response -> response.readEntity(String.class)).
+                toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> revalidated = IntStream.range(0, 5).
+                mapToObj(i -> client.async(SyncopeService.class, SyncopeService::batch).
+                        thenApply(response -> response.readEntity(String.class)).
+                        toCompletableFuture()).
+                collect(Collectors.toList());
+        for (CompletableFuture<String> body : revalidated) {
+            assertEquals(BODY, body.get(10, TimeUnit.SECONDS));
+        }
+
+        // all invocations after the first one were revalidated, and served from cache
+        assertEquals(6, IF_NONE_MATCH.size());
+        assertNull(IF_NONE_MATCH.get(0));
+        IF_NONE_MATCH.subList(1, 6).forEach(ifNoneMatch -> assertEquals("\"1\"", ifNoneMatch));
+    }
+}
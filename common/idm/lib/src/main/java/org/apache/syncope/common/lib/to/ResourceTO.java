@@ -47,6 +47,11 @@ public class ResourceTO implements EntityTO {
      */
     private String connectorDisplayName;
 
+    /**
+     * Convenience information: whether calls to this resource are currently suspended after repeated failures.
+     */
+    private boolean suspended;
+
     private final List<ProvisionTO> provisions = new ArrayList<>();
 
     private OrgUnitTO orgUnit;
@@ -122,6 +127,14 @@ public class ResourceTO implements EntityTO {
         this.connectorDisplayName = connectorDisplayName;
     }
 
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public void setSuspended(final boolean suspended) {
+        this.suspended = suspended;
+    }
+
     public Integer getPropagationPriority() {
         return propagationPriority;
     }
@@ -284,6 +297,7 @@ public class ResourceTO implements EntityTO {
                 append(key, other.key).
                 append(connector, other.connector).
                 append(connectorDisplayName, other.connectorDisplayName).
+                append(suspended, other.suspended).
                 append(provisions, other.provisions).
                 append(orgUnit, other.orgUnit).
                 append(propagationPriority, other.propagationPriority).
@@ -310,6 +324,7 @@ public class ResourceTO implements EntityTO {
                 append(key).
                 append(connector).
                 append(connectorDisplayName).
+                append(suspended).
                 append(provisions).
                 append(orgUnit).
                 append(propagationPriority).
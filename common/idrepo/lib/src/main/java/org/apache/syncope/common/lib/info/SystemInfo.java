@@ -18,7 +18,11 @@
  */
 package org.apache.syncope.common.lib.info;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
 import org.apache.syncope.common.lib.BaseBean;
 import org.apache.syncope.common.lib.collections.CircularFifoQueue;
 
@@ -38,6 +42,8 @@ public class SystemInfo implements BaseBean {
 
     private final CircularFifoQueue<LoadInstant> load = new CircularFifoQueue<>(10);
 
+    private final List<Metric> metrics = new ArrayList<>();
+
     public String getHostname() {
         return hostname;
     }
@@ -82,6 +88,10 @@ public class SystemInfo implements BaseBean {
         return load;
     }
 
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+
     public static class LoadInstant implements BaseBean {
 
         private static final long serialVersionUID = 1700788373758716478L;
@@ -136,4 +146,61 @@ public class SystemInfo implements BaseBean {
             this.maxMemory = maxMemory;
         }
     }
+
+    public static class Metric implements BaseBean {
+
+        private static final long serialVersionUID = -4093719581846278311L;
+
+        private String name;
+
+        private final Map<String, String> tags = new TreeMap<>();
+
+        private long count;
+
+        private double totalTime;
+
+        private double maxTime;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(final long count) {
+            this.count = count;
+        }
+
+        /**
+         * @return total time, in milliseconds
+         */
+        public double getTotalTime() {
+            return totalTime;
+        }
+
+        public void setTotalTime(final double totalTime) {
+            this.totalTime = totalTime;
+        }
+
+        /**
+         * @return maximum time, in milliseconds
+         */
+        public double getMaxTime() {
+            return maxTime;
+        }
+
+        public void setMaxTime(final double maxTime) {
+            this.maxTime = maxTime;
+        }
+    }
 }
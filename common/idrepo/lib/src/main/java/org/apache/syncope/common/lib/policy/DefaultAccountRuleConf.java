@@ -60,6 +60,11 @@ public class DefaultAccountRuleConf extends AbstractAccountRuleConf implements A
      */
     private final List<String> wordsNotPermitted = new ArrayList<>();
 
+    /**
+     * Path to a file listing further substrings not permitted, one per line.
+     */
+    private String wordsNotPermittedFile;
+
     /**
      * User attribute values not permitted.
      */
@@ -117,6 +122,14 @@ public class DefaultAccountRuleConf extends AbstractAccountRuleConf implements A
         this.pattern = pattern;
     }
 
+    public String getWordsNotPermittedFile() {
+        return wordsNotPermittedFile;
+    }
+
+    public void setWordsNotPermittedFile(final String wordsNotPermittedFile) {
+        this.wordsNotPermittedFile = wordsNotPermittedFile;
+    }
+
     @JacksonXmlElementWrapper(localName = "wordsNotPermitted")
     @JacksonXmlProperty(localName = "word")
     public List<String> getWordsNotPermitted() {
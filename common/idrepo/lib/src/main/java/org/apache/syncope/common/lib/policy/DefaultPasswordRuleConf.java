@@ -135,6 +135,11 @@ public class DefaultPasswordRuleConf extends AbstractPasswordRuleConf {
      */
     private final List<String> wordsNotPermitted = new ArrayList<>();
 
+    /**
+     * Path to a file listing further substrings not permitted, one per line.
+     */
+    private String wordsNotPermittedFile;
+
     /**
      * User attribute values not permitted.
      */
@@ -312,6 +317,14 @@ public class DefaultPasswordRuleConf extends AbstractPasswordRuleConf {
         this.usernameAllowed = usernameAllowed;
     }
 
+    public String getWordsNotPermittedFile() {
+        return wordsNotPermittedFile;
+    }
+
+    public void setWordsNotPermittedFile(final String wordsNotPermittedFile) {
+        this.wordsNotPermittedFile = wordsNotPermittedFile;
+    }
+
     @JacksonXmlElementWrapper(localName = "wordsNotPermitted")
     @JacksonXmlProperty(localName = "word")
     public List<String> getWordsNotPermitted() {
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.lib.policy;
+
+/**
+ * Checks passwords against a local copy of the Pwned Passwords list, rather than invoking the online service as
+ * {@link HaveIBeenPwnedPasswordRuleConf} does.
+ */
+public class PwnedPasswordIndexRuleConf extends AbstractPasswordRuleConf {
+
+    private static final long serialVersionUID = 2879385612954785632L;
+
+    /**
+     * Path to the Pwned Passwords SHA-1 file, ordered by hash: one {@code HASH[:COUNT]} entry per line.
+     */
+    private String indexFile;
+
+    /**
+     * Minimum number of occurrences in breaches for a password to be rejected; entries without count are
+     * considered to occur once.
+     */
+    private int minOccurrences = 1;
+
+    /**
+     * Interval, in seconds, between checks for the index file being replaced.
+     */
+    private int refreshInterval = 60;
+
+    public String getIndexFile() {
+        return indexFile;
+    }
+
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    public int getMinOccurrences() {
+        return minOccurrences;
+    }
+
+    public void setMinOccurrences(final int minOccurrences) {
+        this.minOccurrences = minOccurrences;
+    }
+
+    public int getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(final int refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -42,6 +42,12 @@ public final class RESTHeaders {
      */
     public static final String NULL_PRIORITY_ASYNC = "X-Syncope-Null-Priority-Async";
 
+    /**
+     * Asks for the items of a batch request to be processed concurrently, with the given maximum parallelism;
+     * items are expected to be independent from each other, responses are returned in request order anyway.
+     */
+    public static final String BATCH_PARALLELISM = "X-Syncope-Batch-Parallelism";
+
     /**
      * Declares the type of exception being raised.
      *
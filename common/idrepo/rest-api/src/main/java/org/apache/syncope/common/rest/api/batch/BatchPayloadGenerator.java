@@ -30,43 +30,66 @@ public final class BatchPayloadGenerator {
     public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
         StringBuilder payload = new StringBuilder();
 
-        items.forEach(item -> {
-            payload.append(boundary).append(SyncopeConstants.CRLF);
-            payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
-            payload.append("Content-Transfer-Encoding: binary").append('\n');
-            payload.append(SyncopeConstants.CRLF);
+        items.forEach(item -> append(payload, item, boundary));
 
-            if (item instanceof BatchRequestItem) {
-                BatchRequestItem bri = BatchRequestItem.class.cast(item);
-                payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
-                if (bri.getQueryString() != null) {
-                    payload.append('?').append(bri.getQueryString());
-                }
-                payload.append(' ').append(HTTP_1_1).append('\n');
-            }
+        close(payload, boundary);
 
-            if (item instanceof BatchResponseItem) {
-                BatchResponseItem bri = BatchResponseItem.class.cast(item);
-                payload.append(HTTP_1_1).append(' ').
-                        append(bri.getStatus()).append(' ').
-                        append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
-                        append('\n');
-            }
+        return payload.toString();
+    }
 
-            if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
-                item.getHeaders().forEach((key, values) -> values.forEach(
-                        value -> payload.append(key).append(": ").append(value).append('\n')));
-                payload.append(SyncopeConstants.CRLF);
-            }
+    /**
+     * Appends the given item to the payload being built; allows to generate the payload incrementally, as items
+     * become available.
+     *
+     * @param <T> batch item type
+     * @param payload payload being built
+     * @param item item to append
+     * @param boundary multipart boundary
+     */
+    public static <T extends BatchItem> void append(
+            final StringBuilder payload, final T item, final String boundary) {
+
+        payload.append(boundary).append(SyncopeConstants.CRLF);
+        payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
+        payload.append("Content-Transfer-Encoding: binary").append('\n');
+        payload.append(SyncopeConstants.CRLF);
 
-            if (item.getContent() != null) {
-                payload.append(item.getContent()).append('\n');
+        if (item instanceof BatchRequestItem) {
+            BatchRequestItem bri = BatchRequestItem.class.cast(item);
+            payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
+            if (bri.getQueryString() != null) {
+                payload.append('?').append(bri.getQueryString());
             }
-        });
+            payload.append(' ').append(HTTP_1_1).append('\n');
+        }
 
-        payload.append(boundary).append(SyncopeConstants.DOUBLE_DASH).append('\n');
+        if (item instanceof BatchResponseItem) {
+            BatchResponseItem bri = BatchResponseItem.class.cast(item);
+            payload.append(HTTP_1_1).append(' ').
+                    append(bri.getStatus()).append(' ').
+                    append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
+                    append('\n');
+        }
 
-        return payload.toString();
+        if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
+            item.getHeaders().forEach((key, values) -> values.forEach(
+                    value -> payload.append(key).append(": ").append(value).append('\n')));
+            payload.append(SyncopeConstants.CRLF);
+        }
+
+        if (item.getContent() != null) {
+            payload.append(item.getContent()).append('\n');
+        }
+    }
+
+    /**
+     * Appends the closing boundary to the payload being built.
+     *
+     * @param payload payload being built
+     * @param boundary multipart boundary
+     */
+    public static void close(final StringBuilder payload, final String boundary) {
+        payload.append(boundary).append(SyncopeConstants.DOUBLE_DASH).append('\n');
     }
 
     private BatchPayloadGenerator() {
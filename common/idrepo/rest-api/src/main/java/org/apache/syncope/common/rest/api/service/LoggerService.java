@@ -109,6 +109,16 @@ public interface LoggerService extends JAXRSService {
     @Path("AUDIT/entries")
     @Consumes({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
     void create(@NotNull AuditEntry auditEntry);
+
+    /**
+     * Create several audit entries at once.
+     *
+     * @param auditEntries audit entries to persist.
+     */
+    @POST
+    @Path("AUDIT/entries/bulk")
+    @Consumes({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
+    void bulkCreate(@NotNull List<AuditEntry> auditEntries);
     
     /**
      * Returns logger with matching type and name.
@@ -176,10 +176,13 @@ public interface SyncopeService extends JAXRSService {
 
     /**
      * Exports internal storage content as downloadable XML file.
+     * Content is streamed while being read; it is compressed on the fly when requested via {@code Accept-Encoding}.
      *
+     * @param tableThreshold maximum number of rows exported for each table, 0 for no limit
      * @return internal storage content as downloadable XML file
      */
     @GET
     @Path("internalStorage/stream")
-    Response exportInternalStorageContent();
+    Response exportInternalStorageContent(
+            @Min(0) @QueryParam("tableThreshold") @DefaultValue("0") int tableThreshold);
 }
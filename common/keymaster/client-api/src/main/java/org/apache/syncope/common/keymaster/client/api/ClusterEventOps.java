@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+/**
+ * Operations available for broadcasting events among all members of the cluster; events are opaque to the
+ * keymaster and scoped by channel.
+ * Events are delivered to all watchers subscribed to the given channel, including the ones running on the
+ * publishing member: filtering out own events, if needed, is up to the watcher.
+ */
+public interface ClusterEventOps {
+
+    void publish(String channel, byte[] event);
+
+    void subscribe(String channel, ClusterEventWatcher watcher);
+
+    void unsubscribe(String channel, ClusterEventWatcher watcher);
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.zookeper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventOps;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventWatcher;
+import org.apache.syncope.common.keymaster.client.api.KeymasterException;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implements {@link ClusterEventOps} via Apache Curator / Zookeeper: each event is stored as a sequential node
+ * under the channel path, watched by all subscribers; nodes older than {@link #RETENTION} are pruned by publishers.
+ */
+public class ZookeeperClusterEventOps implements ClusterEventOps {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterEventOps.class);
+
+    private static final String EVENT_PATH = "/cluster-events";
+
+    private static final String EVENT_PREFIX = "event-";
+
+    private static final long RETENTION = TimeUnit.MINUTES.toMillis(5);
+
+    private static final long PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    @Autowired
+    private CuratorFramework client;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> lastPrune = new ConcurrentHashMap<>();
+
+    private static String buildEventPath(final String... parts) {
+        return EVENT_PATH + '/' + String.join("/", parts);
+    }
+
+    @Override
+    public void publish(final String channel, final byte[] event) {
+        try {
+            client.create().creatingParentContainersIfNeeded().withMode(CreateMode.PERSISTENT_SEQUENTIAL).
+                    forPath(buildEventPath(channel, EVENT_PREFIX), event);
+        } catch (Exception e) {
+            throw new KeymasterException(e);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastPrune.getOrDefault(channel, 0L) > PRUNE_INTERVAL) {
+            lastPrune.put(channel, now);
+            prune(channel, now);
+        }
+    }
+
+    protected void prune(final String channel, final long now) {
+        try {
+            List<String> children = client.getChildren().forPath(buildEventPath(channel));
+            children.sort(String::compareTo);
+
+            // sequential names are sorted by creation, stop at the first event still within retention
+            for (String child : children) {
+                Stat stat = client.checkExists().forPath(buildEventPath(channel, child));
+                if (stat != null) {
+                    if (now - stat.getCtime() < RETENTION) {
+                        break;
+                    }
+                    client.delete().forPath(buildEventPath(channel, child));
+                }
+            }
+        } catch (KeeperException.NoNodeException e) {
+            LOG.debug("Event already pruned for channel {}", channel, e);
+        } catch (Exception e) {
+            LOG.error("While pruning events for channel {}", channel, e);
+        }
+    }
+
+    @Override
+    public void subscribe(final String channel, final ClusterEventWatcher watcher) {
+        subscriptions.computeIfAbsent(channel, Subscription::new).watchers.add(watcher);
+    }
+
+    @Override
+    public void unsubscribe(final String channel, final ClusterEventWatcher watcher) {
+        subscriptions.computeIfPresent(channel, (key, subscription) -> {
+            subscription.watchers.remove(watcher);
+            if (subscription.watchers.isEmpty()) {
+                subscription.cache.close();
+                return null;
+            }
+            return subscription;
+        });
+    }
+
+    private class Subscription implements CuratorCacheListener {
+
+        private final String channel;
+
+        private final CuratorCache cache;
+
+        private final List<ClusterEventWatcher> watchers = new CopyOnWriteArrayList<>();
+
+        /**
+         * Events existing when subscribing are reported by the cache before initialization completes: they are
+         * not delivered to watchers.
+         */
+        private volatile boolean initialized = false;
+
+        Subscription(final String channel) {
+            this.channel = channel;
+            try {
+                if (client.checkExists().forPath(buildEventPath(channel)) == null) {
+                    client.create().creatingParentContainersIfNeeded().forPath(buildEventPath(channel));
+                }
+            } catch (KeeperException.NodeExistsException e) {
+                LOG.debug("Path for channel {} concurrently created", channel, e);
+            } catch (Exception e) {
+                throw new KeymasterException(e);
+            }
+
+            this.cache = CuratorCache.build(client, buildEventPath(channel));
+            this.cache.listenable().addListener(this);
+            this.cache.start();
+        }
+
+        @Override
+        public void initialized() {
+            initialized = true;
+        }
+
+        @Override
+        public void event(final Type type, final ChildData oldData, final ChildData data) {
+            if (initialized && type == Type.NODE_CREATED && data.getPath().startsWith(buildEventPath(channel, ""))) {
+                LOG.debug("Event {} received", data.getPath());
+                watchers.forEach(watcher -> {
+                    try {
+                        watcher.received(channel, data.getData());
+                    } catch (Exception e) {
+                        LOG.error("While delivering event {} to {}", data.getPath(), watcher, e);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.ACLProvider;
 import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.ServiceOps;
@@ -128,4 +129,11 @@ public class ZookeeperKeymasterClientContext {
     public DomainOps domainOps() {
         return new ZookeeperDomainOps();
     }
+
+    @ConditionalOnExpression("#{'${keymaster.address}' "
+            + "matches '^((\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})|[a-z\\.]+):[0-9]+$'}")
+    @Bean
+    public ClusterEventOps clusterEventOps() {
+        return new ZookeeperClusterEventOps();
+    }
 }
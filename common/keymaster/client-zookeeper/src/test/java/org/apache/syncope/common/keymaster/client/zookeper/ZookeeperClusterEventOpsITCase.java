@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.zookeper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventOps;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventWatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(classes = { ZookeeperKeymasterClientContext.class, ZookeeperTestContext.class })
+public class ZookeeperClusterEventOpsITCase {
+
+    @Autowired
+    private ClusterEventOps clusterEventOps;
+
+    @Test
+    public void publishSubscribe() throws InterruptedException {
+        String channel = UUID.randomUUID().toString();
+
+        // event published before subscribing: not expected to be delivered
+        clusterEventOps.publish(channel, "before".getBytes());
+
+        CountDownLatch latch = new CountDownLatch(4);
+        List<String> received1 = new CopyOnWriteArrayList<>();
+        ClusterEventWatcher watcher1 = (ch, event) -> {
+            received1.add(new String(event));
+            latch.countDown();
+        };
+        List<String> received2 = new CopyOnWriteArrayList<>();
+        ClusterEventWatcher watcher2 = (ch, event) -> {
+            received2.add(new String(event));
+            latch.countDown();
+        };
+        clusterEventOps.subscribe(channel, watcher1);
+        clusterEventOps.subscribe(channel, watcher2);
+
+        // event on another channel: not expected to be delivered
+        clusterEventOps.publish(UUID.randomUUID().toString(), "other".getBytes());
+
+        Thread.sleep(500);
+        clusterEventOps.publish(channel, "first".getBytes());
+        clusterEventOps.publish(channel, "second".getBytes());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), received1);
+        assertEquals(List.of("first", "second"), received2);
+
+        clusterEventOps.unsubscribe(channel, watcher1);
+        clusterEventOps.unsubscribe(channel, watcher2);
+    }
+}
@@ -148,7 +148,7 @@ public class GoogleMfaAuthAccountLogic extends AbstractTransactionalLogic<AuthPr
         + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     @Transactional(readOnly = true)
     public GoogleMfaAuthAccount findAccountBy(final String key) {
-        return authProfileDAO.findAll().
+        return authProfileDAO.findByGoogleMfaAuthAccountKey(key).
             stream().
             map(AuthProfile::getGoogleMfaAuthAccounts).
             filter(Objects::nonNull).
@@ -165,7 +165,7 @@ public class GoogleMfaAuthAccountLogic extends AbstractTransactionalLogic<AuthPr
         + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     @Transactional(readOnly = true)
     public GoogleMfaAuthAccount findAccountBy(final long id) {
-        return authProfileDAO.findAll().
+        return authProfileDAO.findByGoogleMfaAuthAccountId(id).
             stream().
             map(AuthProfile::getGoogleMfaAuthAccounts).
             filter(Objects::nonNull).
@@ -201,7 +201,7 @@ public class GoogleMfaAuthAccountLogic extends AbstractTransactionalLogic<AuthPr
     @PreAuthorize("hasRole('" + AMEntitlement.GOOGLE_MFA_DELETE_ACCOUNT + "') "
         + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public void deleteAccountBy(final String key) {
-        authProfileDAO.findAll().
+        authProfileDAO.findByGoogleMfaAuthAccountKey(key).
             stream().
             filter(profile -> profile.getGoogleMfaAuthAccounts() != null
                 && profile.getGoogleMfaAuthAccounts().stream().anyMatch(acct -> acct.getKey().equals(key))).
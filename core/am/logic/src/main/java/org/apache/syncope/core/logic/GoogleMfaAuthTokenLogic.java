@@ -80,7 +80,7 @@ public class GoogleMfaAuthTokenLogic extends AbstractTransactionalLogic<AuthProf
     @PreAuthorize("hasRole('" + AMEntitlement.GOOGLE_MFA_DELETE_TOKEN + "') "
             + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public void delete(final Integer otp) {
-        authProfileDAO.findAll().
+        authProfileDAO.findByGoogleMfaAuthToken(otp).
                 forEach(profile -> removeTokenAndSave(profile,
                 token -> token.getToken().equals(otp)));
     }
@@ -134,7 +134,7 @@ public class GoogleMfaAuthTokenLogic extends AbstractTransactionalLogic<AuthProf
             + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     @Transactional(readOnly = true)
     public GoogleMfaAuthToken read(final String key) {
-        return authProfileDAO.findAll().
+        return authProfileDAO.findByGoogleMfaAuthTokenKey(key).
                 stream().
                 map(AuthProfile::getGoogleMfaAuthTokens).
                 flatMap(List::stream).
@@ -110,7 +110,7 @@ public class U2FRegistrationLogic extends AbstractTransactionalLogic<AuthProfile
             + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     @Transactional(readOnly = true)
     public U2FRegisteredDevice read(final String key) {
-        return authProfileDAO.findAll().
+        return authProfileDAO.findByU2FRegisteredDeviceKey(key).
                 stream().
                 map(AuthProfile::getU2FRegisteredDevices).
                 filter(Objects::nonNull).
@@ -123,7 +123,11 @@ public class U2FRegistrationLogic extends AbstractTransactionalLogic<AuthProfile
     @PreAuthorize("hasRole('" + AMEntitlement.U2F_DELETE_DEVICE + "') "
             + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public void delete(final String entityKey, final Long id, final Date expirationDate) {
-        List<AuthProfile> profiles = authProfileDAO.findAll();
+        List<AuthProfile> profiles = StringUtils.isNotBlank(entityKey)
+                ? authProfileDAO.findByU2FRegisteredDeviceKey(entityKey)
+                : id != null
+                        ? authProfileDAO.findByU2FRegisteredDeviceId(id)
+                        : authProfileDAO.findAll();
         profiles.forEach(profile -> {
             List<U2FRegisteredDevice> devices = profile.getU2FRegisteredDevices();
             if (devices != null) {
@@ -225,7 +229,7 @@ public class U2FRegistrationLogic extends AbstractTransactionalLogic<AuthProfile
     @PreAuthorize("hasRole('" + AMEntitlement.U2F_UPDATE_DEVICE + "') "
             + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public void update(final U2FRegisteredDevice acct) {
-        List<AuthProfile> profiles = authProfileDAO.findAll();
+        List<AuthProfile> profiles = authProfileDAO.findByU2FRegisteredDeviceKey(acct.getKey());
         profiles.forEach(profile -> {
             List<U2FRegisteredDevice> devices = profile.getU2FRegisteredDevices();
             if (devices != null) {
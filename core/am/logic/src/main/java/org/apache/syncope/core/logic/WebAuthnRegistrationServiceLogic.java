@@ -56,7 +56,7 @@ public class WebAuthnRegistrationServiceLogic extends AbstractTransactionalLogic
         + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     @Transactional(readOnly = true)
     public WebAuthnAccount read(final String key) {
-        return authProfileDAO.findAll().
+        return authProfileDAO.findByWebAuthnAccountKey(key).
             stream().
             map(AuthProfile::getWebAuthnAccount).
             filter(Objects::nonNull).
@@ -161,7 +161,9 @@ public class WebAuthnRegistrationServiceLogic extends AbstractTransactionalLogic
     @PreAuthorize("hasRole('" + AMEntitlement.WEBAUTHN_UPDATE_DEVICE + "') "
         + "or hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public void update(final WebAuthnAccount account) {
-        List<AuthProfile> profiles = authProfileDAO.findAll();
+        List<AuthProfile> profiles = account.getKey() == null
+            ? authProfileDAO.findByOwner(account.getOwner()).stream().collect(Collectors.toList())
+            : authProfileDAO.findByWebAuthnAccountKey(account.getKey());
         profiles.forEach(profile -> {
             if (profile.getWebAuthnAccount() != null) {
                 profile.setWebAuthnAccount(account);
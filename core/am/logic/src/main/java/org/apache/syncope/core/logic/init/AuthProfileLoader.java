@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.init;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import org.apache.syncope.core.persistence.api.SyncopeCoreLoader;
+import org.apache.syncope.core.persistence.api.dao.auth.AuthProfileDAO;
+import org.apache.syncope.core.spring.ResourceWithFallbackLoader;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure that auth profiles stored by previous versions can be found via indexed lookups: creates the lookup
+ * indexes when missing, then reindexes existing profiles chunk by chunk, each chunk in its own transaction.
+ */
+@Component
+public class AuthProfileLoader implements SyncopeCoreLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuthProfileLoader.class);
+
+    private static final String LOOKUP_TABLE = "AuthProfile_lookup";
+
+    private static final int REINDEX_CHUNK_SIZE = 1000;
+
+    @Resource(name = "indexesXML")
+    private ResourceWithFallbackLoader indexesXML;
+
+    @Autowired
+    private AuthProfileDAO authProfileDAO;
+
+    @Override
+    public int getOrder() {
+        return 500;
+    }
+
+    private static Set<String> existingIndexes(final DataSource datasource) throws SQLException {
+        Set<String> existing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try (Connection conn = datasource.getConnection()) {
+            DatabaseMetaData meta = conn.getMetaData();
+            // table names are reported in upper or lower case, depending on the DBMS
+            for (String table : Set.of(LOOKUP_TABLE, LOOKUP_TABLE.toUpperCase(), LOOKUP_TABLE.toLowerCase())) {
+                try (ResultSet rs = meta.getIndexInfo(null, null, table, false, true)) {
+                    while (rs.next()) {
+                        String name = rs.getString("INDEX_NAME");
+                        if (name != null) {
+                            existing.add(name);
+                        }
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Databases created by previous versions lack the lookup indexes listed in {@code indexes.xml}, which are only
+     * created for empty databases.
+     *
+     * @param domain domain
+     * @param datasource domain data source
+     */
+    protected void createIndexes(final String domain, final DataSource datasource) {
+        try {
+            Properties indexes = PropertiesLoaderUtils.loadProperties(indexesXML.getResource());
+            Set<String> existing = existingIndexes(datasource);
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+            indexes.stringPropertyNames().stream().
+                    filter(idx -> idx.startsWith(LOOKUP_TABLE) && !existing.contains(idx)).
+                    sorted().
+                    forEachOrdered(idx -> {
+                        try {
+                            jdbcTemplate.execute(indexes.getProperty(idx));
+                            LOG.info("[{}] Created index {}", domain, idx);
+                        } catch (DataAccessException e) {
+                            LOG.error("[{}] Could not create index {}", domain, idx, e);
+                        }
+                    });
+        } catch (IOException | SQLException e) {
+            LOG.error("[{}] While checking indexes on {}", domain, LOOKUP_TABLE, e);
+        }
+    }
+
+    protected int reindex() {
+        int reindexed = 0;
+        String last = null;
+        List<String> keys;
+        do {
+            keys = authProfileDAO.findToBeReindexed(last, REINDEX_CHUNK_SIZE);
+            if (!keys.isEmpty()) {
+                reindexed += authProfileDAO.reindex(keys);
+                last = keys.get(keys.size() - 1);
+
+                LOG.debug("Reindexed {} auth profiles so far", reindexed);
+            }
+        } while (keys.size() == REINDEX_CHUNK_SIZE);
+        return reindexed;
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        createIndexes(domain, datasource);
+
+        int reindexed = AuthContextUtils.callAsAdmin(domain, this::reindex);
+        if (reindexed > 0) {
+            LOG.info("[{}] Reindexed {} auth profiles", domain, reindexed);
+        }
+    }
+}
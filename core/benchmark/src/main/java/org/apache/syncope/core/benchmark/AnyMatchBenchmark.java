@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares matching a user against a dynamic condition with FIQL parsed at each invocation, with the pre-parsed
+ * condition, and with the cached compiled condition.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnyMatchBenchmark {
+
+    private static final String FIQL = "username==ross*;firstname==Gioacchino;surname!=Verdi,fullname==*Puccini";
+
+    private AnyMatchDAO anyMatchDAO;
+
+    private SearchCondVisitor searchCondVisitor;
+
+    private SearchCond cond;
+
+    private User user;
+
+    @Setup
+    public void setup(final CoreState core) {
+        anyMatchDAO = core.getBean(AnyMatchDAO.class);
+        searchCondVisitor = core.getBean(SearchCondVisitor.class);
+
+        cond = SearchCondConverter.convert(searchCondVisitor, FIQL);
+
+        user = core.getBean(UserDAO.class).findByUsername("rossini");
+
+        if (!parseAndMatch() || !match() || !matchCompiled()) {
+            throw new IllegalStateException("User was expected to match " + FIQL);
+        }
+    }
+
+    @Benchmark
+    public boolean parseAndMatch() {
+        return anyMatchDAO.matches(user, SearchCondConverter.convert(searchCondVisitor, FIQL));
+    }
+
+    @Benchmark
+    public boolean match() {
+        return anyMatchDAO.matches(user, cond);
+    }
+
+    @Benchmark
+    public boolean matchCompiled() {
+        return anyMatchDAO.matches(user, FIQL);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the native SQL generation from a search condition, and the whole search for comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnySearchBenchmark {
+
+    private static final String FIQL = "fullname==*o*;$groups==root;username!=bellini";
+
+    /**
+     * Exposes the SQL generation of {@link JPAAnySearchDAO}.
+     */
+    public static class SQLGenerator extends JPAAnySearchDAO {
+
+        public String query(final SearchCond cond, final List<OrderByClause> orderBy) {
+            return buildSearchQuery(
+                    SyncopeConstants.FULL_ADMIN_REALMS, cond, orderBy, AnyTypeKind.USER, new ArrayList<>());
+        }
+    }
+
+    private SQLGenerator sqlGenerator;
+
+    private AnySearchDAO anySearchDAO;
+
+    private SearchCond cond;
+
+    private List<OrderByClause> orderBy;
+
+    @Setup
+    public void setup(final CoreState core) {
+        sqlGenerator = core.createBean(SQLGenerator.class);
+        anySearchDAO = core.getBean(AnySearchDAO.class);
+
+        cond = SearchCondConverter.convert(core.getBean(SearchCondVisitor.class), FIQL);
+
+        OrderByClause clause = new OrderByClause();
+        clause.setField("username");
+        clause.setDirection(OrderByClause.Direction.ASC);
+        orderBy = List.of(clause);
+
+        if (search().isEmpty()) {
+            throw new IllegalStateException("Users were expected to match " + FIQL);
+        }
+    }
+
+    @Benchmark
+    public String buildQuery() {
+        return sqlGenerator.query(cond, orderBy);
+    }
+
+    @Benchmark
+    public List<User> search() {
+        return anySearchDAO.search(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 1, 10, orderBy, AnyTypeKind.USER);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the core benchmarks, writing results as JSON so that they can be compared between builds.
+ * Usage: {@code CoreBenchmarks [include regexp] [result file]}, e.g. via {@code mvn exec:exec
+ * -Dbenchmark.include=EncryptorBenchmark -Dbenchmark.result=/tmp/encryptor.json}.
+ */
+public final class CoreBenchmarks {
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().
+                include(args.length > 0 ? args[0] : CoreBenchmarks.class.getPackageName()).
+                addProfiler(GCProfiler.class).
+                resultFormat(ResultFormatType.JSON).
+                result(args.length > 1 ? args[1] : "target/jmh-result.json").
+                build()).run();
+    }
+
+    private CoreBenchmarks() {
+        // private constructor for static utility class
+    }
+}
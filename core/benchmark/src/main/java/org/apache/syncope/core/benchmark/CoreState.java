@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Core application context, started once per trial; a read-only transaction is kept open on the benchmark thread
+ * so that entities can be lazily loaded as during request processing.
+ */
+@State(Scope.Benchmark)
+public class CoreState {
+
+    private ConfigurableApplicationContext ctx;
+
+    private PlatformTransactionManager txManager;
+
+    private TransactionStatus tx;
+
+    @Setup(Level.Trial)
+    public void start() {
+        ctx = new AnnotationConfigApplicationContext(BenchmarkContext.class);
+
+        txManager = ctx.getBean("MasterTransactionManager", PlatformTransactionManager.class);
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        tx = txManager.getTransaction(definition);
+    }
+
+    public <T> T getBean(final Class<T> requiredType) {
+        return ctx.getBean(requiredType);
+    }
+
+    public <T> T createBean(final Class<T> beanClass) {
+        return ctx.getAutowireCapableBeanFactory().createBean(beanClass);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        txManager.rollback(tx);
+        ctx.close();
+    }
+}
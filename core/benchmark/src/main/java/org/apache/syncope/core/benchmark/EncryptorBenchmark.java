@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures password encoding and verification, as done at each user create / update and authentication.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptorBenchmark {
+
+    private static final String PASSWORD = "Password123";
+
+    @Param({ "AES", "SHA1", "SHA256", "SSHA256", "SSHA512", "BCRYPT" })
+    private CipherAlgorithm cipherAlgorithm;
+
+    private Encryptor encryptor;
+
+    private String encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        encryptor = Encryptor.getInstance();
+        encoded = encode();
+
+        if (!verify()) {
+            throw new IllegalStateException("Could not verify " + cipherAlgorithm + " encoded value");
+        }
+    }
+
+    @Benchmark
+    public String encode() throws Exception {
+        return encryptor.encode(PASSWORD, cipherAlgorithm);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encryptor.verify(PASSWORD, cipherAlgorithm, encoded);
+    }
+}
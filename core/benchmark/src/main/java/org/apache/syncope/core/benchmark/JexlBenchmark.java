@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JEXL evaluation as done for derived attributes and mapping transformations: against an already populated
+ * context, and including the context population from user fields and plain attributes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JexlBenchmark {
+
+    private static final String EXPRESSION = "firstname + ' ' + surname + ' <' + username + '>'";
+
+    private User user;
+
+    private JexlContext jexlContext;
+
+    @Setup
+    public void setup(final CoreState core) {
+        user = core.getBean(UserDAO.class).findByUsername("rossini");
+
+        jexlContext = new MapContext();
+        JexlUtils.addFieldsToContext(user, jexlContext);
+        JexlUtils.addPlainAttrsToContext(user.getPlainAttrs(), jexlContext);
+
+        if (!"Gioacchino Rossini <rossini>".equals(evaluate())) {
+            throw new IllegalStateException("Unexpected evaluation of " + EXPRESSION + ": " + evaluate());
+        }
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return JexlUtils.evaluate(EXPRESSION, jexlContext);
+    }
+
+    @Benchmark
+    public String populateAndEvaluate() {
+        JexlContext context = new MapContext();
+        JexlUtils.addFieldsToContext(user, context);
+        JexlUtils.addPlainAttrsToContext(user.getPlainAttrs(), context);
+        return JexlUtils.evaluate(EXPRESSION, context);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.Attr;
+import org.apache.syncope.common.lib.policy.DefaultPasswordRuleConf;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JSON serialization and deserialization of implementation confs, as done at each policy enforcement,
+ * and of transfer objects, as stored with tasks and executions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class POJOHelperBenchmark {
+
+    private DefaultPasswordRuleConf ruleConf;
+
+    private String serializedRuleConf;
+
+    private UserTO userTO;
+
+    private String serializedUserTO;
+
+    @Setup
+    public void setup() {
+        ruleConf = new DefaultPasswordRuleConf();
+        ruleConf.setName("benchmark");
+        ruleConf.setMinLength(8);
+        ruleConf.setMaxLength(64);
+        ruleConf.setDigitRequired(true);
+        ruleConf.setUppercaseRequired(true);
+        ruleConf.getWordsNotPermitted().addAll(List.of("notpermitted", "password", "syncope"));
+        ruleConf.getSchemasNotPermitted().addAll(List.of("firstname", "surname"));
+        serializedRuleConf = serializeRuleConf();
+
+        userTO = new UserTO();
+        userTO.setRealm("/even/two");
+        userTO.setUsername("benchmark");
+        userTO.getResources().add("resource-testdb");
+        IntStream.range(0, 20).forEach(i -> userTO.getPlainAttrs().add(
+                new Attr.Builder("schema" + i).values("value" + i, "other" + i).build()));
+        serializedUserTO = serializeUserTO();
+    }
+
+    @Benchmark
+    public String serializeRuleConf() {
+        return POJOHelper.serialize(ruleConf);
+    }
+
+    @Benchmark
+    public PasswordRuleConf deserializeRuleConf() {
+        return POJOHelper.deserialize(serializedRuleConf, PasswordRuleConf.class);
+    }
+
+    @Benchmark
+    public String serializeUserTO() {
+        return POJOHelper.serialize(userTO);
+    }
+
+    @Benchmark
+    public UserTO deserializeUserTO() {
+        return POJOHelper.deserialize(serializedUserTO, UserTO.class);
+    }
+}
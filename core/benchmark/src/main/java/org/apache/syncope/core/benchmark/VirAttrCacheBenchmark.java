@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.java.cache.MemoryVirAttrCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups in a full virtual attribute cache, and insertions requiring entries to be evicted.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirAttrCacheBenchmark {
+
+    private static final String TYPE = "USER";
+
+    private static final String SCHEMA = "virtualdata";
+
+    @Param({ "1000", "5000" })
+    private int maxCacheSize;
+
+    private MemoryVirAttrCache cache;
+
+    private int counter;
+
+    @Setup
+    public void setup() {
+        cache = new MemoryVirAttrCache();
+        cache.setTtl(3600);
+        cache.setMaxCacheSize(maxCacheSize);
+
+        for (int i = 0; i < maxCacheSize; i++) {
+            cache.put(TYPE, "key" + i, SCHEMA, new VirAttrCacheValue(List.of("value" + i)));
+        }
+    }
+
+    @Benchmark
+    public VirAttrCacheValue get() {
+        counter = (counter + 1) % maxCacheSize;
+        return cache.get(TYPE, "key" + counter, SCHEMA);
+    }
+
+    @Benchmark
+    public void putEvicting() {
+        counter++;
+        cache.put(TYPE, "new" + counter, SCHEMA, new VirAttrCacheValue(List.of("value" + counter)));
+    }
+}
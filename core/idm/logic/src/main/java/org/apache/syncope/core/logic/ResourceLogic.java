@@ -20,6 +20,7 @@ package org.apache.syncope.core.logic;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -54,6 +55,7 @@ import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.ResourceUnavailableException;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
@@ -260,13 +262,19 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
             throw new NotFoundException("Resource '" + key + '\'');
         }
 
-        return binder.getResourceTO(resource);
+        return getResourceTO(resource);
     }
 
     @PreAuthorize("hasRole('" + IdMEntitlement.RESOURCE_LIST + "')")
     @Transactional(readOnly = true)
     public List<ResourceTO> list() {
-        return resourceDAO.findAll().stream().map(binder::getResourceTO).collect(Collectors.toList());
+        return resourceDAO.findAll().stream().map(this::getResourceTO).collect(Collectors.toList());
+    }
+
+    private ResourceTO getResourceTO(final ExternalResource resource) {
+        ResourceTO resourceTO = binder.getResourceTO(resource);
+        resourceTO.setSuspended(connFactory.isSuspended(resource));
+        return resourceTO;
     }
 
     private Provision getProvision(final String resourceKey, final String anyTypeKey) {
@@ -429,6 +437,15 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
         return Pair.of(searchResult, connObjects);
     }
 
+    private static boolean isPersistedConf(final ExternalResource resource, final ResourceTO resourceTO) {
+        return resource.getConnector() != null
+                && resource.getConnector().getKey().equals(resourceTO.getConnector())
+                && resource.getConfOverride().equals(new HashSet<>(resourceTO.getConfOverride()))
+                && resource.isOverrideCapabilities() == resourceTO.isOverrideCapabilities()
+                && (!resource.isOverrideCapabilities()
+                || resource.getCapabilitiesOverride().equals(resourceTO.getCapabilitiesOverride()));
+    }
+
     @PreAuthorize("hasRole('" + IdMEntitlement.CONNECTOR_READ + "')")
     @Transactional(readOnly = true)
     public void check(final ResourceTO resourceTO) {
@@ -437,12 +454,38 @@ public class ResourceLogic extends AbstractTransactionalLogic<ResourceTO> {
             throw new NotFoundException("Connector '" + resourceTO.getConnector() + '\'');
         }
 
-        connFactory.createConnector(
-                connFactory.buildConnInstanceOverride(
-                        connInstanceDataBinder.getConnInstanceTO(connInstance),
-                        resourceTO.getConfOverride(),
-                        resourceTO.isOverrideCapabilities() ? resourceTO.getCapabilitiesOverride() : null)).
-                test();
+        // connector used for propagation, pull and push, if the resource was already saved
+        Connector registered = null;
+        ExternalResource resource = resourceDAO.find(resourceTO.getKey());
+        if (resource != null) {
+            try {
+                registered = connFactory.getConnector(resource);
+            } catch (Exception e) {
+                LOG.debug("Could not get connector for {}", resource, e);
+            }
+        }
+        try {
+            connFactory.createConnector(
+                    connFactory.buildConnInstanceOverride(
+                            connInstanceDataBinder.getConnInstanceTO(connInstance),
+                            resourceTO.getConfOverride(),
+                            resourceTO.isOverrideCapabilities() ? resourceTO.getCapabilitiesOverride() : null)).
+                    test();
+        } catch (RuntimeException e) {
+            if (registered != null && registered.isCircuitOpen()) {
+                throw new ResourceUnavailableException(
+                        "Calls to " + resourceTO.getKey() + " are suspended after repeated failures: "
+                        + e.getMessage());
+            }
+            throw e;
+        }
+
+        // the resource is reachable again: no need to wait before resuming calls, unless what was tested is not
+        // what the registered connector uses
+        if (registered != null && registered.isCircuitOpen() && isPersistedConf(resource, resourceTO)) {
+            LOG.info("Resuming calls to {}", resourceTO.getKey());
+            registered.closeCircuit();
+        }
     }
 
     @Override
@@ -419,28 +419,39 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
         return Pair.of(count, matching);
     }
 
-    @PreAuthorize("isAuthenticated()")
-    public void create(final AuditEntry auditEntry) {
-        boolean authorized =
-                AuthContextUtils.getAuthorizations().containsKey(IdRepoEntitlement.AUDIT_CREATE)
+    protected boolean isCreateAllowed(final AuditEntry auditEntry) {
+        return AuthContextUtils.getAuthorizations().containsKey(IdRepoEntitlement.AUDIT_CREATE)
                 || AuthContextUtils.getAuthorizations().containsKey(IdRepoEntitlement.ANONYMOUS)
                 && AuditElements.EventCategoryType.WA == auditEntry.getLogger().getType();
-        if (authorized) {
-            auditManager.audit(
-                    auditEntry.getWho(),
-                    auditEntry.getLogger().getType(),
-                    auditEntry.getLogger().getCategory(),
-                    auditEntry.getLogger().getSubcategory(),
-                    auditEntry.getLogger().getEvent(),
-                    auditEntry.getLogger().getResult(),
-                    auditEntry.getBefore(),
-                    auditEntry.getOutput(),
-                    auditEntry.getInputs());
-        } else {
+    }
+
+    protected void doCreate(final AuditEntry auditEntry) {
+        auditManager.audit(
+                auditEntry.getWho(),
+                auditEntry.getLogger().getType(),
+                auditEntry.getLogger().getCategory(),
+                auditEntry.getLogger().getSubcategory(),
+                auditEntry.getLogger().getEvent(),
+                auditEntry.getLogger().getResult(),
+                auditEntry.getBefore(),
+                auditEntry.getOutput(),
+                auditEntry.getInputs());
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    public void create(final AuditEntry auditEntry) {
+        create(List.of(auditEntry));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    public void create(final List<AuditEntry> auditEntries) {
+        if (!auditEntries.stream().allMatch(this::isCreateAllowed)) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.DelegatedAdministration);
             sce.getElements().add("Not allowed to create Audit entries");
             throw sce;
         }
+
+        auditEntries.forEach(this::doCreate);
     }
 
     @Override
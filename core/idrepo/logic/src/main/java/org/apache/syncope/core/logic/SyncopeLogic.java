@@ -91,6 +91,7 @@ import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -206,6 +207,9 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
     @Autowired
     private VirAttrCache virAttrCache;
 
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
     @Autowired
     private NotificationManager notificationManager;
 
@@ -385,12 +389,21 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
     }
 
     @PreAuthorize("isAuthenticated()")
-    public static SystemInfo system() {
+    public SystemInfo system() {
+        SystemInfo systemInfo = new SystemInfo();
         synchronized (MONITOR) {
             initSystemInfo();
+
+            systemInfo.setHostname(SYSTEM_INFO.getHostname());
+            systemInfo.setOs(SYSTEM_INFO.getOs());
+            systemInfo.setJvm(SYSTEM_INFO.getJvm());
+            systemInfo.setAvailableProcessors(SYSTEM_INFO.getAvailableProcessors());
+            systemInfo.setStartTime(SYSTEM_INFO.getStartTime());
+            systemInfo.getLoad().addAll(SYSTEM_INFO.getLoad());
         }
+        systemInfo.getMetrics().addAll(metricsRegistry.snapshot());
 
-        return SYSTEM_INFO;
+        return systemInfo;
     }
 
     private void setTaskExecutorInfo(final String toString, final NumbersInfo.TaskExecutorInfo info) {
@@ -542,10 +555,11 @@ public class SyncopeLogic extends AbstractLogic<EntityTO> {
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.KEYMASTER + "')")
     @Transactional(readOnly = true)
-    public void exportInternalStorageContent(final OutputStream os) {
+    public void exportInternalStorageContent(final int tableThreshold, final OutputStream os) {
         try {
             exporter.export(
                     AuthContextUtils.getDomain(),
+                    tableThreshold,
                     os,
                     uwfAdapter.getPrefix(),
                     gwfAdapter.getPrefix(),
@@ -19,11 +19,13 @@
 package org.apache.syncope.core.rest.cxf;
 
 import java.io.IOException;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.to.AnyTO;
@@ -33,6 +35,8 @@ import org.apache.syncope.common.lib.to.ProvisioningResult;
 /**
  * Adds the {@code ETag} header to any response containing an instance of {@link AbstractAnnotatedBean} as entity.
  * The actual ETag value is computed on the basis of last change date (or creation date if not available).
+ * Conditional {@code GET} requests whose {@code If-None-Match} header matches such value are answered with
+ * {@code 304 Not Modified} and no entity.
  */
 @Provider
 public class AddETagFilter implements ContainerResponseFilter {
@@ -52,7 +56,17 @@ public class AddETagFilter implements ContainerResponseFilter {
             if (annotated != null) {
                 String etagValue = annotated.getETagValue();
                 if (StringUtils.isNotBlank(etagValue)) {
-                    resCtx.getHeaders().add(HttpHeaders.ETAG, new EntityTag(etagValue).toString());
+                    EntityTag etag = new EntityTag(etagValue);
+                    resCtx.getHeaders().add(HttpHeaders.ETAG, etag.toString());
+
+                    if (HttpMethod.GET.equals(reqCtx.getMethod())
+                            && resCtx.getStatus() == Response.Status.OK.getStatusCode()
+                            && reqCtx.getHeaderString(HttpHeaders.IF_NONE_MATCH) != null
+                            && reqCtx.getRequest().evaluatePreconditions(etag) != null) {
+
+                        resCtx.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+                        resCtx.setEntity(null);
+                    }
                 }
             }
         }
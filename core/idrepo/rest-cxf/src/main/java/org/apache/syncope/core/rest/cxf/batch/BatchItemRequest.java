@@ -25,8 +25,10 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
@@ -50,6 +52,8 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     private final ServletInputStream inputStream;
 
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
     public BatchItemRequest(
             final String basePath,
             final HttpServletRequest request,
@@ -196,6 +200,10 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     @Override
     public Object getAttribute(final String name) {
+        if (attributes.containsKey(name)) {
+            return attributes.get(name);
+        }
+
         try {
             return super.getAttribute(name);
         } catch (Exception e) {
@@ -204,6 +212,27 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
         }
     }
 
+    /**
+     * Attributes are kept local to this item, as the wrapped request is shared among all items of the same batch,
+     * which might be processed concurrently.
+     *
+     * @param name attribute name
+     * @param o attribute value
+     */
+    @Override
+    public void setAttribute(final String name, final Object o) {
+        if (o == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, o);
+        }
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.remove(name);
+    }
+
     @Override
     public String getCharacterEncoding() {
         try {
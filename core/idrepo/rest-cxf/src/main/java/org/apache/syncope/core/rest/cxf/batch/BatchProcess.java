@@ -19,8 +19,11 @@
 package org.apache.syncope.core.rest.cxf.batch;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.ServletConfig;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
@@ -58,6 +61,10 @@ public class BatchProcess implements Runnable {
 
     private Authentication authentication;
 
+    private int parallelism = 1;
+
+    private Executor executor;
+
     public void setBoundary(final String boundary) {
         this.boundary = boundary;
     }
@@ -86,52 +93,125 @@ public class BatchProcess implements Runnable {
         this.authentication = authentication;
     }
 
-    @Override
-    public void run() {
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
 
-        List<BatchResponseItem> batchResponseItems = new ArrayList<>(batchRequestItems.size());
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
 
-        batchRequestItems.forEach(reqItem -> {
-            LOG.debug("Batch item:\n{}", reqItem);
+    protected BatchResponseItem process(final BatchRequestItem reqItem) {
+        LOG.debug("Batch item:\n{}", reqItem);
 
-            AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
-            if (dest == null) {
-                dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
-            }
-            LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+        AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
+        if (dest == null) {
+            dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
+        }
+        LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+
+        BatchResponseItem resItem = new BatchResponseItem();
+        if (dest == null) {
+            resItem.setStatus(404);
+        } else {
+            BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
+            BatchItemResponse response = new BatchItemResponse();
+            try {
+                dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
+
+                String output = new String(response.getUnderlyingOutputStream().toByteArray());
+                LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}",
+                        response.getStatus(), response.getHeaders(), output);
+
+                resItem.setStatus(response.getStatus());
+                resItem.setHeaders(response.getHeaders());
+                if (output.length() > 0) {
+                    resItem.setContent(output);
+                }
+            } catch (IOException e) {
+                LOG.error("Invocation of {} failed", dest.getPath(), e);
 
-            if (dest == null) {
-                BatchResponseItem resItem = new BatchResponseItem();
                 resItem.setStatus(404);
-                batchResponseItems.add(resItem);
-            } else {
-                BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
-                BatchItemResponse response = new BatchItemResponse();
+            }
+        }
+        return resItem;
+    }
+
+    /**
+     * Processes items concurrently: up to {@code parallelism - 1} workers are submitted to the executor, while the
+     * current thread takes part in processing as well, so that completion is guaranteed even when no executor thread
+     * is available (as it happens when this process is itself running on a saturated executor).
+     * Each response is appended to the payload as soon as all preceding ones are, so that request order is preserved
+     * and memory is released as processing proceeds.
+     *
+     * @param payload payload being built
+     * @param delimiter multipart boundary
+     */
+    protected void runParallel(final StringBuilder payload, final String delimiter) {
+        OrderedPayload ordered = new OrderedPayload(payload, delimiter, batchRequestItems.size());
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(batchRequestItems.size());
+
+        Runnable worker = () -> {
+            for (int idx = next.getAndIncrement(); idx < batchRequestItems.size(); idx = next.getAndIncrement()) {
+                BatchResponseItem resItem;
                 try {
-                    dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
-                    LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}", response.getStatus(),
-                            response.getHeaders(), new String(response.getUnderlyingOutputStream().toByteArray()));
-
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(response.getStatus());
-                    resItem.setHeaders(response.getHeaders());
-                    String output = new String(response.getUnderlyingOutputStream().toByteArray());
-                    if (output.length() > 0) {
-                        resItem.setContent(output);
-                    }
-                    batchResponseItems.add(resItem);
-                } catch (IOException e) {
-                    LOG.error("Invocation of {} failed", dest.getPath(), e);
+                    resItem = process(batchRequestItems.get(idx));
+                } catch (Exception e) {
+                    LOG.error("While processing batch item {}", batchRequestItems.get(idx), e);
 
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(404);
-                    batchResponseItems.add(resItem);
+                    resItem = new BatchResponseItem();
+                    resItem.setStatus(500);
                 }
+                ordered.complete(idx, resItem);
+                done.countDown();
             }
-        });
+        };
+
+        int workers = Math.min(parallelism, batchRequestItems.size()) - 1;
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    try {
+                        worker.run();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Executor saturated, proceeding with reduced parallelism", e);
+        }
 
-        String results = BatchPayloadGenerator.generate(batchResponseItems, SyncopeConstants.DOUBLE_DASH + boundary);
+        worker.run();
+
+        boolean interrupted = false;
+        while (done.getCount() > 0) {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        String delimiter = SyncopeConstants.DOUBLE_DASH + boundary;
+        StringBuilder payload = new StringBuilder();
+        if (parallelism > 1 && executor != null && batchRequestItems.size() > 1) {
+            runParallel(payload, delimiter);
+        } else {
+            batchRequestItems.forEach(reqItem -> BatchPayloadGenerator.append(payload, process(reqItem), delimiter));
+        }
+        BatchPayloadGenerator.close(payload, delimiter);
+        String results = payload.toString();
 
         Batch batch = batchDAO.find(boundary);
         if (batch == null) {
@@ -141,4 +221,30 @@ public class BatchProcess implements Runnable {
             batchDAO.save(batch);
         }
     }
+
+    private static final class OrderedPayload {
+
+        private final StringBuilder payload;
+
+        private final String delimiter;
+
+        private final BatchResponseItem[] pending;
+
+        private int cursor = 0;
+
+        OrderedPayload(final StringBuilder payload, final String delimiter, final int size) {
+            this.payload = payload;
+            this.delimiter = delimiter;
+            this.pending = new BatchResponseItem[size];
+        }
+
+        synchronized void complete(final int idx, final BatchResponseItem resItem) {
+            pending[idx] = resItem;
+            while (cursor < pending.length && pending[cursor] != null) {
+                BatchPayloadGenerator.append(payload, pending[cursor], delimiter);
+                pending[cursor] = null;
+                cursor++;
+            }
+        }
+    }
 }
@@ -58,6 +58,11 @@ public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerServ
         logic.create(auditEntry);
     }
 
+    @Override
+    public void bulkCreate(final List<AuditEntry> auditEntries) {
+        logic.create(auditEntries);
+    }
+
     @Override
     public void delete(final LoggerType type, final String name) {
         switch (type) {
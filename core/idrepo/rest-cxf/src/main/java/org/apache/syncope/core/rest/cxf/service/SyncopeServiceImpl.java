@@ -30,6 +30,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.cxf.Bus;
 import org.apache.cxf.transport.DestinationFactoryManager;
@@ -52,6 +53,7 @@ import org.apache.syncope.common.rest.api.service.SyncopeService;
 import org.apache.syncope.core.logic.SyncopeLogic;
 import org.apache.syncope.core.rest.cxf.batch.BatchProcess;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
@@ -69,6 +71,9 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
     @Resource(name = "batchExecutor")
     private ThreadPoolTaskExecutor batchExecutor;
 
+    @Value("${batch.maxParallelism:4}")
+    private int batchMaxParallelism;
+
     @Autowired
     private SyncopeLogic logic;
 
@@ -88,7 +93,7 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
 
     @Override
     public SystemInfo system() {
-        return SyncopeLogic.system();
+        return logic.system();
     }
 
     @Override
@@ -159,6 +164,9 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         batchProcess.setServletConfig(messageContext.getServletConfig());
         batchProcess.setServletRequest(messageContext.getHttpServletRequest());
         batchProcess.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        batchProcess.setParallelism(Math.max(1, Math.min(batchMaxParallelism, NumberUtils.toInt(
+                messageContext.getHttpServletRequest().getHeader(RESTHeaders.BATCH_PARALLELISM), 1))));
+        batchProcess.setExecutor(batchExecutor);
 
         // manage synchronous Vs asynchronous batch processing
         if (getPreference() == Preference.RESPOND_ASYNC) {
@@ -203,8 +211,8 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
     }
 
     @Override
-    public Response exportInternalStorageContent() {
-        StreamingOutput sout = (os) -> logic.exportInternalStorageContent(os);
+    public Response exportInternalStorageContent(final int tableThreshold) {
+        StreamingOutput sout = (os) -> logic.exportInternalStorageContent(tableThreshold, os);
 
         return Response.ok(sout).
                 type(MediaType.TEXT_XML).
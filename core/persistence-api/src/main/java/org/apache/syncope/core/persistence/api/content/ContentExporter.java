@@ -18,18 +18,29 @@
  */
 package org.apache.syncope.core.persistence.api.content;
 
+import java.io.IOException;
 import java.io.OutputStream;
-import javax.xml.transform.TransformerConfigurationException;
-import org.xml.sax.SAXException;
 
 @FunctionalInterface
 public interface ContentExporter extends ContentDealer {
 
+    /**
+     * Writes the internal storage content for the given domain to the given output, as soon as available.
+     *
+     * @param domain domain
+     * @param tableThreshold maximum number of rows exported for each table, 0 or less for no limit
+     * @param output where content is written
+     * @param uwfPrefix prefix of tables managed by the user workflow adapter, not to be exported
+     * @param gwfPrefix prefix of tables managed by the group workflow adapter, not to be exported
+     * @param awfPrefix prefix of tables managed by the any object workflow adapter, not to be exported
+     * @throws IOException if content cannot be written to output
+     */
     void export(
             String domain,
+            int tableThreshold,
             OutputStream output,
             String uwfPrefix,
             String gwfPrefix,
             String awfPrefix)
-            throws SAXException, TransformerConfigurationException;
+            throws IOException;
 }
@@ -32,4 +32,14 @@ public interface AnyMatchDAO extends DAO<Any<?>> {
      * @return true if any matches cond
      */
     <T extends Any<?>> boolean matches(T any, SearchCond cond);
+
+    /**
+     * Verify if any matches the given FIQL condition; the compiled condition is cached for subsequent invocations.
+     *
+     * @param any to be checked
+     * @param fiql to be verified
+     * @param <T> any
+     * @return true if any matches fiql
+     */
+    <T extends Any<?>> boolean matches(T any, String fiql);
 }
@@ -59,6 +59,17 @@ public interface GroupDAO extends AnyDAO<Group> {
 
     int countUDynMembers(Group group);
 
+    /**
+     * Finds key and username of users being either static or dynamic members of the given group, ordered by key,
+     * without loading any user entity.
+     *
+     * @param groupKey group key
+     * @param afterUserKey if not null, only users with key greater than this are returned
+     * @param itemsPerPage maximum number of items to return
+     * @return (key, username) pairs
+     */
+    List<Pair<String, String>> findUMemberUsernames(String groupKey, String afterUserKey, int itemsPerPage);
+
     @Override
     Collection<String> findAllResourceKeys(String key);
 
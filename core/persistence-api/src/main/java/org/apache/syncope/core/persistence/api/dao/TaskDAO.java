@@ -71,6 +71,6 @@ public interface TaskDAO extends DAO<Task> {
 
     void delete(Task task);
 
-    void deleteAll(ExternalResource resource, TaskType type);
+    int deleteAll(ExternalResource resource, TaskType type);
 
 }
@@ -33,6 +33,22 @@ public interface AuthProfileDAO extends DAO<AuthProfile> {
 
     Optional<AuthProfile> findByKey(String key);
 
+    List<AuthProfile> findByGoogleMfaAuthToken(Integer otp);
+
+    List<AuthProfile> findByGoogleMfaAuthTokenKey(String key);
+
+    List<AuthProfile> findByGoogleMfaAuthAccountKey(String key);
+
+    List<AuthProfile> findByGoogleMfaAuthAccountId(long id);
+
+    List<AuthProfile> findByU2FRegisteredDeviceKey(String key);
+
+    List<AuthProfile> findByU2FRegisteredDeviceId(long id);
+
+    List<AuthProfile> findByWebAuthnAccountKey(String key);
+
+    List<AuthProfile> findByWebAuthnCredential(String credentialId);
+
     AuthProfile save(AuthProfile profile);
 
     void deleteByKey(String key);
@@ -42,4 +58,22 @@ public interface AuthProfileDAO extends DAO<AuthProfile> {
     void delete(AuthProfile authProfile);
 
     void deleteAll();
+
+    /**
+     * Finds auth profiles stored by previous versions, hence not available to the lookup methods above.
+     *
+     * @param afterKey only profiles with key greater than this are returned, if not null
+     * @param max maximum number of keys to return
+     * @return keys of matching profiles, sorted
+     */
+    List<String> findToBeReindexed(String afterKey, int max);
+
+    /**
+     * Makes the given auth profiles available to the lookup methods above; when invoked outside of any transaction,
+     * as during startup, changes are committed upon return.
+     *
+     * @param keys auth profile keys, as returned by {@link #findToBeReindexed(String, int)}
+     * @return number of updated auth profiles
+     */
+    int reindex(List<String> keys);
 }
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.content;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+
+/**
+ * Content loader which, rather than issuing one statement per XML element, collects rows into segments and
+ * inserts them via JDBC batches, running independent segments concurrently on separate connections.
+ *
+ * A segment holds rows for the same table: as long as none of the tables referenced by foreign keys receives new
+ * rows, consecutive elements for the same table are appended to its current segment, even if interleaved with other
+ * elements. Each segment waits for the previous segment of the same table and for the segments of referenced tables
+ * preceding it in the document, hence rows are always inserted after the ones they might refer to.
+ * Unless the table references itself, rows of a segment are grouped by statement, to get fuller batches.
+ */
+public class BatchedContentLoaderHandler extends ContentLoaderHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchedContentLoaderHandler.class);
+
+    private static class Segment {
+
+        private final String table;
+
+        private final Segment previous;
+
+        private final boolean ordered;
+
+        private final Map<String, Segment> references = new TreeMap<>();
+
+        private final List<Pair<String, Object[]>> rows = new ArrayList<>();
+
+        private CompletableFuture<Void> future;
+
+        private long elapsed;
+
+        private int batches;
+
+        Segment(final String table, final Segment previous, final boolean ordered) {
+            this.table = table;
+            this.previous = previous;
+            this.ordered = ordered;
+        }
+    }
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final TransactionTemplate txTemplate;
+
+    private final Map<String, String> tableNames = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<String, Set<String>> referencedTables = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Set<String> selfReferencing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<String, Segment> latest = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private long parseStart;
+
+    public BatchedContentLoaderHandler(
+            final DataSource dataSource,
+            final String rootElement,
+            final boolean continueOnError,
+            final Environment env,
+            final int batchSize,
+            final int parallelism) {
+
+        super(dataSource, rootElement, continueOnError, env);
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.txTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private Set<String> getReferencedTables(final String tableName) {
+        synchronized (referencedTables) {
+            if (tableNames.isEmpty()) {
+                tableNames.putAll(jdbcTemplate.execute((ConnectionCallback<Map<String, String>>) conn -> {
+                    Map<String, String> names = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    try (ResultSet rs = conn.getMetaData().getTables(
+                            conn.getCatalog(), conn.getSchema(), null, new String[] { "TABLE" })) {
+
+                        while (rs.next()) {
+                            names.put(rs.getString("TABLE_NAME"), rs.getString("TABLE_NAME"));
+                        }
+                    }
+                    return names;
+                }));
+            }
+
+            return referencedTables.computeIfAbsent(tableName, k -> jdbcTemplate.execute(
+                    (ConnectionCallback<Set<String>>) conn -> {
+                        Set<String> pkTableNames = new HashSet<>();
+
+                        DatabaseMetaData meta = conn.getMetaData();
+                        try (ResultSet rs = meta.getImportedKeys(
+                                conn.getCatalog(), conn.getSchema(), tableNames.getOrDefault(k, k))) {
+
+                            while (rs.next()) {
+                                String pkTableName = rs.getString("PKTABLE_NAME");
+                                // self references are dealt with by inserting rows in document order
+                                if (k.equalsIgnoreCase(pkTableName)) {
+                                    selfReferencing.add(k);
+                                } else {
+                                    pkTableNames.add(pkTableName);
+                                }
+                            }
+                        }
+
+                        LOG.debug("Table {} references {}", k, pkTableNames);
+                        return pkTableNames;
+                    }));
+        }
+    }
+
+    private boolean canAppend(final Segment segment) {
+        return segment.references.entrySet().stream().
+                allMatch(ref -> latest.get(ref.getKey()) == ref.getValue());
+    }
+
+    @Override
+    protected void insert(final String tableName, final Attributes atts) {
+        Segment segment = latest.get(tableName);
+        if (segment == null || !canAppend(segment)) {
+            Set<String> references = getReferencedTables(tableName);
+            segment = new Segment(tableName, segment, selfReferencing.contains(tableName));
+            for (String referenced : references) {
+                segment.references.put(referenced, latest.get(referenced));
+            }
+            latest.put(tableName, segment);
+            segments.add(segment);
+        }
+
+        segment.rows.add(Pair.of(getQuery(tableName, atts), getParameters(tableName, atts)));
+    }
+
+    @Override
+    protected void fetch(final Attributes atts) {
+        // fetch queries might depend on any content seen so far
+        flush();
+
+        super.fetch(atts);
+    }
+
+    private void insert(final String query, final List<Object[]> batch) {
+        try {
+            txTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(query, batch));
+        } catch (DataAccessException e) {
+            if (!continueOnError) {
+                LOG.error("While trying to perform {} with {} rows", query, batch.size(), e);
+                throw e;
+            }
+
+            LOG.warn("While trying to perform {} with {} rows, retrying row by row", query, batch.size(), e);
+            batch.forEach(parameters -> {
+                try {
+                    jdbcTemplate.update(query, parameters);
+                } catch (DataAccessException ex) {
+                    LOG.error("While trying to perform {} with params {}", query, parameters, ex);
+                }
+            });
+        }
+    }
+
+    private void load(final Segment segment, final List<Pair<String, Object[]>> rows) {
+        String query = null;
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, rows.size()));
+        for (Pair<String, Object[]> row : rows) {
+            if (!batch.isEmpty() && (!row.getLeft().equals(query) || batch.size() >= batchSize)) {
+                insert(query, batch);
+                segment.batches++;
+                batch = new ArrayList<>(Math.min(batchSize, rows.size()));
+            }
+
+            query = row.getLeft();
+            batch.add(row.getRight());
+        }
+        if (!batch.isEmpty()) {
+            insert(query, batch);
+            segment.batches++;
+        }
+    }
+
+    private void load(final Segment segment) {
+        long start = System.nanoTime();
+
+        if (segment.ordered) {
+            load(segment, segment.rows);
+        } else {
+            Map<String, List<Pair<String, Object[]>>> byQuery = new LinkedHashMap<>();
+            segment.rows.forEach(row -> byQuery.computeIfAbsent(row.getLeft(), k -> new ArrayList<>()).add(row));
+            byQuery.values().forEach(rows -> load(segment, rows));
+        }
+
+        segment.elapsed = System.nanoTime() - start;
+        LOG.debug("Loaded {} rows into {} with {} batches in {} ms",
+                segment.rows.size(), segment.table, segment.batches, TimeUnit.NANOSECONDS.toMillis(segment.elapsed));
+    }
+
+    private void flush() {
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("ContentLoader-");
+        executor.initialize();
+        try {
+            segments.forEach(segment -> segment.future = CompletableFuture.allOf(Stream.concat(
+                    Stream.of(segment.previous),
+                    segment.references.values().stream()).
+                    filter(dep -> dep != null && dep.future != null).
+                    map(dep -> dep.future).
+                    toArray(CompletableFuture[]::new)).
+                    thenRunAsync(() -> load(segment), executor));
+
+            CompletableFuture.allOf(segments.stream().
+                    map(segment -> segment.future).toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, long[]> byTable = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        segments.forEach(segment -> {
+            long[] stats = byTable.computeIfAbsent(segment.table, k -> new long[3]);
+            stats[0] += segment.rows.size();
+            stats[1] += segment.batches;
+            stats[2] += segment.elapsed;
+        });
+        byTable.forEach((table, stats) -> LOG.info("Loaded {} rows into {} with {} batches in {} ms",
+                stats[0], table, stats[1], TimeUnit.NANOSECONDS.toMillis(stats[2])));
+        LOG.info("Loaded {} segments with parallelism {} in {} ms",
+                segments.size(), parallelism, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        segments.clear();
+        latest.clear();
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        parseStart = System.nanoTime();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        LOG.info("Parsed {} segments in {} ms",
+                segments.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStart));
+
+        flush();
+    }
+}
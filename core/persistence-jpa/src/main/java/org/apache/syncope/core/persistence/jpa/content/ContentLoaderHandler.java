@@ -23,7 +23,7 @@ import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-
+import java.util.concurrent.ConcurrentHashMap;
 import javax.sql.DataSource;
 import javax.xml.bind.DatatypeConverter;
 import org.apache.commons.lang3.StringUtils;
@@ -45,14 +45,16 @@ public class ContentLoaderHandler extends DefaultHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContentLoaderHandler.class);
 
-    private final JdbcTemplate jdbcTemplate;
+    protected final JdbcTemplate jdbcTemplate;
 
     private final String rootElement;
 
-    private final boolean continueOnError;
+    protected final boolean continueOnError;
 
     private final Map<String, String> fetches = new HashMap<>();
 
+    private final Map<String, Map<String, Integer>> colTypesByTable = new ConcurrentHashMap<>();
+
     private final StringSubstitutor paramSubstitutor;
 
     public ContentLoaderHandler(
@@ -70,15 +72,19 @@ public class ContentLoaderHandler extends DefaultHandler {
         });
     }
 
-    private Object[] getParameters(final String tableName, final Attributes attrs) {
-        Map<String, Integer> colTypes = jdbcTemplate.query(
+    private Map<String, Integer> getColTypes(final String tableName) {
+        return colTypesByTable.computeIfAbsent(tableName.toUpperCase(), k -> jdbcTemplate.query(
                 "SELECT * FROM " + tableName + " WHERE 0=1", rs -> {
                     Map<String, Integer> types = new HashMap<>();
                     for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
                         types.put(rs.getMetaData().getColumnName(i).toUpperCase(), rs.getMetaData().getColumnType(i));
                     }
                     return types;
-                });
+                }));
+    }
+
+    protected Object[] getParameters(final String tableName, final Attributes attrs) {
+        Map<String, Integer> colTypes = getColTypes(tableName);
 
         Object[] parameters = new Object[attrs.getLength()];
         for (int i = 0; i < attrs.getLength(); i++) {
@@ -181,6 +187,43 @@ public class ContentLoaderHandler extends DefaultHandler {
         return parameters;
     }
 
+    protected static String getQuery(final String tableName, final Attributes atts) {
+        StringBuilder query = new StringBuilder("INSERT INTO ").append(tableName).append('(');
+
+        StringBuilder values = new StringBuilder();
+
+        for (int i = 0; i < atts.getLength(); i++) {
+            query.append(atts.getQName(i));
+            values.append('?');
+            if (i < atts.getLength() - 1) {
+                query.append(',');
+                values.append(',');
+            }
+        }
+        query.append(") VALUES (").append(values).append(')');
+
+        return query.toString();
+    }
+
+    protected void fetch(final Attributes atts) {
+        String value = jdbcTemplate.queryForObject(atts.getValue("query"), String.class);
+        String key = atts.getValue("key");
+        fetches.put(key, value);
+    }
+
+    protected void insert(final String tableName, final Attributes atts) {
+        String query = getQuery(tableName, atts);
+        Object[] parameters = getParameters(tableName, atts);
+        try {
+            jdbcTemplate.update(query, parameters);
+        } catch (DataAccessException e) {
+            LOG.error("While trying to perform {} with params {}", query, parameters, e);
+            if (!continueOnError) {
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void startElement(final String uri, final String localName, final String qName, final Attributes atts)
             throws SAXException {
@@ -190,32 +233,9 @@ public class ContentLoaderHandler extends DefaultHandler {
             return;
         }
         if ("fetch".equalsIgnoreCase(qName)) {
-            String value = jdbcTemplate.queryForObject(atts.getValue("query"), String.class);
-            String key = atts.getValue("key");
-            fetches.put(key, value);
+            fetch(atts);
         } else {
-            StringBuilder query = new StringBuilder("INSERT INTO ").append(qName).append('(');
-
-            StringBuilder values = new StringBuilder();
-
-            for (int i = 0; i < atts.getLength(); i++) {
-                query.append(atts.getQName(i));
-                values.append('?');
-                if (i < atts.getLength() - 1) {
-                    query.append(',');
-                    values.append(',');
-                }
-            }
-            query.append(") VALUES (").append(values).append(')');
-
-            try {
-                jdbcTemplate.update(query.toString(), getParameters(qName, atts));
-            } catch (DataAccessException e) {
-                LOG.error("While trying to perform {} with params {}", query, getParameters(qName, atts), e);
-                if (!continueOnError) {
-                    throw e;
-                }
-            }
+            insert(qName, atts);
         }
     }
 }
@@ -18,11 +18,18 @@
  */
 package org.apache.syncope.core.persistence.jpa.content;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -37,6 +44,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +52,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -56,16 +68,10 @@ import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.PluralAttribute;
 import javax.sql.DataSource;
-import javax.xml.XMLConstants;
 import javax.xml.bind.DatatypeConverter;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.sax.SAXTransformerFactory;
-import javax.xml.transform.sax.TransformerHandler;
-import javax.xml.transform.stream.StreamResult;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.text.StringEscapeUtils;
 import org.apache.openjpa.lib.util.collections.BidiMap;
 import org.apache.openjpa.lib.util.collections.DualHashBidiMap;
 import org.apache.syncope.core.persistence.api.DomainHolder;
@@ -73,6 +79,7 @@ import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.persistence.api.content.ContentExporter;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
@@ -94,11 +101,11 @@ import org.apache.tika.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.AttributesImpl;
 
 /**
  * Export internal storage content as XML.
@@ -122,12 +129,20 @@ public class XMLContentExporter implements ContentExporter {
     private static final Map<String, Set<String>> COLUMNS_TO_BE_NULLIFIED =
             Map.of("SYNCOPEGROUP", Set.of("USEROWNER_ID"));
 
+    /**
+     * Seconds to wait for running table exports upon completion or abort, before releasing their fragments.
+     */
+    private static final long ABORT_TIMEOUT = 30;
+
     @Autowired
     private DomainHolder domainHolder;
 
     @Autowired
     private RealmDAO realmDAO;
 
+    @Autowired
+    private Environment env;
+
     private static boolean isTableAllowed(final String tableName) {
         return TABLE_PREFIXES_TO_BE_EXCLUDED.stream().
                 allMatch(prefix -> !tableName.toUpperCase().startsWith(prefix.toUpperCase()));
@@ -280,15 +295,33 @@ public class XMLContentExporter implements ContentExporter {
         return "TASK".equalsIgnoreCase(tableName);
     }
 
+    private static void writeRow(final Writer writer, final String name, final Map<String, String> row)
+            throws IOException {
+
+        writer.write("\n    <");
+        writer.write(name);
+        for (Map.Entry<String, String> entry : row.entrySet()) {
+            writer.write(' ');
+            writer.write(entry.getKey());
+            writer.write("=\"");
+            writer.write(StringEscapeUtils.escapeXml10(entry.getValue()).
+                    replace("\t", "&#9;").replace("\n", "&#10;").replace("\r", "&#13;"));
+            writer.write('"');
+        }
+        writer.write("/>");
+    }
+
     @SuppressWarnings("unchecked")
     private void exportTable(
-            final TransformerHandler handler,
+            final Writer writer,
             final Connection conn,
             final String tableName,
             final String whereClause,
+            final int threshold,
             final BidiMap<String, EntityType<?>> entities,
             final Set<EntityType<?>> taskEntities,
-            final Map<String, Pair<String, String>> relationTables) throws SQLException, SAXException {
+            final Map<String, Pair<String, String>> relationTables,
+            final List<String> realmKeys) throws SQLException, IOException {
 
         LOG.debug("Export table {}", tableName);
 
@@ -333,8 +366,13 @@ public class XMLContentExporter implements ContentExporter {
                 query.append(" ORDER BY ").append(orderBy);
             }
             stmt = conn.prepareStatement(query.toString());
+            if (threshold > 0) {
+                stmt.setMaxRows(threshold);
+            }
 
-            List<Map<String, String>> rows = new ArrayList<>();
+            // realms are sorted to have parents first, all other rows are written as soon as they are read
+            boolean isRealm = tableName.equalsIgnoreCase(JPARealm.TABLE);
+            List<Map<String, String>> realmRows = new ArrayList<>();
 
             Optional<EntityType<?>> entity = entities.entrySet().stream().
                     filter(entry -> entry.getKey().equalsIgnoreCase(tableName)).
@@ -351,8 +389,7 @@ public class XMLContentExporter implements ContentExporter {
 
             rs = stmt.executeQuery();
             while (rs.next()) {
-                Map<String, String> row = new HashMap<>();
-                rows.add(row);
+                Map<String, String> row = new LinkedHashMap<>();
 
                 ResultSetMetaData rsMeta = rs.getMetaData();
                 for (int i = 0; i < rsMeta.getColumnCount(); i++) {
@@ -388,26 +425,25 @@ public class XMLContentExporter implements ContentExporter {
                         LOG.debug("Add for table {}: {}=\"{}\"", outputTableName, name, value);
                     }
                 }
+
+                if (isRealm) {
+                    realmRows.add(row);
+                } else {
+                    writeRow(writer, outputTableName, row);
+                }
             }
 
-            if (tableName.equalsIgnoreCase(JPARealm.TABLE)) {
-                List<Map<String, String>> realmRows = new ArrayList<>(rows);
-                rows.clear();
-                realmDAO.findAll().forEach(realm -> realmRows.stream().filter(row -> {
-                    String id = row.get("ID");
+            for (String realmKey : realmKeys) {
+                Optional<Map<String, String>> row = realmRows.stream().filter(r -> {
+                    String id = r.get("ID");
                     if (id == null) {
-                        id = row.get("id");
+                        id = r.get("id");
                     }
-                    return realm.getKey().equals(id);
-                }).findFirst().ifPresent(rows::add));
-            }
-
-            for (Map<String, String> row : rows) {
-                AttributesImpl attrs = new AttributesImpl();
-                row.forEach((key, value) -> attrs.addAttribute("", "", key, "CDATA", value));
-
-                handler.startElement("", "", outputTableName, attrs);
-                handler.endElement("", "", outputTableName);
+                    return realmKey.equals(id);
+                }).findFirst();
+                if (row.isPresent()) {
+                    writeRow(writer, outputTableName, row.get());
+                }
             }
         } finally {
             if (rs != null) {
@@ -481,14 +517,54 @@ public class XMLContentExporter implements ContentExporter {
         return relationTables;
     }
 
+    private SpooledFragment exportTable(
+            final DataSource dataSource,
+            final String tableName,
+            final int threshold,
+            final BidiMap<String, EntityType<?>> entities,
+            final Set<EntityType<?>> taskEntities,
+            final Map<String, Pair<String, String>> relationTables,
+            final List<String> realmKeys,
+            final AtomicBoolean aborted) {
+
+        long start = System.currentTimeMillis();
+
+        SpooledFragment fragment = new SpooledFragment();
+        Connection conn = null;
+        try {
+            conn = DataSourceUtils.getConnection(dataSource);
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(fragment, StandardCharsets.UTF_8));
+            exportTable(
+                    writer, conn, tableName, TABLES_TO_BE_FILTERED.get(tableName.toUpperCase()), threshold,
+                    entities, taskEntities, relationTables, realmKeys);
+            writer.flush();
+
+            LOG.debug("Table {} exported in {} ms", tableName, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            LOG.error("Failure exporting table {}", tableName, e);
+
+            fragment.close();
+            fragment = new SpooledFragment();
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+
+        if (aborted.get()) {
+            fragment.close();
+        }
+        return fragment;
+    }
+
     @Override
     public void export(
             final String domain,
+            final int tableThreshold,
             final OutputStream os,
             final String uwfPrefix,
             final String gwfPrefix,
             final String awfPrefix)
-            throws SAXException, TransformerConfigurationException {
+            throws IOException {
 
         if (StringUtils.isNotBlank(uwfPrefix)) {
             TABLE_PREFIXES_TO_BE_EXCLUDED.add(uwfPrefix);
@@ -500,18 +576,6 @@ public class XMLContentExporter implements ContentExporter {
             TABLE_PREFIXES_TO_BE_EXCLUDED.add(awfPrefix);
         }
 
-        StreamResult streamResult = new StreamResult(os);
-        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) SAXTransformerFactory.newInstance();
-        transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-
-        TransformerHandler handler = transformerFactory.newTransformerHandler();
-        Transformer serializer = handler.getTransformer();
-        serializer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
-        serializer.setOutputProperty(OutputKeys.INDENT, "yes");
-        handler.setResult(streamResult);
-        handler.startDocument();
-        handler.startElement("", "", ROOT_ELEMENT, new AttributesImpl());
-
         DataSource dataSource = domainHolder.getDomains().get(domain);
         if (dataSource == null) {
             throw new IllegalArgumentException("Could not find DataSource for domain " + domain);
@@ -521,6 +585,8 @@ public class XMLContentExporter implements ContentExporter {
                 ? ApplicationContextProvider.getBeanFactory().getBean(domain + "DatabaseSchema", String.class)
                 : null;
 
+        List<String> sortedTableNames = List.of();
+
         Connection conn = null;
         ResultSet rs = null;
         try {
@@ -542,21 +608,8 @@ public class XMLContentExporter implements ContentExporter {
 
             LOG.debug("Tables to be exported {}", tableNames);
 
-            EntityManagerFactory emf = EntityManagerFactoryUtils.findEntityManagerFactory(
-                    ApplicationContextProvider.getBeanFactory(), domain);
-            Set<EntityType<?>> entityTypes = emf == null ? Set.of() : emf.getMetamodel().getEntities();
-            BidiMap<String, EntityType<?>> entities = entities(entityTypes);
-
-            // then sort tables based on foreign keys and dump
-            for (String tableName : sortByForeignKeys(schema, conn, tableNames)) {
-                try {
-                    exportTable(
-                            handler, conn, tableName, TABLES_TO_BE_FILTERED.get(tableName.toUpperCase()),
-                            entities, taskEntities(entityTypes), relationTables(entities));
-                } catch (Exception e) {
-                    LOG.error("Failure exporting table {}", tableName, e);
-                }
-            }
+            // then sort tables based on foreign keys
+            sortedTableNames = sortByForeignKeys(schema, conn, tableNames);
         } catch (SQLException e) {
             LOG.error("While exporting database content", e);
         } finally {
@@ -569,18 +622,140 @@ public class XMLContentExporter implements ContentExporter {
             }
 
             DataSourceUtils.releaseConnection(conn, dataSource);
-            if (conn != null) {
-                try {
-                    if (!conn.isClosed()) {
-                        conn.close();
-                    }
-                } catch (SQLException e) {
-                    LOG.error("While releasing connection", e);
+        }
+
+        EntityManagerFactory emf = EntityManagerFactoryUtils.findEntityManagerFactory(
+                ApplicationContextProvider.getBeanFactory(), domain);
+        Set<EntityType<?>> entityTypes = emf == null ? Set.of() : emf.getMetamodel().getEntities();
+        BidiMap<String, EntityType<?>> entities = entities(entityTypes);
+        Set<EntityType<?>> taskEntities = taskEntities(entityTypes);
+        Map<String, Pair<String, String>> relationTables = relationTables(entities);
+
+        // realm lookup needs the current domain, hence is performed here rather than by table exporters
+        List<String> realmKeys = realmDAO.findAll().stream().map(Realm::getKey).collect(Collectors.toList());
+
+        int parallelism = env.getProperty("content.exporter.parallelism", Integer.class, 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, parallelism));
+        executor.setMaxPoolSize(Math.max(1, parallelism));
+        executor.setThreadNamePrefix("ContentExporter-");
+        executor.initialize();
+
+        // tables are read concurrently, each into its own fragment; fragments are sent in foreign key order
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        List<Future<SpooledFragment>> fragments = sortedTableNames.stream().
+                map(tableName -> executor.submit(() -> exportTable(
+                        dataSource, tableName, tableThreshold,
+                        entities, taskEntities, relationTables, realmKeys, aborted))).
+                collect(Collectors.toList());
+        int sent = 0;
+        try {
+            os.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<" + ROOT_ELEMENT + ">").
+                    getBytes(StandardCharsets.UTF_8));
+
+            for (Future<SpooledFragment> future : fragments) {
+                try (SpooledFragment fragment = future.get()) {
+                    fragment.writeTo(os);
                 }
+                os.flush();
+                sent++;
+            }
+
+            os.write(("\n</" + ROOT_ELEMENT + ">\n").getBytes(StandardCharsets.UTF_8));
+            os.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("While exporting database content", e.getCause());
+        } finally {
+            List<Future<SpooledFragment>> unsent = fragments.subList(sent, fragments.size());
+            if (!unsent.isEmpty()) {
+                aborted.set(true);
+                // tables whose export was not started yet are skipped
+                unsent.forEach(future -> future.cancel(false));
+            }
+
+            executor.shutdown();
+            try {
+                if (!executor.getThreadPoolExecutor().awaitTermination(ABORT_TIMEOUT, TimeUnit.SECONDS)) {
+                    // fragments of exports still running are discarded by the exporters themselves when done
+                    LOG.warn("Table exports still running after {} seconds", ABORT_TIMEOUT);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            unsent.stream().
+                    filter(future -> future.isDone() && !future.isCancelled()).
+                    forEach(future -> {
+                        try {
+                            future.get().close();
+                        } catch (Exception e) {
+                            LOG.debug("While discarding fragment", e);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Output stream keeping content in memory up to a threshold, then spooling to a temporary file.
+     */
+    private static class SpooledFragment extends OutputStream {
+
+        private static final int MEMORY_THRESHOLD = 1024 * 1024;
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+        private Path file;
+
+        private OutputStream out = memory;
+
+        private void spool(final int len) throws IOException {
+            if (file == null && memory.size() + len > MEMORY_THRESHOLD) {
+                file = Files.createTempFile("export", ".xml");
+                out = new BufferedOutputStream(Files.newOutputStream(file));
+                memory.writeTo(out);
+                memory = null;
             }
         }
 
-        handler.endElement("", "", ROOT_ELEMENT);
-        handler.endDocument();
+        @Override
+        public void write(final int b) throws IOException {
+            spool(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            spool(len);
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        public void writeTo(final OutputStream os) throws IOException {
+            if (file == null) {
+                memory.writeTo(os);
+            } else {
+                out.close();
+                Files.copy(file, os);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (file != null) {
+                try {
+                    out.close();
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    LOG.error("While deleting {}", file, e);
+                }
+            }
+        }
     }
 }
@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.jpa.content;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Resource;
 import javax.sql.DataSource;
 import javax.xml.XMLConstants;
@@ -41,6 +42,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Component;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Initialize Database with default content if no data is present already.
@@ -86,36 +88,66 @@ public class XMLContentLoader implements ContentLoader {
         } else {
             LOG.info("[{}] Empty database found, loading default content", domain);
 
+            // with batched loading, indexes are created after content: this speeds up bulk inserts
+            int batchSize = env.getProperty("content.loader.batchSize", Integer.class, 0);
+
+            long start = System.nanoTime();
             try {
                 createViews(domain, datasource);
             } catch (IOException e) {
                 LOG.error("[{}] While creating views", domain, e);
             }
-            try {
-                createIndexes(domain, datasource);
-            } catch (IOException e) {
-                LOG.error("[{}] While creating indexes", domain, e);
+            start = logElapsed(domain, "Views created", start);
+
+            if (batchSize <= 0) {
+                start = createIndexes(domain, datasource, start);
             }
+
             try {
                 InputStream contentXML = ApplicationContextProvider.getBeanFactory().
                         getBean(domain + "ContentXML", InputStream.class);
-                loadDefaultContent(domain, contentXML, datasource);
+                loadDefaultContent(domain, contentXML, datasource, batchSize);
             } catch (Exception e) {
                 LOG.error("[{}] While loading default content", domain, e);
             }
+            start = logElapsed(domain, "Default content loaded", start);
+
+            if (batchSize > 0) {
+                createIndexes(domain, datasource, start);
+            }
         }
     }
 
+    private static long logElapsed(final String domain, final String message, final long start) {
+        long now = System.nanoTime();
+        LOG.info("[{}] {} in {} ms", domain, message, TimeUnit.NANOSECONDS.toMillis(now - start));
+        return now;
+    }
+
+    private long createIndexes(final String domain, final DataSource datasource, final long start) {
+        try {
+            createIndexes(domain, datasource);
+        } catch (IOException e) {
+            LOG.error("[{}] While creating indexes", domain, e);
+        }
+        return logElapsed(domain, "Indexes created", start);
+    }
+
     private void loadDefaultContent(
-            final String domain, final InputStream contentXML, final DataSource dataSource)
+            final String domain, final InputStream contentXML, final DataSource dataSource, final int batchSize)
             throws IOException, ParserConfigurationException, SAXException {
 
+        DefaultHandler handler = batchSize > 0
+                ? new BatchedContentLoaderHandler(dataSource, ROOT_ELEMENT, true, env,
+                        batchSize, env.getProperty("content.loader.parallelism", Integer.class, 1))
+                : new ContentLoaderHandler(dataSource, ROOT_ELEMENT, true, env);
+
         SAXParserFactory factory = SAXParserFactory.newInstance();
         factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.TRUE);
         factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         try (contentXML) {
             SAXParser parser = factory.newSAXParser();
-            parser.parse(contentXML, new ContentLoaderHandler(dataSource, ROOT_ELEMENT, true, env));
+            parser.parse(contentXML, handler);
             LOG.debug("[{}] Default content successfully loaded", domain);
         }
     }
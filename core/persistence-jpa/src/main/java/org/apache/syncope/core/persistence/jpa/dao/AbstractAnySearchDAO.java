@@ -60,6 +60,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO {
@@ -94,6 +95,9 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
     @Autowired
     protected AnyUtilsFactory anyUtilsFactory;
 
+    @Autowired
+    protected MetricsRegistry metricsRegistry;
+
     protected static SearchCond buildEffectiveCond(final SearchCond cond, final Set<String> dynRealmKeys) {
         List<SearchCond> effectiveConds = dynRealmKeys.stream().map(dynRealmKey -> {
             DynRealmCond dynRealmCond = new DynRealmCond();
@@ -120,7 +124,12 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             return 0;
         }
 
-        return doCount(adminRealms, cond, kind);
+        long start = System.nanoTime();
+        try {
+            return doCount(adminRealms, cond, kind);
+        } finally {
+            metricsRegistry.recordSince("syncope.search", start, "kind", kind.name(), "operation", "count");
+        }
     }
 
     @Override
@@ -344,6 +353,11 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
                     collect(Collectors.toList());
         }
 
-        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        long start = System.nanoTime();
+        try {
+            return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        } finally {
+            metricsRegistry.recordSince("syncope.search", start, "kind", kind.name(), "operation", "search");
+        }
     }
 }
@@ -137,6 +137,13 @@ public class JPAAccessTokenDAO extends AbstractDAO<AccessToken> implements Acces
                 "DELETE FROM " + JPAAccessToken.class.getSimpleName() + " e "
                 + "WHERE e.expirationTime < :now");
         query.setParameter("now", new Date());
-        return query.executeUpdate();
+        int deleted = query.executeUpdate();
+
+        if (deleted > 0) {
+            // bulk statements bypass the L2 cache
+            entityManager().getEntityManagerFactory().getCache().evict(JPAAccessToken.class);
+        }
+
+        return deleted;
     }
 }
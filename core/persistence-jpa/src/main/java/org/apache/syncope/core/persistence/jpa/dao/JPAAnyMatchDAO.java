@@ -20,18 +20,25 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import javax.persistence.Entity;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
-import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
@@ -52,13 +59,15 @@ import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
-import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -90,6 +99,46 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    /**
+     * Maximum number of compiled conditions kept for each domain.
+     */
+    protected static final int MAX_COMPILED = 5000;
+
+    /**
+     * Search condition compiled into a reusable predicate.
+     */
+    @FunctionalInterface
+    protected interface AnyMatcher {
+
+        boolean matches(Any<?> any);
+    }
+
+    protected static final AnyMatcher NO_MATCH = any -> false;
+
+    private static final Object READ_FAILED = new Object();
+
+    @Autowired
+    private SearchCondVisitor searchCondVisitor;
+
+    /**
+     * Compiled FIQL conditions, by domain.
+     */
+    private final Map<String, Map<String, AnyMatcher>> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * @return compiled conditions map, evicting the least recently used ones when {@link #MAX_COMPILED} is exceeded
+     */
+    @SuppressWarnings("serial")
+    private static Map<String, AnyMatcher> lru() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, AnyMatcher>(16, 0.75F, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, AnyMatcher> eldest) {
+                return size() > MAX_COMPILED;
+            }
+        });
+    }
+
     /**
      * Verify if any matches the given search condition.
      *
@@ -101,97 +150,120 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
     @Transactional(readOnly = true)
     @Override
     public <T extends Any<?>> boolean matches(final T any, final SearchCond cond) {
-        boolean not = cond.getType() == SearchCond.Type.NOT_LEAF;
+        return compile(cond).matches(any);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public <T extends Any<?>> boolean matches(final T any, final String fiql) {
+        Map<String, AnyMatcher> domainCompiled = compiled.get(AuthContextUtils.getDomain());
+        if (domainCompiled == null) {
+            domainCompiled = compiled.computeIfAbsent(AuthContextUtils.getDomain(), k -> lru());
+        }
+
+        AnyMatcher matcher = domainCompiled.get(fiql);
+        if (matcher == null) {
+            matcher = compile(SearchCondConverter.convert(searchCondVisitor, fiql));
+            domainCompiled.put(fiql, matcher);
+        }
+
+        return matcher.matches(any);
+    }
+
+    /**
+     * Turns the given search condition into a predicate: leaf types are resolved once, as well as plain schemas,
+     * expression values and any fields accessors; everything depending on relationships or memberships is instead
+     * evaluated on each invocation.
+     *
+     * @param cond search condition
+     * @return predicate equivalent to the given search condition
+     */
+    protected AnyMatcher compile(final SearchCond cond) {
         switch (cond.getType()) {
             case LEAF:
             case NOT_LEAF:
-                Boolean match = cond.getLeaf(AnyTypeCond.class).
-                        filter(leaf -> AnyTypeKind.ANY_OBJECT == any.getType().getKind()).
-                        map(leaf -> matches(any, leaf, not)).
-                        orElse(null);
-
-                if (match == null) {
-                    match = cond.getLeaf(RelationshipTypeCond.class).
-                            filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
-                            orElse(null);
-                }
+                return compileLeaf(cond, cond.getType() == SearchCond.Type.NOT_LEAF);
 
-                if (match == null) {
-                    match = cond.getLeaf(RelationshipCond.class).
-                            filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
-                            orElse(null);
-                }
+            case AND:
+                AnyMatcher andLeft = compile(cond.getLeft());
+                AnyMatcher andRight = compile(cond.getRight());
+                return any -> andLeft.matches(any) && andRight.matches(any);
 
-                if (match == null) {
-                    match = cond.getLeaf(MembershipCond.class).
-                            filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
-                            orElse(null);
-                }
+            case OR:
+                AnyMatcher orLeft = compile(cond.getLeft());
+                AnyMatcher orRight = compile(cond.getRight());
+                return any -> orLeft.matches(any) || orRight.matches(any);
 
-                if (match == null) {
-                    match = cond.getLeaf(AssignableCond.class).
-                            map(leaf -> matches(any, leaf, not)).
-                            orElse(null);
-                }
+            default:
+                return NO_MATCH;
+        }
+    }
 
-                if (match == null) {
-                    match = cond.getLeaf(RoleCond.class).
-                            filter(leaf -> any instanceof User).
-                            map(leaf -> matches((User) any, leaf, not)).
-                            orElse(null);
-                }
+    protected AnyMatcher compileLeaf(final SearchCond cond, final boolean not) {
+        Optional<AnyTypeCond> anyTypeCond = cond.getLeaf(AnyTypeCond.class);
+        if (anyTypeCond.isPresent()) {
+            AnyTypeCond leaf = anyTypeCond.get();
+            return any -> AnyTypeKind.ANY_OBJECT == any.getType().getKind() && matches(any, leaf, not);
+        }
 
-                if (match == null) {
-                    match = cond.getLeaf(DynRealmCond.class).
-                            map(leaf -> matches(any, leaf, not)).
-                            orElse(null);
-                }
+        Optional<RelationshipTypeCond> relationshipTypeCond = cond.getLeaf(RelationshipTypeCond.class);
+        if (relationshipTypeCond.isPresent()) {
+            RelationshipTypeCond leaf = relationshipTypeCond.get();
+            return any -> any instanceof GroupableRelatable && matches((GroupableRelatable) any, leaf, not);
+        }
 
-                if (match == null) {
-                    match = cond.getLeaf(MemberCond.class).
-                            filter(leaf -> any instanceof Group).
-                            map(leaf -> matches((Group) any, leaf, not)).
-                            orElse(null);
-                }
+        Optional<RelationshipCond> relationshipCond = cond.getLeaf(RelationshipCond.class);
+        if (relationshipCond.isPresent()) {
+            RelationshipCond leaf = relationshipCond.get();
+            boolean isUUID = SyncopeConstants.UUID_PATTERN.matcher(leaf.getAnyObject()).matches();
+            return any -> any instanceof GroupableRelatable
+                    && matches((GroupableRelatable) any, leaf, isUUID, not);
+        }
 
-                if (match == null) {
-                    match = cond.getLeaf(ResourceCond.class).
-                            map(leaf -> matches(any, leaf, not)).
-                            orElse(null);
-                }
+        Optional<MembershipCond> membershipCond = cond.getLeaf(MembershipCond.class);
+        if (membershipCond.isPresent()) {
+            MembershipCond leaf = membershipCond.get();
+            boolean isUUID = SyncopeConstants.UUID_PATTERN.matcher(leaf.getGroup()).matches();
+            return any -> any instanceof GroupableRelatable
+                    && matches((GroupableRelatable) any, leaf, isUUID, not);
+        }
 
-                if (match == null) {
-                    Optional<AnyCond> anyCond = cond.getLeaf(AnyCond.class);
-                    if (anyCond.isPresent()) {
-                        match = matches(any, anyCond.get(), not);
-                    } else {
-                        match = cond.getLeaf(AttrCond.class).
-                                map(leaf -> matches(any, leaf, not)).
-                                orElse(null);
-                    }
-                }
+        Optional<AssignableCond> assignableCond = cond.getLeaf(AssignableCond.class);
+        if (assignableCond.isPresent()) {
+            AssignableCond leaf = assignableCond.get();
+            return any -> matches(any, leaf, not);
+        }
 
-                if (match == null) {
-                    match = cond.getLeaf(AttrCond.class).
-                            map(leaf -> matches(any, leaf, not)).
-                            orElse(null);
-                }
+        Optional<RoleCond> roleCond = cond.getLeaf(RoleCond.class);
+        if (roleCond.isPresent()) {
+            RoleCond leaf = roleCond.get();
+            return any -> any instanceof User && matches((User) any, leaf, not);
+        }
 
-                return BooleanUtils.toBoolean(match);
+        Optional<DynRealmCond> dynRealmCond = cond.getLeaf(DynRealmCond.class);
+        if (dynRealmCond.isPresent()) {
+            DynRealmCond leaf = dynRealmCond.get();
+            return any -> matches(any, leaf, not);
+        }
 
-            case AND:
-                return matches(any, cond.getLeft()) && matches(any, cond.getRight());
+        Optional<MemberCond> memberCond = cond.getLeaf(MemberCond.class);
+        if (memberCond.isPresent()) {
+            MemberCond leaf = memberCond.get();
+            return any -> any instanceof Group && matches((Group) any, leaf, not);
+        }
 
-            case OR:
-                return matches(any, cond.getLeft()) || matches(any, cond.getRight());
+        Optional<ResourceCond> resourceCond = cond.getLeaf(ResourceCond.class);
+        if (resourceCond.isPresent()) {
+            ResourceCond leaf = resourceCond.get();
+            return any -> matches(any, leaf, not);
+        }
 
-            default:
+        Optional<AnyCond> anyCond = cond.getLeaf(AnyCond.class);
+        if (anyCond.isPresent()) {
+            return new AnyCondMatcher(anyCond.get(), not);
         }
 
-        return false;
+        return cond.getLeaf(AttrCond.class).map(leaf -> compile(leaf, not)).orElse(NO_MATCH);
     }
 
     private static boolean matches(final Any<?> any, final AnyTypeCond cond, final boolean not) {
@@ -208,23 +280,24 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
     }
 
     private boolean matches(
-            final GroupableRelatable<?, ?, ?, ?, ?> any, final RelationshipCond cond, final boolean not) {
+            final GroupableRelatable<?, ?, ?, ?, ?> any,
+            final RelationshipCond cond,
+            final boolean isUUID,
+            final boolean not) {
 
-        String anyObject = cond.getAnyObject();
-        if (!SyncopeConstants.UUID_PATTERN.matcher(cond.getAnyObject()).matches()) {
-            anyObject = anyObjectDAO.findKey(anyObject);
-        }
+        String anyObject = isUUID ? cond.getAnyObject() : anyObjectDAO.findKey(cond.getAnyObject());
 
         boolean found = !any.getRelationships(anyObject).isEmpty();
         return not ? !found : found;
     }
 
     private boolean matches(
-            final GroupableRelatable<?, ?, ?, ?, ?> any, final MembershipCond cond, final boolean not) {
+            final GroupableRelatable<?, ?, ?, ?, ?> any,
+            final MembershipCond cond,
+            final boolean isUUID,
+            final boolean not) {
 
-        final String group = SyncopeConstants.UUID_PATTERN.matcher(cond.getGroup()).matches()
-                ? cond.getGroup()
-                : groupDAO.findKey(cond.getGroup());
+        String group = isUUID ? cond.getGroup() : groupDAO.findKey(cond.getGroup());
 
         boolean found = any.getMembership(group).isPresent()
                 || (any instanceof User
@@ -279,214 +352,342 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
         return not ? !found : found;
     }
 
+    /**
+     * Builds the regular expression matching the given LIKE / ILIKE expression.
+     *
+     * @param cond LIKE / ILIKE condition
+     * @return compiled regular expression
+     */
+    private static Pattern likePattern(final AttrCond cond) {
+        StringBuilder output = new StringBuilder();
+        for (char c : cond.getExpression().toLowerCase().toCharArray()) {
+            if (c == '%') {
+                output.append(".*");
+            } else if (Character.isLetter(c)) {
+                output.append('[').
+                        append(c).
+                        append(Character.toUpperCase(c)).
+                        append(']');
+            } else {
+                output.append(c);
+            }
+        }
+        return cond.getType() == AttrCond.Type.LIKE
+                ? Pattern.compile(output.toString())
+                : Pattern.compile(output.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Compares a single attribute value with the (parsed) condition expression.
+     */
+    @FunctionalInterface
+    protected interface ValueMatcher {
+
+        boolean matches(Object value, String stringValue);
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private static boolean matches(
-            final List<? extends PlainAttrValue> anyAttrValues,
+    private static ValueMatcher valueMatcher(
+            final AttrCond cond,
             final PlainAttrValue attrValue,
-            final PlainSchema schema,
-            final AttrCond cond) {
+            final AttrSchemaType schemaType) {
 
-        return anyAttrValues.stream().anyMatch(item -> {
-            switch (cond.getType()) {
-                case EQ:
-                    return attrValue.getValue().equals(item.getValue());
-
-                case IEQ:
-                    if (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum) {
-                        return attrValue.getStringValue().equalsIgnoreCase(item.getStringValue());
-                    } else {
-                        LOG.error("IEQ is only compatible with string or enum schemas");
-                        return false;
-                    }
+        boolean stringOrEnum = schemaType == AttrSchemaType.String || schemaType == AttrSchemaType.Enum;
+        switch (cond.getType()) {
+            case EQ:
+                Object eq = attrValue.getValue();
+                return (value, stringValue) -> eq.equals(value);
+
+            case IEQ:
+                if (stringOrEnum) {
+                    String ieq = attrValue.getStringValue();
+                    return (value, stringValue) -> ieq.equalsIgnoreCase(stringValue);
+                }
+                return (value, stringValue) -> {
+                    LOG.error("IEQ is only compatible with string or enum schemas");
+                    return false;
+                };
 
-                case LIKE:
-                case ILIKE:
-                    if (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum) {
-                        StringBuilder output = new StringBuilder();
-                        for (char c : cond.getExpression().toLowerCase().toCharArray()) {
-                            if (c == '%') {
-                                output.append(".*");
-                            } else if (Character.isLetter(c)) {
-                                output.append('[').
-                                        append(c).
-                                        append(Character.toUpperCase(c)).
-                                        append(']');
-                            } else {
-                                output.append(c);
-                            }
-                        }
-                        return (cond.getType() == AttrCond.Type.LIKE
-                                ? Pattern.compile(output.toString())
-                                : Pattern.compile(output.toString(), Pattern.CASE_INSENSITIVE)).
-                                matcher(item.getStringValue()).matches();
-                    } else {
-                        LOG.error("LIKE is only compatible with string or enum schemas");
-                        return false;
-                    }
+            case LIKE:
+            case ILIKE:
+                if (stringOrEnum) {
+                    Pattern pattern = likePattern(cond);
+                    return (value, stringValue) -> pattern.matcher(stringValue).matches();
+                }
+                return (value, stringValue) -> {
+                    LOG.error("LIKE is only compatible with string or enum schemas");
+                    return false;
+                };
 
-                case GT:
-                    return item.<Comparable>getValue().compareTo(attrValue.getValue()) > 0;
+            case GT:
+                Comparable gt = attrValue.getValue();
+                return (value, stringValue) -> comparable(value, gt) && ((Comparable) value).compareTo(gt) > 0;
 
-                case GE:
-                    return item.<Comparable>getValue().compareTo(attrValue.getValue()) >= 0;
+            case GE:
+                Comparable ge = attrValue.getValue();
+                return (value, stringValue) -> comparable(value, ge) && ((Comparable) value).compareTo(ge) >= 0;
 
-                case LT:
-                    return item.<Comparable>getValue().compareTo(attrValue.getValue()) < 0;
+            case LT:
+                Comparable lt = attrValue.getValue();
+                return (value, stringValue) -> comparable(value, lt) && ((Comparable) value).compareTo(lt) < 0;
 
-                case LE:
-                    return item.<Comparable>getValue().compareTo(attrValue.getValue()) <= 0;
+            case LE:
+                Comparable le = attrValue.getValue();
+                return (value, stringValue) -> comparable(value, le) && ((Comparable) value).compareTo(le) <= 0;
 
-                default:
-                    return false;
-            }
-        });
+            default:
+                return (value, stringValue) -> false;
+        }
+    }
+
+    /**
+     * Guards against values not comparable with the expression, as found when attribute values were stored with a
+     * different schema definition.
+     */
+    private static boolean comparable(final Object value, final Comparable<?> expression) {
+        return value != null && expression.getClass().isInstance(value);
     }
 
-    private boolean matches(final Any<?> any, final AttrCond cond, final boolean not) {
-        PlainSchema schema = plainSchemaDAO.find(cond.getSchema());
-        if (schema == null) {
-            LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
-            return false;
+    private static boolean requiresValidation(final AttrCond cond) {
+        return cond.getType() != AttrCond.Type.LIKE
+                && cond.getType() != AttrCond.Type.ILIKE
+                && cond.getType() != AttrCond.Type.ISNULL
+                && cond.getType() != AttrCond.Type.ISNOTNULL;
+    }
+
+    private AnyMatcher compile(final AttrCond cond, final boolean not) {
+        return new AttrCondMatcher(cond, not);
+    }
+
+    /**
+     * Matches {@link AttrCond} against plain attributes: the plain schema is looked up on each invocation, so that
+     * schemas created, changed or removed after compilation are honored; whatever depends on the schema definition is
+     * resolved again only when such definition changes.
+     */
+    protected class AttrCondMatcher implements AnyMatcher {
+
+        private final AttrCond cond;
+
+        private final boolean not;
+
+        private volatile Pair<String, AnyMatcher> bySchema;
+
+        protected AttrCondMatcher(final AttrCond cond, final boolean not) {
+            this.cond = cond;
+            this.not = not;
         }
 
-        @SuppressWarnings("unchecked")
-        Optional<PlainAttr<?>> attr = (Optional<PlainAttr<?>>) any.getPlainAttr(cond.getSchema());
+        @Override
+        public boolean matches(final Any<?> any) {
+            PlainSchema schema = plainSchemaDAO.find(cond.getSchema());
+            if (schema == null) {
+                LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
+                return false;
+            }
 
-        boolean found;
-        switch (cond.getType()) {
-            case ISNULL:
-                found = attr.isEmpty();
-                break;
+            String signature = signature(schema);
+            Pair<String, AnyMatcher> current = bySchema;
+            if (current == null || !current.getLeft().equals(signature)) {
+                current = Pair.of(signature, compileFor(schema));
+                bySchema = current;
+            }
+            return current.getRight().matches(any);
+        }
 
-            case ISNOTNULL:
-                found = attr.isPresent();
-                break;
+        private String signature(final PlainSchema schema) {
+            return String.join("|",
+                    Objects.toString(schema.getType()),
+                    Objects.toString(schema.getConversionPattern()),
+                    Objects.toString(schema.getEnumerationValues()),
+                    Objects.toString(schema.getCipherAlgorithm()),
+                    Objects.toString(schema.getSecretKey()),
+                    schema.getValidator() == null ? StringUtils.EMPTY : schema.getValidator().getKey());
+        }
 
-            default:
-                PlainAttrValue attrValue = anyUtilsFactory.getInstance(any).newPlainAttrValue();
-                try {
-                    if (cond.getType() != AttrCond.Type.LIKE
-                            && cond.getType() != AttrCond.Type.ILIKE
-                            && cond.getType() != AttrCond.Type.ISNULL
-                            && cond.getType() != AttrCond.Type.ISNOTNULL) {
+        private AnyMatcher compileFor(final PlainSchema schema) {
+            String schemaKey = cond.getSchema();
+            switch (cond.getType()) {
+                case ISNULL:
+                    return any -> any.getPlainAttr(schemaKey).isEmpty() != not;
 
-                        ((JPAPlainSchema) schema).validator().validate(cond.getExpression(), attrValue);
-                    }
+                case ISNOTNULL:
+                    return any -> any.getPlainAttr(schemaKey).isPresent() != not;
+
+                default:
+            }
+
+            PlainAttrValue attrValue = anyUtilsFactory.getInstance(AnyTypeKind.USER).newPlainAttrValue();
+            if (requiresValidation(cond)) {
+                try {
+                    ((JPAPlainSchema) schema).validator().validate(cond.getExpression(), attrValue);
                 } catch (ValidationException e) {
                     LOG.error("Could not validate expression '" + cond.getExpression() + '\'', e);
-                    return false;
+                    return NO_MATCH;
                 }
+            }
 
-                found = attr.isPresent() && matches(attr.get().getValues(), attrValue, schema, cond);
+            ValueMatcher valueMatcher = valueMatcher(cond, attrValue, schema.getType());
+            return any -> {
+                Optional<? extends PlainAttr<?>> attr = any.getPlainAttr(schemaKey);
+                boolean found = false;
+                if (attr.isPresent()) {
+                    for (PlainAttrValue item : attr.get().getValues()) {
+                        if (valueMatcher.matches(item.getValue(), item.getStringValue())) {
+                            found = true;
+                            break;
+                        }
+                    }
+                }
+                return not ? !found : found;
+            };
         }
-        return not ? !found : found;
     }
 
-    private boolean matches(final Any<?> any, final AnyCond cond, final boolean not) {
-        // Keeps track of difference between entity's getKey() and JPA @Id fields
-        if ("key".equals(cond.getSchema())) {
-            cond.setSchema("id");
+    /**
+     * Matches {@link AnyCond} against any fields: field accessors, and whatever depends on their type, are resolved
+     * once for each concrete any class.
+     */
+    protected class AnyCondMatcher implements AnyMatcher {
+
+        private final AnyCond cond;
+
+        private final boolean not;
+
+        private final Map<Class<?>, AnyMatcher> byClass = new ConcurrentHashMap<>();
+
+        protected AnyCondMatcher(final AnyCond cond, final boolean not) {
+            this.cond = cond;
+            this.not = not;
         }
 
-        PropertyDescriptor pd;
-        Object anyAttrValue;
-        try {
-            pd = BeanUtils.getPropertyDescriptor(any.getClass(), cond.getSchema());
+        @Override
+        public boolean matches(final Any<?> any) {
+            AnyMatcher matcher = byClass.get(any.getClass());
+            if (matcher == null) {
+                matcher = compileFor(any.getClass());
+                byClass.put(any.getClass(), matcher);
+            }
+            return matcher.matches(any);
+        }
+
+        private AnyMatcher compileFor(final Class<?> anyClass) {
+            // Keeps track of difference between entity's getKey() and JPA @Id fields
+            String property = "key".equals(cond.getSchema()) ? "id" : cond.getSchema();
+
+            PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(anyClass, property);
             if (pd == null) {
-                LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
-                return false;
+                LOG.warn("Ignoring invalid schema '{}'", property);
+                return NO_MATCH;
             }
 
-            anyAttrValue = pd.getReadMethod().invoke(any);
-        } catch (Exception e) {
-            LOG.error("While accessing {}.{}", any, cond.getSchema(), e);
-            return false;
-        }
+            MethodHandle getter;
+            try {
+                getter = MethodHandles.publicLookup().unreflect(pd.getReadMethod()).
+                        asType(MethodType.methodType(Object.class, Any.class));
+            } catch (Exception e) {
+                LOG.error("While accessing {}.{}", anyClass.getName(), property, e);
+                return NO_MATCH;
+            }
 
-        boolean found;
-        switch (cond.getType()) {
-            case ISNULL:
-                found = anyAttrValue == null;
-                break;
+            switch (cond.getType()) {
+                case ISNULL:
+                    return any -> {
+                        Object value = read(getter, any);
+                        return value != READ_FAILED && (value == null) != not;
+                    };
+
+                case ISNOTNULL:
+                    return any -> {
+                        Object value = read(getter, any);
+                        return value != READ_FAILED && (value != null) != not;
+                    };
 
-            case ISNOTNULL:
-                found = anyAttrValue != null;
-                break;
+                default:
+            }
 
-            default:
-                PlainSchema schema = new JPAPlainSchema();
-                schema.setKey(pd.getName());
-                for (AttrSchemaType attrSchemaType : AttrSchemaType.values()) {
-                    if (pd.getPropertyType().isAssignableFrom(attrSchemaType.getType())) {
-                        schema.setType(attrSchemaType);
-                    }
+            AttrSchemaType schemaType = null;
+            for (AttrSchemaType attrSchemaType : AttrSchemaType.values()) {
+                if (pd.getPropertyType().isAssignableFrom(attrSchemaType.getType())) {
+                    schemaType = attrSchemaType;
                 }
+            }
 
-                // Deal with any Integer fields logically mapping to boolean values
-                boolean foundBooleanMin = false;
-                boolean foundBooleanMax = false;
-                if (Integer.class.equals(pd.getPropertyType())) {
-                    for (Annotation annotation : pd.getPropertyType().getAnnotations()) {
-                        if (Min.class.equals(annotation.annotationType())) {
-                            foundBooleanMin = ((Min) annotation).value() == 0;
-                        } else if (Max.class.equals(annotation.annotationType())) {
-                            foundBooleanMax = ((Max) annotation).value() == 1;
-                        }
+            // Deal with any Integer fields logically mapping to boolean values
+            boolean foundBooleanMin = false;
+            boolean foundBooleanMax = false;
+            if (Integer.class.equals(pd.getPropertyType())) {
+                for (Annotation annotation : pd.getPropertyType().getAnnotations()) {
+                    if (Min.class.equals(annotation.annotationType())) {
+                        foundBooleanMin = ((Min) annotation).value() == 0;
+                    } else if (Max.class.equals(annotation.annotationType())) {
+                        foundBooleanMax = ((Max) annotation).value() == 1;
                     }
                 }
-                if (foundBooleanMin && foundBooleanMax) {
-                    schema.setType(AttrSchemaType.Boolean);
-                }
+            }
+            if (foundBooleanMin && foundBooleanMax) {
+                schemaType = AttrSchemaType.Boolean;
+            }
 
-                // Deal with any fields representing relationships to other entities
-                if (pd.getPropertyType().getAnnotation(Entity.class) != null) {
-                    Method relMethod = null;
-                    try {
-                        relMethod = ClassUtils.getPublicMethod(pd.getPropertyType(), "getKey", new Class<?>[0]);
-                    } catch (Exception e) {
-                        LOG.error("Could not find {}#getKey", pd.getPropertyType(), e);
-                    }
+            // Deal with any fields representing relationships to other entities
+            if (pd.getPropertyType().getAnnotation(Entity.class) != null) {
+                Method relMethod = null;
+                try {
+                    relMethod = ClassUtils.getPublicMethod(pd.getPropertyType(), "getKey", new Class<?>[0]);
+                } catch (Exception e) {
+                    LOG.error("Could not find {}#getKey", pd.getPropertyType(), e);
+                }
 
-                    if (relMethod != null && String.class.isAssignableFrom(relMethod.getReturnType())) {
-                        cond.setSchema(cond.getSchema() + "_id");
-                        schema.setType(AttrSchemaType.String);
-                    }
+                if (relMethod != null && String.class.isAssignableFrom(relMethod.getReturnType())) {
+                    schemaType = AttrSchemaType.String;
                 }
+            }
 
-                AnyUtils anyUtils = anyUtilsFactory.getInstance(any);
+            PlainSchema schema = new JPAPlainSchema();
+            schema.setKey(pd.getName());
+            schema.setType(schemaType);
 
-                PlainAttrValue attrValue = anyUtils.newPlainAttrValue();
-                if (cond.getType() != AttrCond.Type.LIKE
-                        && cond.getType() != AttrCond.Type.ILIKE
-                        && cond.getType() != AttrCond.Type.ISNULL
-                        && cond.getType() != AttrCond.Type.ISNOTNULL) {
+            PlainAttrValue attrValue = anyUtilsFactory.getInstance(AnyTypeKind.USER).newPlainAttrValue();
+            if (requiresValidation(cond)) {
+                try {
+                    ((JPAPlainSchema) schema).validator().validate(cond.getExpression(), attrValue);
+                } catch (ValidationException e) {
+                    LOG.error("Could not validate expression '" + cond.getExpression() + '\'', e);
+                    return NO_MATCH;
+                }
+            }
 
-                    try {
-                        ((JPAPlainSchema) schema).validator().validate(cond.getExpression(), attrValue);
-                    } catch (ValidationException e) {
-                        LOG.error("Could not validate expression '" + cond.getExpression() + '\'', e);
-                        return false;
-                    }
+            ValueMatcher valueMatcher = valueMatcher(cond, attrValue, schemaType);
+            return any -> {
+                Object value = read(getter, any);
+                if (value == READ_FAILED) {
+                    return false;
                 }
 
-                List<PlainAttrValue> anyAttrValues = new ArrayList<>();
-                anyAttrValues.add(anyUtils.newPlainAttrValue());
-                if (anyAttrValue instanceof String) {
-                    anyAttrValues.get(0).setStringValue((String) anyAttrValue);
-                } else if (anyAttrValue instanceof Long) {
-                    anyAttrValues.get(0).setLongValue((Long) anyAttrValue);
-                } else if (anyAttrValue instanceof Double) {
-                    anyAttrValues.get(0).setDoubleValue((Double) anyAttrValue);
-                } else if (anyAttrValue instanceof Boolean) {
-                    anyAttrValues.get(0).setBooleanValue((Boolean) anyAttrValue);
-                } else if (anyAttrValue instanceof Date) {
-                    anyAttrValues.get(0).setDateValue((Date) anyAttrValue);
-                } else if (anyAttrValue instanceof byte[]) {
-                    anyAttrValues.get(0).setBinaryValue((byte[]) anyAttrValue);
+                // same as reading from a plain attribute value built after the field value
+                boolean found;
+                if (value instanceof String) {
+                    found = valueMatcher.matches(value, (String) value);
+                } else if (value instanceof Long
+                        || value instanceof Double
+                        || value instanceof Boolean
+                        || value instanceof Date
+                        || value instanceof byte[]) {
+
+                    found = valueMatcher.matches(value, null);
+                } else {
+                    found = valueMatcher.matches(StringUtils.EMPTY, StringUtils.EMPTY);
                 }
+                return not ? !found : found;
+            };
+        }
+    }
 
-                found = matches(anyAttrValues, attrValue, schema, cond);
+    private static Object read(final MethodHandle getter, final Any<?> any) {
+        try {
+            return (Object) getter.invokeExact(any);
+        } catch (Throwable e) {
+            LOG.error("While accessing {}", any, e);
+            return READ_FAILED;
         }
-        return not ? !found : found;
     }
 }
@@ -157,47 +157,23 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         try {
             List<Object> parameters = new ArrayList<>();
 
-            SearchSupport svs = buildSearchSupport(kind);
+            // 1. build the query string from the search condition, realms and ordering
+            String queryString = buildSearchQuery(adminRealms, cond, orderBy, kind, parameters);
 
-            Pair<String, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+            // 2. prepare the search query
+            Query query = entityManager().createNativeQuery(queryString);
 
-            // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo =
-                    getQuery(buildEffectiveCond(cond, filter.getRight()), parameters, svs);
-
-            StringBuilder queryString = queryInfo.getLeft();
-
-            LOG.debug("Query: {}, parameters: {}", queryString, parameters);
-
-            // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, orderBy);
-            if (queryString.charAt(0) == '(') {
-                queryString.insert(0, buildSelect(obs));
-                queryString.append(buildWhere(svs, obs));
-            } else {
-                queryString.insert(0, buildSelect(obs).append('('));
-                queryString.append(')').append(buildWhere(svs, obs));
-            }
-            queryString.
-                    append(filter.getLeft()).
-                    append(buildOrderBy(obs));
-
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
-
-            // 3. prepare the search query
-            Query query = entityManager().createNativeQuery(queryString.toString());
-
-            // 4. page starts from 1, while setFirtResult() starts from 0
+            // 3. page starts from 1, while setFirtResult() starts from 0
             query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
 
             if (itemsPerPage >= 0) {
                 query.setMaxResults(itemsPerPage);
             }
 
-            // 5. populate the search query with parameter values
+            // 4. populate the search query with parameter values
             fillWithParameters(query, parameters);
 
-            // 6. Prepare the result (avoiding duplicates)
+            // 5. Prepare the result (avoiding duplicates)
             return buildResult(query.getResultList(), kind);
         } catch (SyncopeClientException e) {
             throw e;
@@ -208,6 +184,53 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return List.of();
     }
 
+    /**
+     * Builds the native SQL query for the given search, filling the given list with the query parameters.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond search condition
+     * @param orderBy ordering clauses
+     * @param kind any type kind
+     * @param parameters query parameters, to be filled
+     * @return native SQL query
+     */
+    protected String buildSearchQuery(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final List<Object> parameters) {
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Pair<String, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo =
+                getQuery(buildEffectiveCond(cond, filter.getRight()), parameters, svs);
+
+        StringBuilder queryString = queryInfo.getLeft();
+
+        LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+
+        // 2. take into account realms and ordering
+        OrderBySupport obs = parseOrderBy(svs, orderBy);
+        if (queryString.charAt(0) == '(') {
+            queryString.insert(0, buildSelect(obs));
+            queryString.append(buildWhere(svs, obs));
+        } else {
+            queryString.insert(0, buildSelect(obs).append('('));
+            queryString.append(')').append(buildWhere(svs, obs));
+        }
+        queryString.
+                append(filter.getLeft()).
+                append(buildOrderBy(obs));
+
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+
+        return queryString.toString();
+    }
+
     protected static int setParameter(final List<Object> parameters, final Object parameter) {
         parameters.add(parameter);
         return parameters.size();
@@ -158,8 +158,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     @Override
     public void refreshDynMemberships(final Any<?> any) {
         findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    any, SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()));
+            boolean matches = anyMatchDAO.matches(any, memb.getFIQLCond());
 
             Query find = entityManager().createNativeQuery(
                     "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
@@ -41,6 +41,7 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AssignableCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
@@ -62,6 +63,7 @@ import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
@@ -256,6 +258,22 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
                 SearchCondConverter.convert(searchCondVisitor, baseCondFIQL));
     }
 
+    /**
+     * Same as matching {@link #buildDynMembershipCond(String, Realm)}, but leveraging the compiled FIQL condition.
+     *
+     * @param any any to check
+     * @param baseCondFIQL dynamic membership condition
+     * @param groupRealm group realm
+     * @return whether the given any matches the dynamic membership condition
+     */
+    private boolean matchesDynMembership(final Any<?> any, final String baseCondFIQL, final Realm groupRealm) {
+        AssignableCond cond = new AssignableCond();
+        cond.setRealmFullPath(groupRealm.getFullPath());
+        cond.setFromGroup(true);
+
+        return anyMatchDAO.matches(any, SearchCond.getLeaf(cond)) && anyMatchDAO.matches(any, baseCondFIQL);
+    }
+
     @Override
     public Group saveAndRefreshDynMemberships(final Group group) {
         Group merged = save(group);
@@ -430,6 +448,35 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return ((Number) query.getSingleResult()).intValue();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<Pair<String, String>> findUMemberUsernames(
+            final String groupKey, final String afterUserKey, final int itemsPerPage) {
+
+        StringBuilder queryString = new StringBuilder("SELECT u.id, u.username FROM ").append(JPAUser.TABLE).
+                append(" u WHERE (u.id IN (SELECT user_id FROM ").append(JPAUMembership.TABLE).
+                append(" WHERE group_id=?1) OR u.id IN (SELECT any_id FROM ").append(UDYNMEMB_TABLE).
+                append(" WHERE group_id=?2))");
+        if (afterUserKey != null) {
+            queryString.append(" AND u.id > ?3");
+        }
+        queryString.append(" ORDER BY u.id");
+
+        Query query = entityManager().createNativeQuery(queryString.toString());
+        query.setParameter(1, groupKey);
+        query.setParameter(2, groupKey);
+        if (afterUserKey != null) {
+            query.setParameter(3, afterUserKey);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> result = query.getResultList();
+        return result.stream().
+                map(row -> Pair.of((String) row[0], (String) row[1])).
+                collect(Collectors.toList());
+    }
+
     @Override
     public void clearADynMembers(final Group group) {
         Query delete = entityManager().createNativeQuery("DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=?");
@@ -455,9 +502,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         Set<String> before = new HashSet<>();
         Set<String> after = new HashSet<>();
         findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    anyObject,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
+            boolean matches = matchesDynMembership(anyObject, memb.getFIQLCond(), memb.getGroup().getRealm());
             if (matches) {
                 after.add(memb.getGroup().getKey());
             }
@@ -554,9 +599,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         Set<String> before = new HashSet<>();
         Set<String> after = new HashSet<>();
         findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    user,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
+            boolean matches = matchesDynMembership(user, memb.getFIQLCond(), memb.getGroup().getRealm());
             if (matches) {
                 after.add(memb.getGroup().getKey());
             }
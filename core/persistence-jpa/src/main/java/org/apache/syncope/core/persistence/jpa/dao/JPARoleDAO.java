@@ -182,8 +182,7 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
         query.setParameter(1, user.getKey());
 
         findAll().stream().filter(role -> role.getDynMembership() != null).forEach(role -> {
-            boolean matches = anyMatchDAO.matches(
-                    user, SearchCondConverter.convert(searchCondVisitor, role.getDynMembership().getFIQLCond()));
+            boolean matches = anyMatchDAO.matches(user, role.getDynMembership().getFIQLCond());
 
             Query find = entityManager().createNativeQuery(
                     "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?");
@@ -20,7 +20,9 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -32,7 +34,6 @@ import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
-import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
@@ -55,6 +56,12 @@ import org.springframework.util.ReflectionUtils;
 @Repository
 public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
 
+    /**
+     * Maximum number of task keys handled by a single bulk statement; keeps the generated IN lists within the
+     * limits of every supported DBMS.
+     */
+    protected static final int DELETE_CHUNK_SIZE = 1000;
+
     @Autowired
     private RemediationDAO remediationDAO;
 
@@ -458,25 +465,73 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
         entityManager().remove(task);
     }
 
+    private List<String> findKeys(final ExternalResource resource, final TaskType type, final int max) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.id FROM " + getEntityReference(type).getSimpleName() + " e "
+                + "WHERE e.resource=:resource", String.class);
+        query.setParameter("resource", resource);
+        if (max > 0) {
+            query.setMaxResults(max);
+        }
+        return query.getResultList();
+    }
+
     @Override
-    public void deleteAll(final ExternalResource resource, final TaskType type) {
-        findAll(type, resource, null, null, null, -1, -1, List.of()).
-                stream().map(Entity::getKey).forEach(this::delete);
+    public int deleteAll(final ExternalResource resource, final TaskType type) {
+        int deleted = 0;
+
+        if (type == TaskType.PROPAGATION) {
+            // propagation tasks only own their executions: remove both with set-based statements, chunk by chunk
+            List<String> keys = findKeys(resource, type, DELETE_CHUNK_SIZE);
+            while (!keys.isEmpty()) {
+                Query execs = entityManager().createQuery(
+                        "DELETE FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.task.id IN :keys");
+                execs.setParameter("keys", keys);
+                int deletedExecs = execs.executeUpdate();
+
+                Query tasks = entityManager().createQuery(
+                        "DELETE FROM " + JPAPropagationTask.class.getSimpleName() + " e WHERE e.id IN :keys");
+                tasks.setParameter("keys", keys);
+                deleted += tasks.executeUpdate();
+
+                LOG.debug("Deleted {} propagation tasks ({} so far) and {} executions for resource {}",
+                        keys.size(), deleted, deletedExecs, resource.getKey());
+
+                keys = keys.size() < DELETE_CHUNK_SIZE
+                        ? List.of()
+                        : findKeys(resource, type, DELETE_CHUNK_SIZE);
+            }
+
+            // bulk statements bypass the L2 cache
+            entityManager().getEntityManagerFactory().getCache().evict(JPATaskExec.class);
+            entityManager().getEntityManagerFactory().getCache().evict(JPAPropagationTask.class);
+        } else {
+            // pull and push tasks own templates, actions and remediations: rely on entity cascading
+            for (String key : findKeys(resource, type, -1)) {
+                delete(key);
+                deleted++;
+            }
+        }
+
+        LOG.info("Deleted {} {} tasks for resource {}", deleted, type, resource.getKey());
+        return deleted;
     }
 
     private <T extends Task> List<T> buildResult(final List<Object> raw) {
-        List<T> result = new ArrayList<>();
-
+        Set<String> keys = new LinkedHashSet<>(raw.size());
         for (Object anyKey : raw) {
-            String actualKey = anyKey instanceof Object[]
+            keys.add(anyKey instanceof Object[]
                     ? (String) ((Object[]) anyKey)[0]
-                    : ((String) anyKey);
+                    : ((String) anyKey));
+        }
 
+        List<T> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
             @SuppressWarnings("unchecked")
-            T task = find(actualKey);
+            T task = find(key);
             if (task == null) {
-                LOG.error("Could not find task with id {}, even if returned by native query", actualKey);
-            } else if (!result.contains(task)) {
+                LOG.error("Could not find task with id {}, even if returned by native query", key);
+            } else {
                 result.add(task);
             }
         }
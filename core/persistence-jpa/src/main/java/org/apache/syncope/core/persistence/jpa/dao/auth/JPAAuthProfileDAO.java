@@ -69,6 +69,62 @@ public class JPAAuthProfileDAO extends AbstractDAO<AuthProfile> implements AuthP
         return Optional.empty();
     }
 
+    private List<AuthProfile> findByLookup(final JPAAuthProfile.Lookup lookup, final Object value) {
+        TypedQuery<AuthProfile> query = entityManager().createQuery(
+            "SELECT e FROM " + JPAAuthProfile.class.getSimpleName()
+                + " e WHERE :lookupKey MEMBER OF e.lookupKeys", AuthProfile.class);
+        query.setParameter("lookupKey", lookup.key(value));
+        return query.getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByGoogleMfaAuthToken(final Integer otp) {
+        return findByLookup(JPAAuthProfile.Lookup.GOOGLE_MFA_AUTH_TOKEN_OTP, otp);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByGoogleMfaAuthTokenKey(final String key) {
+        return findByLookup(JPAAuthProfile.Lookup.GOOGLE_MFA_AUTH_TOKEN_KEY, key);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByGoogleMfaAuthAccountKey(final String key) {
+        return findByLookup(JPAAuthProfile.Lookup.GOOGLE_MFA_AUTH_ACCOUNT_KEY, key);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByGoogleMfaAuthAccountId(final long id) {
+        return findByLookup(JPAAuthProfile.Lookup.GOOGLE_MFA_AUTH_ACCOUNT_ID, id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByU2FRegisteredDeviceKey(final String key) {
+        return findByLookup(JPAAuthProfile.Lookup.U2F_REGISTERED_DEVICE_KEY, key);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByU2FRegisteredDeviceId(final long id) {
+        return findByLookup(JPAAuthProfile.Lookup.U2F_REGISTERED_DEVICE_ID, id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByWebAuthnAccountKey(final String key) {
+        return findByLookup(JPAAuthProfile.Lookup.WEBAUTHN_ACCOUNT_KEY, key);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthProfile> findByWebAuthnCredential(final String credentialId) {
+        return findByLookup(JPAAuthProfile.Lookup.WEBAUTHN_CREDENTIAL_ID, credentialId);
+    }
+
     @Override
     public AuthProfile save(final AuthProfile profile) {
         return entityManager().merge(profile);
@@ -95,4 +151,38 @@ public class JPAAuthProfileDAO extends AbstractDAO<AuthProfile> implements AuthP
             createQuery("DELETE FROM " + JPAAuthProfile.class.getSimpleName()).
             executeUpdate();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findToBeReindexed(final String afterKey, final int max) {
+        TypedQuery<String> query = entityManager().createQuery(
+            "SELECT e.id FROM " + JPAAuthProfile.class.getSimpleName() + " e "
+                + "WHERE e.lookupKeys IS EMPTY AND e.id > :last AND (e.googleMfaAuthTokens IS NOT NULL "
+                + "OR e.googleMfaAuthAccounts IS NOT NULL OR e.u2fRegisteredDevices IS NOT NULL "
+                + "OR e.webAuthnAccount IS NOT NULL) ORDER BY e.id", String.class);
+        query.setParameter("last", afterKey == null ? "" : afterKey);
+        query.setMaxResults(max);
+        return query.getResultList();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Throwable.class)
+    public int reindex(final List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        TypedQuery<JPAAuthProfile> query = entityManager().createQuery(
+            "SELECT e FROM " + JPAAuthProfile.class.getSimpleName() + " e WHERE e.id IN :keys",
+            JPAAuthProfile.class);
+        query.setParameter("keys", keys);
+
+        int reindexed = 0;
+        for (JPAAuthProfile profile : query.getResultList()) {
+            if (profile.reindex()) {
+                reindexed++;
+            }
+        }
+        return reindexed;
+    }
 }
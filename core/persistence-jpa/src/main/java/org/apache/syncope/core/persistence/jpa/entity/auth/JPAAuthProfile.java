@@ -19,10 +19,22 @@
 package org.apache.syncope.core.persistence.jpa.entity.auth;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
@@ -30,6 +42,7 @@ import org.apache.syncope.common.lib.types.GoogleMfaAuthAccount;
 import org.apache.syncope.common.lib.types.GoogleMfaAuthToken;
 import org.apache.syncope.common.lib.types.U2FRegisteredDevice;
 import org.apache.syncope.common.lib.types.WebAuthnAccount;
+import org.apache.syncope.common.lib.types.WebAuthnDeviceCredential;
 import org.apache.syncope.core.persistence.api.entity.auth.AuthProfile;
 import org.apache.syncope.core.persistence.jpa.entity.AbstractGeneratedKeyEntity;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
@@ -43,6 +56,42 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
 
     private static final long serialVersionUID = 57352617217394093L;
 
+    /**
+     * Kinds of values stored in {@link #lookupKeys}, so that the JSON columns below can be searched by index.
+     */
+    public enum Lookup {
+        GOOGLE_MFA_AUTH_TOKEN_KEY,
+        GOOGLE_MFA_AUTH_TOKEN_OTP,
+        GOOGLE_MFA_AUTH_ACCOUNT_KEY,
+        GOOGLE_MFA_AUTH_ACCOUNT_ID,
+        U2F_REGISTERED_DEVICE_KEY,
+        U2F_REGISTERED_DEVICE_ID,
+        WEBAUTHN_ACCOUNT_KEY,
+        WEBAUTHN_CREDENTIAL_ID;
+
+        /**
+         * Values longer than this are replaced by their digest, to fit in the indexed lookup column.
+         */
+        private static final int MAX_VALUE_LENGTH = 200;
+
+        public String key(final Object value) {
+            String string = String.valueOf(value);
+            if (string.length() > MAX_VALUE_LENGTH) {
+                try {
+                    string = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").
+                            digest(string.getBytes(StandardCharsets.UTF_8)));
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return name() + ':' + string;
+        }
+
+        private boolean matches(final String key) {
+            return key.startsWith(name() + ':');
+        }
+    }
+
     @Lob
     private String u2fRegisteredDevices;
 
@@ -58,6 +107,12 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
     @Column(nullable = false)
     private String owner;
 
+    @ElementCollection
+    @Column(name = "lookupKey")
+    @CollectionTable(name = "AuthProfile_lookup", joinColumns =
+            @JoinColumn(name = "authProfile_id", referencedColumnName = "id"))
+    private Set<String> lookupKeys = new HashSet<>();
+
     @Override
     public String getOwner() {
         return owner;
@@ -78,7 +133,9 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
 
     @Override
     public void setGoogleMfaAuthTokens(final List<GoogleMfaAuthToken> tokens) {
-        this.googleMfaAuthTokens = POJOHelper.serialize(tokens);
+        this.googleMfaAuthTokens = tokens == null || tokens.isEmpty() ? null : POJOHelper.serialize(tokens);
+        index(Lookup.GOOGLE_MFA_AUTH_TOKEN_KEY, tokens, GoogleMfaAuthToken::getKey);
+        index(Lookup.GOOGLE_MFA_AUTH_TOKEN_OTP, tokens, GoogleMfaAuthToken::getToken);
     }
 
     @Override
@@ -91,7 +148,9 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
 
     @Override
     public void setGoogleMfaAuthAccounts(final List<GoogleMfaAuthAccount> accounts) {
-        this.googleMfaAuthAccounts = POJOHelper.serialize(accounts);
+        this.googleMfaAuthAccounts = accounts == null || accounts.isEmpty() ? null : POJOHelper.serialize(accounts);
+        index(Lookup.GOOGLE_MFA_AUTH_ACCOUNT_KEY, accounts, GoogleMfaAuthAccount::getKey);
+        index(Lookup.GOOGLE_MFA_AUTH_ACCOUNT_ID, accounts, GoogleMfaAuthAccount::getId);
     }
 
     @Override
@@ -112,7 +171,9 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
 
     @Override
     public void setU2FRegisteredDevices(final List<U2FRegisteredDevice> records) {
-        this.u2fRegisteredDevices = POJOHelper.serialize(records);
+        this.u2fRegisteredDevices = records == null || records.isEmpty() ? null : POJOHelper.serialize(records);
+        index(Lookup.U2F_REGISTERED_DEVICE_KEY, records, U2FRegisteredDevice::getKey);
+        index(Lookup.U2F_REGISTERED_DEVICE_ID, records, U2FRegisteredDevice::getId);
     }
 
     @Override
@@ -125,7 +186,11 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
 
     @Override
     public void setWebAuthnAccount(final WebAuthnAccount accounts) {
-        this.webAuthnAccount = POJOHelper.serialize(accounts);
+        this.webAuthnAccount = accounts == null ? null : POJOHelper.serialize(accounts);
+        index(Lookup.WEBAUTHN_ACCOUNT_KEY,
+                accounts == null ? null : List.of(accounts), WebAuthnAccount::getKey);
+        index(Lookup.WEBAUTHN_CREDENTIAL_ID,
+                accounts == null ? null : accounts.getRecords(), WebAuthnDeviceCredential::getIdentifier);
     }
 
     @Override
@@ -143,4 +208,36 @@ public class JPAAuthProfile extends AbstractGeneratedKeyEntity implements AuthPr
         records.add(registration);
         setU2FRegisteredDevices(records);
     }
+
+    private <T> void index(final Lookup lookup, final List<T> items, final Function<T, Object> value) {
+        lookupKeys.removeIf(lookup::matches);
+        if (items != null) {
+            items.stream().
+                    filter(Objects::nonNull).
+                    map(value).
+                    filter(Objects::nonNull).
+                    forEach(v -> lookupKeys.add(lookup.key(v)));
+        }
+    }
+
+    private String[] content() {
+        return new String[] { googleMfaAuthTokens, googleMfaAuthAccounts, u2fRegisteredDevices, webAuthnAccount };
+    }
+
+    /**
+     * Rebuilds the lookup keys from the current JSON content, for profiles stored before such keys were introduced.
+     *
+     * @return whether the lookup keys or the stored content were changed
+     */
+    public boolean reindex() {
+        Set<String> keysBefore = new HashSet<>(lookupKeys);
+        String[] contentBefore = content();
+
+        setGoogleMfaAuthTokens(getGoogleMfaAuthTokens());
+        setGoogleMfaAuthAccounts(getGoogleMfaAuthAccounts());
+        setU2FRegisteredDevices(getU2FRegisteredDevices());
+        setWebAuthnAccount(getWebAuthnAccount());
+
+        return !keysBefore.equals(lookupKeys) || !Arrays.equals(contentBefore, content());
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.event.AbstractRemoteCommitProvider;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.lib.conf.Configuration;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * OpenJPA {@link org.apache.openjpa.event.RemoteCommitProvider} propagating commit events - hence data and query
+ * cache evictions - among the Core instances of a cluster, scoped by domain.
+ * Configure in {@code persistence.properties} by setting {@code openjpa.RemoteCommitProvider} to this class name,
+ * followed by {@code (Channel=jdbc)} - change log table polled every {@code PollInterval} milliseconds, rows kept
+ * for {@code Retention} milliseconds - or {@code (Channel=keymaster)} - events broadcast via the keymaster, when
+ * supporting {@link org.apache.syncope.common.keymaster.client.api.ClusterEventOps} - otherwise {@code jdbc} is used.
+ *
+ * @see RemoteCommitStats
+ */
+public class ClusterRemoteCommitProvider extends AbstractRemoteCommitProvider {
+
+    /**
+     * Identifies this JVM among the cluster members, to discard own events.
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.util.*;java.math.*;org.apache.openjpa.**;org.apache.syncope.**;!*");
+
+    private JDBCConfiguration conf;
+
+    private String channel = "jdbc";
+
+    private long pollInterval = 1000L;
+
+    private long retention = 5 * 60 * 1000L;
+
+    private String domain;
+
+    private RemoteCommitChannel remoteCommitChannel;
+
+    private RemoteCommitStats stats;
+
+    public void setChannel(final String channel) {
+        this.channel = channel;
+    }
+
+    public void setPollInterval(final long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public void setRetention(final long retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public void setConfiguration(final Configuration config) {
+        super.setConfiguration(config);
+        this.conf = (JDBCConfiguration) config;
+    }
+
+    protected JDBCRemoteCommitChannel buildJDBCChannel() {
+        return new JDBCRemoteCommitChannel(
+                () -> Optional.ofNullable(ApplicationContextProvider.getApplicationContext()).
+                        filter(ConfigurableApplicationContext::isRunning).
+                        map(ctx -> ctx.getBean(domain + "DataSource", DataSource.class)).
+                        orElse(null),
+                conf::getDBDictionaryInstance,
+                pollInterval,
+                retention);
+    }
+
+    protected RemoteCommitChannel buildChannel() {
+        switch (channel) {
+            case "keymaster":
+                return new KeymasterRemoteCommitChannel(pollInterval, this::buildJDBCChannel);
+
+            case "jdbc":
+                return buildJDBCChannel();
+
+            default:
+                throw new IllegalArgumentException("Unsupported remote commit channel: " + channel);
+        }
+    }
+
+    @Override
+    public void endConfiguration() {
+        super.endConfiguration();
+
+        domain = StringUtils.defaultIfBlank(conf.getId(), SyncopeConstants.MASTER_DOMAIN);
+        stats = RemoteCommitStats.register(domain);
+
+        remoteCommitChannel = buildChannel();
+        remoteCommitChannel.open(domain, this::received);
+        log.info("Remote commit events for domain " + domain + " exchanged via " + channel);
+    }
+
+    @Override
+    public void broadcast(final RemoteCommitEvent event) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeUTF(NODE_ID);
+            oos.writeLong(System.currentTimeMillis());
+            oos.writeObject(event);
+        } catch (IOException e) {
+            log.error("While serializing remote commit event for domain " + domain, e);
+            stats.failed();
+            return;
+        }
+
+        if (remoteCommitChannel.publish(baos.toByteArray())) {
+            stats.published();
+        } else {
+            stats.failed();
+        }
+    }
+
+    protected void received(final byte[] payload) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            ois.setObjectInputFilter(FILTER);
+
+            if (NODE_ID.equals(ois.readUTF())) {
+                return;
+            }
+            long published = ois.readLong();
+            RemoteCommitEvent event = (RemoteCommitEvent) ois.readObject();
+
+            fireEvent(event);
+            stats.received(Math.max(0, System.currentTimeMillis() - published));
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            log.error("While processing remote commit event for domain " + domain, e);
+            stats.failed();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (remoteCommitChannel != null) {
+            remoteCommitChannel.close();
+        }
+        if (domain != null) {
+            RemoteCommitStats.unregister(domain);
+        }
+    }
+}
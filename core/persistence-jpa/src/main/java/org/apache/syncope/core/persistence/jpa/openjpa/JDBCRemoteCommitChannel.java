@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link RemoteCommitChannel} relying on a change log table in the domain database, polled at fixed intervals.
+ * Rows are numbered by a per-domain counter row in {@link #SEQ_TABLE}, incremented in the same transaction as the
+ * insert: as the counter row stays locked until commit, rows become visible in numbering order and each poll can
+ * safely resume from the last number read, regardless of the instances' clocks.
+ * Rows older than the configured retention are periodically purged.
+ */
+public class JDBCRemoteCommitChannel implements RemoteCommitChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JDBCRemoteCommitChannel.class);
+
+    public static final String TABLE = "SyncopeRemoteCommit";
+
+    public static final String SEQ_TABLE = TABLE + "Seq";
+
+    private static final long PURGE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Supplier<DataSource> dataSource;
+
+    private final Supplier<DBDictionary> dictionary;
+
+    private final long pollInterval;
+
+    private final long retention;
+
+    private String domain;
+
+    private Consumer<byte[]> receiver;
+
+    private ScheduledExecutorService scheduler;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long lastSeq = -1;
+
+    private long lastPurge;
+
+    public JDBCRemoteCommitChannel(
+            final Supplier<DataSource> dataSource,
+            final Supplier<DBDictionary> dictionary,
+            final long pollInterval,
+            final long retention) {
+
+        this.dataSource = dataSource;
+        this.dictionary = dictionary;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    private static String typeName(final String typeName, final Integer size) {
+        if (typeName.contains("{0}")) {
+            return typeName.replace("{0}", size == null ? "" : "(" + size + ')');
+        }
+        return size == null ? typeName : typeName + '(' + size + ')';
+    }
+
+    private static void createIfMissing(final JdbcTemplate template, final String table, final String columns) {
+        String check = "SELECT COUNT(domainKey) FROM " + table + " WHERE 1=0";
+        try {
+            template.queryForObject(check, Integer.class);
+        } catch (DataAccessException e) {
+            LOG.debug("Table {} not found, creating", table, e);
+
+            try {
+                template.execute("CREATE TABLE " + table + " (" + columns + ')');
+            } catch (DataAccessException ce) {
+                // another instance might have created the table in the meantime
+                LOG.debug("Could not create table {}, checking again", table, ce);
+                template.queryForObject(check, Integer.class);
+            }
+        }
+    }
+
+    /**
+     * Resolves the data source at first usage, creating the change log and counter tables if not existing.
+     *
+     * @return JDBC template for the change log table, or {@code null} if the data source is not yet available
+     */
+    protected synchronized JdbcTemplate jdbcTemplate() {
+        if (jdbcTemplate != null) {
+            return jdbcTemplate;
+        }
+
+        DataSource ds = dataSource.get();
+        if (ds == null) {
+            return null;
+        }
+
+        JdbcTemplate template = new JdbcTemplate(ds);
+
+        DBDictionary dict = dictionary.get();
+        createIfMissing(template, SEQ_TABLE,
+                "domainKey " + typeName(dict.varcharTypeName, 255) + " NOT NULL, "
+                + "seq " + typeName(dict.bigintTypeName, null) + " NOT NULL, "
+                + "PRIMARY KEY (domainKey)");
+        createIfMissing(template, TABLE,
+                "domainKey " + typeName(dict.varcharTypeName, 255) + " NOT NULL, "
+                + "seq " + typeName(dict.bigintTypeName, null) + " NOT NULL, "
+                + "created " + typeName(dict.bigintTypeName, null) + " NOT NULL, "
+                + "payload " + typeName(dict.blobTypeName, null) + ", "
+                + "PRIMARY KEY (domainKey, seq)");
+
+        if (template.queryForObject(
+                "SELECT COUNT(domainKey) FROM " + SEQ_TABLE + " WHERE domainKey=?", Integer.class, domain) == 0) {
+
+            try {
+                template.update("INSERT INTO " + SEQ_TABLE + " (domainKey, seq) VALUES (?, 0)", domain);
+            } catch (DataAccessException e) {
+                // another instance might have created the counter in the meantime
+                LOG.debug("Could not create counter for domain {}", domain, e);
+            }
+        }
+
+        // own transaction, as publishing occurs once the OpenJPA transaction is already completed
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        jdbcTemplate = template;
+        return template;
+    }
+
+    /**
+     * Only events published after this method first succeeds are delivered.
+     *
+     * @param template JDBC template for the change log table
+     * @return whether the position to resume polling from is known
+     */
+    protected boolean initCursor(final JdbcTemplate template) {
+        if (lastSeq < 0) {
+            lastSeq = template.queryForObject(
+                    "SELECT seq FROM " + SEQ_TABLE + " WHERE domainKey=?", Long.class, domain);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void open(final String domain, final Consumer<byte[]> receiver) {
+        this.domain = domain;
+        this.receiver = receiver;
+
+        try {
+            JdbcTemplate template = jdbcTemplate();
+            if (template != null) {
+                initCursor(template);
+            }
+        } catch (Exception e) {
+            LOG.debug("Remote commit channel for domain {} not yet available", domain, e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RemoteCommit-" + domain);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    protected void poll() {
+        try {
+            JdbcTemplate template = jdbcTemplate();
+            if (template == null || !initCursor(template)) {
+                return;
+            }
+
+            List<Pair<Long, byte[]>> events = new ArrayList<>();
+            template.query(
+                    "SELECT seq, payload FROM " + TABLE + " WHERE domainKey=? AND seq>? ORDER BY seq",
+                    (RowCallbackHandler) rs -> events.add(Pair.of(rs.getLong(1), rs.getBytes(2))),
+                    domain, lastSeq);
+            events.forEach(event -> {
+                lastSeq = event.getLeft();
+                try {
+                    receiver.accept(event.getRight());
+                } catch (Exception e) {
+                    LOG.error("While processing remote commit event {}", event.getLeft(), e);
+                }
+            });
+
+            // retention is long enough for the instances' clocks not to matter
+            long now = System.currentTimeMillis();
+            if (now - lastPurge > PURGE_INTERVAL) {
+                lastPurge = now;
+                int purged = template.update(
+                        "DELETE FROM " + TABLE + " WHERE domainKey=? AND created<?", domain, now - retention);
+                LOG.debug("Purged {} remote commit events for domain {}", purged, domain);
+            }
+        } catch (Exception e) {
+            LOG.error("While polling remote commit events for domain {}", domain, e);
+        }
+    }
+
+    @Override
+    public boolean publish(final byte[] event) {
+        try {
+            JdbcTemplate template = jdbcTemplate();
+            if (template == null) {
+                LOG.warn("Remote commit channel for domain {} not yet available, discarding event", domain);
+                return false;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                // locks the counter row until commit, serializing publishers
+                template.update("UPDATE " + SEQ_TABLE + " SET seq=seq+1 WHERE domainKey=?", domain);
+                Long seq = template.queryForObject(
+                        "SELECT seq FROM " + SEQ_TABLE + " WHERE domainKey=?", Long.class, domain);
+
+                template.update("INSERT INTO " + TABLE + " (domainKey, seq, created, payload) VALUES (?, ?, ?, ?)",
+                        domain, seq, System.currentTimeMillis(), event);
+            });
+            return true;
+        } catch (Exception e) {
+            LOG.error("While publishing remote commit event for domain {}", domain, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
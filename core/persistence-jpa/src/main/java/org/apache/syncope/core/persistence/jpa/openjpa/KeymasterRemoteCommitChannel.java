@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventOps;
+import org.apache.syncope.common.keymaster.client.api.ClusterEventWatcher;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@link RemoteCommitChannel} relying on the {@link ClusterEventOps} made available by the configured keymaster;
+ * as the OpenJPA provider is instantiated before the Spring context is fully available, subscription is attempted
+ * at fixed intervals until successful.
+ * When the Spring context is running but the keymaster does not provide {@link ClusterEventOps}, events are
+ * exchanged via the given fallback channel instead.
+ */
+public class KeymasterRemoteCommitChannel implements RemoteCommitChannel, ClusterEventWatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeymasterRemoteCommitChannel.class);
+
+    private final long retryInterval;
+
+    private final Supplier<RemoteCommitChannel> fallbackChannel;
+
+    private String domain;
+
+    private String channel;
+
+    private Consumer<byte[]> receiver;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile ClusterEventOps clusterEventOps;
+
+    private volatile RemoteCommitChannel fallback;
+
+    public KeymasterRemoteCommitChannel(
+            final long retryInterval,
+            final Supplier<RemoteCommitChannel> fallbackChannel) {
+
+        this.retryInterval = retryInterval;
+        this.fallbackChannel = fallbackChannel;
+    }
+
+    @Override
+    public void open(final String domain, final Consumer<byte[]> receiver) {
+        this.domain = domain;
+        this.channel = "openjpa-" + domain;
+        this.receiver = receiver;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RemoteCommit-" + domain);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::subscribe, 0, retryInterval, TimeUnit.MILLISECONDS);
+    }
+
+    protected void subscribe() {
+        if (clusterEventOps != null || fallback != null) {
+            return;
+        }
+
+        try {
+            Optional<ConfigurableApplicationContext> ctx =
+                    Optional.ofNullable(ApplicationContextProvider.getApplicationContext()).
+                            filter(ConfigurableApplicationContext::isRunning);
+            if (ctx.isEmpty()) {
+                LOG.debug("ClusterEventOps not yet available for {}", channel);
+                return;
+            }
+
+            ClusterEventOps ops = ctx.get().getBeanProvider(ClusterEventOps.class).getIfAvailable();
+            if (ops == null) {
+                RemoteCommitChannel fb = fallbackChannel.get();
+                fb.open(domain, receiver);
+                fallback = fb;
+                LOG.error("The configured keymaster does not support ClusterEventOps, "
+                        + "remote commit events for domain {} exchanged via {}", domain, fb.getClass().getSimpleName());
+
+                scheduler.shutdown();
+                return;
+            }
+
+            ops.subscribe(channel, this);
+            clusterEventOps = ops;
+            LOG.info("Subscribed to {}", channel);
+
+            scheduler.shutdown();
+        } catch (Exception e) {
+            LOG.error("While subscribing to {}", channel, e);
+        }
+    }
+
+    @Override
+    public void received(final String channel, final byte[] event) {
+        receiver.accept(event);
+    }
+
+    @Override
+    public boolean publish(final byte[] event) {
+        RemoteCommitChannel fb = fallback;
+        if (fb != null) {
+            return fb.publish(event);
+        }
+
+        ClusterEventOps ops = clusterEventOps;
+        if (ops == null) {
+            // only during startup, as no other instance is serving requests via this one yet
+            LOG.debug("{} not yet available, discarding event", channel);
+            return false;
+        }
+
+        try {
+            ops.publish(channel, event);
+            return true;
+        } catch (Exception e) {
+            LOG.error("While publishing event to {}", channel, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (clusterEventOps != null) {
+            clusterEventOps.unsubscribe(channel, this);
+        }
+        if (fallback != null) {
+            fallback.close();
+        }
+    }
+}
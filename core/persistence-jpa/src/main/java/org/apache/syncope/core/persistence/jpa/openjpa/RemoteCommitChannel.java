@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport for OpenJPA commit events among the Core instances of a cluster; events are opaque to the channel.
+ * One channel instance serves a single domain.
+ *
+ * @see ClusterRemoteCommitProvider
+ */
+public interface RemoteCommitChannel {
+
+    /**
+     * Starts receiving events published for the given domain; dependencies not yet available can be resolved
+     * later on, hence this method is not expected to fail.
+     *
+     * @param domain domain
+     * @param receiver callback for received events, including the ones published by this instance
+     */
+    void open(String domain, Consumer<byte[]> receiver);
+
+    /**
+     * Publishes the given event to all instances serving the same domain; failures are logged, not thrown.
+     *
+     * @param event event
+     * @return whether the event was actually published
+     */
+    boolean publish(byte[] event);
+
+    void close();
+}
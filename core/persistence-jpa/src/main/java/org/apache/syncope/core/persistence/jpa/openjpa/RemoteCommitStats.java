@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-domain counters for commit events exchanged by {@link ClusterRemoteCommitProvider}; eviction lag is measured,
+ * in milliseconds, from publication on the originating instance to eviction on the receiving one.
+ * Available via JMX as {@code org.apache.syncope.core.persistence:type=RemoteCommit,domain=<domain>}.
+ */
+public final class RemoteCommitStats implements RemoteCommitStatsMBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteCommitStats.class);
+
+    private static final Map<String, RemoteCommitStats> STATS = new ConcurrentHashMap<>();
+
+    public static RemoteCommitStats register(final String domain) {
+        return STATS.computeIfAbsent(domain, key -> {
+            RemoteCommitStats stats = new RemoteCommitStats(key);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(stats, stats.objectName());
+            } catch (JMException e) {
+                LOG.warn("Could not register remote commit stats for domain {} via JMX", key, e);
+            }
+            return stats;
+        });
+    }
+
+    public static void unregister(final String domain) {
+        Optional.ofNullable(STATS.remove(domain)).ifPresent(stats -> {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(stats.objectName());
+            } catch (JMException e) {
+                LOG.debug("Could not unregister remote commit stats for domain {} via JMX", domain, e);
+            }
+        });
+    }
+
+    public static Optional<RemoteCommitStats> get(final String domain) {
+        return Optional.ofNullable(STATS.get(domain));
+    }
+
+    private final String domain;
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final AtomicLong received = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong lastLag = new AtomicLong();
+
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+
+    private final AtomicLong totalLag = new AtomicLong();
+
+    private RemoteCommitStats(final String domain) {
+        this.domain = domain;
+    }
+
+    private ObjectName objectName() throws JMException {
+        return new ObjectName("org.apache.syncope.core.persistence:type=RemoteCommit,domain="
+                + ObjectName.quote(domain));
+    }
+
+    public void published() {
+        published.incrementAndGet();
+    }
+
+    public void received(final long lag) {
+        received.incrementAndGet();
+        lastLag.set(lag);
+        maxLag.accumulate(lag);
+        totalLag.addAndGet(lag);
+    }
+
+    public void failed() {
+        failed.incrementAndGet();
+    }
+
+    @Override
+    public String getDomain() {
+        return domain;
+    }
+
+    @Override
+    public long getPublished() {
+        return published.get();
+    }
+
+    @Override
+    public long getReceived() {
+        return received.get();
+    }
+
+    @Override
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public long getLastLag() {
+        return lastLag.get();
+    }
+
+    @Override
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    @Override
+    public double getAverageLag() {
+        long count = received.get();
+        return count == 0 ? 0 : (double) totalLag.get() / count;
+    }
+}
@@ -19,7 +19,9 @@
 package org.apache.syncope.core.persistence.jpa;
 
 import java.io.IOException;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.metrics.MemoryMetricsRegistry;
 import org.apache.syncope.core.spring.security.DefaultPasswordGenerator;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
 import org.springframework.beans.factory.annotation.Value;
@@ -67,4 +69,9 @@ public class PersistenceTestContext {
     public PasswordGenerator passwordGenerator() {
         return new DefaultPasswordGenerator();
     }
+
+    @Bean
+    public MetricsRegistry metricsRegistry() {
+        return new MemoryMetricsRegistry();
+    }
 }
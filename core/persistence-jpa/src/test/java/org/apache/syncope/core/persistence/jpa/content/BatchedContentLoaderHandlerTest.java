@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import javax.xml.parsers.SAXParserFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class BatchedContentLoaderHandlerTest {
+
+    private static final String ROOT = "dataset";
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE Realm (id VARCHAR(36) PRIMARY KEY, name VARCHAR(255), "
+                + "parent_id VARCHAR(36), FOREIGN KEY (parent_id) REFERENCES Realm(id))");
+        jdbcTemplate.execute("CREATE TABLE SyncopeUser (id VARCHAR(36) PRIMARY KEY, username VARCHAR(255), "
+                + "suspended INTEGER, realm_id VARCHAR(36), FOREIGN KEY (realm_id) REFERENCES Realm(id))");
+        jdbcTemplate.execute("CREATE TABLE UPlainAttr (id VARCHAR(36) PRIMARY KEY, schema_id VARCHAR(255), "
+                + "owner_id VARCHAR(36), FOREIGN KEY (owner_id) REFERENCES SyncopeUser(id))");
+        jdbcTemplate.execute("CREATE TABLE PlainSchema (id VARCHAR(255) PRIMARY KEY)");
+    }
+
+    @AfterEach
+    public void close() {
+        dataSource.close();
+    }
+
+    private void load(final String content, final DefaultHandler handler) throws Exception {
+        SAXParserFactory.newInstance().newSAXParser().parse(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), handler);
+    }
+
+    private static String content(final int users) {
+        StringBuilder content = new StringBuilder("<" + ROOT + ">\n");
+        content.append("<Realm id=\"root\" name=\"/\"/>\n");
+        content.append("<Realm id=\"even\" name=\"even\" parent_id=\"root\"/>\n");
+        content.append("<PlainSchema id=\"fullname\"/>\n");
+        for (int i = 0; i < users; i++) {
+            content.append("<SyncopeUser id=\"u").append(i).append("\" username=\"user").append(i).
+                    append("\" suspended=\"").append(i % 2).append("\" realm_id=\"").
+                    append(i % 2 == 0 ? "even" : "root").append("\"/>\n");
+            content.append("<UPlainAttr id=\"a").append(i).append("\" schema_id=\"fullname\" owner_id=\"u").
+                    append(i).append("\"/>\n");
+            if (i == users / 2) {
+                // realm defined after some users referring to it
+                content.append("<Realm id=\"odd\" name=\"odd\" parent_id=\"root\"/>\n");
+            }
+            if (i > users / 2) {
+                content.append("<SyncopeUser id=\"o").append(i).append("\" username=\"odd").append(i).
+                        append("\" realm_id=\"odd\"/>\n");
+            }
+        }
+        content.append("</" + ROOT + ">");
+        return content.toString();
+    }
+
+    @Test
+    public void load() throws Exception {
+        int users = 1000;
+        load(content(users), new BatchedContentLoaderHandler(
+                dataSource, ROOT, false, new MockEnvironment(), 50, 4));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Realm", Integer.class));
+        assertEquals(users + users / 2 - 1,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SyncopeUser", Integer.class));
+        assertEquals(users, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM UPlainAttr", Integer.class));
+        assertEquals(users / 2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM SyncopeUser WHERE suspended = 1", Integer.class));
+        assertEquals(List.of("root"), jdbcTemplate.queryForList(
+                "SELECT parent_id FROM Realm WHERE id = 'odd'", String.class));
+    }
+
+    @Test
+    public void sameAsRowByRow() throws Exception {
+        String content = content(100);
+
+        load(content, new ContentLoaderHandler(dataSource, ROOT, false, new MockEnvironment()));
+        List<String> expected = jdbcTemplate.queryForList(
+                "SELECT username || realm_id FROM SyncopeUser ORDER BY id", String.class);
+
+        jdbcTemplate.execute("DELETE FROM UPlainAttr");
+        jdbcTemplate.execute("DELETE FROM SyncopeUser");
+        jdbcTemplate.execute("DELETE FROM PlainSchema");
+        jdbcTemplate.execute("UPDATE Realm SET parent_id = NULL");
+        jdbcTemplate.execute("DELETE FROM Realm");
+
+        load(content, new BatchedContentLoaderHandler(dataSource, ROOT, false, new MockEnvironment(), 7, 3));
+        assertEquals(expected, jdbcTemplate.queryForList(
+                "SELECT username || realm_id FROM SyncopeUser ORDER BY id", String.class));
+    }
+
+    @Test
+    public void continueOnError() throws Exception {
+        String content = "<" + ROOT + ">"
+                + "<Realm id=\"root\" name=\"/\"/>"
+                + "<Realm id=\"dup\" name=\"dup\" parent_id=\"root\"/>"
+                + "<Realm id=\"dup\" name=\"dup\" parent_id=\"root\"/>"
+                + "<Realm id=\"other\" name=\"other\" parent_id=\"root\"/>"
+                + "</" + ROOT + ">";
+
+        assertThrows(DataAccessException.class, () -> load(content, new BatchedContentLoaderHandler(
+                dataSource, ROOT, false, new MockEnvironment(), 10, 2)));
+        // the batch with duplicates was rolled back, the one for root realm (having different columns) was not
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Realm", Integer.class));
+
+        load(content, new BatchedContentLoaderHandler(dataSource, ROOT, true, new MockEnvironment(), 10, 2));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Realm", Integer.class));
+    }
+}
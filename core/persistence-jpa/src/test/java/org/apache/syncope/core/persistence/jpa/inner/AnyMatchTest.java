@@ -22,8 +22,11 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
@@ -32,8 +35,10 @@ import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +59,9 @@ public class AnyMatchTest extends AbstractTest {
     @Autowired
     private AnyObjectDAO anyObjectDAO;
 
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
     @Autowired
     private AnyMatchDAO anyMatcher;
 
@@ -128,4 +136,48 @@ public class AnyMatchTest extends AbstractTest {
         attrCond.setType(AttrCond.Type.ISNOTNULL);
         assertTrue(anyMatcher.matches(group, SearchCond.getLeaf(attrCond)));
     }
+
+    @Test
+    public void fiqlMatch() {
+        User user = userDAO.find("1417acbe-cbf6-4277-9372-e75e04f97000");
+        assertNotNull(user);
+
+        String fiql = "username==rossini;firstname==Gioacchino;surname=~ross*";
+        assertTrue(anyMatcher.matches(user, fiql));
+        // compiled condition is now cached
+        assertTrue(anyMatcher.matches(user, fiql));
+
+        assertFalse(anyMatcher.matches(user, "username==rossini;firstname!=Gioacchino"));
+        assertTrue(anyMatcher.matches(user, "username==verdi,ctype==G"));
+        assertFalse(anyMatcher.matches(user, "username==verdi,ctype==F"));
+        assertTrue(anyMatcher.matches(user, "$roles==Other"));
+
+        User verdi = userDAO.findByUsername("verdi");
+        assertNotNull(verdi);
+        assertFalse(anyMatcher.matches(verdi, fiql));
+    }
+
+    @Test
+    public void fiqlMatchSchemaCreatedLater() {
+        User user = userDAO.find("1417acbe-cbf6-4277-9372-e75e04f97000");
+        assertNotNull(user);
+
+        String fiql = "laterSchema==later";
+        assertFalse(anyMatcher.matches(user, fiql));
+
+        PlainSchema schema = entityFactory.newEntity(PlainSchema.class);
+        schema.setKey("laterSchema");
+        schema.setType(AttrSchemaType.String);
+        plainSchemaDAO.save(schema);
+
+        UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+        attr.setOwner(user);
+        attr.setSchema(plainSchemaDAO.find("laterSchema"));
+        attr.add("later", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user.add(attr);
+
+        // the compiled condition, cached while the schema was missing, now finds it
+        assertTrue(anyMatcher.matches(user, fiql));
+        assertFalse(anyMatcher.matches(user, "laterSchema==earlier"));
+    }
 }
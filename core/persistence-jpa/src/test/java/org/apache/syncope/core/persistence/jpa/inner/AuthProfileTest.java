@@ -27,6 +27,7 @@ import org.apache.syncope.core.persistence.api.dao.auth.AuthProfileDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.auth.AuthProfile;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.entity.auth.JPAAuthProfile;
 import org.apache.syncope.core.spring.security.SecureRandomUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,11 +72,14 @@ public class AuthProfileTest extends AbstractTest {
         result = authProfileDAO.findByKey(authProfile.getKey());
         assertTrue(result.isPresent());
 
+        assertEquals(List.of(authProfile), authProfileDAO.findByGoogleMfaAuthToken(123456));
+
         authProfile.setOwner("SyncopeCreate-New");
         authProfile.setGoogleMfaAuthTokens(List.of());
         authProfileDAO.save(authProfile);
 
         assertFalse(authProfileDAO.findByOwner(id).isPresent());
+        assertTrue(authProfileDAO.findByGoogleMfaAuthToken(123456).isEmpty());
     }
 
     @Test
@@ -130,11 +134,14 @@ public class AuthProfileTest extends AbstractTest {
         result = authProfileDAO.findByKey(authProfile.getKey());
         assertTrue(result.isPresent());
 
+        assertEquals(List.of(authProfile), authProfileDAO.findByWebAuthnCredential("fFGyV3K5x1"));
+
         authProfile.setOwner("SyncopeCreate-NewU2F");
         authProfile.setWebAuthnAccount(null);
         authProfileDAO.save(authProfile);
 
         assertFalse(authProfileDAO.findByOwner(id).isPresent());
+        assertTrue(authProfileDAO.findByWebAuthnCredential("fFGyV3K5x1").isEmpty());
     }
 
     @Test
@@ -162,6 +169,90 @@ public class AuthProfileTest extends AbstractTest {
         assertEquals(secret, authProfile.getGoogleMfaAuthAccounts().get(0).getSecretKey());
     }
 
+    @Test
+    public void googleMfaAccountLookups() {
+        String id = SecureRandomUtils.generateRandomUUID().toString();
+        String key = SecureRandomUtils.generateRandomUUID().toString();
+
+        AuthProfile profile = entityFactory.newEntity(AuthProfile.class);
+        profile.setOwner(id);
+        profile.add(new GoogleMfaAuthAccount.Builder()
+            .key(key)
+            .id(4242L)
+            .registrationDate(new Date())
+            .secretKey(SecureRandomUtils.generateRandomUUID().toString())
+            .validationCode(123456)
+            .owner(id)
+            .build());
+        profile = authProfileDAO.save(profile);
+
+        assertEquals(List.of(profile), authProfileDAO.findByGoogleMfaAuthAccountKey(key));
+        assertEquals(List.of(profile), authProfileDAO.findByGoogleMfaAuthAccountId(4242L));
+        assertTrue(authProfileDAO.findByGoogleMfaAuthAccountId(4243L).isEmpty());
+
+        profile.setGoogleMfaAuthAccounts(List.of());
+        authProfileDAO.save(profile);
+
+        assertTrue(authProfileDAO.findByGoogleMfaAuthAccountKey(key).isEmpty());
+        assertTrue(authProfileDAO.findByGoogleMfaAuthAccountId(4242L).isEmpty());
+    }
+
+    @Test
+    public void u2fRegisteredDeviceLookups() {
+        String id = SecureRandomUtils.generateRandomUUID().toString();
+        String key = SecureRandomUtils.generateRandomUUID().toString();
+
+        AuthProfile profile = entityFactory.newEntity(AuthProfile.class);
+        profile.setOwner(id);
+        profile.add(new U2FRegisteredDevice.Builder()
+            .key(key)
+            .id(4242L)
+            .issueDate(new Date())
+            .record("{ 'record': 1 }")
+            .owner(id)
+            .build());
+        profile = authProfileDAO.save(profile);
+
+        assertEquals(List.of(profile), authProfileDAO.findByU2FRegisteredDeviceKey(key));
+        assertEquals(List.of(profile), authProfileDAO.findByU2FRegisteredDeviceId(4242L));
+        assertTrue(authProfileDAO.findByU2FRegisteredDeviceId(4243L).isEmpty());
+
+        profile.setU2FRegisteredDevices(List.of());
+        authProfileDAO.save(profile);
+
+        assertTrue(authProfileDAO.findByU2FRegisteredDeviceKey(key).isEmpty());
+        assertTrue(authProfileDAO.findByU2FRegisteredDeviceId(4242L).isEmpty());
+    }
+
+    @Test
+    public void reindex() {
+        String id = SecureRandomUtils.generateRandomUUID().toString();
+        AuthProfile profile = createAuthProfileWithToken(id, 654321);
+        entityManager().flush();
+
+        // as profiles stored before lookups were introduced: JSON content but no lookup rows
+        entityManager().createNativeQuery("DELETE FROM AuthProfile_lookup WHERE authProfile_id = ?1").
+            setParameter(1, profile.getKey()).
+            executeUpdate();
+        entityManager().clear();
+        entityManager().getEntityManagerFactory().getCache().evict(JPAAuthProfile.class);
+
+        assertTrue(authProfileDAO.findByGoogleMfaAuthToken(654321).isEmpty());
+
+        List<String> keys = authProfileDAO.findToBeReindexed(null, 10);
+        assertEquals(List.of(profile.getKey()), keys);
+        assertTrue(authProfileDAO.findToBeReindexed(profile.getKey(), 10).isEmpty());
+
+        assertEquals(1, authProfileDAO.reindex(keys));
+        entityManager().flush();
+        assertEquals(1, authProfileDAO.findByGoogleMfaAuthToken(654321).size());
+        assertEquals(id, authProfileDAO.findByGoogleMfaAuthToken(654321).get(0).getOwner());
+
+        // nothing left to reindex
+        assertTrue(authProfileDAO.findToBeReindexed(null, 10).isEmpty());
+        assertEquals(0, authProfileDAO.reindex(keys));
+    }
+
     private AuthProfile createAuthProfileWithToken(final String owner, final Integer otp) {
         AuthProfile profile = entityFactory.newEntity(AuthProfile.class);
         profile.setOwner(owner);
@@ -21,8 +21,10 @@ package org.apache.syncope.core.persistence.jpa.inner;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -67,6 +69,26 @@ public class GroupTest extends AbstractTest {
         assertEquals(2, group.getTypeExtension(anyTypeDAO.findUser()).get().getAuxClasses().size());
     }
 
+    @Test
+    public void findUMemberUsernames() {
+        String root = "37d15e4c-cdc1-460b-a591-8505c8133806";
+
+        List<Pair<String, String>> members = groupDAO.findUMemberUsernames(root, null, 10);
+        assertEquals(List.of(
+                Pair.of("1417acbe-cbf6-4277-9372-e75e04f97000", "rossini"),
+                Pair.of("74cd8ece-715a-44a4-a736-e17b46c4e7e6", "verdi")), members);
+
+        members = groupDAO.findUMemberUsernames(root, null, 1);
+        assertEquals(1, members.size());
+        assertEquals("rossini", members.get(0).getRight());
+
+        members = groupDAO.findUMemberUsernames(root, members.get(0).getLeft(), 1);
+        assertEquals(1, members.size());
+        assertEquals("verdi", members.get(0).getRight());
+
+        assertTrue(groupDAO.findUMemberUsernames(root, members.get(0).getLeft(), 1).isEmpty());
+    }
+
     @Test
     public void save() {
         Group group = entityFactory.newEntity(Group.class);
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.openjpa.jdbc.sql.H2Dictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JDBCRemoteCommitChannelTest {
+
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    public void setup() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    public void close() {
+        dataSource.close();
+    }
+
+    private JDBCRemoteCommitChannel channel() {
+        return new JDBCRemoteCommitChannel(() -> dataSource, H2Dictionary::new, 100, TimeUnit.MINUTES.toMillis(5));
+    }
+
+    private static void await(final List<?> received, final int expected) throws InterruptedException {
+        for (int i = 0; i < 50 && received.size() < expected; i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    public void exchange() throws InterruptedException {
+        List<String> received1 = new CopyOnWriteArrayList<>();
+        JDBCRemoteCommitChannel channel1 = channel();
+        channel1.open("Master", event -> received1.add(new String(event)));
+
+        List<String> received2 = new CopyOnWriteArrayList<>();
+        JDBCRemoteCommitChannel channel2 = channel();
+        channel2.open("Master", event -> received2.add(new String(event)));
+
+        List<String> received3 = new CopyOnWriteArrayList<>();
+        JDBCRemoteCommitChannel channel3 = channel();
+        channel3.open("Two", event -> received3.add(new String(event)));
+
+        try {
+            assertTrue(channel1.publish("first".getBytes()));
+            assertTrue(channel1.publish("second".getBytes()));
+            assertTrue(channel3.publish("other".getBytes()));
+
+            await(received2, 2);
+            await(received3, 1);
+
+            // same domain: all events received in order, once, by all channels
+            assertEquals(List.of("first", "second"), received2);
+            assertEquals(List.of("first", "second"), received1);
+
+            // different domain: only own events
+            assertEquals(List.of("other"), received3);
+
+            // polling again does not deliver duplicates
+            Thread.sleep(500);
+            assertEquals(2, received2.size());
+            assertTrue(received3.size() == 1);
+        } finally {
+            channel1.close();
+            channel2.close();
+            channel3.close();
+        }
+    }
+
+    @Test
+    public void concurrentPublishers() throws InterruptedException {
+        JDBCRemoteCommitChannel before = channel();
+        before.open("Master", event -> {
+        });
+        assertTrue(before.publish("old".getBytes()));
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        JDBCRemoteCommitChannel channel = channel();
+        channel.open("Master", event -> received.add(new String(event)));
+
+        List<JDBCRemoteCommitChannel> publishers = List.of(channel(), channel(), channel());
+        publishers.forEach(publisher -> publisher.open("Master", event -> {
+        }));
+
+        ExecutorService executor = Executors.newFixedThreadPool(publishers.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < publishers.size(); i++) {
+                JDBCRemoteCommitChannel publisher = publishers.get(i);
+                String prefix = "p" + i + '-';
+                futures.add(executor.submit(() -> IntStream.range(0, 10).
+                        forEach(j -> assertTrue(publisher.publish((prefix + j).getBytes())))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            await(received, 30);
+
+            // events published before opening are not delivered, all others are delivered once
+            assertEquals(30, received.size());
+            assertEquals(30, new HashSet<>(received).size());
+            assertFalse(received.contains("old"));
+
+            // each publisher's events are delivered in publication order
+            for (int i = 0; i < publishers.size(); i++) {
+                String prefix = "p" + i + '-';
+                assertEquals(
+                        IntStream.range(0, 10).mapToObj(j -> prefix + j).collect(Collectors.toList()),
+                        received.stream().filter(event -> event.startsWith(prefix)).collect(Collectors.toList()));
+            }
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            before.close();
+            channel.close();
+            publishers.forEach(JDBCRemoteCommitChannel::close);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -237,6 +238,9 @@ public class GroupTest extends AbstractTest {
         assertEquals(2, members.size());
         assertEquals(Set.of("c9b2dec2-00a7-4855-97c0-d854842b4b24", newUserKey),
                 new HashSet<>(members));
+        assertEquals(Set.of("bellini", "username"),
+                groupDAO.findUMemberUsernames(actual.getKey(), null, 10).stream().
+                        map(Pair::getRight).collect(Collectors.toSet()));
 
         user = userDAO.findByUsername("bellini");
         assertNotNull(user);
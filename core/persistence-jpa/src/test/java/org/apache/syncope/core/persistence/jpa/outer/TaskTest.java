@@ -221,6 +221,23 @@ public class TaskTest extends AbstractTest {
         assertNull(taskExecDAO.find("e58ca1c7-178a-4012-8a71-8aa14eaf0655"));
     }
 
+    @Test
+    public void deleteAllPropagationTasks() {
+        ExternalResource resource = resourceDAO.find("ws-target-resource-2");
+        assertNotNull(resource);
+
+        int before = taskDAO.count(TaskType.PROPAGATION, resource, null, null, null);
+        assertTrue(before > 0);
+
+        assertEquals(before, taskDAO.deleteAll(resource, TaskType.PROPAGATION));
+
+        entityManager().flush();
+
+        assertEquals(0, taskDAO.count(TaskType.PROPAGATION, resource, null, null, null));
+        assertNull(taskDAO.find("1e697572-b896-484c-ae7f-0c8f63fcbc6c"));
+        assertNull(taskExecDAO.find("e58ca1c7-178a-4012-8a71-8aa14eaf0655"));
+    }
+
     @Test
     public void deleteTaskExecution() {
         TaskExec execution = taskExecDAO.find("e58ca1c7-178a-4012-8a71-8aa14eaf0655");
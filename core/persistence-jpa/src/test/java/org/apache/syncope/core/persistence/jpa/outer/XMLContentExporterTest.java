@@ -49,7 +49,7 @@ public class XMLContentExporterTest extends AbstractTest {
     public void issueSYNCOPE1128() throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
-        exporter.export("Master", baos, null, null, null);
+        exporter.export("Master", 0, baos, null, null, null);
 
         String exported = baos.toString(Charset.defaultCharset());
         assertTrue(StringUtils.isNotBlank(exported));
@@ -63,4 +63,19 @@ public class XMLContentExporterTest extends AbstractTest {
         assertTrue(realms.get(2).contains("name=\"even\""));
         assertTrue(realms.get(3).contains("name=\"two\""));
     }
+
+    @Test
+    public void tableThreshold() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        exporter.export("Master", 1, baos, null, null, null);
+
+        String exported = baos.toString(StandardCharsets.UTF_8);
+        assertTrue(exported.trim().endsWith("</" + ContentExporter.ROOT_ELEMENT + ">"));
+
+        List<String> realms = IOUtils.readLines(
+                IOUtils.toInputStream(exported), StandardCharsets.UTF_8.name()).stream().
+                filter(row -> row.trim().startsWith("<Realm")).collect(Collectors.toList());
+        assertEquals(1, realms.size());
+    }
 }
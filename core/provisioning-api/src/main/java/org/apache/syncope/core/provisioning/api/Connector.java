@@ -258,6 +258,22 @@ public interface Connector {
      */
     void dispose();
 
+    /**
+     * Tells whether calls are currently rejected, because the underlying resource has been failing too frequently.
+     *
+     * @return whether calls are currently rejected
+     */
+    default boolean isCircuitOpen() {
+        return false;
+    }
+
+    /**
+     * Allows calls again, if rejected because the underlying resource has been failing too frequently.
+     */
+    default void closeCircuit() {
+        // nothing to do by default
+    }
+
     /**
      * Getter for active connector instance.
      *
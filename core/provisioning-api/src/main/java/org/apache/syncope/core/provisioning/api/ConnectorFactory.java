@@ -61,6 +61,15 @@ public interface ConnectorFactory {
      */
     Connector getConnector(ExternalResource resource);
 
+    /**
+     * Tells whether calls to the existing connector for the given resource are suspended after repeated failures;
+     * no connector is created if not existing yet.
+     *
+     * @param resource the resource.
+     * @return whether calls to the connector for given resource are suspended
+     */
+    boolean isSuspended(ExternalResource resource);
+
     /**
      * Load connectors for all existing resources.
      *
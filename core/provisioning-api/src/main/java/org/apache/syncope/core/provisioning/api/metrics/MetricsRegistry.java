@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.info.SystemInfo;
+
+/**
+ * Collects timers and counters for provisioning and persistence hot paths.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Records the given duration for the timer identified by name and tags.
+     *
+     * @param name metric name
+     * @param duration measured duration
+     * @param unit duration unit
+     * @param tags alternating tag names and values
+     */
+    void record(String name, long duration, TimeUnit unit, String... tags);
+
+    /**
+     * Increments by one the counter identified by name and tags.
+     *
+     * @param name metric name
+     * @param tags alternating tag names and values
+     */
+    void increment(String name, String... tags);
+
+    /**
+     * Records the time elapsed since the given start, as returned by {@link System#nanoTime()}.
+     *
+     * @param name metric name
+     * @param startNanos start time, in nanoseconds
+     * @param tags alternating tag names and values
+     */
+    default void recordSince(final String name, final long startNanos, final String... tags) {
+        record(name, System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, tags);
+    }
+
+    /**
+     * @return current values of all the metrics collected so far
+     */
+    List<SystemInfo.Metric> snapshot();
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.provisioning.api.propagation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -44,6 +46,11 @@ public class PropagationTaskInfo extends PropagationTaskTO {
      */
     private Optional<ConnectorObject> beforeObj;
 
+    /**
+     * Propagation tasks merged into this one: not executed on their own, but recorded along with this one.
+     */
+    private final List<PropagationTaskInfo> coalesced = new ArrayList<>();
+
     public PropagationTaskInfo(final ExternalResource externalResource) {
         super();
         this.externalResource = externalResource;
@@ -79,6 +86,10 @@ public class PropagationTaskInfo extends PropagationTaskTO {
         this.beforeObj = beforeObj;
     }
 
+    public List<PropagationTaskInfo> getCoalesced() {
+        return coalesced;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
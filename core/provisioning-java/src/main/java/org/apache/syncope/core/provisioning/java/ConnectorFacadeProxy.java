@@ -22,15 +22,14 @@ import java.io.File;
 import java.net.URI;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.utils.ConnPoolConfUtils;
 import org.apache.syncope.core.provisioning.api.Connector;
-import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.pushpull.ReconFilterBuilder;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.identityconnectors.common.security.GuardedByteArray;
@@ -51,6 +50,7 @@ import org.identityconnectors.framework.common.objects.SyncResultsHandler;
 import org.identityconnectors.framework.common.objects.SyncToken;
 import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterBuilder;
 import org.identityconnectors.framework.spi.SearchResultsHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +65,8 @@ public class ConnectorFacadeProxy implements Connector {
 
     private static final Integer DEFAULT_PAGE_SIZE = 100;
 
+    private static final String METRIC = "syncope.connector";
+
     /**
      * Connector facade wrapped instance.
      */
@@ -75,8 +77,13 @@ public class ConnectorFacadeProxy implements Connector {
      */
     private final ConnInstance connInstance;
 
+    /**
+     * Bulkhead and circuit breaker for all calls performed by this instance.
+     */
+    private final ConnectorGuard guard;
+
     @Autowired
-    private AsyncConnectorFacade asyncFacade;
+    private MetricsRegistry metricsRegistry;
 
     /**
      * Use the passed connector instance to build a ConnectorFacade that will be used to make all wrapped calls.
@@ -125,6 +132,37 @@ public class ConnectorFacadeProxy implements Connector {
 
         // make sure we have set up the Configuration properly
         connector.validate();
+
+        guard = ApplicationContextProvider.getBeanFactory().getBean(ConnectorGuard.class);
+    }
+
+    private void record(final String operation, final long start) {
+        metricsRegistry.recordSince(METRIC, start, "connector", connInstance.getKey(), "operation", operation);
+    }
+
+    private void error(final String operation) {
+        metricsRegistry.increment(METRIC + ".errors", "connector", connInstance.getKey(), "operation", operation);
+    }
+
+    private <T> T measure(final String operation, final Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            error(operation);
+            throw e;
+        } finally {
+            record(operation, start);
+        }
+    }
+
+    private <T> T call(final String operation, final Supplier<T> call) {
+        return guard.call(connInstance.getDisplayName(), () -> measure(operation, call));
+    }
+
+    private <T> T get(final String operation, final Supplier<T> call) {
+        return measure(operation, () -> guard.submit(
+                connInstance.getDisplayName(), call, connInstance.getConnRequestTimeout()));
     }
 
     @Override
@@ -132,21 +170,8 @@ public class ConnectorFacadeProxy implements Connector {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.AUTHENTICATE)) {
-            Future<Uid> future = asyncFacade.authenticate(
-                    connector, username, new GuardedString(password.toCharArray()), options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = get("authenticate", () -> connector.authenticate(
+                    ObjectClass.ACCOUNT, username, new GuardedString(password.toCharArray()), options));
         } else {
             LOG.info("Authenticate was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -167,20 +192,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.CREATE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.create(connector, objectClass, attrs, options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = get("create", () -> connector.create(objectClass, attrs, options));
         } else {
             LOG.info("Create was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -202,21 +214,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.update(connector, objectClass, uid, attrs, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = get("update", () -> connector.update(objectClass, uid, attrs, options));
         } else {
             LOG.info("Update for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -236,21 +234,10 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.DELETE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.delete(connector, objectClass, uid, options);
-
-            try {
-                future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            get("delete", () -> {
+                connector.delete(objectClass, uid, options);
+                return uid;
+            });
         } else {
             LOG.info("Delete for {} was attempted, although the connector only has these capabilities: {}. No action.",
                     uid.getUidValue(), connInstance.getCapabilities());
@@ -263,7 +250,10 @@ public class ConnectorFacadeProxy implements Connector {
             final OperationOptions options) {
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            connector.sync(objectClass, token, handler, options);
+            call("sync", () -> {
+                connector.sync(objectClass, token, handler, options);
+                return null;
+            });
         } else {
             LOG.info("Sync was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -275,21 +265,7 @@ public class ConnectorFacadeProxy implements Connector {
         SyncToken result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            Future<SyncToken> future = asyncFacade.getLatestSyncToken(connector, objectClass);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = get("getLatestSyncToken", () -> connector.getLatestSyncToken(objectClass));
         } else {
             LOG.info("getLatestSyncToken was attempted, although the "
                     + "connector only has these capabilities: {}. No action.", connInstance.getCapabilities());
@@ -321,56 +297,34 @@ public class ConnectorFacadeProxy implements Connector {
 
     @Override
     public Set<ObjectClassInfo> getObjectClassInfo() {
-        Future<Set<ObjectClassInfo>> future = asyncFacade.getObjectClassInfo(connector);
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
+        return get("getObjectClassInfo", () -> {
+            Set<ObjectClassInfo> result = Set.of();
+
+            try {
+                result = connector.schema().getObjectClassInfo();
+            } catch (Exception e) {
+                // catch exception in order to manage unpredictable behaviors
+                LOG.debug("While reading schema on connector {}", connector, e);
             }
-        }
+
+            return result;
+        });
     }
 
     @Override
     public void validate() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        get("validate", () -> {
+            connector.test();
+            return null;
+        });
     }
 
     @Override
     public void test() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        get("test", () -> {
+            connector.test();
+            return null;
+        });
     }
 
     @Override
@@ -380,28 +334,75 @@ public class ConnectorFacadeProxy implements Connector {
             final boolean ignoreCaseMatch,
             final OperationOptions options) {
 
-        Future<ConnectorObject> future = null;
+        ConnectorObject result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            future = asyncFacade.getObject(connector, objectClass, connObjectKey, ignoreCaseMatch, options);
+            result = get("getObject", () -> {
+                ConnectorObject[] objects = new ConnectorObject[1];
+                connector.search(
+                        objectClass,
+                        ignoreCaseMatch
+                                ? FilterBuilder.equalsIgnoreCase(connObjectKey)
+                                : FilterBuilder.equalTo(connObjectKey),
+                        new SearchResultsHandler() {
+
+                    @Override
+                    public boolean handle(final ConnectorObject connectorObject) {
+                        objects[0] = connectorObject;
+                        return false;
+                    }
+
+                    @Override
+                    public void handleResult(final SearchResult sr) {
+                        // do nothing
+                    }
+                },
+                        options);
+                return objects[0];
+            });
         } else {
             LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
         }
 
-        try {
-            return future == null ? null : future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
+        return result;
+    }
+
+    private SearchResult doSearch(
+            final ObjectClass objectClass,
+            final Filter filter,
+            final SearchResultsHandler handler,
+            final OperationOptions options) {
+
+        SearchResult result;
+        if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
+            OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
+                    setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
+
+            final String[] cookies = new String[] { null };
+            do {
+                if (cookies[0] != null) {
+                    builder.setPagedResultsCookie(cookies[0]);
+                }
+
+                result = connector.search(objectClass, filter, new SearchResultsHandler() {
+
+                    @Override
+                    public void handleResult(final SearchResult result) {
+                        handler.handleResult(result);
+                        cookies[0] = result.getPagedResultsCookie();
+                    }
+
+                    @Override
+                    public boolean handle(final ConnectorObject connectorObject) {
+                        return handler.handle(connectorObject);
+                    }
+                }, builder.build());
+            } while (cookies[0] != null);
+        } else {
+            result = connector.search(objectClass, filter, handler, options);
         }
+        return result;
     }
 
     @Override
@@ -414,33 +415,7 @@ public class ConnectorFacadeProxy implements Connector {
         SearchResult result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
-                OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
-                        setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
-
-                final String[] cookies = new String[] { null };
-                do {
-                    if (cookies[0] != null) {
-                        builder.setPagedResultsCookie(cookies[0]);
-                    }
-
-                    result = connector.search(objectClass, filter, new SearchResultsHandler() {
-
-                        @Override
-                        public void handleResult(final SearchResult result) {
-                            handler.handleResult(result);
-                            cookies[0] = result.getPagedResultsCookie();
-                        }
-
-                        @Override
-                        public boolean handle(final ConnectorObject connectorObject) {
-                            return handler.handle(connectorObject);
-                        }
-                    }, builder.build());
-                } while (cookies[0] != null);
-            } else {
-                result = connector.search(objectClass, filter, handler, options);
-            }
+            result = call("search", () -> doSearch(objectClass, filter, handler, options));
         } else {
             LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -451,9 +426,20 @@ public class ConnectorFacadeProxy implements Connector {
 
     @Override
     public void dispose() {
+        guard.shutdown();
         connector.dispose();
     }
 
+    @Override
+    public boolean isCircuitOpen() {
+        return guard.getState() == ConnectorGuard.State.OPEN;
+    }
+
+    @Override
+    public void closeCircuit() {
+        guard.close();
+    }
+
     @Override
     public ConnInstance getConnInstance() {
         return connInstance;
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.syncope.core.provisioning.api.ResourceUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Guards the calls towards a single external resource with:
+ * <ol>
+ * <li>a bulkhead, limiting the number of concurrent calls, so that a slow resource cannot hold all the threads
+ * available for propagation and pull; calls submitted with a timeout run on an executor owned by this instance and
+ * keep their permit until they actually finish, even after the caller gave up waiting</li>
+ * <li>a circuit breaker, rejecting all calls for some time once the failure rate among the latest calls reaches the
+ * configured threshold; after such time, a single trial call is let through to decide whether to resume normal
+ * operations or keep rejecting</li>
+ * </ol>
+ * Only timeouts and I/O errors are counted as failures: any other error means that the resource is responding.
+ */
+public class ConnectorGuard {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectorGuard.class);
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+
+    }
+
+    private final Semaphore bulkhead;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long maxWaitMillis;
+
+    private final int failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final long openNanos;
+
+    /**
+     * Outcomes of the latest calls, as circular buffer: true for failure.
+     */
+    private final boolean[] outcomes;
+
+    private int next;
+
+    private int calls;
+
+    private int failures;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private boolean trialInProgress;
+
+    /**
+     * @param maxConcurrentCalls maximum number of concurrent calls
+     * @param maxWaitMillis maximum time to wait for a call to be allowed when {@code maxConcurrentCalls} are already
+     * in progress, before rejecting it
+     * @param failureRateThreshold failure percentage among the latest calls above which calls are rejected
+     * @param slidingWindowSize number of latest calls to consider for computing the failure rate
+     * @param minimumCalls minimum number of calls before the failure rate is computed
+     * @param openSeconds time to wait, once calls are rejected, before letting a trial call through
+     */
+    public ConnectorGuard(
+            final int maxConcurrentCalls,
+            final long maxWaitMillis,
+            final int failureRateThreshold,
+            final int slidingWindowSize,
+            final int minimumCalls,
+            final long openSeconds) {
+
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+
+        // never more than maxConcurrentCalls tasks at once, as each holds a permit until finished
+        String threadNamePrefix = "ConnectorGuard-" + INSTANCES.incrementAndGet() + "-";
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrentCalls,
+                maxConcurrentCalls,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized void close() {
+        state = State.CLOSED;
+        trialInProgress = false;
+        reset();
+    }
+
+    /**
+     * Interrupts the calls still running on the executor owned by this instance and rejects any further submission.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void reset() {
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+
+    private synchronized boolean allow() {
+        switch (state) {
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInProgress = true;
+                return true;
+
+            case HALF_OPEN:
+                if (trialInProgress) {
+                    return false;
+                }
+                trialInProgress = true;
+                return true;
+
+            case CLOSED:
+            default:
+                return true;
+        }
+    }
+
+    private synchronized void abandon() {
+        trialInProgress = false;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        reset();
+    }
+
+    private synchronized void record(final boolean failure) {
+        if (state == State.HALF_OPEN) {
+            trialInProgress = false;
+            if (failure) {
+                open();
+            } else {
+                state = State.CLOSED;
+                reset();
+            }
+            return;
+        }
+
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (state == State.CLOSED && calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+            open();
+        }
+    }
+
+    protected boolean isFailure(final RuntimeException e) {
+        return e instanceof TimeoutException
+                || e instanceof ConnectorIOException
+                || e instanceof OperationTimeoutException;
+    }
+
+    private void acquire(final String resource) {
+        if (!allow()) {
+            throw new ResourceUnavailableException(
+                    "Calls to " + resource + " are suspended after repeated failures");
+        }
+
+        boolean acquired = false;
+        try {
+            acquired = bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            abandon();
+            throw new ResourceUnavailableException(
+                    "Too many concurrent calls to " + resource + ", " + bulkhead.getQueueLength() + " waiting");
+        }
+    }
+
+    private void failed(final String resource, final RuntimeException e) {
+        boolean failure = isFailure(e);
+        record(failure);
+        if (failure && getState() == State.OPEN) {
+            LOG.warn("Suspending calls to {} after repeated failures", resource);
+        }
+    }
+
+    /**
+     * Performs the given call in the current thread, unless rejected by bulkhead or circuit breaker.
+     *
+     * @param <T> call result
+     * @param resource resource reference, for reporting
+     * @param call call towards the resource
+     * @return call result
+     * @throws ResourceUnavailableException if the call was rejected
+     */
+    public <T> T call(final String resource, final Supplier<T> call) {
+        acquire(resource);
+        try {
+            T result = call.get();
+            record(false);
+            return result;
+        } catch (RuntimeException e) {
+            failed(resource, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Performs the given call on the executor owned by this instance, unless rejected by bulkhead or circuit breaker,
+     * waiting at most the given timeout for its result.
+     * The permit is released only when the call actually finishes, so that calls still hanging on the resource after
+     * their timeout prevent new calls from piling up.
+     *
+     * @param <T> call result
+     * @param resource resource reference, for reporting
+     * @param call call towards the resource
+     * @param timeoutSeconds maximum time to wait for the call result
+     * @return call result
+     * @throws ResourceUnavailableException if the call was rejected
+     * @throws TimeoutException if the call did not complete within the given timeout
+     */
+    public <T> T submit(final String resource, final Supplier<T> call, final long timeoutSeconds) {
+        acquire(resource);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            abandon();
+            throw new ResourceUnavailableException("Calls to " + resource + " are no longer accepted");
+        }
+
+        try {
+            T result = future.get(timeoutSeconds, TimeUnit.SECONDS);
+            record(false);
+            return result;
+        } catch (java.util.concurrent.TimeoutException e) {
+            future.cancel(true);
+            TimeoutException timeout = new TimeoutException("Request timeout");
+            failed(resource, timeout);
+            throw timeout;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            abandon();
+            throw new RuntimeException("Interrupted while waiting for " + resource, e);
+        } catch (ExecutionException e) {
+            LOG.error("Connector request execution failure on {}", resource, e.getCause());
+            RuntimeException cause = e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new RuntimeException(e.getCause());
+            failed(resource, cause);
+            throw cause;
+        }
+    }
+}
@@ -83,6 +83,13 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory {
         return ApplicationContextProvider.getBeanFactory().getBean(getBeanName(resource), Connector.class);
     }
 
+    @Override
+    public boolean isSuspended(final ExternalResource resource) {
+        return ApplicationContextProvider.getBeanFactory().containsBean(getBeanName(resource))
+                && ApplicationContextProvider.getBeanFactory().
+                        getBean(getBeanName(resource), Connector.class).isCircuitOpen();
+    }
+
     @Override
     public ConnInstance buildConnInstanceOverride(
             final ConnInstanceTO connInstance,
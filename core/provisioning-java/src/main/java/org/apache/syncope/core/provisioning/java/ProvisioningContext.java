@@ -55,6 +55,7 @@ import org.apache.syncope.core.provisioning.java.propagation.PropagationManagerI
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.EnvironmentAware;
@@ -65,6 +66,7 @@ import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.Scope;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
@@ -107,7 +109,8 @@ public class ProvisioningContext implements EnvironmentAware, AsyncConfigurer {
     }
 
     /**
-     * Annotated as {@code @Primary} because it will be used by {@code @Async} in {@link AsyncConnectorFacade}.
+     * Annotated as {@code @Primary} because it will be used by {@code @Async}; connector calls run instead on the
+     * executor owned by each {@link ConnectorGuard}.
      *
      * @return executor
      */
@@ -291,6 +294,23 @@ public class ProvisioningContext implements EnvironmentAware, AsyncConfigurer {
         return connIdBundleManager;
     }
 
+    /**
+     * Prototype: each connector gets its own instance.
+     *
+     * @return bulkhead, circuit breaker and executor for calls towards a single external resource
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public ConnectorGuard connectorGuard() {
+        return new ConnectorGuard(
+                env.getProperty("connectorGuard.maxConcurrentCalls", Integer.class, 3),
+                env.getProperty("connectorGuard.maxWaitMillis", Long.class, 1000L),
+                env.getProperty("connectorGuard.failureRateThreshold", Integer.class, 50),
+                env.getProperty("connectorGuard.slidingWindowSize", Integer.class, 20),
+                env.getProperty("connectorGuard.minimumCalls", Integer.class, 10),
+                env.getProperty("connectorGuard.openSeconds", Long.class, 60L));
+    }
+
     @Bean
     public IntAttrNameParser intAttrNameParser() {
         return new IntAttrNameParser();
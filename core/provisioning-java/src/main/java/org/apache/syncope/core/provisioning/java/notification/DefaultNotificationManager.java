@@ -343,8 +343,7 @@ public class DefaultNotificationManager implements NotificationManager {
                     LOG.debug("No events found about {}", any);
                 } else if (anyType == null || any == null
                         || !notification.getAbout(anyType).isPresent()
-                        || anyMatchDAO.matches(any, SearchCondConverter.convert(
-                                searchCondVisitor, notification.getAbout(anyType).get().get()))) {
+                        || anyMatchDAO.matches(any, notification.getAbout(anyType).get().get())) {
 
                     LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
 
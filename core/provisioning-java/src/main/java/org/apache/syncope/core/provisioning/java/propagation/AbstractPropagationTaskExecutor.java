@@ -45,6 +45,7 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationActions;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
@@ -156,6 +157,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
     @Autowired
     protected OutboundMatcher outboundMatcher;
 
+    @Autowired
+    protected MetricsRegistry metricsRegistry;
+
     protected List<PropagationActions> getPropagationActions(final ExternalResource resource) {
         List<PropagationActions> result = new ArrayList<>();
 
@@ -323,6 +327,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         List<PropagationActions> actions = getPropagationActions(task.getResource());
 
         Date start = new Date();
+        long startNanos = System.nanoTime();
 
         TaskExec execution = entityFactory.newEntity(TaskExec.class);
         execution.setStatus(ExecStatus.CREATED.name());
@@ -440,6 +445,11 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
 
             LOG.debug("Execution finished: {}", execution);
 
+            metricsRegistry.recordSince("syncope.propagation", startNanos,
+                    "resource", task.getResource().getKey(),
+                    "operation", task.getOperation().name(),
+                    "status", execution.getStatus());
+
             if (hasToBeregistered(task, execution)) {
                 LOG.debug("Execution to be stored: {}", execution);
 
@@ -496,9 +506,72 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                     taskInfo);
         }
 
+        recordCoalesced(taskInfo, execution, result, beforeObj, afterObj);
+
         return execution;
     }
 
+    /**
+     * Records the propagation tasks merged into the given one as executed along with it, so that each of them
+     * still gets its own execution and audit entry.
+     *
+     * @param taskInfo propagation task actually executed
+     * @param execution execution of the given propagation task
+     * @param result execution result
+     * @param beforeObj object on External Resource before propagation
+     * @param afterObj object on External Resource after propagation
+     */
+    protected void recordCoalesced(
+            final PropagationTaskInfo taskInfo,
+            final TaskExec execution,
+            final Result result,
+            final ConnectorObject beforeObj,
+            final ConnectorObject afterObj) {
+
+        for (PropagationTaskInfo merged : taskInfo.getCoalesced()) {
+            PropagationTask task = buildTask(merged);
+
+            TaskExec mergedExec = entityFactory.newEntity(TaskExec.class);
+            mergedExec.setStatus(execution.getStatus());
+            mergedExec.setExecutor(execution.getExecutor());
+            mergedExec.setStart(execution.getStart());
+            mergedExec.setEnd(execution.getEnd());
+            mergedExec.setMessage("Coalesced with the " + taskInfo.getOperation() + " propagation of "
+                    + taskInfo.getConnObjectKey() + " on " + taskInfo.getResource()
+                    + (execution.getMessage() == null ? StringUtils.EMPTY : "\n\n" + execution.getMessage()));
+
+            if (hasToBeregistered(task, mergedExec)) {
+                LOG.debug("Execution to be stored: {}", mergedExec);
+
+                mergedExec.setTask(task);
+                task.add(mergedExec);
+
+                taskDAO.save(task);
+            }
+
+            String anyTypeKind = task.getAnyTypeKind() == null ? "realm" : task.getAnyTypeKind().name().toLowerCase();
+            String operation = task.getOperation().name().toLowerCase();
+            if (auditManager.auditRequested(
+                    AuthContextUtils.getUsername(),
+                    AuditElements.EventCategoryType.PROPAGATION,
+                    anyTypeKind,
+                    task.getResource().getKey(),
+                    operation)) {
+
+                auditManager.audit(
+                        AuthContextUtils.getUsername(),
+                        AuditElements.EventCategoryType.PROPAGATION,
+                        anyTypeKind,
+                        task.getResource().getKey(),
+                        operation,
+                        result,
+                        beforeObj,
+                        new Object[] { taskDataBinder.getExecTO(mergedExec), afterObj },
+                        merged);
+            }
+        }
+    }
+
     protected abstract void doExecute(
             Collection<PropagationTaskInfo> taskInfos, PropagationReporter reporter, boolean nullPriorityAsync,
             String executor);
@@ -534,6 +607,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 null,
                 null);
 
+        recordCoalesced(taskInfo, execution, Result.FAILURE, null, null);
+
         return execution;
     }
 
@@ -27,15 +27,19 @@ import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.core.persistence.api.entity.Exec;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationException;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -45,12 +49,32 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * Tasks related to resources with NULL priority are executed after other tasks, concurrently.
  * Failure during execution of a task related to resource with non-NULL priority are treated as fatal and will interrupt
  * the whole process, resulting in a global failure.
+ * When async processing is required, tasks related to resources with NULL priority can be held for a short window
+ * before submission, so that further tasks about the same connector object are merged into them.
  */
 public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExecutor {
 
     @Resource(name = "propagationTaskExecutorAsyncExecutor")
     protected ThreadPoolTaskExecutor taskExecutor;
 
+    /**
+     * How long, in milliseconds, tasks for async execution are held before submission; 0 to submit immediately.
+     */
+    @Value("${propagationTaskExecutor.coalesceWindowMillis:0}")
+    protected long coalesceWindowMillis;
+
+    protected PropagationTaskCoalescer coalescer;
+
+    @PostConstruct
+    public void init() {
+        coalescer = new PropagationTaskCoalescer(coalesceWindowMillis);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        coalescer.shutdown();
+    }
+
     /**
      * Creates new instances of {@link PropagationTaskCallable} for usage with
      * {@link java.util.concurrent.CompletionService}.
@@ -116,13 +140,20 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             CompletionService<TaskExec> completionService = new ExecutorCompletionService<>(taskExecutor);
             List<Future<TaskExec>> futures = new ArrayList<>();
 
+            String domain = AuthContextUtils.getDomain();
             concurrentTasks.forEach(taskInfo -> {
                 try {
-                    futures.add(completionService.submit(newPropagationTaskCallable(taskInfo, reporter, executor)));
-
+                    PropagationTaskCallable callable = newPropagationTaskCallable(taskInfo, reporter, executor);
                     if (nullPriorityAsync) {
                         reporter.onSuccessOrNonPriorityResourceFailures(
                                 taskInfo, ExecStatus.CREATED, null, null, null);
+
+                        coalescer.offer(domain + '/' + executor, taskInfo, toSubmit -> {
+                            callable.setTaskInfo(toSubmit);
+                            submit(domain, callable, toSubmit, reporter, executor);
+                        });
+                    } else {
+                        futures.add(completionService.submit(callable));
                     }
                 } catch (Exception e) {
                     LOG.error("While submitting task for async execution: {}", taskInfo, e);
@@ -142,4 +173,20 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             }
         }
     }
+
+    protected void submit(
+            final String domain,
+            final PropagationTaskCallable callable,
+            final PropagationTaskInfo taskInfo,
+            final PropagationReporter reporter,
+            final String executor) {
+
+        try {
+            taskExecutor.submit(callable);
+        } catch (Exception e) {
+            LOG.error("While submitting task for async execution: {}", taskInfo, e);
+            // might be invoked after the window, out of the original thread
+            AuthContextUtils.callAsAdmin(domain, () -> rejected(taskInfo, e.getMessage(), reporter, executor));
+        }
+    }
 }
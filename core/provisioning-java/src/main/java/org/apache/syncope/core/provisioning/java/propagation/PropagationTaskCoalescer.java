@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds propagation tasks for a short window before submitting them, merging the tasks about the same connector
+ * object which are offered meanwhile into a single net operation, so that only one read and one write are performed
+ * against the external resource.
+ * The window starts with the first task about a given object, hence tasks are delayed at most by the window length;
+ * tasks already stored (i.e. with key) are never merged, neither is a deletion following a creation: in such case,
+ * the pending task is submitted straight away, before the new one.
+ */
+public class PropagationTaskCoalescer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropagationTaskCoalescer.class);
+
+    private static class Pending {
+
+        private String key;
+
+        private PropagationTaskInfo taskInfo;
+
+        private final Consumer<PropagationTaskInfo> submit;
+
+        Pending(final String key, final PropagationTaskInfo taskInfo, final Consumer<PropagationTaskInfo> submit) {
+            this.key = key;
+            this.taskInfo = taskInfo;
+            this.submit = submit;
+        }
+
+        private void submit() {
+            submit.accept(taskInfo);
+        }
+    }
+
+    private static Map<String, Attribute> attributes(final PropagationTaskInfo taskInfo) {
+        Map<String, Attribute> attributes = new LinkedHashMap<>();
+        if (StringUtils.isNotBlank(taskInfo.getAttributes())) {
+            for (Attribute attribute : POJOHelper.deserialize(taskInfo.getAttributes(), Attribute[].class)) {
+                attributes.put(attribute.getName().toUpperCase(Locale.ROOT), attribute);
+            }
+        }
+        return attributes;
+    }
+
+    private static boolean canMerge(final PropagationTaskInfo previous, final PropagationTaskInfo next) {
+        return Objects.equals(previous.getAnyTypeKind(), next.getAnyTypeKind())
+                && Objects.equals(previous.getEntityKey(), next.getEntityKey())
+                // nothing can follow a deletion
+                && !(previous.getOperation() == ResourceOperation.DELETE
+                && next.getOperation() != ResourceOperation.DELETE)
+                // the object to delete does not exist yet on the external resource
+                && !(previous.getOperation() == ResourceOperation.CREATE
+                && next.getOperation() == ResourceOperation.DELETE);
+    }
+
+    private static PropagationTaskInfo copy(final PropagationTaskInfo taskInfo) {
+        PropagationTaskInfo copy = new PropagationTaskInfo(taskInfo.getExternalResource());
+        copy.setConnector(taskInfo.getConnector());
+        copy.setBeforeObj(taskInfo.getBeforeObj());
+        copy.setObjectClassName(taskInfo.getObjectClassName());
+        copy.setAnyTypeKind(taskInfo.getAnyTypeKind());
+        copy.setAnyType(taskInfo.getAnyType());
+        copy.setEntityKey(taskInfo.getEntityKey());
+        copy.setOperation(taskInfo.getOperation());
+        copy.setConnObjectKey(taskInfo.getConnObjectKey());
+        copy.setOldConnObjectKey(taskInfo.getOldConnObjectKey());
+        copy.setAttributes(taskInfo.getAttributes());
+        copy.getCoalesced().addAll(taskInfo.getCoalesced());
+        return copy;
+    }
+
+    private static PropagationTaskInfo merge(final PropagationTaskInfo previous, final PropagationTaskInfo next) {
+        PropagationTaskInfo merged = copy(previous);
+
+        // the object as it is on the external resource before the first task, if any
+        String remoteKey = previous.getOperation() == ResourceOperation.CREATE
+                ? null
+                : previous.getOldConnObjectKey() == null
+                        ? previous.getConnObjectKey()
+                        : previous.getOldConnObjectKey();
+
+        if (next.getOperation() == ResourceOperation.DELETE) {
+            merged.setOperation(ResourceOperation.DELETE);
+            merged.setAttributes(next.getAttributes());
+        } else {
+            // values from the latest task win; mandatory checks only make sense for the latest values
+            Map<String, Attribute> attributes = attributes(previous);
+            attributes.remove(PropagationTaskExecutor.MANDATORY_MISSING_ATTR_NAME.toUpperCase(Locale.ROOT));
+            attributes.remove(PropagationTaskExecutor.MANDATORY_NULL_OR_EMPTY_ATTR_NAME.toUpperCase(Locale.ROOT));
+            attributes.putAll(attributes(next));
+
+            merged.setAttributes(POJOHelper.serialize(attributes.values()));
+        }
+
+        merged.setConnObjectKey(next.getConnObjectKey());
+        merged.setOldConnObjectKey(remoteKey == null || remoteKey.equals(next.getConnObjectKey())
+                ? null
+                : remoteKey);
+
+        merged.getCoalesced().add(next);
+        return merged;
+    }
+
+    private static String key(final String scope, final PropagationTaskInfo taskInfo, final String connObjectKey) {
+        return scope + '/' + taskInfo.getResource() + '/' + taskInfo.getObjectClassName() + '/' + connObjectKey;
+    }
+
+    private final long windowMillis;
+
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param windowMillis how long, in milliseconds, tasks are held before being submitted; 0 to submit immediately
+     */
+    public PropagationTaskCoalescer(final long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.scheduler = windowMillis <= 0
+                ? null
+                : Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "PropagationTaskCoalescer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Offers the given propagation task for submission: if a task about the same connector object is pending, the
+     * given one is merged into it, reporting the tasks merged via {@link PropagationTaskInfo#getCoalesced()}.
+     *
+     * @param scope only tasks with the same scope (e.g. domain and executor) are merged
+     * @param taskInfo propagation task
+     * @param submit actual submission, invoked at most once, with the given task or with a task merging it
+     */
+    public void offer(
+            final String scope,
+            final PropagationTaskInfo taskInfo,
+            final Consumer<PropagationTaskInfo> submit) {
+
+        if (scheduler == null || scheduler.isShutdown()
+                || taskInfo.getKey() != null || taskInfo.getConnObjectKey() == null) {
+            submit.accept(taskInfo);
+            return;
+        }
+
+        List<Pending> toSubmit = new ArrayList<>(2);
+        synchronized (pending) {
+            Pending previous = pending.remove(key(scope, taskInfo, taskInfo.getOldConnObjectKey() == null
+                    ? taskInfo.getConnObjectKey()
+                    : taskInfo.getOldConnObjectKey()));
+            if (previous != null && canMerge(previous.taskInfo, taskInfo)) {
+                previous.taskInfo = merge(previous.taskInfo, taskInfo);
+                LOG.debug("Propagation task {} merged into {}", taskInfo, previous.taskInfo);
+
+                previous.key = key(scope, previous.taskInfo, previous.taskInfo.getConnObjectKey());
+                Pending replaced = pending.put(previous.key, previous);
+                if (replaced != null) {
+                    toSubmit.add(replaced);
+                }
+            } else {
+                if (previous != null) {
+                    toSubmit.add(previous);
+                }
+
+                Pending next = new Pending(key(scope, taskInfo, taskInfo.getConnObjectKey()), taskInfo, submit);
+                Pending replaced = pending.put(next.key, next);
+                if (replaced != null) {
+                    toSubmit.add(replaced);
+                }
+                try {
+                    scheduler.schedule(() -> expire(next), windowMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    pending.remove(next.key);
+                    toSubmit.add(next);
+                }
+            }
+        }
+
+        toSubmit.forEach(Pending::submit);
+    }
+
+    private void expire(final Pending expired) {
+        boolean removed;
+        synchronized (pending) {
+            removed = pending.remove(expired.key, expired);
+        }
+        if (removed) {
+            try {
+                expired.submit();
+            } catch (Exception e) {
+                LOG.error("While submitting {}", expired.taskInfo, e);
+            }
+        }
+    }
+
+    /**
+     * Submits all pending tasks straight away and stops holding any further task.
+     */
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+
+        scheduler.shutdownNow();
+
+        List<Pending> toSubmit;
+        synchronized (pending) {
+            toSubmit = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        toSubmit.forEach(Pending::submit);
+    }
+}
@@ -128,7 +128,14 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                     "No provision found on " + profile.getTask().getResource()
                     + " for " + delta.getObject().getObjectClass()));
 
-            doHandle(delta, provision);
+            long start = System.nanoTime();
+            try {
+                doHandle(delta, provision);
+            } finally {
+                metricsRegistry.recordSince("syncope.pull", start,
+                        "resource", profile.getTask().getResource().getKey(),
+                        "anyType", provision.getAnyType().getKey());
+            }
             executor.reportHandled(delta.getObjectClass(), delta.getObject().getName());
 
             LOG.debug("Successfully handled {}", delta);
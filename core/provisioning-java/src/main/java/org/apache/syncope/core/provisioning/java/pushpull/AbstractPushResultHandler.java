@@ -218,7 +218,14 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                         + any.getType().getKey());
             }
 
-            doHandle(any, provision);
+            long start = System.nanoTime();
+            try {
+                doHandle(any, provision);
+            } finally {
+                metricsRegistry.recordSince("syncope.push", start,
+                        "resource", profile.getTask().getResource().getKey(),
+                        "anyType", provision.getAnyType().getKey());
+            }
             return true;
         } catch (IgnoreProvisionException e) {
             ProvisioningReport ignoreResult = profile.getResults().stream().
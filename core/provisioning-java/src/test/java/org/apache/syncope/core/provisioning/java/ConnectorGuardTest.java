@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.syncope.core.provisioning.api.ResourceUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.junit.jupiter.api.Test;
+
+public class ConnectorGuardTest {
+
+    private static final Supplier<String> TIMEOUT = () -> {
+        throw new TimeoutException("Request timeout");
+    };
+
+    private static final Supplier<String> OK = () -> "ok";
+
+    @Test
+    public void bulkhead() throws Exception {
+        ConnectorGuard guard = new ConnectorGuard(1, 0, 50, 10, 10, 60);
+
+        // a deliberately slow connector holds the only permit...
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> guard.call("slow", () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            // ...so that other calls fail fast rather than waiting
+            assertThrows(ResourceUnavailableException.class, () -> guard.call("slow", OK));
+
+            release.countDown();
+            assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("ok", guard.call("slow", OK));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    public void slowNextToHealthy() throws Exception {
+        ConnectorGuard slow = new ConnectorGuard(2, 0, 100, 10, 10, 60);
+        ConnectorGuard healthy = new ConnectorGuard(2, 0, 100, 10, 10, 60);
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        Supplier<String> hanging = () -> {
+            running.incrementAndGet();
+            try {
+                // ignore interruption, as some connectors do
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        // keep hanging
+                    }
+                }
+                return "slow";
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+        try {
+            // the caller gives up waiting...
+            assertThrows(TimeoutException.class, () -> slow.submit("slow", hanging, 1));
+            assertThrows(TimeoutException.class, () -> slow.submit("slow", hanging, 1));
+            assertEquals(2, running.get());
+
+            // ...but calls hanging on the slow resource keep their permits
+            assertThrows(ResourceUnavailableException.class, () -> slow.submit("slow", OK, 1));
+
+            // while the healthy resource is not affected at all
+            for (int i = 0; i < 10; i++) {
+                assertEquals("ok", healthy.submit("healthy", OK, 1));
+            }
+            assertEquals(ConnectorGuard.State.CLOSED, healthy.getState());
+        } finally {
+            release.countDown();
+        }
+
+        // once the hanging calls actually finish, the slow resource accepts calls again
+        for (int i = 0; i < 50 && running.get() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, running.get());
+        String result = null;
+        for (int i = 0; i < 50 && result == null; i++) {
+            try {
+                result = slow.submit("slow", OK, 1);
+            } catch (ResourceUnavailableException e) {
+                Thread.sleep(100);
+            }
+        }
+        assertEquals("ok", result);
+
+        slow.shutdown();
+        healthy.shutdown();
+        assertThrows(ResourceUnavailableException.class, () -> healthy.submit("healthy", OK, 1));
+    }
+
+    @Test
+    public void circuitBreaker() throws InterruptedException {
+        ConnectorGuard guard = new ConnectorGuard(10, 0, 50, 4, 4, 1);
+
+        // errors other than timeouts or I/O mean that the resource is responding
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ConnectorException.class, () -> guard.call("dead", () -> {
+                throw new ConnectorException("Already exists");
+            }));
+        }
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+
+        guard.call("dead", OK);
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        // calls are rejected without reaching the resource
+        assertThrows(ResourceUnavailableException.class, () -> guard.call("dead", OK));
+
+        // after the open time, a failing trial call opens the circuit again
+        Thread.sleep(1100);
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        // while a successful trial call closes it
+        Thread.sleep(1100);
+        assertEquals("ok", guard.call("dead", OK));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    public void close() {
+        ConnectorGuard guard = new ConnectorGuard(10, 0, 50, 2, 2, 60);
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertThrows(TimeoutException.class, () -> guard.call("dead", TIMEOUT));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        guard.close();
+        assertEquals("ok", guard.call("dead", OK));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+
+public class PropagationTaskCoalescerTest {
+
+    private static ExternalResource resource(final String key) {
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(key);
+        return resource;
+    }
+
+    private static PropagationTaskInfo task(
+            final ExternalResource resource,
+            final ResourceOperation operation,
+            final String oldConnObjectKey,
+            final String connObjectKey,
+            final Attribute... attributes) {
+
+        PropagationTaskInfo task = new PropagationTaskInfo(resource);
+        task.setOperation(operation);
+        task.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        task.setAnyTypeKind(AnyTypeKind.USER);
+        task.setEntityKey("1417acbe-cbf6-4277-9372-e75e04f97000");
+        task.setOldConnObjectKey(oldConnObjectKey);
+        task.setConnObjectKey(connObjectKey);
+        task.setAttributes(POJOHelper.serialize(Set.of(attributes)));
+        return task;
+    }
+
+    private final List<PropagationTaskInfo> submitted = new CopyOnWriteArrayList<>();
+
+    private void offer(final PropagationTaskCoalescer coalescer, final PropagationTaskInfo... tasks) {
+        for (PropagationTaskInfo task : tasks) {
+            coalescer.offer("Master/admin", task, submitted::add);
+        }
+    }
+
+    private static Set<Attribute> attributes(final PropagationTaskInfo task) {
+        return Set.of(POJOHelper.deserialize(task.getAttributes(), Attribute[].class));
+    }
+
+    @Test
+    public void mergeUpdates() {
+        ExternalResource ldap = resource("resource-ldap");
+
+        PropagationTaskInfo first = task(ldap, ResourceOperation.UPDATE, null, "vivaldi",
+                AttributeBuilder.build("cn", "vivaldi"),
+                AttributeBuilder.build("mail", "vivaldi@syncope.org"),
+                AttributeBuilder.buildPassword("password123".toCharArray()));
+        PropagationTaskInfo second = task(ldap, ResourceOperation.UPDATE, "vivaldi", "antonio",
+                AttributeBuilder.build("cn", "antonio"),
+                AttributeBuilder.build("MAIL", "antonio@syncope.org"));
+
+        PropagationTaskCoalescer coalescer = new PropagationTaskCoalescer(60000);
+        offer(coalescer, first, second);
+        assertTrue(submitted.isEmpty());
+
+        coalescer.shutdown();
+        assertEquals(1, submitted.size());
+
+        PropagationTaskInfo task = submitted.get(0);
+        assertNotSame(first, task);
+        assertEquals(List.of(second), task.getCoalesced());
+        assertEquals(ResourceOperation.UPDATE, task.getOperation());
+        assertEquals("vivaldi", task.getOldConnObjectKey());
+        assertEquals("antonio", task.getConnObjectKey());
+
+        Set<Attribute> attributes = attributes(task);
+        assertEquals(3, attributes.size());
+        assertEquals("antonio", AttributeUtil.getStringValue(AttributeUtil.find("cn", attributes)));
+        assertEquals("antonio@syncope.org", AttributeUtil.getStringValue(AttributeUtil.find("mail", attributes)));
+        assertEquals(1, AttributeUtil.find(AttributeUtil.createSpecialName("PASSWORD"), attributes).
+                getValue().size());
+
+        // provided tasks are left untouched
+        assertEquals("vivaldi", first.getConnObjectKey());
+        assertNull(first.getOldConnObjectKey());
+        assertEquals(3, attributes(first).size());
+        assertTrue(first.getCoalesced().isEmpty());
+    }
+
+    @Test
+    public void separateObjects() {
+        ExternalResource ldap = resource("resource-ldap");
+        ExternalResource db = resource("resource-testdb");
+
+        PropagationTaskCoalescer coalescer = new PropagationTaskCoalescer(60000);
+        offer(coalescer,
+                task(ldap, ResourceOperation.UPDATE, null, "vivaldi"),
+                task(db, ResourceOperation.UPDATE, null, "vivaldi"),
+                task(ldap, ResourceOperation.CREATE, null, "rossini"),
+                task(ldap, ResourceOperation.UPDATE, null, "vivaldi"),
+                task(db, ResourceOperation.UPDATE, null, "vivaldi"));
+
+        // tasks from another executor are never merged
+        coalescer.offer("Master/bellini", task(ldap, ResourceOperation.UPDATE, null, "vivaldi"), submitted::add);
+
+        coalescer.shutdown();
+        assertEquals(4, submitted.size());
+        assertEquals(2, submitted.stream().filter(task -> task.getCoalesced().size() == 1).count());
+        assertEquals(1, submitted.stream().filter(task -> "rossini".equals(task.getConnObjectKey())).count());
+    }
+
+    @Test
+    public void delete() {
+        ExternalResource ldap = resource("resource-ldap");
+
+        PropagationTaskCoalescer coalescer = new PropagationTaskCoalescer(60000);
+        offer(coalescer,
+                task(ldap, ResourceOperation.UPDATE, "vivaldi", "antonio"),
+                task(ldap, ResourceOperation.DELETE, null, "antonio"),
+                task(ldap, ResourceOperation.CREATE, null, "antonio"));
+
+        // nothing can follow a deletion: this is submitted straight away, before the new task
+        assertEquals(1, submitted.size());
+        assertEquals(ResourceOperation.DELETE, submitted.get(0).getOperation());
+        assertEquals("vivaldi", submitted.get(0).getOldConnObjectKey());
+
+        coalescer.shutdown();
+        assertEquals(2, submitted.size());
+        assertEquals(ResourceOperation.CREATE, submitted.get(1).getOperation());
+        assertNull(submitted.get(1).getOldConnObjectKey());
+    }
+
+    @Test
+    public void createThenDelete() {
+        ExternalResource ldap = resource("resource-ldap");
+
+        PropagationTaskCoalescer coalescer = new PropagationTaskCoalescer(60000);
+        offer(coalescer,
+                task(ldap, ResourceOperation.CREATE, null, "vivaldi"),
+                task(ldap, ResourceOperation.UPDATE, null, "vivaldi"),
+                task(ldap, ResourceOperation.DELETE, null, "vivaldi"));
+        coalescer.shutdown();
+
+        // the object to delete is not there before creation
+        assertEquals(2, submitted.size());
+        assertEquals(ResourceOperation.CREATE, submitted.get(0).getOperation());
+        assertEquals(1, submitted.get(0).getCoalesced().size());
+        assertEquals(ResourceOperation.DELETE, submitted.get(1).getOperation());
+    }
+
+    @Test
+    public void window() throws InterruptedException {
+        ExternalResource ldap = resource("resource-ldap");
+
+        // no window: submitted immediately
+        PropagationTaskCoalescer coalescer = new PropagationTaskCoalescer(0);
+        offer(coalescer, task(ldap, ResourceOperation.UPDATE, null, "vivaldi"));
+        assertEquals(1, submitted.size());
+        coalescer.shutdown();
+
+        // submitted once the window has elapsed
+        submitted.clear();
+        coalescer = new PropagationTaskCoalescer(200);
+        offer(coalescer,
+                task(ldap, ResourceOperation.UPDATE, null, "vivaldi"),
+                task(ldap, ResourceOperation.UPDATE, null, "vivaldi"));
+        assertTrue(submitted.isEmpty());
+        for (int i = 0; i < 50 && submitted.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, submitted.size());
+        assertEquals(1, submitted.get(0).getCoalesced().size());
+
+        // later tasks start a new window
+        offer(coalescer, task(ldap, ResourceOperation.UPDATE, null, "vivaldi"));
+        for (int i = 0; i < 50 && submitted.size() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, submitted.size());
+        assertTrue(submitted.get(1).getCoalesced().isEmpty());
+        coalescer.shutdown();
+    }
+}
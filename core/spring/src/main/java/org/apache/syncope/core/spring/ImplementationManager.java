@@ -28,6 +28,7 @@ import org.apache.syncope.common.lib.policy.PasswordRuleConf;
 import org.apache.syncope.common.lib.policy.PullCorrelationRuleConf;
 import org.apache.syncope.common.lib.policy.PushCorrelationRuleConf;
 import org.apache.syncope.common.lib.report.ReportletConf;
+import org.apache.syncope.common.lib.types.ImplementationEngine;
 import org.apache.syncope.core.persistence.api.ImplementationLookup;
 import org.apache.syncope.core.persistence.api.dao.AccountRule;
 import org.apache.syncope.core.persistence.api.dao.PasswordRule;
@@ -35,6 +36,7 @@ import org.apache.syncope.core.persistence.api.dao.Reportlet;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.dao.PullCorrelationRule;
 import org.apache.syncope.core.persistence.api.dao.PushCorrelationRule;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,8 @@ public final class ImplementationManager {
 
     private static final Map<String, Class<?>> CLASS_CACHE = Collections.synchronizedMap(new HashMap<>());
 
+    private static final String METRIC = "syncope.implementation.build";
+
     public static Optional<Reportlet> buildReportlet(final Implementation impl)
             throws InstantiationException, IllegalAccessException {
 
@@ -187,6 +191,8 @@ public final class ImplementationManager {
     private static <T> T buildGroovy(final Implementation impl)
             throws InstantiationException, IllegalAccessException {
 
+        long start = System.nanoTime();
+
         Class<?> clazz;
         if (CLASS_CACHE.containsKey(impl.getKey())) {
             clazz = CLASS_CACHE.get(impl.getKey());
@@ -195,14 +201,18 @@ public final class ImplementationManager {
             CLASS_CACHE.put(impl.getKey(), clazz);
         }
 
-        return (T) ApplicationContextProvider.getBeanFactory().
+        T bean = (T) ApplicationContextProvider.getBeanFactory().
                 createBean(clazz, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        record(start, impl.getEngine().name(), clazz);
+        return bean;
     }
 
     @SuppressWarnings("unchecked")
     private static <T> T buildJava(final Implementation impl)
             throws ClassNotFoundException {
 
+        long start = System.nanoTime();
+
         Class<?> clazz;
         if (CLASS_CACHE.containsKey(impl.getKey())) {
             clazz = CLASS_CACHE.get(impl.getKey());
@@ -211,12 +221,16 @@ public final class ImplementationManager {
             CLASS_CACHE.put(impl.getKey(), clazz);
         }
 
-        return (T) ApplicationContextProvider.getBeanFactory().
+        T bean = (T) ApplicationContextProvider.getBeanFactory().
                 createBean(clazz, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        record(start, impl.getEngine().name(), clazz);
+        return bean;
     }
 
     @SuppressWarnings("unchecked")
     private static <T> T buildJavaWithConf(final Class<T> clazz) {
+        long start = System.nanoTime();
+
         T bean = null;
 
         if (clazz != null) {
@@ -235,11 +249,21 @@ public final class ImplementationManager {
                     bean = (T) ApplicationContextProvider.getBeanFactory().getSingleton(clazz.getName());
                 }
             }
+
+            record(start, ImplementationEngine.JAVA.name(), clazz);
         }
 
         return bean;
     }
 
+    private static void record(final long start, final String engine, final Class<?> clazz) {
+        MetricsRegistry metricsRegistry = ApplicationContextProvider.getBeanFactory().
+                getBeanProvider(MetricsRegistry.class).getIfAvailable();
+        if (metricsRegistry != null) {
+            metricsRegistry.recordSince(METRIC, start, "engine", engine, "class", clazz.getName());
+        }
+    }
+
     public static Class<?> purge(final String implementation) {
         return CLASS_CACHE.remove(implementation);
     }
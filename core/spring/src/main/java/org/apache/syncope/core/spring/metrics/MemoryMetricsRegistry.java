@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.syncope.common.lib.info.SystemInfo;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+
+/**
+ * {@link MetricsRegistry} keeping count, total and maximum time of each metric in memory.
+ */
+public class MemoryMetricsRegistry implements MetricsRegistry {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Comparator<SystemInfo.Metric> COMPARATOR =
+            Comparator.comparing(SystemInfo.Metric::getName).
+                    thenComparing(metric -> metric.getTags().toString());
+
+    private static class Stats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder total = new LongAdder();
+
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    }
+
+    private final Map<List<String>, Stats> metrics = new ConcurrentHashMap<>();
+
+    private Stats stats(final String name, final String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be provided as name / value pairs");
+        }
+
+        List<String> key = new ArrayList<>(tags.length + 1);
+        key.add(name);
+        key.addAll(Arrays.asList(tags));
+        return metrics.computeIfAbsent(Collections.unmodifiableList(key), k -> new Stats());
+    }
+
+    @Override
+    public void record(final String name, final long duration, final TimeUnit unit, final String... tags) {
+        long nanos = unit.toNanos(duration);
+
+        Stats stats = stats(name, tags);
+        stats.count.increment();
+        stats.total.add(nanos);
+        stats.max.accumulate(nanos);
+    }
+
+    @Override
+    public void increment(final String name, final String... tags) {
+        stats(name, tags).count.increment();
+    }
+
+    @Override
+    public List<SystemInfo.Metric> snapshot() {
+        List<SystemInfo.Metric> snapshot = new ArrayList<>(metrics.size());
+        metrics.forEach((key, stats) -> {
+            SystemInfo.Metric metric = new SystemInfo.Metric();
+            metric.setName(key.get(0));
+            for (int i = 1; i < key.size(); i += 2) {
+                metric.getTags().put(key.get(i), key.get(i + 1));
+            }
+            metric.setCount(stats.count.sum());
+            metric.setTotalTime(stats.total.sum() / NANOS_PER_MILLI);
+            metric.setMaxTime(stats.max.get() / NANOS_PER_MILLI);
+            snapshot.add(metric);
+        });
+        snapshot.sort(COMPARATOR);
+        return snapshot;
+    }
+}
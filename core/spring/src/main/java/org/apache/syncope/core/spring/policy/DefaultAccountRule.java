@@ -19,7 +19,6 @@
 package org.apache.syncope.core.spring.policy;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -41,16 +40,27 @@ public class DefaultAccountRule implements AccountRule {
 
     private DefaultAccountRuleConf conf;
 
+    private WordsNotPermittedMatcher wordsNotPermittedMatcher;
+
     @Override
     public void setConf(final AccountRuleConf conf) {
         if (conf instanceof DefaultAccountRuleConf) {
             this.conf = DefaultAccountRuleConf.class.cast(conf);
+            this.wordsNotPermittedMatcher = WordsNotPermittedMatcher.get(
+                    this.conf.getWordsNotPermitted(), this.conf.getWordsNotPermittedFile());
         } else {
             throw new IllegalArgumentException(
                     DefaultAccountRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
         }
     }
 
+    /**
+     * Checks the given username against the configured constraints.
+     *
+     * @param username username
+     * @param wordsNotPermitted words not permitted besides the ones from conf, e.g. the values of
+     * {@link DefaultAccountRuleConf#getSchemasNotPermitted()}
+     */
     protected void enforce(final String username, final Set<String> wordsNotPermitted) {
         // check min length
         if (conf.getMinLength() > 0 && conf.getMinLength() > username.length()) {
@@ -63,11 +73,11 @@ public class DefaultAccountRule implements AccountRule {
         }
 
         // check words not permitted
-        wordsNotPermitted.stream().
-                filter(word -> StringUtils.containsIgnoreCase(username, word)).
-                forEach(item -> {
-                    throw new AccountPolicyException("Used word(s) not permitted");
-                });
+        if (wordsNotPermittedMatcher.matches(username)
+                || wordsNotPermitted.stream().anyMatch(word -> StringUtils.containsIgnoreCase(username, word))) {
+
+            throw new AccountPolicyException("Used word(s) not permitted");
+        }
 
         // check case
         if (conf.isAllUpperCase() && !username.equals(username.toUpperCase())) {
@@ -101,15 +111,13 @@ public class DefaultAccountRule implements AccountRule {
     @Transactional(readOnly = true)
     @Override
     public void enforce(final User user) {
-        Set<String> wordsNotPermitted = new HashSet<>(conf.getWordsNotPermitted());
-        wordsNotPermitted.addAll(
-                conf.getSchemasNotPermitted().stream().
-                        map(schema -> user.getPlainAttr(schema)).
-                        filter(Optional::isPresent).
-                        map(attr -> attr.get().getValuesAsStrings()).
-                        filter(values -> !CollectionUtils.isEmpty(values)).
-                        flatMap(Collection::stream).
-                        collect(Collectors.toSet()));
+        Set<String> wordsNotPermitted = conf.getSchemasNotPermitted().stream().
+                map(schema -> user.getPlainAttr(schema)).
+                filter(Optional::isPresent).
+                map(attr -> attr.get().getValuesAsStrings()).
+                filter(values -> !CollectionUtils.isEmpty(values)).
+                flatMap(Collection::stream).
+                collect(Collectors.toSet());
 
         enforce(user.getUsername(), wordsNotPermitted);
     }
@@ -121,15 +129,13 @@ public class DefaultAccountRule implements AccountRule {
             return;
         }
 
-        Set<String> wordsNotPermitted = new HashSet<>(conf.getWordsNotPermitted());
-        wordsNotPermitted.addAll(
-                conf.getSchemasNotPermitted().stream().
-                        map(schema -> account.getPlainAttr(schema)).
-                        filter(Optional::isPresent).
-                        map(attr -> attr.get().getValuesAsStrings()).
-                        filter(values -> !CollectionUtils.isEmpty(values)).
-                        flatMap(Collection::stream).
-                        collect(Collectors.toSet()));
+        Set<String> wordsNotPermitted = conf.getSchemasNotPermitted().stream().
+                map(schema -> account.getPlainAttr(schema)).
+                filter(Optional::isPresent).
+                map(attr -> attr.get().getValuesAsStrings()).
+                filter(values -> !CollectionUtils.isEmpty(values)).
+                flatMap(Collection::stream).
+                collect(Collectors.toSet());
 
         enforce(account.getUsername(), wordsNotPermitted);
     }
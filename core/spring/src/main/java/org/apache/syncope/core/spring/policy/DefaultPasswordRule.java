@@ -19,7 +19,6 @@
 package org.apache.syncope.core.spring.policy;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,6 +44,8 @@ public class DefaultPasswordRule implements PasswordRule {
 
     private DefaultPasswordRuleConf conf;
 
+    private WordsNotPermittedMatcher wordsNotPermittedMatcher;
+
     @Override
     public PasswordRuleConf getConf() {
         return conf;
@@ -54,12 +55,22 @@ public class DefaultPasswordRule implements PasswordRule {
     public void setConf(final PasswordRuleConf conf) {
         if (conf instanceof DefaultPasswordRuleConf) {
             this.conf = (DefaultPasswordRuleConf) conf;
+            this.wordsNotPermittedMatcher = WordsNotPermittedMatcher.get(
+                    this.conf.getWordsNotPermitted(), this.conf.getWordsNotPermittedFile());
         } else {
             throw new IllegalArgumentException(
                     DefaultPasswordRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
         }
     }
 
+    /**
+     * Checks the given password against the configured constraints.
+     *
+     * @param clear password in clear
+     * @param username username, if any
+     * @param wordsNotPermitted words not permitted besides the ones from conf, e.g. the values of
+     * {@link DefaultPasswordRuleConf#getSchemasNotPermitted()}
+     */
     protected void enforce(final String clear, final String username, final Set<String> wordsNotPermitted) {
         // check length
         if (conf.getMinLength() > 0 && conf.getMinLength() > clear.length()) {
@@ -75,11 +86,11 @@ public class DefaultPasswordRule implements PasswordRule {
             throw new PasswordPolicyException("Password mustn't be equal to username");
         }
 
-        wordsNotPermitted.stream().
-                filter(word -> StringUtils.containsIgnoreCase(clear, word)).
-                forEach(item -> {
-                    throw new PasswordPolicyException("Used word(s) not permitted");
-                });
+        if (wordsNotPermittedMatcher.matches(clear)
+                || wordsNotPermitted.stream().anyMatch(word -> StringUtils.containsIgnoreCase(clear, word))) {
+
+            throw new PasswordPolicyException("Used word(s) not permitted");
+        }
 
         // check digits occurrence
         if (conf.isDigitRequired() && !PolicyPattern.DIGIT.matcher(clear).matches()) {
@@ -179,15 +190,13 @@ public class DefaultPasswordRule implements PasswordRule {
     @Override
     public void enforce(final User user) {
         if (user.getPassword() != null && user.getClearPassword() != null) {
-            Set<String> wordsNotPermitted = new HashSet<>(conf.getWordsNotPermitted());
-            wordsNotPermitted.addAll(
-                    conf.getSchemasNotPermitted().stream().
-                            map(schema -> user.getPlainAttr(schema)).
-                            filter(Optional::isPresent).
-                            map(attr -> attr.get().getValuesAsStrings()).
-                            filter(values -> !CollectionUtils.isEmpty(values)).
-                            flatMap(Collection::stream).
-                            collect(Collectors.toSet()));
+            Set<String> wordsNotPermitted = conf.getSchemasNotPermitted().stream().
+                    map(schema -> user.getPlainAttr(schema)).
+                    filter(Optional::isPresent).
+                    map(attr -> attr.get().getValuesAsStrings()).
+                    filter(values -> !CollectionUtils.isEmpty(values)).
+                    flatMap(Collection::stream).
+                    collect(Collectors.toSet());
 
             enforce(user.getClearPassword(), user.getUsername(), wordsNotPermitted);
         }
@@ -196,15 +205,6 @@ public class DefaultPasswordRule implements PasswordRule {
     @Transactional(readOnly = true)
     @Override
     public void enforce(final LinkedAccount account) {
-        conf.getWordsNotPermitted().addAll(
-                conf.getSchemasNotPermitted().stream().
-                        map(schema -> account.getPlainAttr(schema)).
-                        filter(Optional::isPresent).
-                        map(attr -> attr.get().getValuesAsStrings()).
-                        filter(values -> !CollectionUtils.isEmpty(values)).
-                        flatMap(Collection::stream).
-                        collect(Collectors.toList()));
-
         if (account.getPassword() != null) {
             String clear = null;
             if (account.canDecodePassword()) {
@@ -216,15 +216,13 @@ public class DefaultPasswordRule implements PasswordRule {
             }
 
             if (clear != null) {
-                Set<String> wordsNotPermitted = new HashSet<>(conf.getWordsNotPermitted());
-                wordsNotPermitted.addAll(
-                        conf.getSchemasNotPermitted().stream().
-                                map(schema -> account.getPlainAttr(schema)).
-                                filter(Optional::isPresent).
-                                map(attr -> attr.get().getValuesAsStrings()).
-                                filter(values -> !CollectionUtils.isEmpty(values)).
-                                flatMap(Collection::stream).
-                                collect(Collectors.toSet()));
+                Set<String> wordsNotPermitted = conf.getSchemasNotPermitted().stream().
+                        map(schema -> account.getPlainAttr(schema)).
+                        filter(Optional::isPresent).
+                        map(attr -> attr.get().getValuesAsStrings()).
+                        filter(values -> !CollectionUtils.isEmpty(values)).
+                        flatMap(Collection::stream).
+                        collect(Collectors.toSet());
 
                 enforce(clear, account.getUsername(), wordsNotPermitted);
             }
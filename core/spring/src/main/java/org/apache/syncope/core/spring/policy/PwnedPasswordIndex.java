@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only, memory-mapped view of a Pwned Passwords SHA-1 file ordered by hash, looked up by binary search over
+ * byte offsets: no parsing nor loading upfront, and the OS page cache as the only memory footprint.
+ * The file is mapped again when found modified, so that it can be replaced at runtime; replacement should happen
+ * atomically (e.g. by moving a fully written file in place).
+ */
+public final class PwnedPasswordIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PwnedPasswordIndex.class);
+
+    private static final Map<String, PwnedPasswordIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final int CHUNK_BITS = 30;
+
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+
+    private static final int HASH_LENGTH = 40;
+
+    /**
+     * Returns the shared index for the given file, mapping it at first usage.
+     *
+     * @param indexFile path to the Pwned Passwords SHA-1 file
+     * @return shared index for the given file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static PwnedPasswordIndex get(final String indexFile) throws IOException {
+        PwnedPasswordIndex index = INDEXES.get(indexFile);
+        if (index == null) {
+            index = new PwnedPasswordIndex(Paths.get(indexFile));
+            index.refresh();
+            PwnedPasswordIndex previous = INDEXES.putIfAbsent(indexFile, index);
+            if (previous != null) {
+                index = previous;
+            }
+        }
+        return index;
+    }
+
+    private static final class Snapshot {
+
+        private final MappedByteBuffer[] chunks;
+
+        private final long size;
+
+        private final long lastModified;
+
+        Snapshot(final MappedByteBuffer[] chunks, final long size, final long lastModified) {
+            this.chunks = chunks;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        private byte byteAt(final long pos) {
+            return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & (CHUNK_SIZE - 1)));
+        }
+
+        private long lineStart(final long pos) {
+            long start = pos;
+            while (start > 0 && byteAt(start - 1) != '\n') {
+                start--;
+            }
+            return start;
+        }
+
+        private long nextLine(final long start) {
+            long pos = start;
+            while (pos < size && byteAt(pos) != '\n') {
+                pos++;
+            }
+            return pos + 1;
+        }
+
+        private int compare(final long start, final byte[] hash) {
+            for (int i = 0; i < HASH_LENGTH; i++) {
+                if (start + i >= size) {
+                    return -1;
+                }
+                int cmp = Character.toUpperCase(byteAt(start + i)) - hash[i];
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+
+        private long count(final long start) {
+            long pos = start + HASH_LENGTH;
+            if (pos >= size || byteAt(pos) != ':') {
+                return 1;
+            }
+
+            long count = 0;
+            for (pos++; pos < size; pos++) {
+                byte digit = byteAt(pos);
+                if (digit < '0' || digit > '9') {
+                    break;
+                }
+                count = count * 10 + (digit - '0');
+            }
+            return Math.max(1, count);
+        }
+
+        private long occurrences(final byte[] hash) {
+            long low = 0;
+            long high = size;
+            while (low < high) {
+                long start = lineStart((low + high) >>> 1);
+                int cmp = compare(start, hash);
+                if (cmp == 0) {
+                    return count(start);
+                }
+                if (cmp < 0) {
+                    low = nextLine(start);
+                } else {
+                    high = start;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private final Path path;
+
+    private volatile Snapshot snapshot;
+
+    private volatile long lastCheck;
+
+    private PwnedPasswordIndex(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Maps the file again if modified since last mapping; in case of errors, the current mapping is kept.
+     *
+     * @throws IOException if the file cannot be mapped and no previous mapping is available
+     */
+    public synchronized void refresh() throws IOException {
+        lastCheck = System.currentTimeMillis();
+
+        try {
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (snapshot != null && snapshot.size == size && snapshot.lastModified == lastModified) {
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+                for (int i = 0; i < chunks.length; i++) {
+                    long position = i * CHUNK_SIZE;
+                    chunks[i] = channel.map(
+                            FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+                }
+                snapshot = new Snapshot(chunks, size, lastModified);
+            }
+            LOG.info("Mapped {} ({} bytes)", path, size);
+        } catch (IOException e) {
+            if (snapshot == null) {
+                throw e;
+            }
+            LOG.error("Could not map {} again, keeping the current mapping", path, e);
+        }
+    }
+
+    /**
+     * Looks up the given SHA-1 hash, after checking whether the file was replaced, if the given interval has elapsed.
+     *
+     * @param sha1 hexadecimal SHA-1 hash
+     * @param refreshInterval interval, in milliseconds, between checks for file replacement
+     * @return number of occurrences in breaches, 0 if not found
+     */
+    public long occurrences(final String sha1, final long refreshInterval) {
+        if (System.currentTimeMillis() - lastCheck > refreshInterval) {
+            try {
+                refresh();
+            } catch (IOException e) {
+                LOG.error("Could not refresh {}", path, e);
+            }
+        }
+
+        return snapshot.occurrences(sha1.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII));
+    }
+}
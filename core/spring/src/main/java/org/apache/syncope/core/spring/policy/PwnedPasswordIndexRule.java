@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
+import org.apache.syncope.common.lib.policy.PwnedPasswordIndexRuleConf;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.persistence.api.dao.PasswordRule;
+import org.apache.syncope.core.persistence.api.dao.PasswordRuleConfClass;
+import org.apache.syncope.core.persistence.api.entity.user.LinkedAccount;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Offline alternative to {@link HaveIBeenPwnedPasswordRule}, looking up passwords in a local
+ * {@link PwnedPasswordIndex}.
+ */
+@PasswordRuleConfClass(PwnedPasswordIndexRuleConf.class)
+public class PwnedPasswordIndexRule implements PasswordRule {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PwnedPasswordIndexRule.class);
+
+    private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    private PwnedPasswordIndexRuleConf conf;
+
+    @Override
+    public PwnedPasswordIndexRuleConf getConf() {
+        return conf;
+    }
+
+    @Override
+    public void setConf(final PasswordRuleConf conf) {
+        if (conf instanceof PwnedPasswordIndexRuleConf) {
+            this.conf = (PwnedPasswordIndexRuleConf) conf;
+        } else {
+            throw new IllegalArgumentException(
+                    PwnedPasswordIndexRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
+        }
+    }
+
+    protected void enforce(final String clear) {
+        PwnedPasswordIndex index;
+        try {
+            index = PwnedPasswordIndex.get(conf.getIndexFile());
+        } catch (IOException e) {
+            LOG.error("Could not access the Pwned Passwords index {}", conf.getIndexFile(), e);
+            return;
+        }
+
+        String sha1;
+        try {
+            sha1 = ENCRYPTOR.encode(clear, CipherAlgorithm.SHA1);
+        } catch (Exception e) {
+            LOG.error("Could not encode the password value as SHA1", e);
+            return;
+        }
+
+        if (index.occurrences(sha1, TimeUnit.SECONDS.toMillis(conf.getRefreshInterval()))
+                >= Math.max(1, conf.getMinOccurrences())) {
+
+            throw new PasswordPolicyException("Password pwned");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final User user) {
+        if (user.getPassword() != null && user.getClearPassword() != null) {
+            enforce(user.getClearPassword());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void enforce(final LinkedAccount account) {
+        if (account.getPassword() != null) {
+            String clear = null;
+            if (account.canDecodePassword()) {
+                try {
+                    clear = ENCRYPTOR.decode(account.getPassword(), account.getCipherAlgorithm());
+                } catch (Exception e) {
+                    LOG.error("Could not decode password for {}", account, e);
+                }
+            }
+
+            if (clear != null) {
+                enforce(clear);
+            }
+        }
+    }
+}
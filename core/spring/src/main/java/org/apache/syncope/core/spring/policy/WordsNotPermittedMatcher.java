@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Case-insensitive Aho-Corasick automaton telling whether a value contains any of the words not permitted, in a
+ * single pass over the value and regardless of the number of words.
+ * Matchers are shared per dictionary, e.g. the words listed by a rule conf plus the ones read from an optional file,
+ * which is read again when found modified; case is folded as {@link StringUtils#containsIgnoreCase} does.
+ */
+public final class WordsNotPermittedMatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WordsNotPermittedMatcher.class);
+
+    private static final int MAX_CACHED = 64;
+
+    private static final Map<Dictionary, WordsNotPermittedMatcher> MATCHERS = new ConcurrentHashMap<>();
+
+    private static final class Dictionary {
+
+        private final List<String> words;
+
+        private final String wordsFile;
+
+        private final long lastModified;
+
+        private final long size;
+
+        Dictionary(final List<String> words, final String wordsFile, final long lastModified, final long size) {
+            this.words = words;
+            this.wordsFile = wordsFile;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Dictionary)) {
+                return false;
+            }
+            Dictionary other = (Dictionary) obj;
+            return lastModified == other.lastModified
+                    && size == other.size
+                    && Objects.equals(wordsFile, other.wordsFile)
+                    && words.equals(other.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(words, wordsFile, lastModified, size);
+        }
+    }
+
+    /**
+     * Returns the shared matcher for the given words and words file, building it at first usage.
+     *
+     * @param words words not permitted
+     * @param wordsFile optional path to a file listing further words not permitted, one per line; blank lines and
+     * lines starting with {@code #} are ignored
+     * @return shared matcher for the given words and words file
+     */
+    public static WordsNotPermittedMatcher get(final Collection<String> words, final String wordsFile) {
+        Path path = null;
+        long lastModified = -1;
+        long size = -1;
+        if (StringUtils.isNotBlank(wordsFile)) {
+            path = Paths.get(wordsFile);
+            try {
+                lastModified = Files.getLastModifiedTime(path).toMillis();
+                size = Files.size(path);
+            } catch (IOException e) {
+                LOG.error("Could not access {}, ignoring", wordsFile, e);
+                path = null;
+            }
+        }
+
+        Dictionary dictionary = new Dictionary(List.copyOf(words), wordsFile, lastModified, size);
+        WordsNotPermittedMatcher matcher = MATCHERS.get(dictionary);
+        if (matcher == null) {
+            Stream<String> fromFile = Stream.empty();
+            if (path != null) {
+                try {
+                    fromFile = Files.readAllLines(path, StandardCharsets.UTF_8).stream().
+                            map(String::trim).
+                            filter(line -> !line.startsWith("#"));
+                } catch (IOException e) {
+                    LOG.error("Could not read {}, ignoring", wordsFile, e);
+                }
+            }
+            matcher = new WordsNotPermittedMatcher(
+                    Stream.concat(dictionary.words.stream(), fromFile).collect(Collectors.toList()));
+
+            // drop matchers built from previous versions of the same file
+            if (wordsFile != null) {
+                MATCHERS.keySet().removeIf(key -> wordsFile.equals(key.wordsFile)
+                        && (key.lastModified != dictionary.lastModified || key.size != dictionary.size));
+            }
+            if (MATCHERS.size() >= MAX_CACHED) {
+                MATCHERS.clear();
+            }
+            WordsNotPermittedMatcher previous = MATCHERS.putIfAbsent(dictionary, matcher);
+            if (previous != null) {
+                matcher = previous;
+            }
+        }
+        return matcher;
+    }
+
+    private static char fold(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * For each state, the transitions are {@code labels[i]} to {@code targets[i]} with i in
+     * [{@code offsets[state]}, {@code offsets[state + 1]}), sorted by label; state 0 is the root.
+     */
+    private final int[] offsets;
+
+    private final char[] labels;
+
+    private final int[] targets;
+
+    private final int[] fail;
+
+    /**
+     * Whether reaching a state means that a word was found, either ending there or at any state on its failure chain.
+     */
+    private final boolean[] terminal;
+
+    private WordsNotPermittedMatcher(final Collection<String> words) {
+        // build the trie
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new HashMap<>());
+        List<Boolean> ends = new ArrayList<>();
+        ends.add(Boolean.FALSE);
+        words.stream().filter(StringUtils::isNotEmpty).forEach(word -> {
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                Integer next = trie.get(state).get(fold(word.charAt(i)));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(fold(word.charAt(i)), next);
+                    trie.add(new HashMap<>());
+                    ends.add(Boolean.FALSE);
+                }
+                state = next;
+            }
+            ends.set(state, Boolean.TRUE);
+        });
+
+        // flatten transitions into arrays
+        int states = trie.size();
+        offsets = new int[states + 1];
+        labels = new char[states - 1];
+        targets = new int[states - 1];
+        terminal = new boolean[states];
+        int idx = 0;
+        for (int state = 0; state < states; state++) {
+            offsets[state] = idx;
+            terminal[state] = ends.get(state);
+
+            Map<Character, Integer> children = trie.get(state);
+            Character[] sorted = children.keySet().toArray(new Character[0]);
+            Arrays.sort(sorted);
+            for (Character label : sorted) {
+                labels[idx] = label;
+                targets[idx] = children.get(label);
+                idx++;
+            }
+            trie.set(state, null);
+        }
+        offsets[states] = idx;
+
+        // compute failure links breadth-first, so that each link points to an already processed state
+        fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int i = offsets[0]; i < offsets[1]; i++) {
+            queue.add(targets[i]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (int i = offsets[state]; i < offsets[state + 1]; i++) {
+                int child = targets[i];
+                int link = step(fail[state], labels[i]);
+                fail[child] = link;
+                terminal[child] |= terminal[link];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(final int state, final char label) {
+        int idx = Arrays.binarySearch(labels, offsets[state], offsets[state + 1], label);
+        return idx < 0 ? -1 : targets[idx];
+    }
+
+    private int step(final int state, final char label) {
+        int current = state;
+        int next = next(current, label);
+        while (next < 0 && current != 0) {
+            current = fail[current];
+            next = next(current, label);
+        }
+        return next < 0 ? 0 : next;
+    }
+
+    /**
+     * Tells whether the given value contains, ignoring case, any of the words not permitted.
+     *
+     * @param value value to check
+     * @return whether the given value contains any of the words not permitted
+     */
+    public boolean matches(final String value) {
+        if (offsets[1] == 0 || value == null) {
+            return false;
+        }
+
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            state = step(state, fold(value.charAt(i)));
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
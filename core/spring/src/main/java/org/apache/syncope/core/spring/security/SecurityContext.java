@@ -21,9 +21,12 @@ package org.apache.syncope.core.spring.security;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.KeyLengthException;
+import java.lang.reflect.InvocationTargetException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.metrics.MemoryMetricsRegistry;
 import org.apache.syncope.core.spring.security.jws.AccessTokenJWSSigner;
 import org.apache.syncope.core.spring.security.jws.AccessTokenJWSVerifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -113,6 +116,17 @@ public class SecurityContext implements EnvironmentAware {
         return new DefaultPasswordGenerator();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public MetricsRegistry metricsRegistry()
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException, NoSuchMethodException,
+            IllegalArgumentException, InvocationTargetException {
+
+        return (MetricsRegistry) Class.forName(
+                env.getProperty("metricsRegistry", MemoryMetricsRegistry.class.getName())).
+                getConstructor().newInstance();
+    }
+
     @Bean
     public GrantedAuthorityDefaults grantedAuthorityDefaults() {
         return new GrantedAuthorityDefaults(""); // Remove the ROLE_ prefix
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.info.SystemInfo;
+import org.junit.jupiter.api.Test;
+
+public class MemoryMetricsRegistryTest {
+
+    @Test
+    public void record() {
+        MemoryMetricsRegistry registry = new MemoryMetricsRegistry();
+        registry.record("syncope.search", 3, TimeUnit.MILLISECONDS, "kind", "USER");
+        registry.record("syncope.search", 5, TimeUnit.MILLISECONDS, "kind", "USER");
+        registry.record("syncope.search", 1, TimeUnit.MILLISECONDS, "kind", "GROUP");
+        registry.increment("syncope.connector.errors", "connector", "ws-target", "operation", "create");
+
+        List<SystemInfo.Metric> snapshot = registry.snapshot();
+        assertEquals(3, snapshot.size());
+
+        SystemInfo.Metric errors = snapshot.get(0);
+        assertEquals("syncope.connector.errors", errors.getName());
+        assertEquals(Map.of("connector", "ws-target", "operation", "create"), errors.getTags());
+        assertEquals(1, errors.getCount());
+        assertEquals(0, errors.getTotalTime());
+
+        SystemInfo.Metric group = snapshot.get(1);
+        assertEquals(Map.of("kind", "GROUP"), group.getTags());
+        assertEquals(1, group.getCount());
+
+        SystemInfo.Metric user = snapshot.get(2);
+        assertEquals(Map.of("kind", "USER"), user.getTags());
+        assertEquals(2, user.getCount());
+        assertEquals(8, user.getTotalTime(), 0.001);
+        assertEquals(5, user.getMaxTime(), 0.001);
+    }
+
+    @Test
+    public void concurrent() {
+        MemoryMetricsRegistry registry = new MemoryMetricsRegistry();
+        IntStream.range(0, 10_000).parallel().forEach(i -> registry.recordSince(
+                "syncope.propagation", System.nanoTime(), "resource", "resource-" + (i % 2)));
+
+        List<SystemInfo.Metric> snapshot = registry.snapshot();
+        assertEquals(2, snapshot.size());
+        snapshot.forEach(metric -> {
+            assertEquals(5_000, metric.getCount());
+            assertTrue(metric.getMaxTime() <= metric.getTotalTime());
+        });
+    }
+
+    @Test
+    public void oddTags() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MemoryMetricsRegistry().increment("syncope.search", "kind"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.policy.PwnedPasswordIndexRuleConf;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PwnedPasswordIndexTest {
+
+    private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    private static String sha1(final String value) {
+        try {
+            return ENCRYPTOR.encode(value, CipherAlgorithm.SHA1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(final Path file, final List<String> passwords, final long lastModified)
+            throws IOException {
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < passwords.size(); i++) {
+            lines.add(sha1(passwords.get(i)) + ':' + (i + 1));
+        }
+        lines.sort(String::compareTo);
+
+        Path tmp = Files.createTempFile(file.getParent(), "pwned", ".tmp");
+        Files.write(tmp, lines);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+
+    @Test
+    public void lookup(final @TempDir Path dir) throws IOException {
+        List<String> passwords = IntStream.range(0, 1000).mapToObj(i -> "password" + i).collect(Collectors.toList());
+        Path file = dir.resolve("pwned.txt");
+        write(file, passwords, 1000);
+
+        PwnedPasswordIndex index = PwnedPasswordIndex.get(file.toString());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertEquals(i + 1, index.occurrences(sha1(passwords.get(i)), Long.MAX_VALUE));
+            assertEquals(i + 1, index.occurrences(sha1(passwords.get(i)).toLowerCase(), Long.MAX_VALUE));
+        }
+        assertEquals(0, index.occurrences(sha1("notpwned"), Long.MAX_VALUE));
+
+        // replace the file, then check that the new content is picked up
+        passwords.add("notpwned");
+        write(file, passwords, 2000);
+        assertEquals(0, index.occurrences(sha1("notpwned"), Long.MAX_VALUE));
+        assertEquals(passwords.size(), index.occurrences(sha1("notpwned"), 0));
+    }
+
+    @Test
+    public void rule(final @TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pwned.txt");
+        write(file, List.of("password", "password1", "password2"), 1000);
+
+        PwnedPasswordIndexRuleConf conf = new PwnedPasswordIndexRuleConf();
+        conf.setIndexFile(file.toString());
+        conf.setMinOccurrences(2);
+        PwnedPasswordIndexRule rule = new PwnedPasswordIndexRule();
+        rule.setConf(conf);
+
+        assertThrows(PasswordPolicyException.class, () -> rule.enforce("password2"));
+        assertDoesNotThrow(() -> rule.enforce("password"));
+        assertDoesNotThrow(() -> rule.enforce("Th1s1sN0tPwn3d!"));
+
+        // missing index: fail open
+        conf.setIndexFile(dir.resolve("missing.txt").toString());
+        assertDoesNotThrow(() -> rule.enforce("password2"));
+    }
+}
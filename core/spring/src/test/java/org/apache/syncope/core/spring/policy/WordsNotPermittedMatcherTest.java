@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.policy.DefaultAccountRuleConf;
+import org.apache.syncope.common.lib.policy.DefaultPasswordRuleConf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WordsNotPermittedMatcherTest {
+
+    @Test
+    public void matches() {
+        WordsNotPermittedMatcher matcher = WordsNotPermittedMatcher.get(
+                List.of("he", "she", "hers", "abcd", "bcx"), null);
+
+        assertTrue(matcher.matches("USHERS"));
+        assertTrue(matcher.matches("xxHexx"));
+        // only found by following the failure link from "abc" to "bc"
+        assertTrue(matcher.matches("abcx"));
+        assertFalse(matcher.matches("abc"));
+        assertFalse(matcher.matches("password"));
+        assertFalse(matcher.matches(null));
+
+        assertFalse(WordsNotPermittedMatcher.get(List.of(), null).matches("anything"));
+        assertFalse(WordsNotPermittedMatcher.get(List.of(""), null).matches("anything"));
+    }
+
+    @Test
+    public void sameAsContainsIgnoreCase() {
+        Random random = new Random(42);
+        List<String> words = IntStream.range(0, 200).
+                mapToObj(i -> RandomStringUtils.random(1 + random.nextInt(4), 0, 0, true, false, null, random)).
+                collect(Collectors.toList());
+        WordsNotPermittedMatcher matcher = WordsNotPermittedMatcher.get(words, null);
+
+        IntStream.range(0, 2000).
+                mapToObj(i -> RandomStringUtils.random(random.nextInt(12), "aAbBcCdDeE0123")).
+                forEach(value -> assertEquals(
+                words.stream().anyMatch(word -> StringUtils.containsIgnoreCase(value, word)),
+                matcher.matches(value),
+                value));
+    }
+
+    @Test
+    public void wordsFile(final @TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.write(file, List.of("# common words", "", "  secret  ", "syncope"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+        WordsNotPermittedMatcher matcher = WordsNotPermittedMatcher.get(List.of("admin"), file.toString());
+        assertTrue(matcher.matches("mySecret!"));
+        assertTrue(matcher.matches("Syncope123"));
+        assertTrue(matcher.matches("admin1"));
+        assertFalse(matcher.matches("common"));
+
+        // shared while neither words nor file change
+        assertSame(matcher, WordsNotPermittedMatcher.get(List.of("admin"), file.toString()));
+
+        Files.write(file, List.of("apache"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+        WordsNotPermittedMatcher reloaded = WordsNotPermittedMatcher.get(List.of("admin"), file.toString());
+        assertNotSame(matcher, reloaded);
+        assertTrue(reloaded.matches("Apache1"));
+        assertFalse(reloaded.matches("mySecret!"));
+
+        // missing file: conf words still apply
+        WordsNotPermittedMatcher missing = WordsNotPermittedMatcher.get(
+                List.of("admin"), dir.resolve("missing.txt").toString());
+        assertTrue(missing.matches("admin1"));
+        assertFalse(missing.matches("mySecret!"));
+    }
+
+    @Test
+    public void rules(final @TempDir Path dir) throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.write(file, List.of("secret"));
+
+        DefaultPasswordRuleConf passwordRuleConf = new DefaultPasswordRuleConf();
+        passwordRuleConf.getWordsNotPermitted().add("notpermitted");
+        passwordRuleConf.setWordsNotPermittedFile(file.toString());
+        DefaultPasswordRule passwordRule = new DefaultPasswordRule();
+        passwordRule.setConf(passwordRuleConf);
+
+        passwordRule.enforce("Password123", "user", Set.of());
+        assertThrows(PasswordPolicyException.class, () -> passwordRule.enforce("NotPermitted1", "user", Set.of()));
+        assertThrows(PasswordPolicyException.class, () -> passwordRule.enforce("MySecret1", "user", Set.of()));
+        assertThrows(PasswordPolicyException.class, () -> passwordRule.enforce("Rossini1", "user", Set.of("rossini")));
+
+        DefaultAccountRuleConf accountRuleConf = new DefaultAccountRuleConf();
+        accountRuleConf.getWordsNotPermitted().add("root");
+        accountRuleConf.setWordsNotPermittedFile(file.toString());
+        DefaultAccountRule accountRule = new DefaultAccountRule();
+        accountRule.setConf(accountRuleConf);
+
+        accountRule.enforce("rossini", Set.of());
+        assertThrows(AccountPolicyException.class, () -> accountRule.enforce("Root1", Set.of()));
+        assertThrows(AccountPolicyException.class, () -> accountRule.enforce("secret.agent", Set.of()));
+        assertThrows(AccountPolicyException.class, () -> accountRule.enforce("rossini", Set.of("rossini")));
+    }
+}
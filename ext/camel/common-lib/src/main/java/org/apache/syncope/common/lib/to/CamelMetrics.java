@@ -54,11 +54,58 @@ public class CamelMetrics implements Serializable {
 
     }
 
+    public static class RouteStats implements Serializable {
+
+        private static final long serialVersionUID = 4250311473815442751L;
+
+        private String routeId;
+
+        private long compileTime;
+
+        private int inflightExchanges;
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public void setRouteId(final String routeId) {
+            this.routeId = routeId;
+        }
+
+        /**
+         * @return time (in milliseconds) spent parsing and validating the current route definition
+         */
+        public long getCompileTime() {
+            return compileTime;
+        }
+
+        public void setCompileTime(final long compileTime) {
+            this.compileTime = compileTime;
+        }
+
+        public int getInflightExchanges() {
+            return inflightExchanges;
+        }
+
+        public void setInflightExchanges(final int inflightExchanges) {
+            this.inflightExchanges = inflightExchanges;
+        }
+
+    }
+
     private final List<MeanRate> responseMeanRates = new ArrayList<>();
 
+    private final List<RouteStats> routeStats = new ArrayList<>();
+
     @JacksonXmlElementWrapper(localName = "responseMeanRates")
     @JacksonXmlProperty(localName = "meanRate")
     public List<MeanRate> getResponseMeanRates() {
         return responseMeanRates;
     }
+
+    @JacksonXmlElementWrapper(localName = "routeStats")
+    @JacksonXmlProperty(localName = "routeStat")
+    public List<RouteStats> getRouteStats() {
+        return routeStats;
+    }
 }
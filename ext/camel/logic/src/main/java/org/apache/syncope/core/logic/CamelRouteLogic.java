@@ -136,6 +136,15 @@ public class CamelRouteLogic extends AbstractTransactionalLogic<CamelRouteTO> {
                 compare(o1.getValue(), o2.getValue()));
         }
 
+        context.getCompileTimes().forEach((routeId, compileTime) -> {
+            CamelMetrics.RouteStats stats = new CamelMetrics.RouteStats();
+            stats.setRouteId(routeId);
+            stats.setCompileTime(compileTime);
+            stats.setInflightExchanges(context.getInflightExchanges(routeId));
+            metrics.getRouteStats().add(stats);
+        });
+        metrics.getRouteStats().sort(Comparator.comparing(CamelMetrics.RouteStats::getRouteId));
+
         return metrics;
     }
 
@@ -18,16 +18,21 @@
  */
 package org.apache.syncope.core.provisioning.camel;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.apache.camel.Endpoint;
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
+import org.apache.camel.ExchangePattern;
 import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.RoutesDefinition;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultMessage;
@@ -35,64 +40,143 @@ import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 abstract class AbstractCamelProvisioningManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractCamelProvisioningManager.class);
 
+    /**
+     * Exchange property carrying the key used to match replies with requests.
+     */
+    protected static final String CORRELATION_ID = "syncopeCorrelationId";
+
     @Autowired
     protected CamelRouteDAO routeDAO;
 
     @Autowired
     protected SyncopeCamelContext contextFactory;
 
+    @Value("${camel.replyTimeout:60}")
+    protected long replyTimeout;
+
     protected RoutesDefinition routes;
 
-    protected final Map<String, PollingConsumer> consumerMap = new HashMap<>();
+    protected final Map<String, CompletableFuture<Exchange>> pendingReplies = new ConcurrentHashMap<>();
 
-    protected final List<String> knownURIs = new ArrayList<>();
+    private ProducerTemplate producerTemplate;
 
-    protected void sendMessage(final String uri, final Object obj) {
-        Exchange exchange = new DefaultExchange(contextFactory.getCamelContext());
+    private CamelContext producerTemplateContext;
 
-        DefaultMessage message = new DefaultMessage(contextFactory.getCamelContext());
-        message.setBody(obj);
-        exchange.setIn(message);
+    /**
+     * Returns a producer template shared by all requests: it is thread-safe and caches the producers for each
+     * endpoint.
+     *
+     * @param camelContext Camel context
+     * @return producer template
+     */
+    protected synchronized ProducerTemplate getProducerTemplate(final CamelContext camelContext) {
+        if (producerTemplate == null || producerTemplateContext != camelContext) {
+            producerTemplate = camelContext.createProducerTemplate();
+            producerTemplateContext = camelContext;
+        }
+        return producerTemplate;
+    }
 
-        ProducerTemplate template = contextFactory.getCamelContext().createProducerTemplate();
-        template.send(uri, exchange);
+    /**
+     * Makes sure that exchanges sent to the given endpoint by routes are delivered to the request waiting for them.
+     *
+     * @param camelContext Camel context
+     * @param replyUri endpoint where routes send their results
+     */
+    protected void ensureReplyRoute(final CamelContext camelContext, final String replyUri) {
+        String routeId = "reply:" + replyUri;
+        if (camelContext.getRoute(routeId) != null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (camelContext.getRoute(routeId) == null) {
+                try {
+                    camelContext.addRoutes(new RouteBuilder() {
+
+                        @Override
+                        public void configure() {
+                            from(replyUri).routeId(routeId).process(exchange -> {
+                                CompletableFuture<Exchange> reply = pendingReplies.get(
+                                        exchange.getProperty(CORRELATION_ID, String.class));
+                                if (reply == null) {
+                                    LOG.warn("No request waiting for reply {} on {}",
+                                            exchange.getProperty(CORRELATION_ID), replyUri);
+                                } else {
+                                    reply.complete(exchange);
+                                }
+                            });
+                        }
+                    });
+                } catch (Exception e) {
+                    throw new CamelException(e);
+                }
+            }
+        }
     }
 
-    protected void sendMessage(final String uri, final Object body, final Map<String, Object> properties) {
-        DefaultExchange exchange = new DefaultExchange(contextFactory.getCamelContext());
+    /**
+     * Sends the given body and properties to the given endpoint and waits for the exchange that routes will send to
+     * the given reply endpoint. Requests are correlated with their replies, so any number of them can be processed
+     * concurrently.
+     *
+     * @param uri endpoint to send to
+     * @param body message body
+     * @param properties exchange properties
+     * @param replyUri endpoint where routes send their results
+     * @return reply exchange
+     */
+    protected Exchange sendMessage(
+            final String uri, final Object body, final Map<String, Object> properties, final String replyUri) {
+
+        CamelContext camelContext = contextFactory.getCamelContext();
+        ensureReplyRoute(camelContext, replyUri);
+
+        DefaultExchange exchange = new DefaultExchange(camelContext, ExchangePattern.InOut);
         // exclude properties with null value, otherwise DefaultExchange#properties, being a ConcurrentHashMap,
         // will raise NPE; no problems for later usage, as Map#get will return null for missing keys anyway
         exchange.setProperties(properties.keySet().stream().
                 filter(key -> properties.get(key) != null).
                 collect(Collectors.toMap(Function.identity(), properties::get)));
 
-        DefaultMessage message = new DefaultMessage(contextFactory.getCamelContext());
+        String correlationId = UUID.randomUUID().toString();
+        exchange.setProperty(CORRELATION_ID, correlationId);
+
+        DefaultMessage message = new DefaultMessage(camelContext);
         message.setBody(body);
         exchange.setIn(message);
-        ProducerTemplate template = contextFactory.getCamelContext().createProducerTemplate();
-        template.send(uri, exchange);
-    }
 
-    protected PollingConsumer getConsumer(final String uri) {
-        if (!knownURIs.contains(uri)) {
-            knownURIs.add(uri);
-            Endpoint endpoint = contextFactory.getCamelContext().getEndpoint(uri);
-            PollingConsumer pollingConsumer = null;
-            try {
-                pollingConsumer = endpoint.createPollingConsumer();
-                consumerMap.put(uri, pollingConsumer);
-                pollingConsumer.start();
-            } catch (Exception ex) {
-                LOG.error("Unexpected error in Consumer creation ", ex);
+        // hold back while the target route is being swapped
+        Lock gate = contextFactory.getGate(uri).readLock();
+        gate.lock();
+
+        CompletableFuture<Exchange> reply = new CompletableFuture<>();
+        pendingReplies.put(correlationId, reply);
+        try {
+            Exchange result = getProducerTemplate(camelContext).send(uri, exchange);
+
+            // with synchronous routes, the reply was received while sending
+            if (!reply.isDone() && result.getException() != null) {
+                throw result.getException() instanceof RuntimeException
+                        ? (RuntimeException) result.getException()
+                        : new CamelException(result.getException());
             }
-            return pollingConsumer;
-        } else {
-            return consumerMap.get(uri);
+
+            return reply.get(replyTimeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CamelException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new CamelException("No reply received from " + replyUri + " after sending to " + uri, e);
+        } finally {
+            pendingReplies.remove(correlationId);
+            gate.unlock();
         }
     }
 }
@@ -29,4 +29,8 @@ public class CamelException extends RuntimeException {
         super(cause);
     }
 
+    public CamelException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.request.StatusR;
 import org.apache.syncope.common.lib.request.UserCR;
@@ -63,8 +62,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final String creator,
             final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:createPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("disablePwdPolicyCheck", disablePwdPolicyCheck);
         props.put("enabled", enabled);
@@ -73,9 +70,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("creator", creator);
         props.put("context", context);
 
-        sendMessage("direct:createUser", req, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createUser", req, props, "direct:createPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -89,16 +84,12 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<UserUR, List<PropagationStatus>> update(
             final UserUR userUR, final boolean nullPriorityAsync, final String updater, final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updatePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("nullPriorityAsync", nullPriorityAsync);
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:updateUser", userUR, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUser", userUR, props, "direct:updatePort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -135,17 +126,13 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final String eraser,
             final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deletePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
         props.put("eraser", eraser);
         props.put("context", context);
 
-        sendMessage("direct:deleteUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deleteUser", key, props, "direct:deletePort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -156,15 +143,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String unlink(final UserUR userUR, final String updater, final String context) {
-        PollingConsumer pollingConsumer = getConsumer("direct:unlinkPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:unlinkUser", userUR, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:unlinkUser", userUR, props, "direct:unlinkPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -178,8 +161,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> activate(
             final StatusR statusR, final boolean nullPriorityAsync, final String updater, final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("token", statusR.getToken());
         props.put("key", statusR.getKey());
@@ -188,16 +169,15 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
+        Exchange exchange;
         if (statusR.isOnSyncope()) {
-            sendMessage("direct:activateUser", statusR.getKey(), props);
+            exchange = sendMessage("direct:activateUser", statusR.getKey(), props, "direct:statusPort");
         } else {
             UserWorkflowResult<String> updated =
                     new UserWorkflowResult<>(statusR.getKey(), null, null, statusR.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props, "direct:statusPort");
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -210,8 +190,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> reactivate(
             final StatusR statusR, final boolean nullPriorityAsync, final String updater, final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusR.getKey());
         props.put("statusR", statusR);
@@ -219,16 +197,15 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
+        Exchange exchange;
         if (statusR.isOnSyncope()) {
-            sendMessage("direct:reactivateUser", statusR.getKey(), props);
+            exchange = sendMessage("direct:reactivateUser", statusR.getKey(), props, "direct:statusPort");
         } else {
             UserWorkflowResult<String> updated =
                     new UserWorkflowResult<>(statusR.getKey(), null, null, statusR.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props, "direct:statusPort");
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -241,8 +218,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> suspend(
             final StatusR statusR, final boolean nullPriorityAsync, final String updater, final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusR.getKey());
         props.put("statusR", statusR);
@@ -250,16 +225,15 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
+        Exchange exchange;
         if (statusR.isOnSyncope()) {
-            sendMessage("direct:suspendUser", statusR.getKey(), props);
+            exchange = sendMessage("direct:suspendUser", statusR.getKey(), props, "direct:statusPort");
         } else {
             UserWorkflowResult<String> updated =
                     new UserWorkflowResult<>(statusR.getKey(), null, null, statusR.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props, "direct:statusPort");
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -269,15 +243,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String link(final UserUR userUR, final String updater, final String context) {
-        PollingConsumer pollingConsumer = getConsumer("direct:linkPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:linkUser", userUR, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:linkUser", userUR, props, "direct:linkPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -297,8 +267,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final String updater,
             final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:provisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("changePwd", changePwd);
@@ -308,9 +276,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:provisionUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:provisionUser", key, props, "direct:provisionPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -328,17 +294,13 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final String updater,
             final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deprovisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:deprovisionUser", user, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deprovisionUser", user, props, "direct:deprovisionPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -359,8 +321,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final String updater,
             final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updateInPullPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", userUR.getKey());
         props.put("result", result);
@@ -370,9 +330,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:updateUserInPull", userUR, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUserInPull", userUR, props, "direct:updateInPullPort");
 
         Exception ex = (Exception) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         if (ex != null) {
@@ -387,8 +345,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
                     new PropagationByResource<>(),
                     new PropagationByResource<>(),
                     new HashSet<>());
-            sendMessage("direct:userInPull", updated, props);
-            exchange = pollingConsumer.receive();
+            exchange = sendMessage("direct:userInPull", updated, props, "direct:updateInPullPort");
         }
 
         return exchange.getIn().getBody(Pair.class);
@@ -396,15 +353,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void internalSuspend(final String key, final String updater, final String context) {
-        PollingConsumer pollingConsumer = getConsumer("direct:internalSuspendUserPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:internalSuspendUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:internalSuspendUser", key, props, "direct:internalSuspendUserPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -413,15 +366,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void requestPasswordReset(final String key, final String updater, final String context) {
-        PollingConsumer pollingConsumer = getConsumer("direct:requestPwdResetPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:requestPwdReset", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:requestPwdReset", key, props, "direct:requestPwdResetPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -432,8 +381,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public void confirmPasswordReset(
             final String key, final String token, final String password, final String updater, final String context) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:confirmPwdResetPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("token", token);
@@ -441,9 +388,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("updater", updater);
         props.put("context", context);
 
-        sendMessage("direct:confirmPwdReset", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:confirmPwdReset", key, props, "direct:confirmPwdResetPort");
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
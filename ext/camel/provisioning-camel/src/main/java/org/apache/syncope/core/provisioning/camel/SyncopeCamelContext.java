@@ -19,13 +19,28 @@
 package org.apache.syncope.core.provisioning.camel;
 
 import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Route;
 import org.apache.camel.component.metrics.routepolicy.MetricsRoutePolicyFactory;
+import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RoutesDefinition;
 import org.apache.camel.spring.SpringCamelContext;
+import org.apache.camel.util.URISupport;
 import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
 import org.apache.syncope.core.persistence.api.entity.CamelRoute;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -36,6 +51,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Holds the Camel context used for provisioning; routes are compiled and swapped one by one, so that changing a
+ * route never requires to stop the whole context.
+ */
 @Component
 public class SyncopeCamelContext {
 
@@ -46,6 +65,15 @@ public class SyncopeCamelContext {
 
     private SpringCamelContext camelContext;
 
+    /**
+     * Time (in milliseconds) spent parsing and validating the current definition of each route.
+     */
+    private final Map<String, Long> compileTimes = new ConcurrentHashMap<>();
+
+    private final Map<String, String> normalizedUris = new ConcurrentHashMap<>();
+
+    private final Map<String, ReadWriteLock> gates = new ConcurrentHashMap<>();
+
     public SpringCamelContext getCamelContext() {
         synchronized (this) {
             if (camelContext == null) {
@@ -57,53 +85,179 @@ public class SyncopeCamelContext {
                 List<CamelRoute> routes = routeDAO.findAll();
                 LOG.debug("{} route(s) are going to be loaded ", routes.size());
 
-                loadRouteDefinitions(routes.stream().map(CamelRoute::getContent).collect(Collectors.toList()));
+                loadRouteDefinitions(routes);
             }
         }
 
         return camelContext;
     }
 
-    private void loadRouteDefinitions(final List<String> routes) {
+    /**
+     * Parses and validates the given route content, which is expected to define exactly one route, with the given
+     * key as id.
+     *
+     * @param routeKey route key
+     * @param routeContent route XML content
+     * @return parsed route definition
+     */
+    protected RouteDefinition compile(final String routeKey, final String routeContent) {
+        long start = System.nanoTime();
         try {
             RoutesDefinition routeDefs = (RoutesDefinition) camelContext.adapt(ExtendedCamelContext.class).
                     getXMLRoutesDefinitionLoader().loadRoutesDefinition(
                             camelContext,
                             new ByteArrayInputStream(("<routes xmlns=\"http://camel.apache.org/schema/spring\">"
-                                    + routes.stream().collect(Collectors.joining())
+                                    + routeContent
                                     + "</routes>").getBytes(StandardCharsets.UTF_8)));
-            camelContext.addRouteDefinitions(routeDefs.getRoutes());
+
+            if (routeDefs == null || routeDefs.getRoutes().size() != 1) {
+                throw new IllegalArgumentException("Expected exactly one route definition for " + routeKey);
+            }
+            RouteDefinition routeDef = routeDefs.getRoutes().get(0);
+            if (!routeKey.equals(routeDef.getId())) {
+                throw new IllegalArgumentException(
+                        "Route id " + routeDef.getId() + " does not match expected " + routeKey);
+            }
+            if (routeDef.getInput() == null) {
+                throw new IllegalArgumentException("No input defined for route " + routeKey);
+            }
+            // resolve the input endpoint, so that invalid URIs are reported before swapping
+            camelContext.getEndpoint(routeDef.getInput().getEndpointUri());
+
+            compileTimes.put(routeKey, (System.nanoTime() - start) / 1_000_000);
+            return routeDef;
+        } catch (CamelException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("While compiling Camel route {}", routeKey, e);
+            throw new CamelException(e);
+        }
+    }
+
+    private void loadRouteDefinitions(final List<CamelRoute> routes) {
+        List<RouteDefinition> routeDefs = routes.parallelStream().
+                map(route -> compile(route.getKey(), route.getContent())).
+                collect(Collectors.toList());
+        try {
+            camelContext.addRouteDefinitions(routeDefs);
         } catch (Exception e) {
-            LOG.error("While adding route definitions into Camel Context {}", getCamelContext(), e);
+            LOG.error("While adding route definitions into Camel Context {}", camelContext, e);
             throw new CamelException(e);
         }
     }
 
+    private static String normalize(final String endpointUri) {
+        try {
+            return URISupport.normalizeUri(endpointUri);
+        } catch (URISyntaxException | UnsupportedEncodingException e) {
+            LOG.debug("Could not normalize {}", endpointUri, e);
+            return endpointUri;
+        }
+    }
+
+    /**
+     * Returns the gate guarding the route consuming from the given endpoint: callers hold its read lock while
+     * sending to the endpoint and waiting for the reply, while route swaps hold its write lock; this way, each
+     * request is entirely processed either by the former or by the new route definition.
+     *
+     * @param endpointUri endpoint URI
+     * @return gate for the given endpoint
+     */
+    public ReadWriteLock getGate(final String endpointUri) {
+        return gates.computeIfAbsent(
+                normalizedUris.computeIfAbsent(endpointUri, SyncopeCamelContext::normalize),
+                k -> new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Runs the given action on the given route after in-flight requests have been completed, and while new ones are
+     * held back.
+     *
+     * @param ctx Camel context
+     * @param routeKey route key
+     * @param newInput input endpoint of the new route definition, if any
+     * @param action action to run
+     */
+    private void whileGated(
+            final SpringCamelContext ctx,
+            final String routeKey,
+            final String newInput,
+            final Callable<Void> action) {
+
+        Set<String> inputs = new LinkedHashSet<>();
+        Optional.ofNullable(ctx.getRoute(routeKey)).
+                ifPresent(route -> inputs.add(route.getEndpoint().getEndpointUri()));
+        Optional.ofNullable(newInput).ifPresent(inputs::add);
+        List<Lock> locks = inputs.stream().map(input -> getGate(input).writeLock()).collect(Collectors.toList());
+
+        synchronized (this) {
+            locks.forEach(Lock::lock);
+            try {
+                action.call();
+            } catch (Exception e) {
+                LOG.error("While updating Camel route {}", routeKey, e);
+                throw new CamelException(e);
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+        }
+    }
+
+    /**
+     * Replaces the running route with given key by the given definition: only such route is stopped and the new one
+     * is started, while callers of any other route are not affected.
+     *
+     * @param routeKey route key
+     * @param routeContent route XML content
+     */
+    private void swap(final String routeKey, final String routeContent) {
+        SpringCamelContext ctx = getCamelContext();
+
+        RouteDefinition routeDef = compile(routeKey, routeContent);
+        whileGated(ctx, routeKey, routeDef.getInput().getEndpointUri(), () -> {
+            // removes and stops the current definition with same id, then starts the new one
+            ctx.addRouteDefinition(routeDef);
+            return null;
+        });
+        LOG.debug("Camel route {} swapped", routeKey);
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public void updateContext(final String routeKey) {
         if (!getCamelContext().getRouteDefinitions().isEmpty()) {
-            getCamelContext().getRouteDefinitions().remove(getCamelContext().getRouteDefinition(routeKey));
-            loadRouteDefinitions(List.of(routeDAO.find(routeKey).getContent()));
+            swap(routeKey, routeDAO.find(routeKey).getContent());
         }
     }
 
     public void restoreRoute(final String routeKey, final String routeContent) {
-        try {
-            getCamelContext().getRouteDefinitions().remove(getCamelContext().getRouteDefinition(routeKey));
-            loadRouteDefinitions(List.of(routeContent));
-        } catch (Exception e) {
-            LOG.error("While restoring Camel route {}", routeKey, e);
-            throw new CamelException(e);
-        }
+        swap(routeKey, routeContent);
     }
 
+    /**
+     * Restarts all routes, one at a time, so that callers are held back only while their own route is restarting.
+     */
     public void restartContext() {
-        try {
-            getCamelContext().stop();
-            getCamelContext().start();
-        } catch (Exception e) {
-            LOG.error("While restarting Camel context", e);
-            throw new CamelException(e);
-        }
+        SpringCamelContext ctx = getCamelContext();
+        List<String> routeKeys = ctx.getRoutes().stream().map(Route::getId).collect(Collectors.toList());
+        routeKeys.forEach(routeKey -> whileGated(ctx, routeKey, null, () -> {
+            ctx.getRouteController().stopRoute(routeKey);
+            ctx.getRouteController().startRoute(routeKey);
+            return null;
+        }));
+    }
+
+    /**
+     * @return time (in milliseconds) spent compiling the current definition of each route
+     */
+    public Map<String, Long> getCompileTimes() {
+        return Collections.unmodifiableMap(compileTimes);
+    }
+
+    /**
+     * @param routeKey route key
+     * @return number of exchanges currently being processed by the given route
+     */
+    public int getInflightExchanges(final String routeKey) {
+        return getCamelContext().getInflightRepository().size(routeKey);
     }
 }
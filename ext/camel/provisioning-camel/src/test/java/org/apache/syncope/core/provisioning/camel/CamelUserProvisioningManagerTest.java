@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.camel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spring.SpringCamelContext;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.request.UserCR;
+import org.apache.syncope.common.lib.to.PropagationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+public class CamelUserProvisioningManagerTest {
+
+    @Mock
+    private SyncopeCamelContext contextFactory;
+
+    private SpringCamelContext camelContext;
+
+    private CamelUserProvisioningManager manager;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+
+        camelContext = new SpringCamelContext(applicationContext);
+        camelContext.addRoutes(new RouteBuilder() {
+
+            @Override
+            public void configure() {
+                from("direct:createUser").
+                        process(exchange -> {
+                            UserCR req = exchange.getIn().getBody(UserCR.class);
+                            if (req.getUsername().startsWith("fail")) {
+                                throw new IllegalArgumentException(req.getUsername());
+                            }
+
+                            // let concurrent requests overlap
+                            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                            exchange.getIn().setBody(Pair.of(
+                                    req.getUsername() + '@' + exchange.getProperty("creator"),
+                                    List.<PropagationStatus>of()));
+                        }).
+                        to("direct:createPort");
+            }
+        });
+        camelContext.start();
+
+        when(contextFactory.getCamelContext()).thenReturn(camelContext);
+        when(contextFactory.getGate(anyString())).thenReturn(new ReentrantReadWriteLock());
+
+        manager = new CamelUserProvisioningManager();
+        manager.contextFactory = contextFactory;
+        manager.replyTimeout = 10;
+    }
+
+    @AfterEach
+    public void cleanup() {
+        camelContext.stop();
+    }
+
+    private static UserCR userCR(final String username) {
+        return new UserCR.Builder(SyncopeConstants.ROOT_REALM, username).build();
+    }
+
+    @Test
+    public void concurrentCreate() throws Exception {
+        int requests = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Pair<String, String>>> results = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                String username = "user" + i;
+                String creator = "creator" + i;
+                results.add(executor.submit(() -> Pair.of(
+                        username + '@' + creator,
+                        manager.create(userCR(username), false, null, Set.of(), false, creator, "test").
+                                getLeft())));
+            }
+
+            for (Future<Pair<String, String>> result : results) {
+                Pair<String, String> expectedAndActual = result.get(30, TimeUnit.SECONDS);
+                assertEquals(expectedAndActual.getLeft(), expectedAndActual.getRight());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(manager.pendingReplies.isEmpty());
+    }
+
+    @Test
+    public void failureWithoutReply() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> manager.create(userCR("failing"), false, null, Set.of(), false, "admin", "test"));
+        assertEquals("failing", e.getMessage());
+
+        assertTrue(manager.pendingReplies.isEmpty());
+    }
+}
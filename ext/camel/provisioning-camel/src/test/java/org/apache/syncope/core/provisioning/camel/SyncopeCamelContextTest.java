@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.camel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.spring.SpringCamelContext;
+import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
+import org.apache.syncope.core.persistence.api.entity.CamelRoute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncopeCamelContextTest {
+
+    private static String echo(final String prefix) {
+        return "<route id=\"echo\"><from uri=\"direct:echo\"/>"
+                + "<setBody><simple>" + prefix + "-${body}</simple></setBody></route>";
+    }
+
+    private static CamelRoute route(final String key, final String content) {
+        CamelRoute route = mock(CamelRoute.class);
+        when(route.getKey()).thenReturn(key);
+        when(route.getContent()).thenReturn(content);
+        return route;
+    }
+
+    @Mock
+    private CamelRouteDAO routeDAO;
+
+    private SpringCamelContext camelContext;
+
+    private SyncopeCamelContext context;
+
+    private ProducerTemplate template;
+
+    @BeforeEach
+    public void setup() {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+
+        camelContext = new SpringCamelContext(applicationContext);
+        camelContext.start();
+
+        context = new SyncopeCamelContext();
+        ReflectionTestUtils.setField(context, "routeDAO", routeDAO);
+        ReflectionTestUtils.setField(context, "camelContext", camelContext);
+
+        List<CamelRoute> routes = List.of(
+                route("echo", echo("v1")),
+                route("other", "<route id=\"other\"><from uri=\"direct:other\"/><log message=\"${body}\"/></route>"));
+        when(routeDAO.findAll()).thenReturn(routes);
+
+        template = context.getCamelContext().createProducerTemplate();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        camelContext.stop();
+    }
+
+    @Test
+    public void load() {
+        assertEquals(2, camelContext.getRoutes().size());
+        assertEquals("v1-x", template.requestBody("direct:echo", "x"));
+        assertTrue(context.getCompileTimes().containsKey("echo"));
+        assertTrue(context.getCompileTimes().containsKey("other"));
+        assertEquals(0, context.getInflightExchanges("echo"));
+    }
+
+    @Test
+    public void swapUnderLoad() throws Exception {
+        CamelRoute updated = mock(CamelRoute.class);
+        when(updated.getContent()).thenReturn(echo("v2"));
+        when(routeDAO.find("echo")).thenReturn(updated);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> senders = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                senders.add(executor.submit(() -> {
+                    int sent = 0;
+                    while (running.get()) {
+                        // as provisioning managers do
+                        Lock gate = context.getGate("direct:echo").readLock();
+                        gate.lock();
+                        Object reply;
+                        try {
+                            reply = template.requestBody("direct:echo", "x");
+                        } finally {
+                            gate.unlock();
+                        }
+                        assertTrue("v1-x".equals(reply) || "v2-x".equals(reply), String.valueOf(reply));
+                        sent++;
+                    }
+                    return sent;
+                }));
+            }
+
+            Thread.sleep(50);
+            context.updateContext("echo");
+            Thread.sleep(50);
+            running.set(false);
+
+            for (Future<Integer> sender : senders) {
+                assertTrue(sender.get(30, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("v2-x", template.requestBody("direct:echo", "x"));
+        // the other route was not touched
+        assertTrue(camelContext.getRouteController().getRouteStatus("other").isStarted());
+    }
+
+    @Test
+    public void invalidRouteIsRejected() {
+        assertThrows(CamelException.class, () -> context.restoreRoute("echo", "<route id=\"echo\"><from"));
+        assertThrows(CamelException.class, () -> context.restoreRoute("echo", echo("v2").replace("echo", "wrong")));
+
+        assertEquals("v1-x", template.requestBody("direct:echo", "x"));
+    }
+
+    @Test
+    public void restart() {
+        context.restartContext();
+
+        assertEquals(2, camelContext.getRoutes().size());
+        assertEquals("v1-x", template.requestBody("direct:echo", "x"));
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.flowable.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
@@ -306,6 +308,77 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
         return result;
     }
 
+    /**
+     * Information about a process instance, shared by all the forms of the same process instance.
+     */
+    protected static class ProcInstInfo {
+
+        protected final String bpmnProcess;
+
+        protected final String username;
+
+        protected final UserTO userTO;
+
+        protected final UserUR userUR;
+
+        public ProcInstInfo(final String bpmnProcess, final String username, final UserTO userTO, final UserUR userUR) {
+            this.bpmnProcess = bpmnProcess;
+            this.username = username;
+            this.userTO = userTO;
+            this.userUR = userUR;
+        }
+    }
+
+    /**
+     * Loads the information needed to build forms for all the given process instances at once: one query for the
+     * process instances, one for the users and one for the variables, rather than one of each per form.
+     *
+     * @param procInstIds process instance ids
+     * @return information per process instance id
+     */
+    protected Map<String, ProcInstInfo> getProcInstInfos(final Set<String> procInstIds) {
+        if (procInstIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, ProcessInstance> procInsts = engine.getRuntimeService().createProcessInstanceQuery().
+                processInstanceIds(procInstIds).list().stream().
+                collect(Collectors.toMap(ProcessInstance::getId, Function.identity()));
+
+        Map<String, String> userKeys = procInsts.values().stream().collect(Collectors.toMap(
+                ProcessInstance::getId, procInst -> StringUtils.substringAfter(procInst.getBusinessKey(), ":")));
+        Map<String, String> usernames = userDAO.findByKeys(new ArrayList<>(new HashSet<>(userKeys.values()))).
+                stream().collect(Collectors.toMap(User::getKey, User::getUsername));
+
+        Map<String, Map<String, Object>> variables = new HashMap<>();
+        engine.getRuntimeService().getVariableInstancesByExecutionIds(procInstIds).stream().
+                filter(variable -> FlowableRuntimeUtils.USER_TO.equals(variable.getName())
+                || FlowableRuntimeUtils.USER_UR.equals(variable.getName())).
+                forEach(variable -> variables.computeIfAbsent(variable.getExecutionId(), k -> new HashMap<>()).
+                put(variable.getName(), variable.getValue()));
+
+        Map<String, ProcInstInfo> infos = new HashMap<>(procInstIds.size());
+        procInstIds.forEach(procInstId -> {
+            ProcessInstance procInst = procInsts.get(procInstId);
+            String username = procInst == null ? null : usernames.get(userKeys.get(procInstId));
+            if (username == null) {
+                throw new NotFoundException("User for process instance id " + procInstId);
+            }
+
+            Map<String, Object> procInstVariables = variables.getOrDefault(procInstId, Map.of());
+            infos.put(procInstId, new ProcInstInfo(
+                    procInst.getProcessDefinitionKey(),
+                    username,
+                    (UserTO) procInstVariables.get(FlowableRuntimeUtils.USER_TO),
+                    (UserUR) procInstVariables.get(FlowableRuntimeUtils.USER_UR)));
+        });
+        return infos;
+    }
+
+    protected ProcInstInfo getProcInstInfo(final String procInstId) {
+        return getProcInstInfos(Set.of(procInstId)).get(procInstId);
+    }
+
     protected UserRequestForm getForm(final Task task) {
         return Optional.ofNullable(task).
                 map(t -> getForm(t, engine.getFormService().getTaskFormData(t.getId()))).
@@ -313,8 +386,11 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
     }
 
     protected UserRequestForm getForm(final Task task, final TaskFormData fd) {
-        UserRequestForm formTO =
-                getForm(task.getProcessInstanceId(), task.getId(), fd.getFormKey(), fd.getFormProperties());
+        return getForm(task, fd, getProcInstInfo(task.getProcessInstanceId()));
+    }
+
+    protected UserRequestForm getForm(final Task task, final TaskFormData fd, final ProcInstInfo info) {
+        UserRequestForm formTO = getForm(info, task.getId(), fd.getFormKey(), fd.getFormProperties());
         formTO.setCreateTime(task.getCreateTime());
         formTO.setDueDate(task.getDueDate());
         formTO.setExecutionId(task.getExecutionId());
@@ -325,14 +401,17 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
     }
 
     protected UserRequestForm getForm(final HistoricTaskInstance task) {
+        return getForm(task, getProcInstInfo(task.getProcessInstanceId()));
+    }
+
+    protected UserRequestForm getForm(final HistoricTaskInstance task, final ProcInstInfo info) {
         List<HistoricFormPropertyEntity> props = engine.getHistoryService().
                 createHistoricDetailQuery().taskId(task.getId()).list().stream().
                 filter(HistoricFormPropertyEntity.class::isInstance).
                 map(HistoricFormPropertyEntity.class::cast).
                 collect(Collectors.toList());
 
-        UserRequestForm formTO = getHistoricFormTO(
-                task.getProcessInstanceId(), task.getId(), task.getFormKey(), props);
+        UserRequestForm formTO = getHistoricFormTO(info, task.getId(), task.getFormKey(), props);
         formTO.setCreateTime(task.getCreateTime());
         formTO.setDueDate(task.getDueDate());
         formTO.setExecutionId(task.getExecutionId());
@@ -359,29 +438,18 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
     }
 
     protected UserRequestForm getHistoricFormTO(
-            final String procInstId,
+            final ProcInstInfo info,
             final String taskId,
             final String formKey,
             final List<HistoricFormPropertyEntity> props) {
 
         UserRequestForm formTO = new UserRequestForm();
-
-        formTO.setBpmnProcess(engine.getRuntimeService().createProcessInstanceQuery().
-                processInstanceId(procInstId).singleResult().getProcessDefinitionKey());
-
-        User user = userDAO.find(getUserKey(procInstId));
-        if (user == null) {
-            throw new NotFoundException("User for process instance id " + procInstId);
-        }
-        formTO.setUsername(user.getUsername());
-
+        formTO.setBpmnProcess(info.bpmnProcess);
+        formTO.setUsername(info.username);
         formTO.setTaskId(taskId);
         formTO.setFormKey(formKey);
-
-        formTO.setUserTO(engine.getRuntimeService().
-                getVariable(procInstId, FlowableRuntimeUtils.USER_TO, UserTO.class));
-        formTO.setUserUR(engine.getRuntimeService().
-                getVariable(procInstId, FlowableRuntimeUtils.USER_UR, UserUR.class));
+        formTO.setUserTO(info.userTO);
+        formTO.setUserUR(info.userUR);
 
         formTO.getProperties().addAll(props.stream().map(prop -> {
             UserRequestFormProperty propertyTO = new UserRequestFormProperty();
@@ -396,29 +464,18 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
 
     @SuppressWarnings("unchecked")
     protected UserRequestForm getForm(
-            final String procInstId,
+            final ProcInstInfo info,
             final String taskId,
             final String formKey,
             final List<FormProperty> props) {
 
         UserRequestForm formTO = new UserRequestForm();
-
-        formTO.setBpmnProcess(engine.getRuntimeService().createProcessInstanceQuery().
-                processInstanceId(procInstId).singleResult().getProcessDefinitionKey());
-
-        User user = userDAO.find(getUserKey(procInstId));
-        if (user == null) {
-            throw new NotFoundException("User for process instance id " + procInstId);
-        }
-        formTO.setUsername(user.getUsername());
-
+        formTO.setBpmnProcess(info.bpmnProcess);
+        formTO.setUsername(info.username);
         formTO.setTaskId(taskId);
         formTO.setFormKey(formKey);
-
-        formTO.setUserTO(engine.getRuntimeService().
-                getVariable(procInstId, FlowableRuntimeUtils.USER_TO, UserTO.class));
-        formTO.setUserUR(engine.getRuntimeService().
-                getVariable(procInstId, FlowableRuntimeUtils.USER_UR, UserUR.class));
+        formTO.setUserTO(info.userTO);
+        formTO.setUserUR(info.userUR);
 
         formTO.getProperties().addAll(props.stream().map(fProp -> {
             UserRequestFormProperty propertyTO = new UserRequestFormProperty();
@@ -538,10 +595,18 @@ public class FlowableUserRequestHandler implements UserRequestHandler {
             }
         }
 
-        List<UserRequestForm> result = query.listPage(size * (page <= 0 ? 0 : page - 1), size).stream().
+        List<Task> tasks = query.listPage(size * (page <= 0 ? 0 : page - 1), size);
+        Map<String, ProcInstInfo> infos = getProcInstInfos(
+                tasks.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet()));
+
+        List<UserRequestForm> result = tasks.stream().
                 map(task -> task instanceof HistoricTaskInstance
-                ? FlowableUserRequestHandler.this.getForm((HistoricTaskInstance) task)
-                : FlowableUserRequestHandler.this.getForm(task)).
+                ? FlowableUserRequestHandler.this.getForm(
+                        (HistoricTaskInstance) task, infos.get(task.getProcessInstanceId()))
+                : FlowableUserRequestHandler.this.getForm(
+                        task,
+                        engine.getFormService().getTaskFormData(task.getId()),
+                        infos.get(task.getProcessInstanceId()))).
                 collect(Collectors.toList());
 
         return Pair.of((int) query.count(), result);
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.flowable.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.request.UserCR;
+import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.api.types.VariableType;
+
+/**
+ * Flowable variable type for storing Syncope requests, transfer objects and {@link PropagationByResource}
+ * instances as JSON rather than via Java serialization.
+ * Values fitting the variable text column are stored there, without any row in {@code ACT_GE_BYTEARRAY};
+ * variables previously stored by Flowable's {@code serializable} type are still read as such, and are converted
+ * to this type the next time they are set.
+ */
+public class SyncopeJSONVariableType implements VariableType {
+
+    public static final String TYPE_NAME = "syncopeJSON";
+
+    /**
+     * Conservative length, in bytes, for the text column of variables across all supported DBMSes.
+     */
+    private static final int MAX_TEXT_LENGTH = 2000;
+
+    private static final Set<Class<?>> TYPES = Set.of(
+            UserTO.class, UserCR.class, UserUR.class, PropagationByResource.class);
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
+    private static final String OLD_CONN_OBJECT_KEYS = "oldConnObjectKeys";
+
+    private static Object toJSONValue(final Serializable key) {
+        return key instanceof Pair
+                ? List.of(((Pair<?, ?>) key).getLeft(), ((Pair<?, ?>) key).getRight())
+                : key;
+    }
+
+    private static Serializable fromJSONValue(final Object value) {
+        if (value instanceof List) {
+            List<?> pair = (List<?>) value;
+            return Pair.of((String) pair.get(0), (String) pair.get(1));
+        }
+        return (String) value;
+    }
+
+    private static Map<String, Object> toJSON(final PropagationByResource<?> propByRes) {
+        Map<String, Object> json = new HashMap<>();
+        for (ResourceOperation operation : List.of(
+                ResourceOperation.CREATE, ResourceOperation.UPDATE, ResourceOperation.DELETE)) {
+
+            Set<?> keys = propByRes.get(operation);
+            if (!keys.isEmpty()) {
+                json.put(operation.name(), keys.stream().
+                        map(key -> toJSONValue((Serializable) key)).collect(Collectors.toList()));
+            }
+        }
+        if (!propByRes.getOldConnObjectKeys().isEmpty()) {
+            json.put(OLD_CONN_OBJECT_KEYS, propByRes.getOldConnObjectKeys());
+        }
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropagationByResource<Serializable> fromJSON(final Map<String, Object> json) {
+        PropagationByResource<Serializable> propByRes = new PropagationByResource<>();
+        json.forEach((field, value) -> {
+            if (OLD_CONN_OBJECT_KEYS.equals(field)) {
+                ((Map<String, String>) value).forEach(propByRes::addOldConnObjectKey);
+            } else {
+                propByRes.addAll(
+                        ResourceOperation.valueOf(field),
+                        ((Collection<Object>) value).stream().
+                                map(SyncopeJSONVariableType::fromJSONValue).collect(Collectors.toList()));
+            }
+        });
+        return propByRes;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public boolean isAbleToStore(final Object value) {
+        return value != null && TYPES.contains(value.getClass());
+    }
+
+    @Override
+    public void setValue(final Object value, final ValueFields valueFields) {
+        if (value == null) {
+            valueFields.setTextValue(null);
+            valueFields.setTextValue2(null);
+            valueFields.setBytes(null);
+            return;
+        }
+
+        String json = POJOHelper.serialize(value instanceof PropagationByResource
+                ? toJSON((PropagationByResource<?>) value)
+                : value);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        valueFields.setTextValue2(value.getClass().getName());
+        if (bytes.length <= MAX_TEXT_LENGTH) {
+            valueFields.setTextValue(json);
+            valueFields.setBytes(null);
+        } else {
+            valueFields.setTextValue(null);
+            valueFields.setBytes(bytes);
+        }
+    }
+
+    @Override
+    public Object getValue(final ValueFields valueFields) {
+        if (valueFields.getTextValue2() == null) {
+            return null;
+        }
+
+        String json = valueFields.getTextValue() == null
+                ? new String(valueFields.getBytes(), StandardCharsets.UTF_8)
+                : valueFields.getTextValue();
+
+        Class<?> reference;
+        try {
+            reference = ClassUtils.getClass(valueFields.getTextValue2());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not load " + valueFields.getTextValue2(), e);
+        }
+
+        return PropagationByResource.class.equals(reference)
+                ? fromJSON(POJOHelper.deserialize(json, MAP_TYPE))
+                : POJOHelper.deserialize(json, reference);
+    }
+}
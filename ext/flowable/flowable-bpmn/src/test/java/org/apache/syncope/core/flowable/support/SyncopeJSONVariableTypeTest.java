@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.flowable.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.Attr;
+import org.apache.syncope.common.lib.request.AttrPatch;
+import org.apache.syncope.common.lib.request.PasswordPatch;
+import org.apache.syncope.common.lib.request.StringReplacePatchItem;
+import org.apache.syncope.common.lib.request.UserCR;
+import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.service.impl.types.SerializableType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SyncopeJSONVariableTypeTest {
+
+    private static final SyncopeJSONVariableType TYPE = new SyncopeJSONVariableType();
+
+    /**
+     * Stores the given value, then returns the fields as they would be read back.
+     */
+    private static ValueFields store(final Object value) {
+        assertTrue(TYPE.isAbleToStore(value));
+
+        ValueFields written = mock(ValueFields.class);
+        TYPE.setValue(value, written);
+
+        ArgumentCaptor<String> textValue = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> textValue2 = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(written).setTextValue(textValue.capture());
+        verify(written).setTextValue2(textValue2.capture());
+        verify(written).setBytes(bytes.capture());
+
+        ValueFields read = mock(ValueFields.class);
+        when(read.getTextValue()).thenReturn(textValue.getValue());
+        when(read.getTextValue2()).thenReturn(textValue2.getValue());
+        when(read.getBytes()).thenReturn(bytes.getValue());
+        return read;
+    }
+
+    private static UserTO buildUserTO() {
+        UserTO userTO = new UserTO();
+        userTO.setKey("1417acbe-cbf6-4277-9372-e75e04f97000");
+        userTO.setUsername("rossini");
+        userTO.setRealm("/even");
+        userTO.getPlainAttrs().add(new Attr.Builder("firstname").value("Gioacchino").build());
+        userTO.getResources().add("resource-testdb2");
+        return userTO;
+    }
+
+    @Test
+    public void userTO() {
+        UserTO userTO = buildUserTO();
+
+        ValueFields stored = store(userTO);
+        assertNotNull(stored.getTextValue());
+        assertNull(stored.getBytes());
+        assertEquals(UserTO.class.getName(), stored.getTextValue2());
+
+        assertEquals(userTO, TYPE.getValue(stored));
+    }
+
+    @Test
+    public void userCR() {
+        UserCR userCR = new UserCR.Builder("/even", "rossini").
+                password("password123").
+                plainAttr(new Attr.Builder("firstname").value("Gioacchino").build()).
+                resource("resource-testdb2").
+                build();
+
+        assertEquals(userCR, TYPE.getValue(store(userCR)));
+    }
+
+    @Test
+    public void userUR() {
+        UserUR userUR = new UserUR.Builder("1417acbe-cbf6-4277-9372-e75e04f97000").
+                username(new StringReplacePatchItem.Builder().value("gioacchino").build()).
+                password(new PasswordPatch.Builder().value("password321").resource("resource-testdb2").build()).
+                plainAttr(new AttrPatch.Builder(new Attr.Builder("surname").value("Rossini").build()).build()).
+                build();
+
+        assertEquals(userUR, TYPE.getValue(store(userUR)));
+    }
+
+    @Test
+    public void propagationByResource() {
+        PropagationByResource<String> propByRes = new PropagationByResource<>();
+        propByRes.add(ResourceOperation.CREATE, "resource-testdb2");
+        propByRes.add(ResourceOperation.UPDATE, "resource-ldap");
+        propByRes.add(ResourceOperation.DELETE, "ws-target-resource-1");
+        propByRes.addOldConnObjectKey("resource-ldap", "uid=rossini,ou=people,o=isp");
+
+        @SuppressWarnings("unchecked")
+        PropagationByResource<String> actual = (PropagationByResource<String>) TYPE.getValue(store(propByRes));
+        assertEquals(Set.of("resource-testdb2"), actual.get(ResourceOperation.CREATE));
+        assertEquals(Set.of("resource-ldap"), actual.get(ResourceOperation.UPDATE));
+        assertEquals(Set.of("ws-target-resource-1"), actual.get(ResourceOperation.DELETE));
+        assertEquals(propByRes.getOldConnObjectKeys(), actual.getOldConnObjectKeys());
+    }
+
+    @Test
+    public void propagationByLinkedAccount() {
+        PropagationByResource<Pair<String, String>> propByLinkedAccount = new PropagationByResource<>();
+        propByLinkedAccount.add(ResourceOperation.CREATE, Pair.of("resource-testdb2", "vivaldi"));
+        propByLinkedAccount.add(ResourceOperation.DELETE, Pair.of("resource-ldap", "rossini"));
+
+        @SuppressWarnings("unchecked")
+        PropagationByResource<Pair<String, String>> actual =
+                (PropagationByResource<Pair<String, String>>) TYPE.getValue(store(propByLinkedAccount));
+        assertEquals(Set.of(Pair.of("resource-testdb2", "vivaldi")), actual.get(ResourceOperation.CREATE));
+        assertTrue(actual.get(ResourceOperation.UPDATE).isEmpty());
+        assertEquals(Set.of(Pair.of("resource-ldap", "rossini")), actual.get(ResourceOperation.DELETE));
+        assertTrue(actual.getOldConnObjectKeys().isEmpty());
+    }
+
+    @Test
+    public void overLimit() {
+        // multi-byte characters: within the limit as length, beyond the limit as UTF-8 bytes
+        UserTO userTO = buildUserTO();
+        userTO.getPlainAttrs().add(new Attr.Builder("surname").value(StringUtils.repeat('è', 1500)).build());
+
+        ValueFields stored = store(userTO);
+        assertNull(stored.getTextValue());
+        assertNotNull(stored.getBytes());
+
+        assertEquals(userTO, TYPE.getValue(stored));
+    }
+
+    @Test
+    public void legacySerializable() throws IOException {
+        UserTO userTO = buildUserTO();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(userTO);
+        }
+
+        // variables stored before are still read by the serializable type...
+        ValueFields legacy = mock(ValueFields.class);
+        when(legacy.getBytes()).thenReturn(baos.toByteArray());
+        Object value = new SerializableType().getValue(legacy);
+        assertEquals(userTO, value);
+
+        // ...and converted to JSON as soon as they are set again
+        ValueFields stored = store(value);
+        assertNotNull(stored.getTextValue());
+        assertEquals(userTO, TYPE.getValue(stored));
+    }
+}
@@ -137,6 +137,28 @@ public class SCIMConfGeneralPanel extends SCIMConfTabPanel {
                 });
         filterMaxResultsPanel.setChoices(plainSchemaNames);
 
+        AjaxTextFieldPanel groupMembersMaxResultsPanel =
+                new AjaxTextFieldPanel("groupMembersMaxResults", "groupMembersMaxResults",
+                        new PropertyModel<String>("groupMembersMaxResults", "groupMembersMaxResults") {
+
+                    private static final long serialVersionUID = -6427731218492117883L;
+
+                    @Override
+                    public String getObject() {
+                        return String.valueOf(scimGeneralConf.getGroupMembersMaxResults());
+                    }
+
+                    @Override
+                    public void setObject(final String object) {
+                        try {
+                            scimGeneralConf.setGroupMembersMaxResults(Integer.parseInt(object));
+                        } catch (NumberFormatException e) {
+                            LOG.error("Invalid value provided for 'groupMembersMaxResults': {}", object, e);
+                        }
+                    }
+                });
+        groupMembersMaxResultsPanel.setChoices(plainSchemaNames);
+
         AjaxTextFieldPanel eTagValuePanel =
                 new AjaxTextFieldPanel("eTagValue", "eTagValue",
                         new PropertyModel<String>("eTagValue", "eTagValue") {
@@ -161,6 +183,7 @@ public class SCIMConfGeneralPanel extends SCIMConfTabPanel {
         add(bulkMaxOperationsPanel);
         add(bulkMaxMaxPayloadSizePanel);
         add(filterMaxResultsPanel);
+        add(groupMembersMaxResultsPanel);
         add(eTagValuePanel);
     }
 
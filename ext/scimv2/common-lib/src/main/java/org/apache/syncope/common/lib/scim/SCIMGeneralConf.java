@@ -39,6 +39,8 @@ public class SCIMGeneralConf implements Serializable {
 
     private int filterMaxResults = 200;
 
+    private int groupMembersMaxResults = 1000;
+
     public Date getCreationDate() {
         if (creationDate != null) {
             return new Date(creationDate.getTime());
@@ -101,4 +103,15 @@ public class SCIMGeneralConf implements Serializable {
         this.filterMaxResults = filterMaxResults;
     }
 
+    /**
+     * @return maximum number of members returned for each group; values lower than 1 mean no limit
+     */
+    public int getGroupMembersMaxResults() {
+        return groupMembersMaxResults;
+    }
+
+    public void setGroupMembersMaxResults(final int groupMembersMaxResults) {
+        this.groupMembersMaxResults = groupMembersMaxResults;
+    }
+
 }
@@ -20,11 +20,16 @@ package org.apache.syncope.core.logic;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.Attr;
 import org.apache.syncope.common.lib.EntityTOUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -35,10 +40,18 @@ import org.apache.syncope.common.lib.scim.SCIMConf;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.MembershipTO;
 import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.logic.scim.SCIMConfManager;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.AuthDataAccessor;
 import org.apache.syncope.ext.scimv2.api.BadRequestException;
 import org.apache.syncope.ext.scimv2.api.data.Group;
@@ -81,6 +94,15 @@ public class SCIMDataBinder {
     @Autowired
     private AuthDataAccessor authDataAccessor;
 
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private DerSchemaDAO derSchemaDAO;
+
+    @Autowired
+    private DerAttrHandler derAttrHandler;
+
     private static <E extends Enum<?>> void fill(
         final Map<String, Attr> attrs,
         final List<SCIMComplexConf<E>> confs,
@@ -134,7 +156,15 @@ public class SCIMDataBinder {
             final List<String> attributes,
             final List<String> excludedAttributes) {
 
-        SCIMConf conf = confManager.get();
+        return toSCIMUser(confManager.get(), userTO, location, attributes, excludedAttributes);
+    }
+
+    protected SCIMUser toSCIMUser(
+            final SCIMConf conf,
+            final UserTO userTO,
+            final String location,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
 
         List<String> schemas = new ArrayList<>();
         schemas.add(Resource.User.schema());
@@ -426,6 +456,143 @@ public class SCIMDataBinder {
         });
     }
 
+    private static void addIfNotNull(final Set<String> schemas, final String schema) {
+        if (schema != null) {
+            schemas.add(schema);
+        }
+    }
+
+    /**
+     * Computes the names of the Syncope schemas actually needed to build SCIM users with the given configuration
+     * and the given {@code attributes} / {@code excludedAttributes}.
+     *
+     * @param conf SCIM configuration
+     * @param attributes attributes to return
+     * @param excludedAttributes attributes not to return
+     * @return names of the Syncope schemas to read
+     */
+    private static Set<String> requiredSchemas(
+            final SCIMConf conf,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
+
+        Set<String> schemas = new HashSet<>();
+        if (conf.getUserConf() == null) {
+            return schemas;
+        }
+
+        if (output(attributes, excludedAttributes, "name") && conf.getUserConf().getName() != null) {
+            addIfNotNull(schemas, conf.getUserConf().getName().getFamilyName());
+            addIfNotNull(schemas, conf.getUserConf().getName().getFormatted());
+            addIfNotNull(schemas, conf.getUserConf().getName().getGivenName());
+            addIfNotNull(schemas, conf.getUserConf().getName().getHonorificPrefix());
+            addIfNotNull(schemas, conf.getUserConf().getName().getHonorificSuffix());
+            addIfNotNull(schemas, conf.getUserConf().getName().getMiddleName());
+        }
+        Map.of(
+                "displayName", Optional.ofNullable(conf.getUserConf().getDisplayName()),
+                "nickName", Optional.ofNullable(conf.getUserConf().getNickName()),
+                "profileUrl", Optional.ofNullable(conf.getUserConf().getProfileUrl()),
+                "title", Optional.ofNullable(conf.getUserConf().getTitle()),
+                "userType", Optional.ofNullable(conf.getUserConf().getUserType()),
+                "preferredLanguage", Optional.ofNullable(conf.getUserConf().getPreferredLanguage()),
+                "locale", Optional.ofNullable(conf.getUserConf().getLocale()),
+                "timezone", Optional.ofNullable(conf.getUserConf().getTimezone())).
+                forEach((attr, schema) -> schema.filter(s -> output(attributes, excludedAttributes, attr)).
+                ifPresent(schemas::add));
+
+        Map.of(
+                "emails", conf.getUserConf().getEmails(),
+                "phoneNumbers", conf.getUserConf().getPhoneNumbers(),
+                "ims", conf.getUserConf().getIms(),
+                "photos", conf.getUserConf().getPhotos()).
+                forEach((attr, complexConfs) -> {
+                    if (output(attributes, excludedAttributes, attr)) {
+                        complexConfs.forEach(complexConf -> {
+                            addIfNotNull(schemas, complexConf.getValue());
+                            addIfNotNull(schemas, complexConf.getDisplay());
+                        });
+                    }
+                });
+        if (output(attributes, excludedAttributes, "addresses")) {
+            conf.getUserConf().getAddresses().forEach(addressConf -> {
+                addIfNotNull(schemas, addressConf.getFormatted());
+                addIfNotNull(schemas, addressConf.getStreetAddress());
+                addIfNotNull(schemas, addressConf.getLocality());
+                addIfNotNull(schemas, addressConf.getRegion());
+                addIfNotNull(schemas, addressConf.getCountry());
+            });
+        }
+        if (output(attributes, excludedAttributes, "x509Certificates")) {
+            schemas.addAll(conf.getUserConf().getX509Certificates());
+        }
+
+        if (conf.getEnterpriseUserConf() != null) {
+            Map.of(
+                    "employeeNumber", Optional.ofNullable(conf.getEnterpriseUserConf().getEmployeeNumber()),
+                    "costCenter", Optional.ofNullable(conf.getEnterpriseUserConf().getCostCenter()),
+                    "organization", Optional.ofNullable(conf.getEnterpriseUserConf().getOrganization()),
+                    "division", Optional.ofNullable(conf.getEnterpriseUserConf().getDivision()),
+                    "department", Optional.ofNullable(conf.getEnterpriseUserConf().getDepartment())).
+                    forEach((attr, schema) -> schema.filter(s -> output(attributes, excludedAttributes, attr)).
+                    ifPresent(schemas::add));
+            if (output(attributes, excludedAttributes, "manager")
+                    && conf.getEnterpriseUserConf().getManager() != null) {
+
+                addIfNotNull(schemas, conf.getEnterpriseUserConf().getManager().getKey());
+            }
+        }
+
+        return schemas;
+    }
+
+    /**
+     * Builds SCIM users straight from the given entities, reading only the plain and derived attributes mapped by
+     * the current SCIM configuration and requested via {@code attributes} / {@code excludedAttributes}; as for
+     * search results, virtual attributes, memberships and roles are not read.
+     * Expected to be invoked within a transaction.
+     *
+     * @param users user entities
+     * @param location base location, to which the key of each user is appended
+     * @param attributes attributes to return
+     * @param excludedAttributes attributes not to return
+     * @return SCIM users
+     */
+    public List<SCIMUser> toSCIMUsers(
+            final List<User> users,
+            final String location,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
+
+        SCIMConf conf = confManager.get();
+
+        Set<String> required = requiredSchemas(conf, attributes, excludedAttributes);
+        List<DerSchema> derSchemas = required.stream().
+                map(derSchemaDAO::find).filter(Objects::nonNull).collect(Collectors.toList());
+
+        return users.stream().map(user -> {
+            UserTO userTO = new UserTO();
+            userTO.setKey(user.getKey());
+            userTO.setUsername(user.getUsername());
+            userTO.setSuspended(BooleanUtils.isTrue(user.isSuspended()));
+            userTO.setCreationDate(user.getCreationDate());
+            userTO.setLastChangeDate(user.getLastChangeDate());
+
+            required.forEach(schema -> user.getPlainAttr(schema).ifPresent(attr -> userTO.getPlainAttrs().add(
+                    new Attr.Builder(schema).values(attr.getValuesAsStrings()).build())));
+            derSchemas.forEach(derSchema -> Optional.ofNullable(derAttrHandler.getValue(user, derSchema)).
+                    ifPresent(value -> userTO.getDerAttrs().add(
+                    new Attr.Builder(derSchema.getKey()).value(value).build())));
+
+            return toSCIMUser(
+                    conf,
+                    userTO,
+                    StringUtils.appendIfMissing(location, "/") + user.getKey(),
+                    attributes,
+                    excludedAttributes);
+        }).collect(Collectors.toList());
+    }
+
     public UserTO toUserTO(final SCIMUser user) {
         if (!USER_SCHEMAS.equals(user.getSchemas()) && !ENTERPRISE_USER_SCHEMAS.equals(user.getSchemas())) {
             throw new BadRequestException(ErrorType.invalidValue);
@@ -629,34 +796,91 @@ public class SCIMDataBinder {
                         location),
                 output(attributes, excludedAttributes, "displayName", groupTO.getName()));
 
-        MembershipCond membCond = new MembershipCond();
-        membCond.setGroup(groupTO.getKey());
-        SearchCond searchCond = SearchCond.getLeaf(membCond);
-
         if (output(attributes, excludedAttributes, "members")) {
-            int count = userLogic.search(searchCond,
-                    1, 1, List.of(),
-                    SyncopeConstants.ROOT_REALM, false).getLeft();
-
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<UserTO> users = userLogic.search(
-                        searchCond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        SyncopeConstants.ROOT_REALM,
-                        false).
-                        getRight();
-                users.forEach(userTO -> group.getMembers().add(new Member(
-                        userTO.getKey(),
-                        StringUtils.substringBefore(location, "/Groups") + "/Users/" + userTO.getKey(),
-                        userTO.getUsername())));
+            String usersLocation = StringUtils.substringBefore(location, "/Groups") + "/Users/";
+
+            // large groups are not fully materialized: members beyond the configured limit are not returned
+            int maxMembers = confManager.get().getGeneralConf().getGroupMembersMaxResults();
+            int limit = maxMembers < 1 ? Integer.MAX_VALUE : maxMembers;
+
+            Set<String> authRealms = RealmUtils.getEffective(
+                    AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.USER_SEARCH),
+                    SyncopeConstants.ROOT_REALM);
+            if (authRealms.contains(SyncopeConstants.ROOT_REALM)) {
+                // all users are visible: read key and username straight from memberships, page by page
+                List<Pair<String, String>> members;
+                String lastKey = null;
+                int pageSize;
+                do {
+                    pageSize = Math.min(AnyDAO.DEFAULT_PAGE_SIZE, limit - group.getMembers().size());
+                    members = groupDAO.findUMemberUsernames(groupTO.getKey(), lastKey, pageSize);
+                    members.forEach(member -> group.getMembers().add(new Member(
+                            member.getLeft(), usersLocation + member.getLeft(), member.getRight())));
+                    if (!members.isEmpty()) {
+                        lastKey = members.get(members.size() - 1).getLeft();
+                    }
+                } while (members.size() == pageSize && group.getMembers().size() < limit);
+            } else {
+                MembershipCond membCond = new MembershipCond();
+                membCond.setGroup(groupTO.getKey());
+                SearchCond searchCond = SearchCond.getLeaf(membCond);
+
+                int count = Math.min(limit, userLogic.search(searchCond,
+                        1, 1, List.of(),
+                        SyncopeConstants.ROOT_REALM, false).getLeft());
+
+                for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
+                    List<UserTO> users = userLogic.search(
+                            searchCond,
+                            page,
+                            AnyDAO.DEFAULT_PAGE_SIZE,
+                            List.of(),
+                            SyncopeConstants.ROOT_REALM,
+                            false).
+                            getRight();
+                    users.stream().limit(limit - group.getMembers().size()).
+                            forEach(userTO -> group.getMembers().add(new Member(
+                            userTO.getKey(),
+                            usersLocation + userTO.getKey(),
+                            userTO.getUsername())));
+                }
             }
         }
 
         return group;
     }
 
+    /**
+     * Builds SCIM groups straight from the given entities, without building the full {@link GroupTO}.
+     * Expected to be invoked within a transaction.
+     *
+     * @param groups group entities
+     * @param location base location, to which the key of each group is appended
+     * @param attributes attributes to return
+     * @param excludedAttributes attributes not to return
+     * @return SCIM groups
+     */
+    public List<SCIMGroup> toSCIMGroups(
+            final List<org.apache.syncope.core.persistence.api.entity.group.Group> groups,
+            final String location,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
+
+        return groups.stream().map(group -> {
+            GroupTO groupTO = new GroupTO();
+            groupTO.setKey(group.getKey());
+            groupTO.setName(group.getName());
+            groupTO.setCreationDate(group.getCreationDate());
+            groupTO.setLastChangeDate(group.getLastChangeDate());
+
+            return toSCIMGroup(
+                    groupTO,
+                    StringUtils.appendIfMissing(location, "/") + group.getKey(),
+                    attributes,
+                    excludedAttributes);
+        }).collect(Collectors.toList());
+    }
+
     public static GroupTO toGroupTO(final SCIMGroup group) {
         if (!GROUP_SCHEMAS.equals(group.getSchemas())) {
             throw new BadRequestException(ErrorType.invalidValue);
@@ -27,23 +27,40 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.ws.rs.core.UriBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.scim.SCIMConf;
 import org.apache.syncope.common.lib.to.EntityTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.logic.scim.SCIMConfManager;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.ext.scimv2.api.data.AuthenticationScheme;
 import org.apache.syncope.ext.scimv2.api.data.BulkConfigurationOption;
 import org.apache.syncope.ext.scimv2.api.data.ConfigurationOption;
 import org.apache.syncope.ext.scimv2.api.data.FilterConfigurationOption;
 import org.apache.syncope.ext.scimv2.api.data.Meta;
 import org.apache.syncope.ext.scimv2.api.data.ResourceType;
+import org.apache.syncope.ext.scimv2.api.data.SCIMGroup;
+import org.apache.syncope.ext.scimv2.api.data.SCIMUser;
 import org.apache.syncope.ext.scimv2.api.data.SchemaExtension;
 import org.apache.syncope.ext.scimv2.api.data.ServiceProviderConfig;
 import org.apache.syncope.ext.scimv2.api.type.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class SCIMLogic extends AbstractLogic<EntityTO> {
@@ -65,6 +82,18 @@ public class SCIMLogic extends AbstractLogic<EntityTO> {
     @Autowired
     private SCIMConfManager confManager;
 
+    @Autowired
+    private SCIMDataBinder binder;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
     private void init() {
         try {
             ObjectMapper mapper = new ObjectMapper();
@@ -102,7 +131,7 @@ public class SCIMLogic extends AbstractLogic<EntityTO> {
                                 conf.getGeneralConf().getETagValue(),
                                 uriBuilder.build().toASCIIString()),
                         new ConfigurationOption(false),
-                        new BulkConfigurationOption(false,
+                        new BulkConfigurationOption(true,
                                 conf.getGeneralConf().getBulkMaxOperations(),
                                 conf.getGeneralConf().getBulkMaxPayloadSize()),
                         new FilterConfigurationOption(true, conf.getGeneralConf().getFilterMaxResults()),
@@ -189,6 +218,48 @@ public class SCIMLogic extends AbstractLogic<EntityTO> {
         return found;
     }
 
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    public Pair<Integer, List<SCIMUser>> searchUsers(
+            final SearchCond searchCond,
+            final int page, final int size, final List<OrderByClause> orderBy,
+            final String location,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
+
+        Set<String> adminRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.USER_SEARCH),
+                SyncopeConstants.ROOT_REALM);
+
+        SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
+
+        int count = searchDAO.count(adminRealms, effectiveCond, AnyTypeKind.USER);
+
+        List<User> matching = searchDAO.search(adminRealms, effectiveCond, page, size, orderBy, AnyTypeKind.USER);
+        return Pair.of(count, binder.toSCIMUsers(matching, location, attributes, excludedAttributes));
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_SEARCH + "')")
+    @Transactional(readOnly = true)
+    public Pair<Integer, List<SCIMGroup>> searchGroups(
+            final SearchCond searchCond,
+            final int page, final int size, final List<OrderByClause> orderBy,
+            final String location,
+            final List<String> attributes,
+            final List<String> excludedAttributes) {
+
+        Set<String> adminRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.GROUP_SEARCH),
+                SyncopeConstants.ROOT_REALM);
+
+        SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
+
+        int count = searchDAO.count(adminRealms, effectiveCond, AnyTypeKind.GROUP);
+
+        List<Group> matching = searchDAO.search(adminRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
+        return Pair.of(count, binder.toSCIMGroups(matching, location, attributes, excludedAttributes));
+    }
+
     @Override
     protected EntityTO resolveReference(final Method method, final Object... args)
             throws UnresolvedReferenceException {
@@ -20,7 +20,11 @@ package org.apache.syncope.core.logic.scim;
 
 import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.core.MediaType;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.lib.scim.SCIMConf;
 import org.apache.syncope.common.lib.scim.SCIMGeneralConf;
@@ -43,14 +47,30 @@ public class SCIMConfManager {
 
     protected static final Logger LOG = LoggerFactory.getLogger(SCIMConfManager.class);
 
+    /**
+     * How long a cached configuration is used before being read again: changes made via {@link #set(SCIMConf)}
+     * are visible at once on this node, changes made on other nodes within this delay.
+     */
+    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(1);
+
     @Autowired
     private ConfParamOps confParamOps;
 
     @Autowired
     private SchemaLogic schemaLogic;
 
+    /**
+     * Parsed configuration per domain, with the time it was read.
+     */
+    private final Map<String, Pair<Long, SCIMConf>> confs = new ConcurrentHashMap<>();
+
     @PreAuthorize("hasRole('" + SCIMEntitlement.SCIM_CONF_GET + "')")
     public SCIMConf get() {
+        Pair<Long, SCIMConf> cached = confs.get(AuthContextUtils.getDomain());
+        if (cached != null && System.currentTimeMillis() - cached.getLeft() < CACHE_TTL) {
+            return cached.getRight();
+        }
+
         SCIMConf conf = null;
         String confString = confParamOps.get(AuthContextUtils.getDomain(), SCIMConf.KEY, null, String.class);
         if (confString != null) {
@@ -63,6 +83,8 @@ public class SCIMConfManager {
         if (conf == null) {
             conf = new SCIMConf();
             set(conf);
+        } else {
+            confs.put(AuthContextUtils.getDomain(), Pair.of(System.currentTimeMillis(), conf));
         }
 
         return conf;
@@ -84,5 +106,6 @@ public class SCIMConfManager {
 
         confParamOps.set(AuthContextUtils.getDomain(),
                 SCIMConf.KEY, Base64.getEncoder().encodeToString(POJOHelper.serialize(conf).getBytes()));
+        confs.put(AuthContextUtils.getDomain(), Pair.of(System.currentTimeMillis(), conf));
     }
 }
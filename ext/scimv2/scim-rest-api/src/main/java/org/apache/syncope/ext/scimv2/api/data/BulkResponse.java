@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.scimv2.api.data;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.syncope.ext.scimv2.api.type.Resource;
+
+public class BulkResponse extends SCIMBean {
+
+    private static final long serialVersionUID = 2340569478103683373L;
+
+    private final List<String> schemas = List.of(Resource.BulkResponse.schema());
+
+    @JsonProperty("Operations")
+    private final List<BulkOperationResult> operations = new ArrayList<>();
+
+    public List<String> getSchemas() {
+        return schemas;
+    }
+
+    public List<BulkOperationResult> getOperations() {
+        return operations;
+    }
+
+}
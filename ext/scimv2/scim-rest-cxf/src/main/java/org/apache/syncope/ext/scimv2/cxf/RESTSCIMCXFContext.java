@@ -20,7 +20,7 @@ package org.apache.syncope.ext.scimv2.cxf;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Executor;
 import org.apache.cxf.Bus;
 import org.apache.cxf.endpoint.Server;
 import org.apache.cxf.jaxrs.spring.JAXRSServerFactoryBeanDefinitionParser.SpringJAXRSServerFactoryBean;
@@ -32,6 +32,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @ComponentScan("org.apache.syncope.ext.scimv2.cxf.service")
 @Configuration
@@ -58,6 +59,23 @@ public class RESTSCIMCXFContext {
         return new AddETagFilter();
     }
 
+    /**
+     * Used by {@link org.apache.syncope.ext.scimv2.cxf.service.BulkServiceImpl} to run independent operations
+     * concurrently; operations submitted when the queue is full are reported as failed.
+     *
+     * @return executor
+     */
+    @Bean
+    public Executor scimBulkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(10);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("SCIMBulk-");
+        executor.initialize();
+        return executor;
+    }
+
     @Bean
     public Server scimv2Container() {
         SpringJAXRSServerFactoryBean scimv2Container = new SpringJAXRSServerFactoryBean();
@@ -19,7 +19,10 @@
 package org.apache.syncope.ext.scimv2.cxf.service;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
@@ -28,13 +31,18 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.apache.syncope.common.lib.AnyOperations;
 import org.apache.syncope.common.lib.SyncopeConstants;
-import org.apache.syncope.common.lib.to.AnyTO;
+import org.apache.syncope.common.lib.request.MembershipUR;
+import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.EntityTO;
 import org.apache.syncope.common.lib.to.GroupTO;
-import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.to.ProvisioningResult;
+import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.core.logic.AbstractAnyLogic;
 import org.apache.syncope.core.logic.GroupLogic;
 import org.apache.syncope.core.logic.SCIMDataBinder;
+import org.apache.syncope.core.logic.SCIMLogic;
 import org.apache.syncope.core.logic.UserLogic;
 import org.apache.syncope.core.logic.scim.SCIMConfManager;
 import org.apache.syncope.core.logic.scim.SearchCondConverter;
@@ -43,10 +51,13 @@ import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.ext.scimv2.api.BadRequestException;
 import org.apache.syncope.ext.scimv2.api.data.ListResponse;
+import org.apache.syncope.ext.scimv2.api.data.SCIMGroup;
 import org.apache.syncope.ext.scimv2.api.data.SCIMResource;
 import org.apache.syncope.ext.scimv2.api.data.SCIMSearchRequest;
 import org.apache.syncope.ext.scimv2.api.type.ErrorType;
@@ -77,6 +88,8 @@ abstract class AbstractService<R extends SCIMResource> {
 
     private SCIMConfManager confManager;
 
+    private SCIMLogic scimLogic;
+
     protected UserDAO userDAO() {
         synchronized (this) {
             if (userDAO == null) {
@@ -122,6 +135,15 @@ abstract class AbstractService<R extends SCIMResource> {
         return binder;
     }
 
+    protected SCIMLogic scimLogic() {
+        synchronized (this) {
+            if (scimLogic == null) {
+                scimLogic = ApplicationContextProvider.getApplicationContext().getBean(SCIMLogic.class);
+            }
+        }
+        return scimLogic;
+    }
+
     protected AnyDAO<?> anyDAO(final Resource type) {
         switch (type) {
             case User:
@@ -157,6 +179,85 @@ abstract class AbstractService<R extends SCIMResource> {
         return confManager;
     }
 
+    protected ProvisioningResult<GroupTO> doCreateGroup(final SCIMGroup group) {
+        // first create group, no members assigned
+        ProvisioningResult<GroupTO> result = groupLogic().create(SCIMDataBinder.toGroupCR(group), false);
+
+        // then assign members
+        group.getMembers().forEach(member -> {
+            UserUR req = new UserUR.Builder(member.getValue()).
+                    membership(new MembershipUR.Builder(result.getEntity().getKey()).
+                            operation(PatchOperation.ADD_REPLACE).build()).
+                    build();
+            try {
+                userLogic().update(req, false);
+            } catch (Exception e) {
+                LOG.error("While setting membership of {} to {}", result.getEntity().getKey(), member.getValue(), e);
+            }
+        });
+
+        return result;
+    }
+
+    protected ProvisioningResult<GroupTO> doReplaceGroup(final String id, final SCIMGroup group) {
+        // save current group members
+        Set<String> beforeMembers = new HashSet<>();
+
+        MembershipCond membCond = new MembershipCond();
+        membCond.setGroup(id);
+        SearchCond searchCond = SearchCond.getLeaf(membCond);
+        int count = userLogic().search(searchCond,
+                1, 1, List.of(),
+                SyncopeConstants.ROOT_REALM, false).getLeft();
+        for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
+            beforeMembers.addAll(userLogic().search(
+                    searchCond,
+                    page,
+                    AnyDAO.DEFAULT_PAGE_SIZE,
+                    List.of(),
+                    SyncopeConstants.ROOT_REALM,
+                    false).
+                    getRight().stream().map(EntityTO::getKey).collect(Collectors.toSet()));
+        }
+
+        // update group, don't change members
+        ProvisioningResult<GroupTO> result = groupLogic().update(
+                AnyOperations.diff(SCIMDataBinder.toGroupTO(group), groupLogic().read(id), false), false);
+
+        // assign new members
+        Set<String> afterMembers = new HashSet<>();
+        group.getMembers().forEach(member -> {
+            afterMembers.add(member.getValue());
+
+            if (!beforeMembers.contains(member.getValue())) {
+                UserUR req = new UserUR.Builder(member.getValue()).
+                        membership(new MembershipUR.Builder(result.getEntity().getKey()).
+                                operation(PatchOperation.ADD_REPLACE).build()).
+                        build();
+                try {
+                    userLogic().update(req, false);
+                } catch (Exception e) {
+                    LOG.error("While setting membership of {} to {}",
+                            result.getEntity().getKey(), member.getValue(), e);
+                }
+            }
+        });
+        // remove unconfirmed members
+        beforeMembers.stream().filter(member -> !afterMembers.contains(member)).forEach(user -> {
+            UserUR req = new UserUR.Builder(user).
+                    membership(new MembershipUR.Builder(result.getEntity().getKey()).
+                            operation(PatchOperation.DELETE).build()).
+                    build();
+            try {
+                userLogic().update(req, false);
+            } catch (Exception e) {
+                LOG.error("While removing membership of {} from {}", result.getEntity().getKey(), user, e);
+            }
+        });
+
+        return result;
+    }
+
     protected Response createResponse(final String key, final SCIMResource resource) {
         return Response.created(uriInfo.getAbsolutePathBuilder().path(key).build()).
                 entity(resource).
@@ -212,15 +313,28 @@ abstract class AbstractService<R extends SCIMResource> {
             sort = List.of(clause);
         }
 
-        Pair<Integer, ? extends List<? extends AnyTO>> result = anyLogic(type).search(
-                StringUtils.isBlank(request.getFilter())
+        SearchCond searchCond = StringUtils.isBlank(request.getFilter())
                 ? null
-                : SearchCondConverter.convert(visitor, request.getFilter()),
-                startIndex,
-                itemsPerPage,
-                sort,
-                SyncopeConstants.ROOT_REALM,
-                false);
+                : SearchCondConverter.convert(visitor, request.getFilter());
+        String location = uriInfo.getAbsolutePathBuilder().build().toASCIIString();
+
+        Pair<Integer, ? extends List<? extends SCIMResource>> result = type == Resource.User
+                ? scimLogic().searchUsers(
+                        searchCond,
+                        startIndex,
+                        itemsPerPage,
+                        sort,
+                        location,
+                        request.getAttributes(),
+                        request.getExcludedAttributes())
+                : scimLogic().searchGroups(
+                        searchCond,
+                        startIndex,
+                        itemsPerPage,
+                        sort,
+                        location,
+                        request.getAttributes(),
+                        request.getExcludedAttributes());
 
         if (result.getLeft() > confManager().get().getGeneralConf().getFilterMaxResults()) {
             throw new BadRequestException(ErrorType.tooMany, "Too many results found");
@@ -229,25 +343,7 @@ abstract class AbstractService<R extends SCIMResource> {
         ListResponse<R> response = new ListResponse<>(
                 result.getLeft(), startIndex == 1 ? 1 : startIndex - 1, itemsPerPage);
 
-        result.getRight().forEach(anyTO -> {
-            SCIMResource resource = null;
-            if (anyTO instanceof UserTO) {
-                resource = binder().toSCIMUser(
-                        (UserTO) anyTO,
-                        uriInfo.getAbsolutePathBuilder().path(anyTO.getKey()).build().toASCIIString(),
-                        request.getAttributes(),
-                        request.getExcludedAttributes());
-            } else if (anyTO instanceof GroupTO) {
-                resource = binder().toSCIMGroup((GroupTO) anyTO,
-                        uriInfo.getAbsolutePathBuilder().path(anyTO.getKey()).build().toASCIIString(),
-                        request.getAttributes(),
-                        request.getExcludedAttributes());
-            }
-
-            if (resource != null) {
-                response.getResources().add((R) resource);
-            }
-        });
+        result.getRight().forEach(resource -> response.getResources().add((R) resource));
 
         return response;
     }
@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.scimv2.cxf.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.syncope.common.lib.AnyOperations;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.scim.SCIMGeneralConf;
+import org.apache.syncope.common.lib.to.AnyTO;
+import org.apache.syncope.common.lib.to.ProvisioningResult;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperation;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperationResult;
+import org.apache.syncope.ext.scimv2.api.data.BulkRequest;
+import org.apache.syncope.ext.scimv2.api.data.SCIMError;
+import org.apache.syncope.ext.scimv2.api.data.SCIMGroup;
+import org.apache.syncope.ext.scimv2.api.data.SCIMResource;
+import org.apache.syncope.ext.scimv2.api.data.SCIMUser;
+import org.apache.syncope.ext.scimv2.api.service.BulkService;
+import org.apache.syncope.ext.scimv2.api.type.ErrorType;
+import org.apache.syncope.ext.scimv2.api.type.Resource;
+import org.apache.syncope.ext.scimv2.cxf.SCIMExceptionMapper;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class BulkServiceImpl extends AbstractService<SCIMResource> implements BulkService {
+
+    private static final Pattern PATH_PATTERN = Pattern.compile("^/(Users|Groups)(?:/([^/]+))?$");
+
+    private static final String BULK_ID_PREFIX = "bulkId:";
+
+    /**
+     * Maximum time to wait for the next operation result, while streaming the response.
+     */
+    private static final long RESULT_TIMEOUT_SECONDS = 300;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static {
+        SimpleDateFormat sdf = new SimpleDateFormat();
+        sdf.applyPattern(SyncopeConstants.DEFAULT_DATE_PATTERN);
+        MAPPER.setDateFormat(sdf);
+    }
+
+    /**
+     * Parsed view of a {@link BulkOperation}, with the set of operations it depends on.
+     */
+    private static class Op {
+
+        private final int index;
+
+        private final BulkOperation operation;
+
+        private final Resource type;
+
+        private final String id;
+
+        private final Set<Op> dependencies = new HashSet<>();
+
+        private SCIMError invalid;
+
+        Op(final int index, final BulkOperation operation) {
+            this.index = index;
+            this.operation = operation;
+
+            Matcher matcher = PATH_PATTERN.matcher(StringUtils.defaultString(operation.getPath()));
+            if (matcher.matches()) {
+                this.type = "Users".equals(matcher.group(1)) ? Resource.User : Resource.Group;
+                this.id = matcher.group(2);
+            } else {
+                this.type = null;
+                this.id = null;
+                this.invalid = new SCIMError(ErrorType.invalidPath,
+                        Response.Status.BAD_REQUEST.getStatusCode(), "Invalid path: " + operation.getPath());
+            }
+        }
+    }
+
+    private Executor executor;
+
+    protected Executor executor() {
+        synchronized (this) {
+            if (executor == null) {
+                executor = ApplicationContextProvider.getApplicationContext().
+                        getBean("scimBulkExecutor", Executor.class);
+            }
+        }
+        return executor;
+    }
+
+    private static void collectBulkIds(final Object value, final Set<String> bulkIds) {
+        if (value instanceof String) {
+            if (((String) value).startsWith(BULK_ID_PREFIX)) {
+                bulkIds.add(StringUtils.substringAfter((String) value, BULK_ID_PREFIX));
+            }
+        } else if (value instanceof Map) {
+            ((Map<?, ?>) value).values().forEach(item -> collectBulkIds(item, bulkIds));
+        } else if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(item -> collectBulkIds(item, bulkIds));
+        }
+    }
+
+    private static Object resolveBulkIds(final Object value, final Map<String, String> created) {
+        if (value instanceof String) {
+            return ((String) value).startsWith(BULK_ID_PREFIX)
+                    ? created.get(StringUtils.substringAfter((String) value, BULK_ID_PREFIX))
+                    : value;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> resolved = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> resolved.put(key, resolveBulkIds(item, created)));
+            return resolved;
+        }
+        if (value instanceof Collection) {
+            List<Object> resolved = new ArrayList<>();
+            ((Collection<?>) value).forEach(item -> resolved.add(resolveBulkIds(item, created)));
+            return resolved;
+        }
+        return value;
+    }
+
+    private static boolean inCycle(final Op op, final Set<Op> visiting, final Set<Op> visited) {
+        if (visiting.contains(op)) {
+            return true;
+        }
+        if (visited.contains(op)) {
+            return false;
+        }
+
+        visiting.add(op);
+        boolean cycle = op.dependencies.stream().anyMatch(dep -> inCycle(dep, visiting, visited));
+        visiting.remove(op);
+        visited.add(op);
+        return cycle;
+    }
+
+    private static SCIMError error(final Response.Status status, final ErrorType scimType, final String detail) {
+        return new SCIMError(scimType, status.getStatusCode(), detail);
+    }
+
+    private static BulkOperationResult failure(final Op op, final SCIMError error) {
+        return new BulkOperationResult(
+                null,
+                op.operation.getMethod(),
+                op.operation.getBulkId(),
+                null,
+                error.getStatus(),
+                error);
+    }
+
+    private static BulkOperationResult failure(final Op op, final Exception e) {
+        Response response = new SCIMExceptionMapper().toResponse(e);
+        if (response == null) {
+            return failure(op, error(Response.Status.FORBIDDEN, null, ExceptionUtils.getRootCauseMessage(e)));
+        }
+        return failure(op, response.getEntity() instanceof SCIMError
+                ? (SCIMError) response.getEntity()
+                : new SCIMError(null, response.getStatus(), String.valueOf(response.getEntity())));
+    }
+
+    private static String version(final AnyTO anyTO) {
+        return new EntityTag(String.valueOf(Optional.ofNullable(anyTO.getLastChangeDate()).
+                orElse(anyTO.getCreationDate()).getTime()), true).toString();
+    }
+
+    /**
+     * Parses the given operations and computes their dependencies: explicit via {@code bulkId} references, and
+     * implicit between operations targeting the same resource, which are kept in request order.
+     *
+     * @param operations bulk operations
+     * @return parsed operations
+     */
+    private static List<Op> plan(final List<BulkOperation> operations) {
+        List<Op> ops = new ArrayList<>(operations.size());
+        Map<String, Op> byBulkId = new HashMap<>();
+        Map<String, Op> lastByTarget = new HashMap<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            Op op = new Op(i, operations.get(i));
+            ops.add(op);
+
+            if (op.operation.getBulkId() != null && byBulkId.putIfAbsent(op.operation.getBulkId(), op) != null) {
+                op.invalid = error(Response.Status.BAD_REQUEST, ErrorType.uniqueness,
+                        "Duplicate bulkId: " + op.operation.getBulkId());
+            }
+        }
+
+        for (Op op : ops) {
+            if (op.invalid != null) {
+                continue;
+            }
+
+            Set<String> bulkIds = new HashSet<>();
+            collectBulkIds(op.id, bulkIds);
+            collectBulkIds(op.operation.getData(), bulkIds);
+            for (String bulkId : bulkIds) {
+                Op dep = byBulkId.get(bulkId);
+                if (dep == null) {
+                    op.invalid = error(Response.Status.CONFLICT, ErrorType.invalidValue,
+                            "Unknown bulkId: " + bulkId);
+                } else {
+                    op.dependencies.add(dep);
+                }
+            }
+
+            if (op.id != null) {
+                Op previous = lastByTarget.put(op.id, op);
+                if (previous != null) {
+                    op.dependencies.add(previous);
+                }
+            }
+        }
+
+        ops.stream().filter(op -> op.invalid == null && inCycle(op, new HashSet<>(), new HashSet<>())).
+                forEach(op -> op.invalid = error(Response.Status.CONFLICT, ErrorType.invalidValue,
+                "Circular bulkId reference"));
+
+        return ops;
+    }
+
+    private BulkOperationResult execute(
+            final Op op,
+            final Map<String, String> created,
+            final String base) {
+
+        String id = op.id != null && op.id.startsWith(BULK_ID_PREFIX)
+                ? created.get(StringUtils.substringAfter(op.id, BULK_ID_PREFIX))
+                : op.id;
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = op.operation.getData() == null
+                ? new LinkedHashMap<>()
+                : (Map<String, Object>) resolveBulkIds(op.operation.getData(), created);
+
+        String method = StringUtils.upperCase(op.operation.getMethod());
+        if (!HttpMethod.POST.equals(method) && id == null) {
+            return failure(op, error(Response.Status.BAD_REQUEST, ErrorType.invalidPath,
+                    "Missing resource id in path: " + op.operation.getPath()));
+        }
+        if ((HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method))
+                && op.operation.getVersion() != null) {
+
+            Date lastChange = anyDAO(op.type).findLastChange(id);
+            if (lastChange == null) {
+                throw new NotFoundException("Resource " + id + " not found");
+            }
+            if (!String.valueOf(lastChange.getTime()).equals(EntityTag.valueOf(op.operation.getVersion()).getValue())) {
+                return failure(op, error(Response.Status.PRECONDITION_FAILED, ErrorType.invalidVers,
+                        "Version mismatch for " + id));
+            }
+        }
+
+        String location = base + "/" + (op.type == Resource.User ? "Users" : "Groups") + "/";
+
+        AnyTO result;
+        Response.Status status;
+        switch (StringUtils.defaultString(method)) {
+            case HttpMethod.POST:
+                if (op.type == Resource.User) {
+                    result = userLogic().create(
+                            binder().toUserCR(MAPPER.convertValue(data, SCIMUser.class)), false).getEntity();
+                } else {
+                    result = doCreateGroup(MAPPER.convertValue(data, SCIMGroup.class)).getEntity();
+                }
+                status = Response.Status.CREATED;
+                break;
+
+            case HttpMethod.PUT:
+                data.put("id", id);
+                if (op.type == Resource.User) {
+                    ProvisioningResult<UserTO> updated = userLogic().update(AnyOperations.diff(
+                            binder().toUserTO(MAPPER.convertValue(data, SCIMUser.class)),
+                            userLogic().read(id),
+                            false), false);
+                    result = updated.getEntity();
+                } else {
+                    result = doReplaceGroup(id, MAPPER.convertValue(data, SCIMGroup.class)).getEntity();
+                }
+                status = Response.Status.OK;
+                break;
+
+            case HttpMethod.DELETE:
+                anyLogic(op.type).delete(id, false);
+                return new BulkOperationResult(
+                        location + id,
+                        op.operation.getMethod(),
+                        op.operation.getBulkId(),
+                        null,
+                        Response.Status.NO_CONTENT.getStatusCode(),
+                        null);
+
+            default:
+                return failure(op, error(Response.Status.NOT_IMPLEMENTED, null,
+                        "Unsupported method: " + op.operation.getMethod()));
+        }
+
+        if (op.operation.getBulkId() != null) {
+            created.put(op.operation.getBulkId(), result.getKey());
+        }
+
+        return new BulkOperationResult(
+                location + result.getKey(),
+                op.operation.getMethod(),
+                op.operation.getBulkId(),
+                version(result),
+                status.getStatusCode(),
+                null);
+    }
+
+    @Override
+    public Response bulk(final BulkRequest request) {
+        SCIMGeneralConf conf = confManager().get().getGeneralConf();
+
+        if (request.getOperations().size() > conf.getBulkMaxOperations()) {
+            return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).
+                    entity(error(Response.Status.REQUEST_ENTITY_TOO_LARGE, ErrorType.tooMany,
+                            "The number of operations exceeds " + conf.getBulkMaxOperations())).
+                    build();
+        }
+        String contentLength = messageContext.getHttpHeaders().getHeaderString(HttpHeaders.CONTENT_LENGTH);
+        if (StringUtils.isNumeric(contentLength) && Long.parseLong(contentLength) > conf.getBulkMaxPayloadSize()) {
+            return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).
+                    entity(error(Response.Status.REQUEST_ENTITY_TOO_LARGE, ErrorType.tooMany,
+                            "The size of the bulk operation exceeds " + conf.getBulkMaxPayloadSize())).
+                    build();
+        }
+
+        // request-bound information, not available from worker threads
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String base = uriInfo.getBaseUriBuilder().path("v2").build().toASCIIString();
+
+        List<Op> ops = plan(request.getOperations());
+
+        Map<String, String> created = new ConcurrentHashMap<>();
+        AtomicInteger errors = new AtomicInteger(0);
+        BlockingQueue<Optional<BulkOperationResult>> results = new LinkedBlockingQueue<>();
+
+        Map<Op, CompletableFuture<Boolean>> futures = new ConcurrentHashMap<>();
+        for (Op op : ops) {
+            schedule(op, futures, request.getFailOnErrors(), errors, created, base, authentication, results);
+        }
+
+        StreamingOutput sout = os -> {
+            try (JsonGenerator generator = MAPPER.getFactory().createGenerator(os, JsonEncoding.UTF8)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("schemas");
+                generator.writeString(Resource.BulkResponse.schema());
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("Operations");
+
+                for (int i = 0; i < ops.size(); i++) {
+                    Optional<BulkOperationResult> result = results.poll(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    if (result == null) {
+                        LOG.error("No bulk operation result after {}s, {} result(s) missing",
+                                RESULT_TIMEOUT_SECONDS, ops.size() - i);
+                        break;
+                    }
+                    if (result.isPresent()) {
+                        MAPPER.writeValue(generator, result.get());
+                        generator.flush();
+                    }
+                }
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.error("Interrupted while waiting for bulk operations to complete", e);
+            }
+        };
+        return Response.ok(sout).build();
+    }
+
+    private CompletableFuture<Boolean> schedule(
+            final Op op,
+            final Map<Op, CompletableFuture<Boolean>> futures,
+            final Integer failOnErrors,
+            final AtomicInteger errors,
+            final Map<String, String> created,
+            final String base,
+            final Authentication authentication,
+            final BlockingQueue<Optional<BulkOperationResult>> results) {
+
+        CompletableFuture<Boolean> future = futures.get(op);
+        if (future != null) {
+            return future;
+        }
+
+        if (op.invalid != null) {
+            errors.incrementAndGet();
+            results.add(Optional.of(failure(op, op.invalid)));
+            future = CompletableFuture.completedFuture(false);
+            futures.put(op, future);
+            return future;
+        }
+
+        CompletableFuture<?>[] deps = op.dependencies.stream().
+                map(dep -> schedule(dep, futures, failOnErrors, errors, created, base, authentication, results)).
+                toArray(CompletableFuture[]::new);
+
+        // results are always enqueued, even when the operation could not run, or the streaming output would hang
+        future = CompletableFuture.allOf(deps).handleAsync((ignore, depFailure) -> {
+            if (failOnErrors != null && failOnErrors > 0 && errors.get() >= failOnErrors) {
+                return Optional.<BulkOperationResult>empty();
+            }
+
+            if (depFailure != null || op.dependencies.stream().anyMatch(dep -> !futures.get(dep).join())) {
+                return Optional.of(failure(op, error(Response.Status.CONFLICT, ErrorType.invalidValue,
+                        "Operation depends on a failed operation")));
+            }
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                return Optional.of(execute(op, created, base));
+            } catch (Exception e) {
+                LOG.error("While executing bulk operation #{}", op.index, e);
+                return Optional.of(failure(op, e));
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }, executor()).handle((result, thrown) -> {
+            Optional<BulkOperationResult> actual = result;
+            if (thrown != null) {
+                LOG.error("Could not execute bulk operation #{}", op.index, thrown);
+                actual = Optional.of(failure(op, error(
+                        thrown.getCause() instanceof RejectedExecutionException
+                        ? Response.Status.SERVICE_UNAVAILABLE
+                        : Response.Status.INTERNAL_SERVER_ERROR,
+                        null,
+                        ExceptionUtils.getRootCauseMessage(thrown))));
+            }
+
+            boolean success = actual.map(r -> r.getResponse() == null).orElse(false);
+            if (actual.isPresent() && !success) {
+                errors.incrementAndGet();
+            }
+            results.add(actual);
+            return success;
+        });
+        futures.put(op, future);
+        return future;
+    }
+}
@@ -21,7 +21,6 @@ package org.apache.syncope.ext.scimv2.cxf.service;
 import java.util.List;
 import javax.ws.rs.core.Response;
 import org.apache.syncope.core.logic.SCIMLogic;
-import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.ext.scimv2.api.data.ResourceType;
 import org.apache.syncope.ext.scimv2.api.data.SCIMResource;
 import org.apache.syncope.ext.scimv2.api.data.ServiceProviderConfig;
@@ -29,17 +28,6 @@ import org.apache.syncope.ext.scimv2.api.service.SCIMService;
 
 public class SCIMServiceImpl extends AbstractService<SCIMResource> implements SCIMService {
 
-    private SCIMLogic scimLogic;
-
-    private SCIMLogic scimLogic() {
-        synchronized (this) {
-            if (scimLogic == null) {
-                scimLogic = ApplicationContextProvider.getApplicationContext().getBean(SCIMLogic.class);
-            }
-        }
-        return scimLogic;
-    }
-
     @Override
     public ServiceProviderConfig serviceProviderConfig() {
         return scimLogic().serviceProviderConfig(uriInfo.getAbsolutePathBuilder());
@@ -34,6 +34,7 @@ import org.apache.syncope.common.lib.policy.HaveIBeenPwnedPasswordRuleConf;
 import org.apache.syncope.common.lib.policy.PasswordRuleConf;
 import org.apache.syncope.common.lib.policy.PullCorrelationRuleConf;
 import org.apache.syncope.common.lib.policy.PushCorrelationRuleConf;
+import org.apache.syncope.common.lib.policy.PwnedPasswordIndexRuleConf;
 import org.apache.syncope.common.lib.report.AuditReportletConf;
 import org.apache.syncope.common.lib.report.GroupReportletConf;
 import org.apache.syncope.common.lib.report.ReconciliationReportletConf;
@@ -74,6 +75,7 @@ import org.apache.syncope.core.provisioning.java.pushpull.LDAPPasswordPullAction
 import org.apache.syncope.core.spring.policy.DefaultAccountRule;
 import org.apache.syncope.core.spring.policy.DefaultPasswordRule;
 import org.apache.syncope.core.spring.policy.HaveIBeenPwnedPasswordRule;
+import org.apache.syncope.core.spring.policy.PwnedPasswordIndexRule;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.SyncopeJWTSSOProvider;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
@@ -122,6 +124,7 @@ public class ITImplementationLookup implements ImplementationLookup {
             put(TestPasswordRuleConf.class, TestPasswordRule.class);
             put(DefaultPasswordRuleConf.class, DefaultPasswordRule.class);
             put(HaveIBeenPwnedPasswordRuleConf.class, HaveIBeenPwnedPasswordRule.class);
+            put(PwnedPasswordIndexRuleConf.class, PwnedPasswordIndexRule.class);
         }
     };
 
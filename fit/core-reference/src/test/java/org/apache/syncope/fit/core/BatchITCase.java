@@ -340,4 +340,32 @@ public class BatchITCase extends AbstractITCase {
         response = batchResponse.poll();
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
     }
+
+    @Test
+    public void syncopeClientParallel() throws IOException {
+        BatchRequest batchRequest = adminClient.batch();
+
+        UserService batchUserService = batchRequest.getService(UserService.class);
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UserCR userCR = UserITCase.getUniqueSample("parallel@syncope.apache.org");
+            usernames.add(userCR.getUsername());
+            batchUserService.create(userCR);
+        }
+
+        BatchResponse batchResponse = batchRequest.commit(false, 4);
+        assertEquals(Response.Status.OK.getStatusCode(), batchResponse.getResponse().getStatus());
+
+        List<BatchResponseItem> resItems = batchResponse.getItems();
+        assertEquals(usernames.size(), resItems.size());
+        for (int i = 0; i < usernames.size(); i++) {
+            assertEquals(Response.Status.CREATED.getStatusCode(), resItems.get(i).getStatus());
+
+            // responses are expected in request order, regardless of the order of completion
+            ProvisioningResult<UserTO> user = OBJECT_MAPPER.readValue(
+                    resItems.get(i).getContent(), new TypeReference<ProvisioningResult<UserTO>>() {
+            });
+            assertEquals(usernames.get(i), user.getEntity().getUsername());
+        }
+    }
 }
@@ -195,7 +195,7 @@ public class RESTITCase extends AbstractITCase {
 
     @Test
     public void exportInternalStorageContent() throws IOException {
-        Response response = syncopeService.exportInternalStorageContent();
+        Response response = syncopeService.exportInternalStorageContent(0);
         assertNotNull(response);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatusInfo().getStatusCode());
         assertTrue(response.getMediaType().toString().startsWith(MediaType.TEXT_XML));
@@ -207,5 +207,11 @@ public class RESTITCase extends AbstractITCase {
         String configExport = IOUtils.toString((InputStream) entity, StandardCharsets.UTF_8.name());
         assertFalse(configExport.isEmpty());
         assertTrue(configExport.length() > 1000);
+
+        String partialExport = IOUtils.toString(
+                (InputStream) syncopeService.exportInternalStorageContent(1).getEntity(),
+                StandardCharsets.UTF_8.name());
+        assertTrue(partialExport.length() < configExport.length());
+        assertTrue(partialExport.trim().endsWith("</dataset>"));
     }
 }
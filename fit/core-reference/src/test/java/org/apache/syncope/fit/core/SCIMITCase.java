@@ -32,7 +32,10 @@ import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
@@ -47,6 +50,10 @@ import org.apache.syncope.common.lib.scim.types.EmailCanonicalType;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.ext.scimv2.api.SCIMConstants;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperation;
+import org.apache.syncope.ext.scimv2.api.data.BulkOperationResult;
+import org.apache.syncope.ext.scimv2.api.data.BulkRequest;
+import org.apache.syncope.ext.scimv2.api.data.BulkResponse;
 import org.apache.syncope.ext.scimv2.api.data.Group;
 import org.apache.syncope.ext.scimv2.api.data.ListResponse;
 import org.apache.syncope.ext.scimv2.api.data.Member;
@@ -139,7 +146,7 @@ public class SCIMITCase extends AbstractITCase {
         ServiceProviderConfig serviceProviderConfig = response.readEntity(ServiceProviderConfig.class);
         assertNotNull(serviceProviderConfig);
         assertFalse(serviceProviderConfig.getPatch().isSupported());
-        assertFalse(serviceProviderConfig.getBulk().isSupported());
+        assertTrue(serviceProviderConfig.getBulk().isSupported());
         assertTrue(serviceProviderConfig.getChangePassword().isSupported());
         assertTrue(serviceProviderConfig.getEtag().isSupported());
         assertTrue(serviceProviderConfig.getSort().isSupported());
@@ -513,4 +520,43 @@ public class SCIMITCase extends AbstractITCase {
         response = webClient().path("Groups").path(group.getId()).get();
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
     }
+
+    @Test
+    public void bulk() {
+        scimConfService.set(CONF);
+
+        SCIMGroup group = new SCIMGroup(null, null, UUID.randomUUID().toString());
+        group.getMembers().add(new Member("bulkId:user", null, null));
+
+        SCIMUser user = getSampleUser(UUID.randomUUID().toString());
+
+        BulkRequest request = new BulkRequest(null);
+        // listed first, but executed after the user it refers to
+        request.getOperations().add(new BulkOperation(
+                "POST", "group", null, "/Groups", OBJECT_MAPPER.convertValue(group, Map.class)));
+        request.getOperations().add(new BulkOperation(
+                "POST", "user", null, "/Users", OBJECT_MAPPER.convertValue(user, Map.class)));
+        request.getOperations().add(new BulkOperation(
+                "POST", "missing", null, "/Groups", Map.of(
+                        "displayName", UUID.randomUUID().toString(),
+                        "members", List.of(Map.of("value", "bulkId:none")))));
+
+        Response response = webClient().path("Bulk").post(request);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        Map<String, BulkOperationResult> results = response.readEntity(BulkResponse.class).getOperations().stream().
+                collect(Collectors.toMap(BulkOperationResult::getBulkId, Function.identity()));
+        assertEquals(3, results.size());
+
+        assertEquals(Response.Status.CREATED.getStatusCode(), results.get("user").getStatus());
+        assertNotNull(results.get("user").getVersion());
+        String userKey = StringUtils.substringAfterLast(results.get("user").getLocation(), "/");
+
+        assertEquals(Response.Status.CREATED.getStatusCode(), results.get("group").getStatus());
+        String groupKey = StringUtils.substringAfterLast(results.get("group").getLocation(), "/");
+        assertEquals(groupKey, userService.read(userKey).getMemberships().get(0).getGroupKey());
+
+        assertEquals(Response.Status.CONFLICT.getStatusCode(), results.get("missing").getStatus());
+        assertNotNull(results.get("missing").getResponse());
+    }
 }
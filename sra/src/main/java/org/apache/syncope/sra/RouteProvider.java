@@ -20,8 +20,12 @@ package org.apache.syncope.sra;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -97,6 +101,9 @@ import org.springframework.cloud.gateway.filter.factory.MapRequestHeaderGatewayF
 import org.springframework.cloud.gateway.filter.factory.RewriteLocationResponseHeaderGatewayFilterFactory;
 import org.springframework.cloud.gateway.filter.factory.SetRequestHostHeaderGatewayFilterFactory;
 import org.springframework.cloud.gateway.handler.predicate.WeightRoutePredicateFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Component
 public class RouteProvider {
@@ -120,7 +127,23 @@ public class RouteProvider {
 
     private SyncopeClient client;
 
-    private final List<SRARouteTO> routeTOs = new ArrayList<>();
+    /**
+     * Immutable snapshot of the routes last fetched from Core, as sent and as built, indexed by key; replaced as a
+     * whole on each refresh.
+     */
+    private static final class Routes {
+
+        private final Map<String, SRARouteTO> routeTOs;
+
+        private final Map<String, Route> routes;
+
+        Routes(final Map<String, SRARouteTO> routeTOs, final Map<String, Route> routes) {
+            this.routeTOs = Collections.unmodifiableMap(routeTOs);
+            this.routes = Collections.unmodifiableMap(routes);
+        }
+    }
+
+    private volatile Routes current = new Routes(Map.of(), Map.of());
 
     @SuppressWarnings("unchecked")
     private GatewayFilter toFilter(final SRARouteTO route, final SRARouteFilter gwfilter)
@@ -553,7 +576,7 @@ public class RouteProvider {
         return builder;
     }
 
-    public List<Route.AsyncBuilder> fetch() {
+    private List<SRARouteTO> list() {
         synchronized (this) {
             if (client == null) {
                 try {
@@ -562,21 +585,69 @@ public class RouteProvider {
                             setUseCompression(useGZIPCompression).
                             create(new AnonymousAuthenticationHandler(anonymousUser, anonymousKey));
                 } catch (Exception e) {
-                    LOG.error("Could not init SyncopeClient", e);
-                    return List.of();
+                    throw new IllegalStateException("Could not init SyncopeClient", e);
                 }
             }
         }
 
-        synchronized (routeTOs) {
-            routeTOs.clear();
-            routeTOs.addAll(client.getService(SRARouteService.class).list());
+        return client.getService(SRARouteService.class).list();
+    }
+
+    private synchronized List<Route> refresh(final List<SRARouteTO> routeTOs) {
+        Routes previous = current;
+
+        Map<String, SRARouteTO> newRouteTOs = new LinkedHashMap<>(routeTOs.size());
+        Map<String, Route> newRoutes = new LinkedHashMap<>(routeTOs.size());
+        int rebuilt = 0;
+        for (SRARouteTO routeTO : routeTOs) {
+            newRouteTOs.put(routeTO.getKey(), routeTO);
+
+            Route route = routeTO.equals(previous.routeTOs.get(routeTO.getKey()))
+                    ? previous.routes.get(routeTO.getKey())
+                    : null;
+            if (route == null) {
+                try {
+                    route = toRoute(routeTO).build();
+                    rebuilt++;
+                } catch (Exception e) {
+                    LOG.error("Could not build {}, skipping", routeTO, e);
+                }
+            }
+            if (route != null) {
+                newRoutes.put(routeTO.getKey(), route);
+            }
         }
 
-        return routeTOs.stream().map(this::toRoute).collect(Collectors.toList());
+        current = new Routes(newRouteTOs, newRoutes);
+        LOG.debug("Fetched {} routes: {} built, {} removed",
+                newRouteTOs.size(), rebuilt,
+                previous.routeTOs.keySet().stream().filter(key -> !newRouteTOs.containsKey(key)).count());
+
+        return new ArrayList<>(newRoutes.values());
+    }
+
+    /**
+     * Fetches routes from Core without blocking the calling thread; only routes which were changed since the last
+     * invocation are built again. If Core cannot be reached, the routes currently known are returned.
+     *
+     * @return routes
+     */
+    public Flux<Route> fetch() {
+        return Mono.fromCallable(this::list).
+                subscribeOn(Schedulers.boundedElastic()).
+                map(this::refresh).
+                onErrorResume(e -> {
+                    LOG.error("Could not fetch routes, keeping current", e);
+                    return Mono.just(new ArrayList<>(current.routes.values()));
+                }).
+                flatMapMany(Flux::fromIterable);
     }
 
     public List<SRARouteTO> getRouteTOs() {
-        return routeTOs;
+        return new ArrayList<>(current.routeTOs.values());
+    }
+
+    public Optional<SRARouteTO> getRouteTO(final String key) {
+        return Optional.ofNullable(current.routeTOs.get(key));
     }
 }
@@ -18,19 +18,29 @@
  */
 package org.apache.syncope.sra;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import org.apache.syncope.sra.session.CacheManagerReactiveSessionRepository;
+import org.apache.syncope.sra.session.ExpiringSessionCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.session.MapSession;
 import org.springframework.session.ReactiveSessionRepository;
 import org.springframework.session.config.annotation.web.server.EnableSpringWebSession;
 
+/**
+ * Sessions are stored in the {@link #DEFAULT_CACHE} cache of the available {@link CacheManager}: by default this is
+ * a local, bounded and expiring {@link ExpiringSessionCache}; a {@link CacheManager} bean backed by a shared store
+ * can be defined instead, in order to share sessions among several SRA instances.
+ */
 @Configuration
 @EnableCaching
 @EnableSpringWebSession
@@ -38,17 +48,38 @@ public class SessionConfig {
 
     public static final String DEFAULT_CACHE = "default";
 
+    @Autowired
+    private Environment env;
+
+    private Duration maxInactiveInterval() {
+        return Duration.ofSeconds(env.getProperty(
+                "session.maxInactiveInterval", Long.class, (long) MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public ReactiveSessionRepository<MapSession> reactiveSessionRepository() {
-        return new CacheManagerReactiveSessionRepository();
+        return new CacheManagerReactiveSessionRepository(maxInactiveInterval());
     }
 
     @ConditionalOnMissingBean
     @Bean
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(List.of(new ConcurrentMapCache(DEFAULT_CACHE)));
+        cacheManager.setCaches(List.of(new ExpiringSessionCache(
+                DEFAULT_CACHE,
+                env.getProperty("session.cache.maxEntries", Integer.class, 100000),
+                Duration.ofSeconds(env.getProperty("session.cache.timeToLive", Long.class, 0L)),
+                maxInactiveInterval(),
+                env.getProperty("session.cache.storage", ExpiringSessionCache.Storage.class,
+                        ExpiringSessionCache.Storage.HEAP))));
         return cacheManager;
     }
+
+    @Bean
+    public MeterBinder sessionCacheMetrics(final CacheManager cacheManager) {
+        return registry -> Optional.ofNullable(cacheManager.getCache(DEFAULT_CACHE)).
+                filter(MeterBinder.class::isInstance).
+                ifPresent(cache -> ((MeterBinder) cache).bindTo(registry));
+    }
 }
@@ -24,11 +24,9 @@ import org.apache.syncope.common.keymaster.client.api.startstop.KeymasterStop;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
-import reactor.core.publisher.Flux;
 
 @PropertySource("classpath:sra.properties")
 @PropertySource(value = "file:${conf.directory}/sra.properties", ignoreResourceNotFound = true)
@@ -44,7 +42,7 @@ public class SyncopeSRAApplication {
 
     @Bean
     public RouteLocator routes() {
-        return () -> Flux.fromIterable(provider.fetch()).map(Route.AbstractBuilder::build);
+        return provider::fetch;
     }
 
     @Bean
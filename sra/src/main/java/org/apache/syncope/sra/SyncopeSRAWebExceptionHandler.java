@@ -22,9 +22,6 @@ import io.netty.channel.unix.Errors.NativeIoException;
 import java.net.ConnectException;
 import java.net.URI;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.to.SRARouteTO;
 import org.apache.syncope.common.rest.api.RESTHeaders;
@@ -32,10 +29,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.support.NotFoundException;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
-import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -50,40 +45,23 @@ import reactor.core.publisher.Mono;
 
 @Component
 @Order(-2)
-public class SyncopeSRAWebExceptionHandler implements WebExceptionHandler, ApplicationListener<RefreshRoutesEvent> {
+public class SyncopeSRAWebExceptionHandler implements WebExceptionHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(SyncopeSRAWebExceptionHandler.class);
 
-    private static final Map<String, Optional<URI>> CACHE = new ConcurrentHashMap<>();
-
     @Autowired
     private RouteProvider routeProvider;
 
     @Value("${global.error}")
     private URI globalError;
 
-    @Override
-    public void onApplicationEvent(final RefreshRoutesEvent event) {
-        CACHE.clear();
-    }
-
     private URI getError(final ServerWebExchange exchange) {
         URI error = globalError;
         String routeId = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR);
         if (StringUtils.isNotBlank(routeId)) {
-            Optional<URI> routeError = Optional.ofNullable(CACHE.get(routeId)).orElseGet(() -> {
-                URI uri = null;
-                Optional<SRARouteTO> route = routeProvider.getRouteTOs().stream().
-                        filter(r -> routeId.equals(r.getKey())).findFirst();
-                if (route.isPresent()) {
-                    uri = route.get().getError();
-                }
-
-                return CACHE.put(routeId, Optional.ofNullable(uri));
-            });
-            if (routeError.isPresent()) {
-                error = routeError.get();
-            }
+            error = routeProvider.getRouteTO(routeId).
+                    map(SRARouteTO::getError).
+                    orElse(globalError);
         }
 
         return error;
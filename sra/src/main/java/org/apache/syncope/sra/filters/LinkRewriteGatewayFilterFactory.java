@@ -20,23 +20,89 @@ package org.apache.syncope.sra.filters;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class LinkRewriteGatewayFilterFactory extends ModifyResponseGatewayFilterFactory {
 
+    /**
+     * Decodes bytes as they come, keeping incomplete multi-byte sequences for the next invocation.
+     */
+    private static class ChunkDecoder {
+
+        private final CharsetDecoder decoder;
+
+        private ByteBuffer leftover = ByteBuffer.allocate(0);
+
+        private CharBuffer out = CharBuffer.allocate(0);
+
+        ChunkDecoder(final Charset charset) {
+            this.decoder = charset.newDecoder().
+                    onMalformedInput(CodingErrorAction.REPLACE).
+                    onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        private CharBuffer decode(final ByteBuffer input, final boolean last) {
+            ByteBuffer in = input;
+            if (leftover.hasRemaining()) {
+                in = ByteBuffer.allocate(leftover.remaining() + input.remaining()).put(leftover).put(input).flip();
+            }
+
+            int capacity = (int) (in.remaining() * decoder.maxCharsPerByte()) + 1;
+            if (out.capacity() < capacity) {
+                out = CharBuffer.allocate(capacity);
+            } else {
+                out.clear();
+            }
+            decoder.decode(in, out, last);
+            if (last) {
+                decoder.flush(out);
+            }
+            leftover = in.hasRemaining() ? ByteBuffer.allocate(in.remaining()).put(in).flip() : in;
+
+            return out.flip();
+        }
+
+        CharBuffer decode(final DataBuffer dataBuffer) {
+            try {
+                return decode(dataBuffer.asByteBuffer(), false);
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+        }
+
+        CharBuffer finish() {
+            return decode(ByteBuffer.allocate(0), true);
+        }
+    }
+
     @Override
     protected boolean skipCond(final ServerHttpResponseDecorator decorator) {
         return decorator.getHeaders().getContentType() == null
                 || !StringUtils.containsIgnoreCase(decorator.getHeaders().getContentType().toString(), "html");
     }
 
+    @Override
+    protected boolean streamCond(final ServerHttpResponseDecorator decorator) {
+        return true;
+    }
+
     private Charset getCharset(final ServerHttpResponseDecorator decorator) {
         return decorator.getHeaders().getContentType() != null
                 && decorator.getHeaders().getContentType().getCharset() != null
@@ -53,14 +119,7 @@ public class LinkRewriteGatewayFilterFactory extends ModifyResponseGatewayFilter
         });
     }
 
-    @Override
-    protected byte[] modifyResponse(
-            final InputStream responseBody,
-            final Config config,
-            final ServerHttpResponseDecorator decorator,
-            final ServerWebExchange exchange)
-            throws IOException {
-
+    private static LinkRewriter rewriter(final Config config) {
         String[] keyValue = config.getData().split(",");
 
         String oldBase = StringUtils.appendIfMissing(keyValue[0], "/");
@@ -72,17 +131,53 @@ public class LinkRewriteGatewayFilterFactory extends ModifyResponseGatewayFilter
             rewriterRootAttrs = BooleanUtils.toBoolean(keyValue[2]);
         }
 
+        return new LinkRewriter(oldBase, newBase, newBaseAsPrefix, rewriterRootAttrs);
+    }
+
+    @Override
+    protected Flux<DataBuffer> modifyResponse(
+            final Flux<DataBuffer> responseBody,
+            final Config config,
+            final ServerHttpResponseDecorator decorator,
+            final ServerWebExchange exchange) {
+
+        return Flux.defer(() -> {
+            Charset charset = getCharset(decorator);
+            ChunkDecoder decoder = new ChunkDecoder(charset);
+            LinkRewriter rewriter = rewriter(config);
+            DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+
+            return responseBody.
+                    doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release).
+                    map(dataBuffer -> rewriter.process(decoder.decode(dataBuffer))).
+                    concatWith(Mono.fromSupplier(() -> new StringBuilder().
+                    append(rewriter.process(decoder.finish())).append(rewriter.finish()))).
+                    filter(StringUtils::isNotEmpty).
+                    map(chunk -> bufferFactory.wrap(charset.encode(CharBuffer.wrap(chunk))));
+        });
+    }
+
+    @Override
+    protected byte[] modifyResponse(
+            final InputStream responseBody,
+            final Config config,
+            final ServerHttpResponseDecorator decorator,
+            final ServerWebExchange exchange)
+            throws IOException {
+
+        LinkRewriter rewriter = rewriter(config);
+
         Document doc = Jsoup.parse(
                 responseBody, getCharset(decorator).name(), exchange.getRequest().getURI().toASCIIString());
 
-        if (rewriterRootAttrs) {
-            replace(doc, "a", "href", newBaseAsPrefix);
-            replace(doc, "link", "href", newBaseAsPrefix);
-            replace(doc, "img", "src", newBaseAsPrefix);
-            replace(doc, "script", "src", newBaseAsPrefix);
-            replace(doc, "object", "data", newBaseAsPrefix);
+        if (rewriter.isRewriteRootAttrs()) {
+            replace(doc, "a", "href", rewriter.getNewBaseAsPrefix());
+            replace(doc, "link", "href", rewriter.getNewBaseAsPrefix());
+            replace(doc, "img", "src", rewriter.getNewBaseAsPrefix());
+            replace(doc, "script", "src", rewriter.getNewBaseAsPrefix());
+            replace(doc, "object", "data", rewriter.getNewBaseAsPrefix());
         }
 
-        return doc.toString().replace(oldBase, newBase).getBytes();
+        return doc.toString().replace(rewriter.getOldBase(), rewriter.getNewBase()).getBytes();
     }
 }
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.sra.filters;
+
+/**
+ * Incremental HTML link rewriter: text is fed chunk by chunk, and only the trailing characters which might still be
+ * part of an incomplete tag or replacement are kept between invocations.
+ */
+class LinkRewriter {
+
+    private static final int MAX_TAG_LENGTH = 64 * 1024;
+
+    private static final String COMMENT_START = "<!--";
+
+    private static final String COMMENT_END = "-->";
+
+    private static final String[][] ROOT_ATTRS = {
+        { "a", "href" },
+        { "link", "href" },
+        { "img", "src" },
+        { "script", "src" },
+        { "object", "data" }
+    };
+
+    private enum State {
+        TEXT,
+        TAG,
+        RAW
+
+    }
+
+    private final String oldBase;
+
+    private final String newBase;
+
+    private final String newBaseAsPrefix;
+
+    private final boolean rewriteRootAttrs;
+
+    private final StringBuilder pending = new StringBuilder();
+
+    private State state = State.TEXT;
+
+    private String rawEnd;
+
+    LinkRewriter(
+            final String oldBase,
+            final String newBase,
+            final String newBaseAsPrefix,
+            final boolean rewriteRootAttrs) {
+
+        this.oldBase = oldBase;
+        this.newBase = newBase;
+        this.newBaseAsPrefix = newBaseAsPrefix;
+        this.rewriteRootAttrs = rewriteRootAttrs;
+    }
+
+    String getOldBase() {
+        return oldBase;
+    }
+
+    String getNewBase() {
+        return newBase;
+    }
+
+    String getNewBaseAsPrefix() {
+        return newBaseAsPrefix;
+    }
+
+    boolean isRewriteRootAttrs() {
+        return rewriteRootAttrs;
+    }
+
+    private boolean regionMatches(final int offset, final String str, final boolean ignoreCase) {
+        if (offset + str.length() > pending.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c = pending.charAt(offset + i);
+            char o = str.charAt(i);
+            if (c != o && (!ignoreCase || Character.toLowerCase(c) != o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(final String str, final int from, final int to, final boolean ignoreCase) {
+        for (int i = from; i <= to - str.length(); i++) {
+            if (regionMatches(i, str, ignoreCase)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends to {@code out} the given region, with {@code oldBase} replaced by {@code newBase}; unless {@code last},
+     * the trailing characters which might be the beginning of an {@code oldBase} occurrence are not consumed.
+     *
+     * @return the index up to which the region was consumed
+     */
+    private int replace(final StringBuilder out, final int from, final int to, final boolean last) {
+        int pos = from;
+        int match = indexOf(oldBase, pos, to, false);
+        while (match != -1) {
+            out.append(pending, pos, match).append(newBase);
+            pos = match + oldBase.length();
+            match = indexOf(oldBase, pos, to, false);
+        }
+
+        int end = last ? to : Math.max(pos, to - (oldBase.length() - 1));
+        out.append(pending, pos, end);
+        return end;
+    }
+
+    private static boolean isNameChar(final char c) {
+        return !Character.isWhitespace(c) && c != '=' && c != '>' && c != '/';
+    }
+
+    private int nameEnd(final int from, final int to) {
+        int end = from;
+        while (end < to && isNameChar(pending.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private boolean nameEquals(final int from, final int to, final String name) {
+        return to - from == name.length() && regionMatches(from, name, true);
+    }
+
+    private int skipWhitespace(final int from, final int to) {
+        int pos = from;
+        while (pos < to && Character.isWhitespace(pending.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Looks for the given attribute in the tag spanning the given region.
+     *
+     * @return the index where the attribute value starts, or -1 if not found
+     */
+    private int attrValueStart(final int from, final int to, final String attr) {
+        int pos = from;
+        while (pos < to) {
+            pos = skipWhitespace(pos, to);
+            int nameStart = pos;
+            int nameEnd = nameEnd(nameStart, to);
+            if (nameEnd == nameStart) {
+                pos++;
+                continue;
+            }
+
+            pos = skipWhitespace(nameEnd, to);
+            if (pos < to && pending.charAt(pos) == '=') {
+                pos = skipWhitespace(pos + 1, to);
+                int valueStart;
+                if (pos < to && (pending.charAt(pos) == '"' || pending.charAt(pos) == '\'')) {
+                    char quote = pending.charAt(pos);
+                    valueStart = pos + 1;
+                    pos = valueStart;
+                    while (pos < to && pending.charAt(pos) != quote) {
+                        pos++;
+                    }
+                    pos++;
+                } else {
+                    valueStart = pos;
+                    while (pos < to && !Character.isWhitespace(pending.charAt(pos)) && pending.charAt(pos) != '>') {
+                        pos++;
+                    }
+                }
+
+                if (nameEquals(nameStart, nameEnd, attr)) {
+                    return valueStart;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the tag spanning the given region, rewriting root attributes if needed.
+     *
+     * @return the name of the element, if it is one whose content is raw text
+     */
+    private String appendTag(final StringBuilder out, final int from, final int to) {
+        int nameStart = from + 1;
+        int nameEnd = nameEnd(nameStart, to);
+
+        String rawTextEnd = null;
+        if (pending.charAt(to - 2) != '/') {
+            if (nameEquals(nameStart, nameEnd, "script")) {
+                rawTextEnd = "</script";
+            } else if (nameEquals(nameStart, nameEnd, "style")) {
+                rawTextEnd = "</style";
+            }
+        }
+
+        int valueStart = -1;
+        if (rewriteRootAttrs) {
+            for (String[] rootAttr : ROOT_ATTRS) {
+                if (nameEquals(nameStart, nameEnd, rootAttr[0])) {
+                    valueStart = attrValueStart(nameEnd, to - 1, rootAttr[1]);
+                    break;
+                }
+            }
+        }
+
+        if (valueStart != -1 && regionMatches(valueStart, "/", false) && !regionMatches(valueStart, "//", false)) {
+            replace(out, from, valueStart, true);
+            out.append(newBaseAsPrefix);
+            replace(out, valueStart, to, true);
+        } else {
+            replace(out, from, to, true);
+        }
+
+        return rawTextEnd;
+    }
+
+    private int tagEnd(final int from) {
+        char quote = 0;
+        for (int i = from; i < pending.length(); i++) {
+            char c = pending.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int consume(final StringBuilder out, final boolean last) {
+        int pos = 0;
+        while (pos < pending.length()) {
+            switch (state) {
+                case TEXT:
+                    int lt = pending.indexOf("<", pos);
+                    if (lt == -1) {
+                        return replace(out, pos, pending.length(), last);
+                    }
+                    pos = replace(out, pos, lt, true);
+                    state = State.TAG;
+                    break;
+
+                case TAG:
+                    if (!last && pending.length() - pos < COMMENT_START.length()
+                            && COMMENT_START.startsWith(pending.substring(pos))) {
+
+                        return pos;
+                    }
+                    if (regionMatches(pos, COMMENT_START, false)) {
+                        out.append(COMMENT_START);
+                        pos += COMMENT_START.length();
+                        rawEnd = COMMENT_END;
+                        state = State.RAW;
+                        break;
+                    }
+
+                    char next = pos + 1 < pending.length() ? pending.charAt(pos + 1) : ' ';
+                    if (!Character.isLetter(next) && next != '/' && next != '!' && next != '?') {
+                        // not a tag, just a '<' in text
+                        out.append('<');
+                        pos++;
+                        state = State.TEXT;
+                        break;
+                    }
+
+                    int gt = tagEnd(pos + 1);
+                    if (gt == -1) {
+                        if (!last && pending.length() - pos <= MAX_TAG_LENGTH) {
+                            return pos;
+                        }
+                        // unterminated or too long: give up and treat as text
+                        out.append('<');
+                        pos++;
+                        state = State.TEXT;
+                        break;
+                    }
+
+                    rawEnd = appendTag(out, pos, gt + 1);
+                    pos = gt + 1;
+                    state = rawEnd == null ? State.TEXT : State.RAW;
+                    break;
+
+                case RAW:
+                default:
+                    int end = indexOf(rawEnd, pos, pending.length(), true);
+                    if (end == -1) {
+                        int limit = last ? pending.length() : pending.length() - (rawEnd.length() - 1);
+                        return limit > pos ? replace(out, pos, limit, last) : pos;
+                    }
+                    pos = replace(out, pos, end, true);
+                    if (COMMENT_END.equals(rawEnd)) {
+                        out.append(COMMENT_END);
+                        pos += COMMENT_END.length();
+                        state = State.TEXT;
+                    } else {
+                        state = State.TAG;
+                    }
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Feeds the next chunk of text.
+     *
+     * @param chunk text to process
+     * @return rewritten text which is ready to be sent
+     */
+    CharSequence process(final CharSequence chunk) {
+        pending.append(chunk);
+
+        StringBuilder out = new StringBuilder(pending.length() + 64);
+        pending.delete(0, consume(out, false));
+        return out;
+    }
+
+    /**
+     * Flushes any text still pending.
+     *
+     * @return rewritten text which is ready to be sent
+     */
+    CharSequence finish() {
+        StringBuilder out = new StringBuilder(pending.length());
+        pending.delete(0, consume(out, true));
+        return out;
+    }
+}
@@ -34,6 +34,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
@@ -59,11 +60,40 @@ public abstract class ModifyResponseGatewayFilterFactory extends CustomGatewayFi
             ServerWebExchange exchange)
             throws IOException;
 
+    /**
+     * Rewrites the response body while it flows, without buffering it; only invoked when
+     * {@link #streamCond(ServerHttpResponseDecorator)} holds and the response body is not GZIP-compressed.
+     *
+     * @param responseBody response body
+     * @param config filter configuration
+     * @param decorator response decorator
+     * @param exchange current exchange
+     * @return modified response body
+     */
+    protected Flux<DataBuffer> modifyResponse(
+            final Flux<DataBuffer> responseBody,
+            final Config config,
+            final ServerHttpResponseDecorator decorator,
+            final ServerWebExchange exchange) {
+
+        return responseBody;
+    }
+
     protected boolean skipCond(final ServerHttpResponseDecorator decorator) {
         LOG.debug("Decorator: {}", decorator);
         return false;
     }
 
+    protected boolean streamCond(final ServerHttpResponseDecorator decorator) {
+        return false;
+    }
+
+    protected static boolean isGZIP(final DataBuffer dataBuffer) {
+        return dataBuffer.readableByteCount() >= 2
+                && dataBuffer.getByte(dataBuffer.readPosition()) == (byte) (GZIPInputStream.GZIP_MAGIC)
+                && dataBuffer.getByte(dataBuffer.readPosition() + 1) == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
     protected class InternalModifyResponseGatewayFilter implements GatewayFilter, Ordered {
 
         private final Config config;
@@ -77,65 +107,73 @@ public abstract class ModifyResponseGatewayFilterFactory extends CustomGatewayFi
             return chain.filter(exchange.mutate().response(decorate(exchange)).build());
         }
 
+        private Mono<DataBuffer> modifyBuffered(
+                final Flux<? extends DataBuffer> body,
+                final ServerHttpResponseDecorator decorator,
+                final ServerWebExchange exchange) {
+
+            return body.collectList().
+                    filter(list -> !list.isEmpty()).
+                    map(list -> list.get(0).factory().join(list)).
+                    doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release).
+                    map(dataBuffer -> {
+                        if (dataBuffer.readableByteCount() > 0) {
+                            LOG.trace("Retaining body in exchange attribute");
+                            exchange.getAttributes().put(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR, dataBuffer);
+                        }
+
+                        boolean inputCompressed = isGZIP(dataBuffer);
+
+                        boolean outputCompressed = false;
+                        byte[] output;
+                        try (InputStream is = inputCompressed
+                                ? new GZIPInputStream(dataBuffer.asInputStream())
+                                : dataBuffer.asInputStream()) {
+
+                            outputCompressed = is instanceof GZIPInputStream;
+
+                            output = modifyResponse(is, config, decorator, exchange);
+                        } catch (IOException e) {
+                            LOG.error("While modifying response", e);
+
+                            output = new byte[dataBuffer.readableByteCount()];
+                            dataBuffer.read(output);
+                        }
+
+                        if (outputCompressed) {
+                            try (ByteArrayOutputStream baos = new ByteArrayOutputStream(output.length);
+                                    GZIPOutputStream gzipos = new GZIPOutputStream(baos)) {
+
+                                gzipos.write(output);
+                                gzipos.finish();
+                                output = baos.toByteArray();
+                            } catch (IOException e) {
+                                LOG.error("While GZIP-encoding output", e);
+                            }
+                        }
+
+                        return exchange.getResponse().bufferFactory().wrap(output);
+                    });
+        }
+
         private ServerHttpResponse decorate(final ServerWebExchange exchange) {
             return new ServerHttpResponseDecorator(exchange.getResponse()) {
 
                 @Override
                 public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
-                    return skipCond(this)
-                            ? super.writeWith(body)
-                            : super.writeWith(Flux.from(body).
-                                    collectList().
-                                    filter(list -> !list.isEmpty()).
-                                    map(list -> list.get(0).factory().join(list)).
-                                    doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release).
-                                    map(dataBuffer -> {
-                                        if (dataBuffer.readableByteCount() > 0) {
-                                            LOG.trace("Retaining body in exchange attribute");
-                                            exchange.getAttributes().put(
-                                                    ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR, dataBuffer);
-                                        }
-
-                                        boolean inputCompressed = false;
-                                        if (dataBuffer.readableByteCount() >= 2) {
-                                            byte[] first2 = new byte[2];
-                                            dataBuffer.read(first2, 0, 2);
-                                            dataBuffer.readPosition(0);
-
-                                            inputCompressed = ((first2[0] == (byte) (GZIPInputStream.GZIP_MAGIC))
-                                                    && (first2[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8)));
-                                        }
-
-                                        boolean outputCompressed = false;
-                                        byte[] output;
-                                        try (InputStream is = inputCompressed
-                                                ? new GZIPInputStream(dataBuffer.asInputStream())
-                                                : dataBuffer.asInputStream()) {
-
-                                            outputCompressed = is instanceof GZIPInputStream;
-
-                                            output = modifyResponse(is, config, this, exchange);
-                                        } catch (IOException e) {
-                                            LOG.error("While modifying response", e);
-
-                                            output = new byte[dataBuffer.readableByteCount()];
-                                            dataBuffer.read(output);
-                                        }
-
-                                        if (outputCompressed) {
-                                            try (ByteArrayOutputStream baos = new ByteArrayOutputStream(output.length);
-                                                    GZIPOutputStream gzipos = new GZIPOutputStream(baos)) {
-
-                                                gzipos.write(output);
-                                                gzipos.finish();
-                                                output = baos.toByteArray();
-                                            } catch (IOException e) {
-                                                LOG.error("While GZIP-encoding output", e);
-                                            }
-                                        }
-
-                                        return exchange.getResponse().bufferFactory().wrap(output);
-                                    }));
+                    if (skipCond(this)) {
+                        return super.writeWith(body);
+                    }
+                    if (!streamCond(this)) {
+                        return super.writeWith(modifyBuffered(Flux.from(body), this, exchange));
+                    }
+
+                    // final length is not known in advance
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return super.writeWith(Flux.from(body).map(DataBuffer.class::cast).
+                            switchOnFirst((signal, flux) -> signal.hasValue() && isGZIP(signal.get())
+                            ? modifyBuffered(flux, this, exchange).flux()
+                            : modifyResponse(flux, config, this, exchange)));
                 }
 
                 @Override
@@ -18,44 +18,36 @@
  */
 package org.apache.syncope.sra.security;
 
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.sra.RouteProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
-import org.springframework.context.ApplicationListener;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-public abstract class AbstractRouteMatcher
-        implements ServerWebExchangeMatcher, ApplicationListener<RefreshRoutesEvent> {
+public abstract class AbstractRouteMatcher implements ServerWebExchangeMatcher {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractRouteMatcher.class);
 
-    protected static final Map<String, Map<String, Boolean>> CACHE = new ConcurrentHashMap<>();
-
     @Autowired
     private RouteLocator routeLocator;
 
     @Autowired
     protected RouteProvider routeProvider;
 
-    protected abstract String getCacheName();
-
+    /**
+     * Evaluates the behavior of the given route; invoked per request, hence expected to rely on
+     * {@link RouteProvider#getRouteTO(java.lang.String)} for constant-time lookup.
+     *
+     * @param route route matched by the current request
+     * @return whether this matcher should match
+     */
     protected abstract boolean routeBehavior(Route route);
 
-    @Override
-    public void onApplicationEvent(final RefreshRoutesEvent event) {
-        Optional.ofNullable(CACHE.get(getCacheName())).ifPresent(Map::clear);
-    }
-
     @Override
     public Mono<MatchResult> matches(final ServerWebExchange exchange) {
         // see org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping#lookupRoute
@@ -70,11 +62,7 @@ public abstract class AbstractRouteMatcher
                     exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR, route.getId());
                     LOG.debug("[{}] Route found: {}", getClass().getName(), route);
 
-                    boolean cond = Optional.ofNullable(CACHE.get(getCacheName()).get(route.getId())).orElseGet(() -> {
-                        boolean result = routeBehavior(route);
-                        CACHE.get(getCacheName()).put(route.getId(), result);
-                        return result;
-                    });
+                    boolean cond = routeBehavior(route);
                     LOG.debug("[{}] Condition matched: {}", getClass().getName(), cond);
 
                     return cond ? MatchResult.match() : MatchResult.notMatch();
@@ -19,26 +19,18 @@
 package org.apache.syncope.sra.security;
 
 import java.net.URI;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.to.SRARouteTO;
 import org.apache.syncope.sra.RouteProvider;
 import org.apache.syncope.sra.security.web.server.DoNothingIfCommittedServerRedirectStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
-import org.springframework.context.ApplicationListener;
 import org.springframework.security.web.server.ServerRedirectStrategy;
 import org.springframework.security.web.server.WebFilterExchange;
 import org.springframework.security.web.server.authentication.logout.ServerLogoutSuccessHandler;
 
-public abstract class AbstractServerLogoutSuccessHandler
-        implements ServerLogoutSuccessHandler, ApplicationListener<RefreshRoutesEvent> {
-
-    private static final Map<String, Optional<URI>> CACHE = new ConcurrentHashMap<>();
+public abstract class AbstractServerLogoutSuccessHandler implements ServerLogoutSuccessHandler {
 
     protected final ServerRedirectStrategy redirectStrategy = new DoNothingIfCommittedServerRedirectStrategy();
 
@@ -48,29 +40,13 @@ public abstract class AbstractServerLogoutSuccessHandler
     @Value("${global.postLogout}")
     private URI globalPostLogout;
 
-    @Override
-    public void onApplicationEvent(final RefreshRoutesEvent event) {
-        CACHE.clear();
-    }
-
     protected URI getPostLogout(final WebFilterExchange exchange) {
         URI postLogout = globalPostLogout;
         String routeId = exchange.getExchange().getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR);
         if (StringUtils.isNotBlank(routeId)) {
-            Optional<URI> routePostLogout = Optional.ofNullable(CACHE.get(routeId)).orElseGet(() -> {
-                URI uri = null;
-                Optional<SRARouteTO> route = routeProvider.getRouteTOs().stream().
-                        filter(r -> routeId.equals(r.getKey())).findFirst();
-                if (route.isPresent()) {
-                    uri = route.get().getPostLogout();
-                }
-
-                CACHE.put(routeId, Optional.ofNullable(uri));
-                return CACHE.get(routeId);
-            });
-            if (routePostLogout.isPresent()) {
-                postLogout = routePostLogout.get();
-            }
+            postLogout = routeProvider.getRouteTO(routeId).
+                    map(SRARouteTO::getPostLogout).
+                    orElse(globalPostLogout);
         }
         return postLogout;
     }
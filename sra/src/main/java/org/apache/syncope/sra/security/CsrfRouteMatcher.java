@@ -19,7 +19,6 @@
 package org.apache.syncope.sra.security;
 
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.common.lib.to.SRARouteTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -32,27 +31,15 @@ import reactor.core.publisher.Mono;
 @Component
 public class CsrfRouteMatcher extends AbstractRouteMatcher {
 
-    private static final String CACHE_NAME = CsrfRouteMatcher.class.getName();
-
     private static final Set<HttpMethod> ALLOWED_METHODS = Set.of(
             HttpMethod.GET, HttpMethod.HEAD, HttpMethod.TRACE, HttpMethod.OPTIONS);
 
-    static {
-        CACHE.put(CACHE_NAME, new ConcurrentHashMap<>());
-    }
-
     @Autowired
     private PublicRouteMatcher publicRouteMatcher;
 
-    @Override
-    protected String getCacheName() {
-        return CACHE_NAME;
-    }
-
     @Override
     protected boolean routeBehavior(final Route route) {
-        return routeProvider.getRouteTOs().stream().
-                filter(r -> route.getId().equals(r.getKey())).findFirst().
+        return routeProvider.getRouteTO(route.getId()).
                 map(SRARouteTO::isCsrf).orElse(true)
                 && !publicRouteMatcher.routeBehavior(route);
     }
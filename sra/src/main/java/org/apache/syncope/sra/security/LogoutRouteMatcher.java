@@ -18,7 +18,6 @@
  */
 package org.apache.syncope.sra.security;
 
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.common.lib.to.SRARouteTO;
 import org.springframework.cloud.gateway.route.Route;
 import org.springframework.stereotype.Component;
@@ -26,21 +25,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class LogoutRouteMatcher extends AbstractRouteMatcher {
 
-    private static final String CACHE_NAME = LogoutRouteMatcher.class.getName();
-
-    static {
-        CACHE.put(CACHE_NAME, new ConcurrentHashMap<>());
-    }
-
-    @Override
-    protected String getCacheName() {
-        return CACHE_NAME;
-    }
-
     @Override
     protected boolean routeBehavior(final Route route) {
-        return routeProvider.getRouteTOs().stream().
-                filter(r -> route.getId().equals(r.getKey())).findFirst().
+        return routeProvider.getRouteTO(route.getId()).
                 map(SRARouteTO::isLogout).orElse(false);
     }
 }
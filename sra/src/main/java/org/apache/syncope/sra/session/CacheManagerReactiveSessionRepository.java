@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.sra.session;
 
+import java.time.Duration;
 import org.apache.syncope.sra.SessionConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
@@ -30,9 +31,23 @@ public class CacheManagerReactiveSessionRepository implements ReactiveSessionRep
     @Autowired
     private CacheManager cacheManager;
 
+    private final Duration defaultMaxInactiveInterval;
+
+    public CacheManagerReactiveSessionRepository() {
+        this(Duration.ofSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+    }
+
+    public CacheManagerReactiveSessionRepository(final Duration defaultMaxInactiveInterval) {
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+    }
+
     @Override
     public Mono<MapSession> createSession() {
-        return Mono.just(new MapSession());
+        return Mono.fromSupplier(() -> {
+            MapSession session = new MapSession();
+            session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+            return session;
+        });
     }
 
     @Override
@@ -49,6 +64,8 @@ public class CacheManagerReactiveSessionRepository implements ReactiveSessionRep
     public Mono<MapSession> findById(final String id) {
         return Mono.defer(() -> Mono.justOrEmpty(
                 cacheManager.getCache(SessionConfig.DEFAULT_CACHE).get(id, MapSession.class)).
+                // shared backends might not expire entries on their own
+                filter(session -> !session.isExpired()).
                 map(MapSession::new).
                 switchIfEmpty(deleteById(id).then(Mono.empty())));
     }
@@ -0,0 +1,375 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.sra.session;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.session.Session;
+
+/**
+ * Bounded {@link org.springframework.cache.Cache} for gateway sessions: entries are evicted in least-recently-used
+ * order once {@code maxEntries} is reached and expire according to {@link Session#getMaxInactiveInterval()} and to
+ * the optional {@code timeToLive} measured from session creation.
+ * Values can be kept as plain references, as serialized byte arrays or as serialized direct (off-heap) buffers.
+ */
+public class ExpiringSessionCache extends AbstractValueAdaptingCache implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExpiringSessionCache.class);
+
+    public enum Storage {
+        HEAP,
+        SERIALIZED,
+        OFF_HEAP
+
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+
+        private final int size;
+
+        private final Instant expiresAt;
+
+        Entry(final Object value, final int size, final Instant expiresAt) {
+            this.value = value;
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(final Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+    }
+
+    private final String name;
+
+    private final int maxEntries;
+
+    private final Duration timeToLive;
+
+    private final Duration defaultMaxInactiveInterval;
+
+    private final Storage storage;
+
+    private final Duration purgeInterval;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong expirations = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile Instant lastPurge = Instant.now();
+
+    public ExpiringSessionCache(
+            final String name,
+            final int maxEntries,
+            final Duration timeToLive,
+            final Duration defaultMaxInactiveInterval,
+            final Storage storage) {
+
+        super(false);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.storage = storage;
+        this.purgeInterval = defaultMaxInactiveInterval.isNegative() || defaultMaxInactiveInterval.isZero()
+                ? Duration.ofMinutes(1)
+                : defaultMaxInactiveInterval.dividedBy(2);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    protected Instant expiresAt(final Object value) {
+        Instant expiresAt = null;
+
+        if (value instanceof Session) {
+            Session session = (Session) value;
+
+            if (!session.getMaxInactiveInterval().isNegative()) {
+                expiresAt = session.getLastAccessedTime().plus(session.getMaxInactiveInterval());
+            }
+            if (!timeToLive.isZero() && !timeToLive.isNegative()) {
+                Instant maxLife = session.getCreationTime().plus(timeToLive);
+                expiresAt = expiresAt == null || maxLife.isBefore(expiresAt) ? maxLife : expiresAt;
+            }
+        } else if (!defaultMaxInactiveInterval.isNegative() && !defaultMaxInactiveInterval.isZero()) {
+            expiresAt = Instant.now().plus(defaultMaxInactiveInterval);
+        }
+
+        return expiresAt;
+    }
+
+    private Entry encode(final Object value) {
+        Instant expiresAt = expiresAt(value);
+
+        if (storage == Storage.HEAP || !(value instanceof Serializable)) {
+            return new Entry(value, 0, expiresAt);
+        }
+
+        byte[] serialized;
+        try {
+            serialized = SerializationUtils.serialize((Serializable) value);
+        } catch (SerializationException e) {
+            LOG.warn("Could not serialize {}, storing as reference", value.getClass().getName(), e);
+            return new Entry(value, 0, expiresAt);
+        }
+
+        if (storage == Storage.OFF_HEAP) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(serialized.length);
+            buffer.put(serialized).flip();
+            return new Entry(buffer, serialized.length, expiresAt);
+        }
+        return new Entry(serialized, serialized.length, expiresAt);
+    }
+
+    private Object decode(final Entry entry) {
+        if (entry.value instanceof byte[]) {
+            return SerializationUtils.deserialize((byte[]) entry.value);
+        }
+        if (entry.value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) entry.value).duplicate();
+            byte[] serialized = new byte[buffer.remaining()];
+            buffer.get(serialized);
+            return SerializationUtils.deserialize(serialized);
+        }
+        return entry.value;
+    }
+
+    private void removed(final Entry entry) {
+        storedBytes.addAndGet(-entry.size);
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+        Entry entry;
+        Instant now = Instant.now();
+
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key);
+                removed(entry);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return decode(entry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value == null) {
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+
+        Entry entry = encode(value);
+
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                removed(previous);
+            }
+            storedBytes.addAndGet(entry.size);
+
+            purgeIfNeeded();
+
+            Iterator<Map.Entry<Object, Entry>> itor = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && itor.hasNext()) {
+                Map.Entry<Object, Entry> eldest = itor.next();
+                itor.remove();
+                removed(eldest.getValue());
+                evictions.incrementAndGet();
+                LOG.debug("Evicted {} as maximum of {} entries was reached", eldest.getKey(), maxEntries);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void purgeIfNeeded() {
+        Instant now = Instant.now();
+        if (lastPurge.plus(purgeInterval).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+
+        entries.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().isExpired(now);
+            if (expired) {
+                removed(entry.getValue());
+                expirations.incrementAndGet();
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    public void purge() {
+        lock.lock();
+        try {
+            lastPurge = Instant.MIN;
+            purgeIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(final Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                removed(entry);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        lock.lock();
+        try {
+            boolean notEmpty = !entries.isEmpty();
+            entries.clear();
+            storedBytes.set(0);
+            return notEmpty;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("sra.session.cache.size", this, ExpiringSessionCache::size).
+                tag("cache", name).description("Number of sessions currently stored").register(registry);
+        Gauge.builder("sra.session.cache.max", this, cache -> cache.maxEntries).
+                tag("cache", name).description("Maximum number of sessions stored").register(registry);
+        Gauge.builder("sra.session.cache.bytes", this, ExpiringSessionCache::getStoredBytes).
+                tag("cache", name).tag("storage", storage.name()).
+                description("Bytes taken by serialized sessions").register(registry);
+        FunctionCounter.builder("sra.session.cache.gets", hits, AtomicLong::get).
+                tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("sra.session.cache.gets", misses, AtomicLong::get).
+                tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("sra.session.cache.expirations", expirations, AtomicLong::get).
+                tag("cache", name).description("Sessions removed because expired").register(registry);
+        FunctionCounter.builder("sra.session.cache.evictions", evictions, AtomicLong::get).
+                tag("cache", name).description("Sessions removed because of size bound").register(registry);
+    }
+}
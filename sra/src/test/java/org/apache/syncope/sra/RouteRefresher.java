@@ -18,22 +18,42 @@
  */
 package org.apache.syncope.sra;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
 @Component
-public class RouteRefresher implements ApplicationEventPublisherAware {
+public class RouteRefresher implements ApplicationEventPublisherAware, ApplicationListener<RefreshRoutesResultEvent> {
 
     private ApplicationEventPublisher publisher;
 
+    private volatile CompletableFuture<Void> refreshed = CompletableFuture.completedFuture(null);
+
     @Override
     public void setApplicationEventPublisher(final ApplicationEventPublisher publisher) {
         this.publisher = publisher;
     }
 
+    @Override
+    public void onApplicationEvent(final RefreshRoutesResultEvent event) {
+        refreshed.complete(null);
+    }
+
+    /**
+     * Routes are fetched asynchronously: wait until the refresh is completed.
+     */
     public void refresh() {
+        refreshed = new CompletableFuture<>();
         publisher.publishEvent(new RefreshRoutesEvent(this));
+        try {
+            refreshed.get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Routes were not refreshed", e);
+        }
     }
 }
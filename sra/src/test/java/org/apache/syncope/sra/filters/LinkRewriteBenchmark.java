@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.sra.filters;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares throughput and allocation rate of the buffered (Jsoup) and streaming link rewriting.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.apache.syncope.sra.filters.LinkRewriteBenchmark}; results are written as JSON to
+ * {@code target/jmh-link-rewrite.json}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkRewriteBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({ "16", "1024" })
+    private int pageSizeKB;
+
+    private LinkRewriteGatewayFilterFactory factory;
+
+    private CustomGatewayFilterFactory.Config config;
+
+    private MockServerWebExchange exchange;
+
+    private ServerHttpResponseDecorator decorator;
+
+    private byte[] page;
+
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setup() {
+        factory = new LinkRewriteGatewayFilterFactory();
+        config = new CustomGatewayFilterFactory.Config();
+        config.setData("http://backend:8080,https://sra:8443");
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("https://sra:8443/page"));
+        exchange.getResponse().getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_HTML_VALUE);
+        decorator = new ServerHttpResponseDecorator(exchange.getResponse());
+
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head>"
+                + "<link rel=\"stylesheet\" href=\"/css/main.css\"><script src=\"/js/app.js\"></script>"
+                + "</head><body>");
+        int row = 0;
+        while (html.length() < pageSizeKB * 1024) {
+            html.append("<div class=\"row\"><a href=\"/item/").append(row).append("\">Item ").append(row).
+                    append("</a> <img src=\"/img/").append(row).append(".png\"/> ").
+                    append("<a href=\"http://backend:8080/detail/").append(row).append("\">detail</a></div>\n");
+            row++;
+        }
+        html.append("</body></html>");
+        page = html.toString().getBytes(StandardCharsets.UTF_8);
+
+        chunks = new ArrayList<>();
+        for (int i = 0; i < page.length; i += CHUNK_SIZE) {
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, page.length - i)];
+            System.arraycopy(page, i, chunk, 0, chunk.length);
+            chunks.add(chunk);
+        }
+    }
+
+    @Benchmark
+    public int buffered() throws IOException {
+        return factory.modifyResponse(new ByteArrayInputStream(page), config, decorator, exchange).length;
+    }
+
+    @Benchmark
+    public int streaming() {
+        return factory.modifyResponse(
+                Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap),
+                config,
+                decorator,
+                exchange).
+                map(dataBuffer -> {
+                    int count = dataBuffer.readableByteCount();
+                    DataBufferUtils.release(dataBuffer);
+                    return count;
+                }).
+                reduce(0, Integer::sum).
+                block();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().
+                include(LinkRewriteBenchmark.class.getSimpleName()).
+                addProfiler(GCProfiler.class).
+                resultFormat(ResultFormatType.JSON).
+                result("target/jmh-link-rewrite.json").
+                build()).run();
+    }
+}
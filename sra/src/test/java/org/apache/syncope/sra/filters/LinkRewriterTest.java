@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.sra.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class LinkRewriterTest {
+
+    private static final String OLD_BASE = "http://backend:8080/";
+
+    private static final String NEW_BASE = "https://sra:8443/";
+
+    private static final String HTML = "<!DOCTYPE html>\n"
+            + "<html><head>"
+            + "<link rel=\"stylesheet\" href=\"/css/main.css\">"
+            + "<script src='/js/app.js'></script>"
+            + "<script>if (a<b && c > d) { location = '/home'; } var u = \"http://backend:8080/api\";</script>"
+            + "<style>a > b { color: red; }</style>"
+            + "</head><body>"
+            + "<!-- <a href=\"/commented\"> -->"
+            + "<a href=\"/absolute\" title=\"x > y\">absolute</a>"
+            + "<a HREF=/unquoted>unquoted</a>"
+            + "<a href=\"//protocol-relative\">protocol relative</a>"
+            + "<a href=\"relative\">relative</a>"
+            + "<a href=\"http://backend:8080/full\">full</a>"
+            + "<img src=\"/img/logo.png\"/>"
+            + "<object data=\"/movie.swf\"></object>"
+            + "<p>1 < 2 and see http://backend:8080/text</p>"
+            + "</body></html>";
+
+    private static final String EXPECTED = "<!DOCTYPE html>\n"
+            + "<html><head>"
+            + "<link rel=\"stylesheet\" href=\"https://sra:8443/css/main.css\">"
+            + "<script src='https://sra:8443/js/app.js'></script>"
+            + "<script>if (a<b && c > d) { location = '/home'; } var u = \"https://sra:8443/api\";</script>"
+            + "<style>a > b { color: red; }</style>"
+            + "</head><body>"
+            + "<!-- <a href=\"/commented\"> -->"
+            + "<a href=\"https://sra:8443/absolute\" title=\"x > y\">absolute</a>"
+            + "<a HREF=https://sra:8443/unquoted>unquoted</a>"
+            + "<a href=\"//protocol-relative\">protocol relative</a>"
+            + "<a href=\"relative\">relative</a>"
+            + "<a href=\"https://sra:8443/full\">full</a>"
+            + "<img src=\"https://sra:8443/img/logo.png\"/>"
+            + "<object data=\"https://sra:8443/movie.swf\"></object>"
+            + "<p>1 < 2 and see https://sra:8443/text</p>"
+            + "</body></html>";
+
+    private static LinkRewriter rewriter(final boolean rewriteRootAttrs) {
+        return new LinkRewriter(OLD_BASE, NEW_BASE, "https://sra:8443", rewriteRootAttrs);
+    }
+
+    private static String rewrite(final LinkRewriter rewriter, final String html) {
+        return rewriter.process(html).toString() + rewriter.finish();
+    }
+
+    @Test
+    public void whole() {
+        LinkRewriter rewriter = rewriter(true);
+        assertEquals(EXPECTED, rewrite(rewriter, HTML));
+    }
+
+    @Test
+    public void chunked() {
+        for (int size = 1; size <= 32; size++) {
+            LinkRewriter rewriter = rewriter(true);
+
+            StringBuilder output = new StringBuilder();
+            for (int i = 0; i < HTML.length(); i += size) {
+                output.append(rewriter.process(HTML.substring(i, Math.min(i + size, HTML.length()))));
+            }
+            output.append(rewriter.finish());
+
+            assertEquals(EXPECTED, output.toString(), "chunk size " + size);
+        }
+    }
+
+    @Test
+    public void withoutRootAttrs() {
+        LinkRewriter rewriter = rewriter(false);
+        assertEquals(
+                "<a href=\"/absolute\">a</a><a href=\"https://sra:8443/full\">b</a>",
+                rewrite(rewriter, "<a href=\"/absolute\">a</a><a href=\"http://backend:8080/full\">b</a>"));
+    }
+
+    @Test
+    public void unterminated() {
+        LinkRewriter rewriter = rewriter(true);
+        assertEquals("text <a href=\"/abs", rewrite(rewriter, "text <a href=\"/abs"));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.sra.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+
+public class ExpiringSessionCacheTest {
+
+    private static MapSession session() {
+        MapSession session = new MapSession();
+        session.setAttribute("attr", "value");
+        return session;
+    }
+
+    @Test
+    public void bounded() {
+        ExpiringSessionCache cache = new ExpiringSessionCache(
+                "test", 2, Duration.ZERO, Duration.ofMinutes(30), ExpiringSessionCache.Storage.HEAP);
+
+        MapSession first = session();
+        cache.put(first.getId(), first);
+        MapSession second = session();
+        cache.put(second.getId(), second);
+
+        // access first, so that second becomes the least recently used
+        assertNotNull(cache.get(first.getId(), MapSession.class));
+
+        MapSession third = session();
+        cache.put(third.getId(), third);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(first.getId()));
+        assertNull(cache.get(second.getId()));
+        assertNotNull(cache.get(third.getId()));
+    }
+
+    @Test
+    public void maxInactiveInterval() {
+        ExpiringSessionCache cache = new ExpiringSessionCache(
+                "test", 10, Duration.ZERO, Duration.ofMinutes(30), ExpiringSessionCache.Storage.HEAP);
+
+        MapSession active = session();
+        cache.put(active.getId(), active);
+
+        MapSession inactive = session();
+        inactive.setMaxInactiveInterval(Duration.ofMinutes(1));
+        inactive.setLastAccessedTime(Instant.now().minus(Duration.ofMinutes(2)));
+        cache.put(inactive.getId(), inactive);
+
+        MapSession eternal = session();
+        eternal.setMaxInactiveInterval(Duration.ofSeconds(-1));
+        eternal.setLastAccessedTime(Instant.now().minus(Duration.ofDays(2)));
+        cache.put(eternal.getId(), eternal);
+
+        assertNotNull(cache.get(active.getId()));
+        assertNull(cache.get(inactive.getId()));
+        assertNotNull(cache.get(eternal.getId()));
+        assertEquals(1, cache.getExpirations());
+    }
+
+    @Test
+    public void timeToLive() {
+        ExpiringSessionCache cache = new ExpiringSessionCache(
+                "test", 10, Duration.ofHours(1), Duration.ofMinutes(30), ExpiringSessionCache.Storage.HEAP);
+
+        MapSession session = new MapSession();
+        session.setCreationTime(Instant.now().minus(Duration.ofHours(2)));
+        cache.put(session.getId(), session);
+
+        cache.purge();
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getExpirations());
+    }
+
+    @Test
+    public void serialized() {
+        for (ExpiringSessionCache.Storage storage : new ExpiringSessionCache.Storage[] {
+            ExpiringSessionCache.Storage.SERIALIZED, ExpiringSessionCache.Storage.OFF_HEAP }) {
+
+            ExpiringSessionCache cache = new ExpiringSessionCache(
+                    "test", 10, Duration.ZERO, Duration.ofMinutes(30), storage);
+
+            MapSession session = session();
+            cache.put(session.getId(), session);
+            assertTrue(cache.getStoredBytes() > 0);
+
+            MapSession read = cache.get(session.getId(), MapSession.class);
+            assertNotSame(session, read);
+            assertEquals(session.getId(), read.getId());
+            assertEquals("value", read.getAttribute("attr"));
+
+            assertTrue(cache.evictIfPresent(session.getId()));
+            assertEquals(0, cache.getStoredBytes());
+        }
+    }
+}
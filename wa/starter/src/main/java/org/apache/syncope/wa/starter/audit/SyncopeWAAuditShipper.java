@@ -0,0 +1,399 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.wa.starter.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.xml.ws.WebServiceException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.syncope.client.lib.SyncopeClient;
+import org.apache.syncope.common.lib.SyncopeClientCompositeException;
+import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.log.AuditEntry;
+import org.apache.syncope.common.rest.api.service.LoggerService;
+import org.apache.syncope.wa.bootstrap.WARestClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Ships audit entries to Core asynchronously.
+ *
+ * Entries are queued in memory and periodically sent in batches via {@link LoggerService#bulkCreate(List)}; when
+ * Core cannot be reached or fails with a server error, batches are spilled to disk - up to a maximum size - and sent
+ * again later, oldest first. Batches rejected by Core for good - client errors - are not retried but moved to
+ * dead-letter files in the same directory, so that they do not hold up the following ones.
+ */
+public class SyncopeWAAuditShipper implements MeterBinder, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyncopeWAAuditShipper.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<List<AuditEntry>> BATCH_TYPE = new TypeReference<List<AuditEntry>>() {
+    };
+
+    private static final String SPILL_PREFIX = "audit-";
+
+    private static final String SPILL_SUFFIX = ".json";
+
+    private static final String REJECTED_PREFIX = "rejected-";
+
+    /**
+     * Outcome of an attempt to ship a batch to Core.
+     */
+    protected enum Outcome {
+        SHIPPED,
+        /**
+         * Core could not be reached or failed with a server error: the batch can be sent again later.
+         */
+        RETRY,
+        /**
+         * Core refused the batch: sending it again would fail the same way.
+         */
+        REJECTED
+
+    }
+
+    private final WARestClient restClient;
+
+    private final BlockingQueue<AuditEntry> queue;
+
+    private final int batchSize;
+
+    private final Path spillDirectory;
+
+    private final long maxSpillBytes;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final AtomicLong spillSequence = new AtomicLong();
+
+    private final AtomicLong shipped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public SyncopeWAAuditShipper(
+            final WARestClient restClient,
+            final int queueCapacity,
+            final int batchSize,
+            final long flushIntervalMillis,
+            final Path spillDirectory,
+            final long maxSpillBytes) {
+
+        this.restClient = restClient;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "syncope-wa-audit-shipper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (flushIntervalMillis > 0) {
+            this.scheduler.scheduleWithFixedDelay(
+                    this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Enqueues the given audit entry for shipping, without blocking the caller.
+     *
+     * @param auditEntry audit entry
+     * @return whether the entry was enqueued or dropped because the queue is full
+     */
+    public boolean offer(final AuditEntry auditEntry) {
+        if (!queue.offer(auditEntry)) {
+            dropped.incrementAndGet();
+            LOG.warn("Audit queue is full, dropping entry for {}", auditEntry.getWho());
+            return false;
+        }
+
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    protected List<Path> files(final String prefix) {
+        if (!Files.isDirectory(spillDirectory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(SPILL_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            LOG.error("Could not list audit batches from {}", spillDirectory, e);
+            return List.of();
+        }
+    }
+
+    protected List<Path> spillFiles() {
+        return files(SPILL_PREFIX);
+    }
+
+    protected List<Path> rejectedFiles() {
+        return files(REJECTED_PREFIX);
+    }
+
+    protected static long bytes(final List<Path> files) {
+        return files.stream().mapToLong(file -> {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return 0L;
+            }
+        }).sum();
+    }
+
+    protected long spillBytes() {
+        return bytes(spillFiles());
+    }
+
+    /**
+     * Writes the given batch to a new file in the spill directory, unless the files with the same prefix already
+     * exceed the maximum size.
+     *
+     * @param prefix file name prefix
+     * @param batch audit entries
+     * @return whether the batch was written
+     */
+    protected boolean write(final String prefix, final List<AuditEntry> batch) {
+        try {
+            byte[] content = OBJECT_MAPPER.writeValueAsBytes(batch);
+            if (bytes(files(prefix)) + content.length > maxSpillBytes) {
+                dropped.addAndGet(batch.size());
+                LOG.error("Audit spill directory {} is full, dropping {} entries", spillDirectory, batch.size());
+                return false;
+            }
+
+            Files.createDirectories(spillDirectory);
+            Path file = spillDirectory.resolve(String.format("%s%020d-%06d%s",
+                    prefix, System.currentTimeMillis(), spillSequence.incrementAndGet() % 1000000,
+                    SPILL_SUFFIX));
+            Files.write(file, content);
+            LOG.debug("Written {} audit entries to {}", batch.size(), file);
+            return true;
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            LOG.error("Could not write {} audit entries to {}", batch.size(), spillDirectory, e);
+            return false;
+        }
+    }
+
+    protected void spill(final List<AuditEntry> batch) {
+        if (write(SPILL_PREFIX, batch)) {
+            spilled.addAndGet(batch.size());
+        }
+    }
+
+    protected void reject(final List<AuditEntry> batch) {
+        rejected.addAndGet(batch.size());
+        write(REJECTED_PREFIX, batch);
+    }
+
+    /**
+     * Tells whether the given error, raised while shipping, is worth a later attempt: connectivity issues and server
+     * errors are, as opposed to client errors - invalid or unauthorized requests - or unexpected failures.
+     *
+     * @param e error raised while shipping
+     * @return whether the same request can succeed later
+     */
+    protected static boolean isRetriable(final Exception e) {
+        if (e instanceof SyncopeClientCompositeException) {
+            return ((SyncopeClientCompositeException) e).getExceptions().stream().anyMatch(
+                    SyncopeWAAuditShipper::isRetriable);
+        }
+        if (e instanceof SyncopeClientException) {
+            return ((SyncopeClientException) e).getType().getResponseStatus().getFamily()
+                    == Response.Status.Family.SERVER_ERROR;
+        }
+        if (e instanceof WebApplicationException) {
+            return ((WebApplicationException) e).getResponse().getStatusInfo().getFamily()
+                    == Response.Status.Family.SERVER_ERROR;
+        }
+        if (e instanceof WebServiceException) {
+            // see RestClientExceptionMapper: status is only available as part of the message
+            return Stream.of(Response.Status.values()).
+                    filter(status -> status.getFamily() == Response.Status.Family.SERVER_ERROR).
+                    anyMatch(status -> StringUtils.endsWith(e.getMessage(), status.name()));
+        }
+        return e instanceof ProcessingException || ExceptionUtils.indexOfType(e, IOException.class) != -1;
+    }
+
+    protected Outcome send(final LoggerService loggerService, final List<AuditEntry> batch) {
+        try {
+            loggerService.bulkCreate(batch);
+            shipped.addAndGet(batch.size());
+            return Outcome.SHIPPED;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            if (isRetriable(e)) {
+                LOG.warn("Could not ship {} audit entries to Core, will retry", batch.size(), e);
+                return Outcome.RETRY;
+            }
+
+            LOG.error("Core rejected {} audit entries, not retrying", batch.size(), e);
+            return Outcome.REJECTED;
+        }
+    }
+
+    /**
+     * Sends to Core the spilled batches first, then the queued entries; whatever cannot be sent is spilled to disk,
+     * whatever is rejected is moved to dead-letter files.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+
+        SyncopeClient client = restClient.getSyncopeClient();
+        if (client == null) {
+            LOG.debug("Syncope client is not yet ready to ship audit entries");
+            return;
+        }
+        LoggerService loggerService = client.getService(LoggerService.class);
+
+        boolean available = true;
+        for (Path file : spillFiles()) {
+            List<AuditEntry> batch;
+            try {
+                batch = OBJECT_MAPPER.readValue(file.toFile(), BATCH_TYPE);
+            } catch (IOException e) {
+                LOG.error("Could not read spilled audit batch {}, discarding", file, e);
+                batch = List.of();
+            }
+
+            Outcome outcome = batch.isEmpty() ? Outcome.SHIPPED : send(loggerService, batch);
+            if (outcome == Outcome.RETRY) {
+                available = false;
+                break;
+            }
+            if (outcome == Outcome.REJECTED) {
+                reject(batch);
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.error("Could not remove spilled audit batch {}", file, e);
+            }
+        }
+
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            Outcome outcome = available ? send(loggerService, batch) : Outcome.RETRY;
+            if (outcome == Outcome.RETRY) {
+                available = false;
+                spill(batch);
+            } else if (outcome == Outcome.REJECTED) {
+                reject(batch);
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("syncope.wa.audit.backlog", queue, BlockingQueue::size).
+                description("Audit entries waiting to be shipped to Core").
+                register(registry);
+        Gauge.builder("syncope.wa.audit.spill.files", this, shipper -> shipper.spillFiles().size()).
+                description("Audit batches spilled to disk").
+                register(registry);
+        Gauge.builder("syncope.wa.audit.spill.bytes", this, SyncopeWAAuditShipper::spillBytes).
+                description("Size of audit batches spilled to disk").
+                baseUnit("bytes").
+                register(registry);
+        FunctionCounter.builder("syncope.wa.audit.shipped", shipped, AtomicLong::get).
+                description("Audit entries shipped to Core").
+                register(registry);
+        FunctionCounter.builder("syncope.wa.audit.spilled", spilled, AtomicLong::get).
+                description("Audit entries spilled to disk").
+                register(registry);
+        FunctionCounter.builder("syncope.wa.audit.dropped", dropped, AtomicLong::get).
+                description("Audit entries dropped because of full queue, spill or dead-letter files").
+                register(registry);
+        Gauge.builder("syncope.wa.audit.rejected.files", this, shipper -> shipper.rejectedFiles().size()).
+                description("Audit batches rejected by Core, kept on disk").
+                register(registry);
+        FunctionCounter.builder("syncope.wa.audit.rejected", rejected, AtomicLong::get).
+                description("Audit entries rejected by Core, hence not retried").
+                register(registry);
+        FunctionCounter.builder("syncope.wa.audit.failures", failures, AtomicLong::get).
+                description("Failed attempts to ship audit entries to Core").
+                register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (restClient.getSyncopeClient() == null) {
+            List<AuditEntry> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {
+                spill(batch);
+            }
+        } else {
+            flush();
+        }
+    }
+}
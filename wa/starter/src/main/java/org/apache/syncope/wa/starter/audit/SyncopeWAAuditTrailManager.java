@@ -28,36 +28,25 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.log.AuditEntry;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
-import org.apache.syncope.common.rest.api.service.LoggerService;
-import org.apache.syncope.wa.bootstrap.WARestClient;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.apache.syncope.client.lib.SyncopeClient;
-
 public class SyncopeWAAuditTrailManager extends AbstractAuditTrailManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(SyncopeWAAuditTrailManager.class);
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    private final WARestClient waRestClient;
+    private final SyncopeWAAuditShipper shipper;
 
-    public SyncopeWAAuditTrailManager(final WARestClient restClient) {
+    public SyncopeWAAuditTrailManager(final SyncopeWAAuditShipper shipper) {
         super(true);
-        this.waRestClient = restClient;
+        this.shipper = shipper;
     }
 
     @Override
     protected void saveAuditRecord(final AuditActionContext audit) {
-        SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
-        if (syncopeClient == null) {
-            LOG.debug("Syncope client is not yet ready to store audit record");
-            return;
-        }
-
-        LOG.info("Loading application definitions");
         try {
             String output = OBJECT_MAPPER.writeValueAsString(Map.of("resource", audit.getResourceOperatedUpon(),
                     "clientIpAddress", audit.getClientIpAddress(),
@@ -76,7 +65,7 @@ public class SyncopeWAAuditTrailManager extends AbstractAuditTrailManager {
                     audit.getActionPerformed(), result);
 
             auditEntry.setLogger(auditLogger);
-            syncopeClient.getService(LoggerService.class).create(auditEntry);
+            shipper.offer(auditEntry);
         } catch (JsonProcessingException e) {
             LOG.error("During serialization", e);
         }
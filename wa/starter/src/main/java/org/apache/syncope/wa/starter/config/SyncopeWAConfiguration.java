@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.wa.starter.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -31,6 +32,7 @@ import org.apache.syncope.common.keymaster.client.api.startstop.KeymasterStart;
 import org.apache.syncope.common.keymaster.client.api.startstop.KeymasterStop;
 import org.apache.syncope.common.lib.types.JWSAlgorithm;
 import org.apache.syncope.wa.bootstrap.WARestClient;
+import org.apache.syncope.wa.starter.audit.SyncopeWAAuditShipper;
 import org.apache.syncope.wa.starter.audit.SyncopeWAAuditTrailManager;
 import org.apache.syncope.wa.starter.gauth.credential.SyncopeWAGoogleMfaAuthCredentialRepository;
 import org.apache.syncope.wa.starter.gauth.token.SyncopeWAGoogleMfaAuthTokenRepository;
@@ -76,11 +78,13 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.wa.starter.events.SyncopeWAEventRepository;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
@@ -102,6 +106,22 @@ public class SyncopeWAConfiguration {
     @Qualifier("serviceRegistryListeners")
     private Collection<ServiceRegistryListener> serviceRegistryListeners;
 
+    /**
+     * Builds a bounded, expiring cache for data read from Core; not meant for data checked during authentication,
+     * which must always be read from Core as it might have been changed or removed via any other node.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return new cache instance
+     */
+    protected <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder().
+                maximumSize(ctx.getEnvironment().getProperty("cache.maxEntries", long.class, 10000L)).
+                expireAfterWrite(
+                        ctx.getEnvironment().getProperty("cache.timeToLive", long.class, 60L), TimeUnit.SECONDS).
+                build();
+    }
+
     @Bean
     public String version() {
         return ctx.getEnvironment().getProperty("version");
@@ -173,7 +193,7 @@ public class SyncopeWAConfiguration {
             final WARestClient restClient, final RegisteredServiceMapper registeredServiceMapper) {
 
         SyncopeWAServiceRegistry registry = new SyncopeWAServiceRegistry(
-                restClient, registeredServiceMapper, ctx, serviceRegistryListeners);
+                restClient, registeredServiceMapper, newCache(), ctx, serviceRegistryListeners);
         return plan -> plan.registerServiceRegistry(registry);
     }
 
@@ -199,8 +219,21 @@ public class SyncopeWAConfiguration {
 
     @Autowired
     @Bean
-    public AuditTrailExecutionPlanConfigurer auditConfigurer(final WARestClient restClient) {
-        return plan -> plan.registerAuditTrailManager(new SyncopeWAAuditTrailManager(restClient));
+    public SyncopeWAAuditShipper auditShipper(final WARestClient restClient) {
+        return new SyncopeWAAuditShipper(
+                restClient,
+                ctx.getEnvironment().getProperty("audit.shipper.queueCapacity", int.class, 10000),
+                ctx.getEnvironment().getProperty("audit.shipper.batchSize", int.class, 100),
+                ctx.getEnvironment().getProperty("audit.shipper.flushInterval", long.class, 5000L),
+                Paths.get(ctx.getEnvironment().getProperty("audit.shipper.spill.directory",
+                        System.getProperty("java.io.tmpdir") + "/syncope-wa-audit")),
+                ctx.getEnvironment().getProperty("audit.shipper.spill.maxBytes", long.class, 50 * 1024 * 1024L));
+    }
+
+    @Autowired
+    @Bean
+    public AuditTrailExecutionPlanConfigurer auditConfigurer(final SyncopeWAAuditShipper auditShipper) {
+        return plan -> plan.registerAuditTrailManager(new SyncopeWAAuditTrailManager(auditShipper));
     }
 
     @ConditionalOnMissingBean(name = "syncopWaEventRepositoryFilter")
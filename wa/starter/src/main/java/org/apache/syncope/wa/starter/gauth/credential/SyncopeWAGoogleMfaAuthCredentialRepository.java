@@ -96,22 +96,10 @@ public class SyncopeWAGoogleMfaAuthCredentialRepository extends BaseGoogleAuthen
 
     @Override
     public OneTimeTokenAccount get(final String username, final long id) {
-        try {
-            GoogleMfaAuthAccountService googleService = waRestClient.getSyncopeClient().
-                getService(GoogleMfaAuthAccountService.class);
-            googleService.findAccountsFor(username).
-                stream().
-                filter(account -> account.getId() == id).
-                map(SyncopeWAGoogleMfaAuthCredentialRepository::mapGoogleMfaAuthAccount).
-                collect(Collectors.toList());
-        } catch (final SyncopeClientException e) {
-            if (e.getType() == ClientExceptionType.NotFound) {
-                LOG.info("Could not locate account for owner {} and id {}", username, id);
-            } else {
-                LOG.error(e.getMessage(), e);
-            }
-        }
-        return null;
+        return get(username).stream().
+            filter(account -> account.getId() == id).
+            findFirst().
+            orElse(null);
     }
 
     @Override
@@ -119,7 +107,7 @@ public class SyncopeWAGoogleMfaAuthCredentialRepository extends BaseGoogleAuthen
         try {
             GoogleMfaAuthAccountService googleService = waRestClient.getSyncopeClient().
                 getService(GoogleMfaAuthAccountService.class);
-            googleService.findAccountsFor(username).
+            return googleService.findAccountsFor(username).
                 stream().
                 map(SyncopeWAGoogleMfaAuthCredentialRepository::mapGoogleMfaAuthAccount).
                 collect(Collectors.toList());
@@ -18,12 +18,16 @@
  */
 package org.apache.syncope.wa.starter.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import org.apache.syncope.wa.starter.mapping.RegisteredServiceMapper;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.syncope.client.lib.SyncopeClient;
 import org.apache.syncope.common.lib.types.ClientAppType;
+import org.apache.syncope.common.lib.wa.WAClientApp;
 import org.apache.syncope.wa.bootstrap.WARestClient;
 import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.OidcRegisteredService;
@@ -39,19 +43,31 @@ public class SyncopeWAServiceRegistry extends AbstractServiceRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(SyncopeWAServiceRegistry.class);
 
+    private static String idKey(final long id, final ClientAppType type) {
+        return "id|" + id + '|' + type;
+    }
+
+    private static String nameKey(final String name, final ClientAppType type) {
+        return "name|" + name + '|' + type;
+    }
+
     private final WARestClient waRestClient;
 
     private final RegisteredServiceMapper registeredServiceMapper;
 
+    private final Cache<String, RegisteredService> cache;
+
     public SyncopeWAServiceRegistry(
             final WARestClient restClient,
             final RegisteredServiceMapper registeredServiceMapper,
+            final Cache<String, RegisteredService> cache,
             final ConfigurableApplicationContext applicationContext,
             final Collection<ServiceRegistryListener> serviceRegistryListeners) {
 
         super(applicationContext, serviceRegistryListeners);
         this.waRestClient = restClient;
         this.registeredServiceMapper = registeredServiceMapper;
+        this.cache = cache;
     }
 
     @Override
@@ -63,7 +79,13 @@ public class SyncopeWAServiceRegistry extends AbstractServiceRegistry {
     public boolean delete(final RegisteredService registeredService) {
         throw new UnsupportedOperationException("Deleting registered services from WA is not supported");
     }
-    
+
+    /**
+     * Fetches all application definitions from Core, replacing the local cache content: this is also invoked
+     * when Core pushes application definitions to WA.
+     *
+     * @return all application definitions
+     */
     @Override
     public Collection<RegisteredService> load() {
         SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
@@ -72,77 +94,87 @@ public class SyncopeWAServiceRegistry extends AbstractServiceRegistry {
             return List.of();
         } else {
             LOG.info("Loading application definitions");
-            return waRestClient.getSyncopeClient().getService(WAClientAppService.class).list().stream().
+            List<RegisteredService> services = syncopeClient.getService(WAClientAppService.class).list().stream().
                     map(registeredServiceMapper::toRegisteredService).
+                    filter(Objects::nonNull).
                     collect(Collectors.toList());
+
+            cache.invalidateAll();
+            services.forEach(service -> {
+                cache.put(idKey(service.getId(), null), service);
+                cache.put(nameKey(service.getName(), null), service);
+
+                ClientAppType type = service instanceof OidcRegisteredService
+                        ? ClientAppType.OIDCRP
+                        : service instanceof SamlRegisteredService
+                                ? ClientAppType.SAML2SP
+                                : null;
+                if (type != null) {
+                    cache.put(idKey(service.getId(), type), service);
+                    cache.put(nameKey(service.getName(), type), service);
+                }
+            });
+            return services;
         }
     }
 
+    /**
+     * Reads the requested application definition from the local cache, falling back to Core.
+     *
+     * @param cacheKey local cache key
+     * @param reader how to read the application definition from Core
+     * @return application definition, or {@code null} if not available
+     */
+    protected RegisteredService read(final String cacheKey, final Function<WAClientAppService, WAClientApp> reader) {
+        return cache.get(cacheKey, key -> {
+            SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
+            if (syncopeClient == null) {
+                LOG.debug("Syncope client is not yet ready to fetch application definitions");
+                return null;
+            }
+
+            return registeredServiceMapper.toRegisteredService(
+                    reader.apply(syncopeClient.getService(WAClientAppService.class)));
+        });
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
-        SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
-        if (syncopeClient == null) {
-            LOG.debug("Syncope client is not yet ready to fetch application definitions");
-            return null;
-        } else {
-            LOG.info("Searching for application definition by id {}", id);
-            return registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                    getService(WAClientAppService.class).read(id, null));
-        }
+        LOG.debug("Searching for application definition by id {}", id);
+        return read(idKey(id, null), service -> service.read(id, null));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends RegisteredService> T findServiceById(final long id, final Class<T> clazz) {
-        SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
-        if (syncopeClient == null) {
-            LOG.debug("Syncope client is not yet ready to fetch application definitions");
-            return null;
+        LOG.debug("Searching for application definition by id {} and type {}", id, clazz);
+        if (clazz.isInstance(OidcRegisteredService.class)) {
+            return (T) read(idKey(id, ClientAppType.OIDCRP), service -> service.read(id, ClientAppType.OIDCRP));
+        } else if (clazz.isInstance(SamlRegisteredService.class)) {
+            return (T) read(idKey(id, ClientAppType.SAML2SP), service -> service.read(id, ClientAppType.SAML2SP));
         } else {
-            LOG.info("Searching for application definition by id {} and type {}", id, clazz);
-            if (clazz.isInstance(OidcRegisteredService.class)) {
-                return (T) registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                        getService(WAClientAppService.class).read(id, ClientAppType.OIDCRP));
-            } else if (clazz.isInstance(SamlRegisteredService.class)) {
-                return (T) registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                        getService(WAClientAppService.class).read(id, ClientAppType.SAML2SP));
-            } else {
-                return null;
-            }
+            return null;
         }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends RegisteredService> T findServiceByExactServiceName(final String name, final Class<T> clazz) {
-        SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
-        if (syncopeClient == null) {
-            LOG.debug("Syncope client is not yet ready to fetch application definitions");
-            return null;
+        LOG.debug("Searching for application definition by name {} and type {}", name, clazz);
+        if (clazz.isInstance(OidcRegisteredService.class)) {
+            return (T) read(nameKey(name, ClientAppType.OIDCRP),
+                    service -> service.read(name, ClientAppType.OIDCRP));
+        } else if (clazz.isInstance(SamlRegisteredService.class)) {
+            return (T) read(nameKey(name, ClientAppType.SAML2SP),
+                    service -> service.read(name, ClientAppType.SAML2SP));
         } else {
-            LOG.info("Searching for application definition by name {} and type {}", name, clazz);
-            if (clazz.isInstance(OidcRegisteredService.class)) {
-                return (T) registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                        getService(WAClientAppService.class).read(name, ClientAppType.OIDCRP));
-            } else if (clazz.isInstance(SamlRegisteredService.class)) {
-                return (T) registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                        getService(WAClientAppService.class).read(name, ClientAppType.SAML2SP));
-            } else {
-                return null;
-            }
+            return null;
         }
     }
 
     @Override
     public RegisteredService findServiceByExactServiceName(final String name) {
-        SyncopeClient syncopeClient = waRestClient.getSyncopeClient();
-        if (syncopeClient == null) {
-            LOG.debug("Syncope client is not yet ready to fetch application definitions");
-            return null;
-        } else {
-            LOG.info("Searching for application definition by name {}", name);
-            return registeredServiceMapper.toRegisteredService(waRestClient.getSyncopeClient().
-                    getService(WAClientAppService.class).read(name, null));
-        }
+        LOG.debug("Searching for application definition by name {}", name);
+        return read(nameKey(name, null), service -> service.read(name, null));
     }
 }
@@ -18,25 +18,55 @@
  */
 package org.apache.syncope.wa.starter.audit;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AccessControlException;
 import java.util.Date;
+import java.util.stream.Stream;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.xml.ws.WebServiceException;
 import org.apache.syncope.client.lib.SyncopeClient;
-import org.apache.syncope.common.lib.log.AuditEntry;
+import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.rest.api.service.LoggerService;
 import org.apache.syncope.wa.bootstrap.WARestClient;
 import org.apache.syncope.wa.starter.AbstractTest;
 import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class SyncopeWAAuditTrailManagerTest extends AbstractTest {
 
-    private static LoggerService loggerService;
+    private static AuditActionContext audit(final String principal) {
+        return new AuditActionContext(principal, "resourceOperatedUpon", "actionPerformed",
+                "applicationCode", new Date(), "clientIpAddress", "serverIpAddress");
+    }
+
+    @TempDir
+    protected Path spillDirectory;
 
-    private static WARestClient getWaRestClient() {
+    private LoggerService loggerService;
+
+    private SyncopeWAAuditShipper shipper;
+
+    @BeforeEach
+    public void setUp() {
         WARestClient restClient = mock(WARestClient.class);
         SyncopeClient syncopeClient = mock(SyncopeClient.class);
         loggerService = mock(LoggerService.class);
@@ -44,16 +74,89 @@ public class SyncopeWAAuditTrailManagerTest extends AbstractTest {
         when(restClient.getSyncopeClient()).thenReturn(syncopeClient);
         when(syncopeClient.getService(LoggerService.class)).thenReturn(loggerService);
 
-        return restClient;
+        shipper = new SyncopeWAAuditShipper(restClient, 100, 10, 0, spillDirectory, 1024 * 1024);
     }
 
     @Test
     public void saveAuditRecord() {
-        AuditActionContext audit = new AuditActionContext("principal", "resourceOperatedUpon", "actionPerformed",
-                "applicationCode", new Date(), "clientIpAddress", "serverIpAddress");
-        SyncopeWAAuditTrailManager auditTrailManager = new SyncopeWAAuditTrailManager(getWaRestClient());
-        auditTrailManager.saveAuditRecord(audit);
-        verify(loggerService).create(any(AuditEntry.class));
+        SyncopeWAAuditTrailManager auditTrailManager = new SyncopeWAAuditTrailManager(shipper);
+        auditTrailManager.saveAuditRecord(audit("principal"));
+        assertEquals(1, shipper.getBacklog());
+
+        shipper.flush();
+        assertEquals(0, shipper.getBacklog());
+        verify(loggerService).bulkCreate(argThat(entries -> entries.size() == 1
+                && "principal".equals(entries.get(0).getWho())));
+    }
+
+    @Test
+    public void spillWhenCoreIsUnavailable() throws Exception {
+        doThrow(new ServiceUnavailableException()).doNothing().when(loggerService).bulkCreate(anyList());
+
+        SyncopeWAAuditTrailManager auditTrailManager = new SyncopeWAAuditTrailManager(shipper);
+        for (int i = 0; i < 5; i++) {
+            auditTrailManager.saveAuditRecord(audit("principal" + i));
+        }
+
+        shipper.flush();
+        assertEquals(0, shipper.getBacklog());
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        shipper.flush();
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertTrue(files.findAny().isEmpty());
+        }
+        verify(loggerService, times(2)).bulkCreate(argThat(entries -> entries.size() == 5));
+    }
+
+    @Test
+    public void rejectedBatchDoesNotHoldUpOthers() throws Exception {
+        // first batch is spilled as Core is unavailable, then rejected for good; following batches are shipped
+        doThrow(new ServiceUnavailableException()).
+                doThrow(new BadRequestException()).
+                doNothing().
+                when(loggerService).bulkCreate(anyList());
+
+        SyncopeWAAuditTrailManager auditTrailManager = new SyncopeWAAuditTrailManager(shipper);
+        auditTrailManager.saveAuditRecord(audit("invalid"));
+        shipper.flush();
+        assertEquals(1, shipper.spillFiles().size());
+
+        for (int i = 0; i < 3; i++) {
+            auditTrailManager.saveAuditRecord(audit("principal" + i));
+        }
+        shipper.flush();
+
+        assertTrue(shipper.spillFiles().isEmpty());
+        assertEquals(1, shipper.rejectedFiles().size());
+        verify(loggerService).bulkCreate(argThat(entries -> entries.size() == 3));
+
+        auditTrailManager.saveAuditRecord(audit("principal3"));
+        shipper.flush();
+
+        assertTrue(shipper.spillFiles().isEmpty());
+        assertEquals(1, shipper.rejectedFiles().size());
+        verify(loggerService, times(2)).bulkCreate(argThat(entries -> entries.size() == 1
+                && "invalid".equals(entries.get(0).getWho())));
+        verify(loggerService).bulkCreate(argThat(entries -> entries.size() == 1
+                && "principal3".equals(entries.get(0).getWho())));
     }
 
+    @Test
+    public void retriableErrors() {
+        assertTrue(SyncopeWAAuditShipper.isRetriable(new ServiceUnavailableException()));
+        assertTrue(SyncopeWAAuditShipper.isRetriable(new ProcessingException(new ConnectException())));
+        assertTrue(SyncopeWAAuditShipper.isRetriable(
+                new WebServiceException("Remote exception with status code: BAD_GATEWAY")));
+
+        assertFalse(SyncopeWAAuditShipper.isRetriable(new BadRequestException()));
+        assertFalse(SyncopeWAAuditShipper.isRetriable(new ForbiddenException()));
+        assertFalse(SyncopeWAAuditShipper.isRetriable(new AccessControlException("unauthorized")));
+        assertFalse(SyncopeWAAuditShipper.isRetriable(
+                SyncopeClientException.build(ClientExceptionType.InvalidValues)));
+        assertFalse(SyncopeWAAuditShipper.isRetriable(
+                new WebServiceException("Remote exception with status code: NOT_FOUND")));
+    }
 }